@@ -0,0 +1,85 @@
+package io.github.bodote.woodle.adapter.in.web;
+
+import io.github.bodote.woodle.domain.model.EventType;
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollOption;
+import io.github.bodote.woodle.domain.model.PollResponse;
+import io.github.bodote.woodle.domain.model.PollVote;
+import io.github.bodote.woodle.domain.model.PollVoteValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the participant table model of a poll with 50 days of ten slots and 200 participants, per request. With
+ * {@code cached=false} every request builds the model again, as the controllers did before the
+ * {@link PollViewModelAssembler} cache; with {@code cached=true} only the first request of a poll state does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PollViewModelBenchmark {
+
+    private static final int DAYS = 50;
+    private static final int SLOTS_PER_DAY = 10;
+    private static final int PARTICIPANTS = 200;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private PollViewModelAssembler assembler;
+    private Poll poll;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        assembler = new PollViewModelAssembler(cached ? 500_000 : 0);
+        poll = largePoll();
+    }
+
+    @Benchmark
+    public PollViewModel assemble() {
+        return assembler.assemble(poll);
+    }
+
+    private static Poll largePoll() {
+        Random random = new Random(42);
+        OffsetDateTime createdAt = OffsetDateTime.of(2026, 2, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        LocalDate firstDay = LocalDate.of(2026, 2, 2);
+        List<PollOption> options = new ArrayList<>(DAYS * SLOTS_PER_DAY);
+        for (int day = 0; day < DAYS; day++) {
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                LocalTime start = LocalTime.of(8 + slot, 0);
+                options.add(new PollOption(new UUID(random.nextLong(), random.nextLong()), firstDay.plusDays(day),
+                        start, start.plusHours(1)));
+            }
+        }
+        PollVoteValue[] values = PollVoteValue.values();
+        List<PollResponse> responses = new ArrayList<>(PARTICIPANTS);
+        for (int participant = 0; participant < PARTICIPANTS; participant++) {
+            List<PollVote> votes = options.stream()
+                    .map(option -> new PollVote(option.optionId(), values[random.nextInt(values.length)]))
+                    .toList();
+            responses.add(new PollResponse(new UUID(random.nextLong(), random.nextLong()),
+                    "Participant " + participant, createdAt.plusMinutes(participant), votes, null));
+        }
+        return new Poll(UUID.fromString("00000000-0000-0000-0000-000000000001"), "AdminSecret12", "Team offsite",
+                "<p>Pick your slots</p>", "Alice", "alice@invalid", EventType.INTRADAY, 60, options, responses,
+                createdAt, createdAt, firstDay.plusDays(DAYS + 30L), false, 3);
+    }
+}
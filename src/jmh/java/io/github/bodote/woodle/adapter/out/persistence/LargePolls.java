@@ -0,0 +1,60 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Benchmark corpus: the kind of poll {@code scripts/create_30_day_poll.java -u 10} creates, 30 days with ten
+ * one-hour slots each, with every participant voting on every slot. Generated from a fixed seed.
+ * {@link #daysWithTenSlots(int, int)} stretches it to more days.
+ */
+final class LargePolls {
+
+    private static final int SLOTS_PER_DAY = 10;
+    private static final String[] VOTE_VALUES = {"YES", "IF_NEEDED", "NO"};
+
+    private LargePolls() {
+    }
+
+    static PollDAO thirtyDaysWithTenSlots(int participants) {
+        return daysWithTenSlots(30, participants);
+    }
+
+    static PollDAO daysWithTenSlots(int days, int participants) {
+        Random random = new Random(42);
+        OffsetDateTime createdAt = OffsetDateTime.of(2026, 2, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        LocalDate firstDay = LocalDate.of(2026, 2, 2);
+        List<PollDAO.OptionItem> options = new ArrayList<>(days * SLOTS_PER_DAY);
+        for (int day = 0; day < days; day++) {
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                LocalTime start = LocalTime.of(8 + slot, 0);
+                options.add(new PollDAO.OptionItem(new UUID(random.nextLong(), random.nextLong()),
+                        firstDay.plusDays(day), start.toString(), start.plusHours(1).toString()));
+            }
+        }
+        List<PollDAO.Response> responses = new ArrayList<>(participants);
+        for (int participant = 0; participant < participants; participant++) {
+            List<PollDAO.Vote> votes = options.stream()
+                    .map(option -> new PollDAO.Vote(option.optionId(), VOTE_VALUES[random.nextInt(VOTE_VALUES.length)]))
+                    .toList();
+            responses.add(new PollDAO.Response(new UUID(random.nextLong(), random.nextLong()),
+                    "Participant " + participant, createdAt.plusMinutes(participant), votes, null));
+        }
+        return new PollDAO(UUID.fromString("00000000-0000-0000-0000-000000000001"), "2", "date", "Team offsite",
+                "<p>Pick your slots</p>", "de", createdAt, createdAt,
+                new PollDAO.Author("Alice", "alice@invalid"),
+                new PollDAO.Access(null, null, true, "AdminSecret12"),
+                new PollDAO.Permissions("ALL_CAN_EDIT"),
+                new PollDAO.Notifications(false, false),
+                new PollDAO.ResultsVisibility(false),
+                "OPEN", firstDay.plusDays(days + 30L),
+                new PollDAO.Options("INTRADAY", 60, options),
+                responses, 0L);
+    }
+}
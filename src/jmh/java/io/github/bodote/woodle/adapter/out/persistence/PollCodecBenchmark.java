@@ -0,0 +1,64 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of the poll codecs on {@link LargePolls#thirtyDaysWithTenSlots(int)}. The encoded size,
+ * plain and gzip-compressed, is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PollCodecBenchmark {
+
+    @Param({"json", "binary"})
+    public String codecName;
+
+    @Param({"10", "50", "200"})
+    public int participants;
+
+    private PollCodec codec;
+    private PollDAO poll;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        codec = PollCodec.fromProperty(codecName, new ObjectMapper());
+        poll = LargePolls.thirtyDaysWithTenSlots(participants);
+        encoded = codec.encode(poll);
+        System.out.printf("%n%s, %d participants: %d bytes, %d bytes gzip-compressed%n",
+                codecName, participants, encoded.length, gzipSize(encoded));
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(poll);
+    }
+
+    @Benchmark
+    public PollDAO decode() {
+        return codec.decode(encoded);
+    }
+
+    private static int gzipSize(byte[] document) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = PollObjectCompression.GZIP.encoding(compressed)) {
+            out.write(document);
+        }
+        return compressed.size();
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.core.sync.RequestBody;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Garbage per JSON snapshot read and write on {@link LargePolls#thirtyDaysWithTenSlots(int)}: the former
+ * {@code String}-based path against the streaming path {@link S3PollRepository} uses now. The upload is simulated by
+ * draining the {@link RequestBody} the way the S3 client does. Run with the GC profiler to see the allocation rate:
+ * {@code ./gradlew jmh -PjmhIncludes=PollDocumentAllocation -PjmhProfilers=gc}, then compare
+ * {@code gc.alloc.rate.norm} (bytes per operation).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PollDocumentAllocationBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int participants;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonPollCodec codec = new JsonPollCodec(objectMapper);
+    private final DocumentBufferPool documentBuffers = new DocumentBufferPool(1, 64 * 1024 * 1024);
+    private PollDAO poll;
+    private byte[] stored;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        poll = LargePolls.thirtyDaysWithTenSlots(participants);
+        stored = objectMapper.writeValueAsBytes(poll);
+    }
+
+    @Benchmark
+    public long writeViaString() throws IOException {
+        String json = objectMapper.writeValueAsString(poll);
+        return upload(RequestBody.fromBytes(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public long writeStreaming() throws IOException {
+        DocumentBufferPool.Buffer document = documentBuffers.acquire();
+        try {
+            try (OutputStream out = PollObjectCompression.NONE.encoding(document)) {
+                codec.encode(poll, out);
+            }
+            return upload(document.toRequestBody(codec.contentType()));
+        } finally {
+            documentBuffers.release(document);
+        }
+    }
+
+    @Benchmark
+    public PollDAO readViaString() throws IOException {
+        byte[] body = PollObjectCompression.decoding(new ByteArrayInputStream(stored)).readAllBytes();
+        return objectMapper.readValue(new String(body, StandardCharsets.UTF_8), PollDAO.class);
+    }
+
+    @Benchmark
+    public PollDAO readStreaming() throws IOException {
+        InputStream document = PollObjectCompression.decoding(new ByteArrayInputStream(stored));
+        return codec.decode(document);
+    }
+
+    private static long upload(RequestBody body) throws IOException {
+        try (InputStream content = body.contentStreamProvider().newStream()) {
+            return content.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write and read cost of one poll snapshot per compression, on {@link LargePolls#thirtyDaysWithTenSlots(int)}.
+ * {@code write} is serialization plus encoding, {@code read} decoding plus parsing; the stored size of each
+ * document is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PollObjectCompressionBenchmark {
+
+    @Param({"NONE", "GZIP"})
+    public PollObjectCompression compression;
+
+    @Param({"10", "50", "200"})
+    public int participants;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PollDAO poll;
+    private byte[] stored;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        poll = LargePolls.thirtyDaysWithTenSlots(participants);
+        byte[] json = objectMapper.writeValueAsBytes(poll);
+        stored = write();
+        System.out.printf("%n%s, %d participants: %d bytes JSON, %d bytes stored (%.1f%%)%n",
+                compression, participants, json.length, stored.length, 100.0 * stored.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = compression.encoding(bytes)) {
+            objectMapper.writeValue(out, poll);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public PollDAO read() throws IOException {
+        return objectMapper.readValue(PollObjectCompression.decoding(new ByteArrayInputStream(stored)), PollDAO.class);
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.domain.model.PollResponse;
+import io.github.bodote.woodle.domain.model.PollVote;
+import io.github.bodote.woodle.domain.model.PollVoteValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning the stored responses of a schema 3 snapshot into domain responses: the former path with one
+ * {@link PollVote} per vote against the {@link io.github.bodote.woodle.domain.model.VoteMatrix} rows
+ * {@link S3PollRepository} builds now, on {@link LargePolls#daysWithTenSlots(int, int)} (100 days are 1000 options).
+ * The loaded responses are what the poll keeps on the heap, so {@code gc.alloc.rate.norm} from
+ * {@code ./gradlew jmh -PjmhIncludes=PollVoteMatrix -PjmhProfilers=gc} is close to their footprint; the number of
+ * vote objects against the size of the packed cells is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PollVoteMatrixBenchmark {
+
+    @Param({"30", "100"})
+    public int days;
+
+    @Param({"50", "500"})
+    public int participants;
+
+    private List<PollDAO.OptionItem> items;
+    private List<PollDAO.Response> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PollDAO poll = LargePolls.daysWithTenSlots(days, participants);
+        items = poll.options().items();
+        Map<UUID, Integer> optionPositions = VoteCodes.optionPositions(items);
+        responses = poll.responses().stream()
+                .map(response -> new PollDAO.Response(response.responseId(), response.participantName(),
+                        response.createdAt(), null, response.comment(),
+                        VoteCodes.encode(response.votes(), optionPositions), null))
+                .toList();
+        long votes = poll.responses().stream().mapToLong(response -> response.votes().size()).sum();
+        long packedBytes = (long) participants * ((items.size() + 31) / 32) * Long.BYTES;
+        System.out.printf("%n%d options, %d participants: %d PollVote objects, %d bytes of packed cells%n",
+                items.size(), participants, votes, packedBytes);
+    }
+
+    @Benchmark
+    public List<PollResponse> voteRecords() {
+        return responses.stream()
+                .map(response -> new PollResponse(response.responseId(), response.participantName(),
+                        response.createdAt(), VoteCodes.decode(response.voteCodes(), items).stream()
+                        .map(vote -> new PollVote(vote.optionId(), PollVoteValue.valueOf(vote.value())))
+                        .toList(), response.comment()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<PollResponse> voteMatrix() {
+        return S3PollRepository.fromResponses(responses, items);
+    }
+}
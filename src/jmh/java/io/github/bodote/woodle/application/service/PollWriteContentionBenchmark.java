@@ -0,0 +1,167 @@
+package io.github.bodote.woodle.application.service;
+
+import io.github.bodote.woodle.adapter.out.persistence.InMemoryPollRepository;
+import io.github.bodote.woodle.application.port.in.command.SubmitVoteCommand;
+import io.github.bodote.woodle.application.port.out.PollRepository;
+import io.github.bodote.woodle.application.port.out.PollUpdateConflictException;
+import io.github.bodote.woodle.domain.model.EventType;
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollOption;
+import io.github.bodote.woodle.domain.model.PollResponse;
+import io.github.bodote.woodle.domain.model.PollVote;
+import io.github.bodote.woodle.domain.model.PollVoteValue;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * K writers change the same poll at the same time. Each invocation is one such round; besides the rounds per second
+ * JMH reports the writes stored, the conflicting writes that had to be retried and the writes that gave up. Votes
+ * only write their own response, admin option edits go through the compare-and-swap retry loop.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class PollWriteContentionBenchmark {
+
+    private static final UUID POLL_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final PollOption OPTION = new PollOption(
+            UUID.fromString("00000000-0000-0000-0000-000000000002"), LocalDate.of(2026, 3, 1), null, null);
+
+    @Param({"1", "4", "16", "64"})
+    public int writers;
+
+    private ConflictCountingRepository repository;
+    private SubmitVoteService voteService;
+    private AdminPollOptionsService optionsService;
+
+    // a fresh poll per round, so the cost of a write does not grow with the responses of earlier rounds
+    @Setup(Level.Invocation)
+    public void setUp() {
+        OffsetDateTime now = OffsetDateTime.of(2026, 2, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        InMemoryPollRepository storage = new InMemoryPollRepository();
+        storage.save(new Poll(POLL_ID, "AdminSecret12", "Title", "Desc", "Alice", "alice@invalid",
+                EventType.ALL_DAY, null, List.of(OPTION), List.of(), now, now, LocalDate.of(2026, 3, 31), false));
+        repository = new ConflictCountingRepository(storage);
+        voteService = new SubmitVoteService(repository, null, false);
+        optionsService = new AdminPollOptionsService(repository);
+    }
+
+    @Benchmark
+    public void concurrentVotes(Counters counters) throws InterruptedException {
+        runRound(counters, i -> voteService.submit(new SubmitVoteCommand(POLL_ID, "Voter " + i,
+                List.of(new PollVote(OPTION.optionId(), PollVoteValue.YES)), null, null)));
+    }
+
+    @Benchmark
+    public void concurrentOptionEdits(Counters counters) throws InterruptedException {
+        runRound(counters, i -> optionsService.addDate(POLL_ID, "AdminSecret12",
+                OPTION.date().plusDays(i + 1L), null));
+    }
+
+    private void runRound(Counters counters, IntConsumer write) throws InterruptedException {
+        long conflictsBefore = repository.conflicts.sum();
+        List<Future<?>> writes = new ArrayList<>(writers);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < writers; i++) {
+                int writer = i;
+                writes.add(executor.submit(() -> write.accept(writer)));
+            }
+        }
+        for (Future<?> result : writes) {
+            try {
+                result.get();
+                counters.writes++;
+            } catch (ExecutionException e) {
+                counters.failedWrites++;
+            }
+        }
+        counters.retries += repository.conflicts.sum() - conflictsBefore;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long writes;
+        public long retries;
+        public long failedWrites;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            writes = 0;
+            retries = 0;
+            failedWrites = 0;
+        }
+    }
+
+    private static final class ConflictCountingRepository implements PollRepository {
+
+        private final PollRepository delegate;
+        private final LongAdder conflicts = new LongAdder();
+
+        private ConflictCountingRepository(PollRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void save(Poll poll) {
+            try {
+                delegate.save(poll);
+            } catch (PollUpdateConflictException e) {
+                conflicts.increment();
+                throw e;
+            }
+        }
+
+        @Override
+        public Optional<Poll> findById(UUID pollId) {
+            return delegate.findById(pollId);
+        }
+
+        @Override
+        public void saveResponse(UUID pollId, PollResponse response) {
+            delegate.saveResponse(pollId, response);
+        }
+
+        @Override
+        public void deleteResponse(UUID pollId, UUID responseId) {
+            delegate.deleteResponse(pollId, responseId);
+        }
+
+        @Override
+        public long countActivePolls() {
+            return delegate.countActivePolls();
+        }
+
+        @Override
+        public List<UUID> findExpiredPollIds(LocalDate asOf) {
+            return delegate.findExpiredPollIds(asOf);
+        }
+
+        @Override
+        public void deleteById(UUID pollId) {
+            delegate.deleteById(pollId);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.bodote.woodle.adapter.in.web;
 
+import io.github.bodote.woodle.application.port.in.IdempotencyKeyReusedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.ResponseEntity;
@@ -36,6 +37,14 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ApiErrorResponseDTO> handleIdempotencyKeyReused(IdempotencyKeyReusedException exception) {
+        ApiErrorResponseDTO response = new ApiErrorResponseDTO(
+                new ApiErrorDTO("IDEMPOTENCY_KEY_REUSED", exception.getMessage())
+        );
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT).body(response);
+    }
+
     private String codeFor(HttpStatus status) {
         if (status == HttpStatus.NOT_FOUND) {
             return "POLL_NOT_FOUND";
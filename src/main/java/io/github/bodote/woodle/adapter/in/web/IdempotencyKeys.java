@@ -0,0 +1,37 @@
+package io.github.bodote.woodle.adapter.in.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reads the idempotency key of a write request. Scripts send it as the {@value #HEADER} header; the poll forms
+ * carry it in the hidden {@value #PARAMETER} field that {@code woodle-ui.js} fills with a random key on the first
+ * submit, so a double click or a retried request repeats the same key.
+ */
+final class IdempotencyKeys {
+
+    static final String HEADER = "Idempotency-Key";
+    static final String PARAMETER = "idempotencyKey";
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9_-]{8,128}");
+
+    private IdempotencyKeys() {
+    }
+
+    /**
+     * @return the key from the header, else from the form field, or {@code null} when the request has none
+     * @throws ResponseStatusException with {@code 400} for a key that is not 8 to 128 letters, digits, {@code -} or
+     *                                 {@code _}
+     */
+    static String of(String header, String parameter) {
+        String key = header != null && !header.isBlank() ? header.trim() : parameter;
+        if (key == null || key.isBlank()) {
+            return null;
+        }
+        if (!VALID.matcher(key).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid idempotency key");
+        }
+        return key;
+    }
+}
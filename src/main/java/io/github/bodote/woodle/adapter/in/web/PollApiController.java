@@ -14,7 +14,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.net.URI;
@@ -37,7 +39,9 @@ public class PollApiController {
     }
 
     @PostMapping("/v1/polls")
-    public ResponseEntity<CreatePollResponseDTO> createPoll(@RequestBody CreatePollRequestDTO requestDTO) {
+    public ResponseEntity<CreatePollResponseDTO> createPoll(
+            @RequestBody CreatePollRequestDTO requestDTO,
+            @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
         CreatePollCommand command = new CreatePollCommand(
                 requestDTO.authorName(),
                 requestDTO.authorEmail(),
@@ -48,7 +52,8 @@ public class PollApiController {
                 requestDTO.dates(),
                 requestDTO.startTimes() == null ? List.of() : requestDTO.startTimes(),
                 requestDTO.expiresAtOverride(),
-                false
+                false,
+                IdempotencyKeys.of(idempotencyKey, null)
         );
 
         CreatePollResult result = createPollUseCase.create(command);
@@ -66,9 +71,12 @@ public class PollApiController {
     }
 
     @GetMapping("/v1/polls/{pollId}")
-    public PollResponseDTO getPoll(@PathVariable UUID pollId) {
+    public PollResponseDTO getPoll(@PathVariable UUID pollId, WebRequest webRequest) {
         try {
             Poll poll = readPollUseCase.getPublic(pollId);
+            if (webRequest.checkNotModified(PollETags.of(poll, "v1"))) {
+                return null;
+            }
             List<PollOptionResponseDTO> options = poll.options().stream()
                     .map(this::toOptionResponse)
                     .toList();
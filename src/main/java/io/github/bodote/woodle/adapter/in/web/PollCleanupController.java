@@ -1,6 +1,9 @@
 package io.github.bodote.woodle.adapter.in.web;
 
 import io.github.bodote.woodle.application.port.in.CleanupExpiredPollsUseCase;
+import io.github.bodote.woodle.application.port.in.CleanupRunResult;
+import io.github.bodote.woodle.application.port.in.MigratePollsUseCase;
+import io.github.bodote.woodle.application.port.in.MigrationRunResult;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,35 +15,58 @@ import org.springframework.web.server.ResponseStatusException;
 import java.util.Map;
 
 /**
- * Internal endpoint triggered by the weekly EventBridge schedule. The AWS Lambda Web
+ * Internal endpoint triggered by the EventBridge schedules. The AWS Lambda Web
  * Adapter forwards the (non-HTTP) schedule event as a POST to the pass-through path
  * ({@code /events}). The endpoint is also reachable through the public HTTP API, so it
  * is guarded by a shared token carried in the request body; if no token is configured
- * the endpoint is disabled.
+ * the endpoint is disabled. A run that does not fit into one invocation answers with
+ * {@code finished=false} and continues from its checkpoint on the next event. The
+ * {@code task} of the event selects the job: the weekly expired-poll cleanup or the
+ * schema migration of stored polls.
  */
 @RestController
 public class PollCleanupController {
 
     static final String CLEANUP_TASK = "cleanup-expired-polls";
+    static final String MIGRATION_TASK = "migrate-poll-schema";
 
     private final CleanupExpiredPollsUseCase cleanupExpiredPollsUseCase;
+    private final MigratePollsUseCase migratePollsUseCase;
     private final String configuredToken;
 
     public PollCleanupController(CleanupExpiredPollsUseCase cleanupExpiredPollsUseCase,
+                                 MigratePollsUseCase migratePollsUseCase,
                                  @Value("${woodle.cleanup.token:}") String configuredToken) {
         this.cleanupExpiredPollsUseCase = cleanupExpiredPollsUseCase;
+        this.migratePollsUseCase = migratePollsUseCase;
         this.configuredToken = configuredToken;
     }
 
     @PostMapping("/events")
-    public ResponseEntity<Map<String, Integer>> handleEvent(@RequestBody(required = false) CleanupEventDTO event) {
+    public ResponseEntity<Map<String, Object>> handleEvent(@RequestBody(required = false) CleanupEventDTO event) {
         if (configuredToken.isBlank()) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cleanup is not enabled");
         }
-        if (event == null || !configuredToken.equals(event.token()) || !CLEANUP_TASK.equals(event.task())) {
+        if (event == null || !configuredToken.equals(event.token())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Invalid cleanup request");
         }
-        int deleted = cleanupExpiredPollsUseCase.cleanupExpiredPolls();
-        return ResponseEntity.ok(Map.of("deleted", deleted));
+        if (MIGRATION_TASK.equals(event.task())) {
+            MigrationRunResult result = migratePollsUseCase.migratePolls();
+            return ResponseEntity.ok(Map.of(
+                    "migrated", result.migrated(),
+                    "skipped", result.skipped(),
+                    "failed", result.failed(),
+                    "finished", result.finished()
+            ));
+        }
+        if (!CLEANUP_TASK.equals(event.task())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Invalid cleanup request");
+        }
+        CleanupRunResult result = cleanupExpiredPollsUseCase.cleanupExpiredPolls();
+        return ResponseEntity.ok(Map.of(
+                "found", result.found(),
+                "deleted", result.deleted(),
+                "finished", result.finished()
+        ));
     }
 }
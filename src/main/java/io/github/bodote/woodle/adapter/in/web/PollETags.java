@@ -0,0 +1,59 @@
+package io.github.bodote.woodle.adapter.in.web;
+
+import io.github.bodote.woodle.domain.model.Poll;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.CRC32;
+
+/**
+ * Strong ETags for the rendered poll and its JSON form, derived from the stored state instead of the rendered body,
+ * so a matching {@code If-None-Match} is answered before any view model or template work. A tag changes with the
+ * poll's {@code version}, the stored revision that every write moves on and that never repeats for a poll, and with
+ * the poll templates, so a deploy never confirms markup a browser still has from the previous one. Timestamps and
+ * counts are deliberately left out: two different states can share them.
+ */
+final class PollETags {
+
+    private static final String[] POLL_TEMPLATES = {
+            "templates/poll/view.html", "templates/poll/options-list.html", "templates/poll/summary-row.html"
+    };
+    private static final String TEMPLATE_REVISION = templateRevision();
+
+    private PollETags() {
+    }
+
+    /**
+     * @param representation everything besides the poll that the body depends on, e.g. the view and the origin
+     *                       used in share links
+     */
+    static String of(Poll poll, String representation) {
+        String state = String.join("|", TEMPLATE_REVISION, representation, poll.pollId().toString(),
+                Long.toString(poll.version()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(state.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String templateRevision() {
+        CRC32 crc = new CRC32();
+        ClassLoader classLoader = PollETags.class.getClassLoader();
+        for (String template : POLL_TEMPLATES) {
+            try (InputStream in = classLoader.getResourceAsStream(template)) {
+                if (in != null) {
+                    crc.update(in.readAllBytes());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read " + template, e);
+            }
+        }
+        return Long.toHexString(crc.getValue());
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.bodote.woodle.adapter.in.web;
+
+import io.github.bodote.woodle.application.port.in.ReadPollUseCase;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * Server-Sent Events stream of a poll's vote changes for open participant views. Each event named {@code update}
+ * carries HTMX out-of-band markup for the changed participant row and the summary row. Without a
+ * {@link PollLiveUpdates} hub ({@code woodle.poll.live-updates.enabled=false}) the endpoint answers 404.
+ */
+@RestController
+public class PollLiveUpdateController {
+
+    private final ReadPollUseCase readPollUseCase;
+    private final ObjectProvider<PollLiveUpdates> pollLiveUpdates;
+
+    public PollLiveUpdateController(ReadPollUseCase readPollUseCase,
+                                    ObjectProvider<PollLiveUpdates> pollLiveUpdates) {
+        this.readPollUseCase = readPollUseCase;
+        this.pollLiveUpdates = pollLiveUpdates;
+    }
+
+    @GetMapping(value = "/poll/{pollId}/updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter updates(@PathVariable UUID pollId) {
+        PollLiveUpdates liveUpdates = pollLiveUpdates.getIfAvailable();
+        if (liveUpdates == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Live updates are not enabled");
+        }
+        if (!readPollUseCase.exists(pollId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Poll not found");
+        }
+        return liveUpdates.subscribe(pollId);
+    }
+}
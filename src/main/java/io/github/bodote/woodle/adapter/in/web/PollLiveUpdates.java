@@ -0,0 +1,185 @@
+package io.github.bodote.woodle.adapter.in.web;
+
+import io.github.bodote.woodle.application.port.in.ReadPollUseCase;
+import io.github.bodote.woodle.application.port.out.PollUpdatePublisher;
+import io.github.bodote.woodle.domain.model.Poll;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-process fan-out of poll changes to Server-Sent Events subscribers. After a committed vote or deletion the
+ * poll is read once on a virtual thread, so the vote request does not wait for it. The read shows the stored state
+ * including concurrent changes; it is rendered as HTMX out-of-band markup (the participant row and the summary row)
+ * and queued for every subscriber of that poll. Nothing is read while a poll has no subscribers. Each subscriber has
+ * a bounded queue drained by its own virtual thread; a subscriber whose queue is full is dropped instead of
+ * buffering further, and its browser reconnects on its own.
+ * <p>
+ * Only subscribers connected to this instance are reached, so on Lambda, where one open stream would occupy a
+ * whole instance, the hub is disabled.
+ */
+@Component
+@ConditionalOnProperty(name = "woodle.poll.live-updates.enabled", havingValue = "true", matchIfMissing = true)
+public class PollLiveUpdates implements PollUpdatePublisher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PollLiveUpdates.class);
+    private static final String EVENT_NAME = "update";
+    // rendered payloads are never empty, so the empty string can mark the end of a subscriber's queue
+    private static final String CLOSE = "";
+
+    private final ITemplateEngine templateEngine;
+    private final ReadPollUseCase readPollUseCase;
+    private final PollViewModelAssembler pollViewModelAssembler;
+    private final int queueCapacity;
+    private final Supplier<SseEmitter> emitters;
+    private final Executor publisher;
+    private final Map<UUID, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PollLiveUpdates(ITemplateEngine templateEngine,
+                           ReadPollUseCase readPollUseCase,
+                           PollViewModelAssembler pollViewModelAssembler,
+                           @Value("${woodle.poll.live-updates.queue-capacity:16}") int queueCapacity,
+                           @Value("${woodle.poll.live-updates.timeout-millis:300000}") long timeoutMillis) {
+        this(templateEngine, readPollUseCase, pollViewModelAssembler, queueCapacity,
+                () -> new SseEmitter(timeoutMillis),
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("poll-live-updates-publish-", 0).factory()));
+    }
+
+    PollLiveUpdates(ITemplateEngine templateEngine, ReadPollUseCase readPollUseCase,
+                    PollViewModelAssembler pollViewModelAssembler, int queueCapacity, Supplier<SseEmitter> emitters,
+                    Executor publisher) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be at least 1");
+        }
+        this.templateEngine = templateEngine;
+        this.readPollUseCase = readPollUseCase;
+        this.pollViewModelAssembler = pollViewModelAssembler;
+        this.queueCapacity = queueCapacity;
+        this.emitters = emitters;
+        this.publisher = publisher;
+    }
+
+    public SseEmitter subscribe(UUID pollId) {
+        SseEmitter emitter = emitters.get();
+        Subscriber subscriber = new Subscriber(pollId, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        subscribers.computeIfAbsent(pollId, ignored -> new CopyOnWriteArrayList<>()).add(subscriber);
+        emitter.onCompletion(() -> drop(subscriber));
+        emitter.onTimeout(() -> drop(subscriber));
+        emitter.onError(ignored -> drop(subscriber));
+        Thread.ofVirtual().name("poll-live-updates-" + pollId).start(() -> {
+            subscriber.drain();
+            drop(subscriber);
+        });
+        return emitter;
+    }
+
+    @Override
+    public void responseChanged(UUID pollId, UUID responseId) {
+        List<Subscriber> pollSubscribers = subscribers.get(pollId);
+        if (pollSubscribers == null || pollSubscribers.isEmpty()) {
+            return;
+        }
+        publisher.execute(() -> publish(pollId, responseId));
+    }
+
+    int subscriberCount(UUID pollId) {
+        List<Subscriber> pollSubscribers = subscribers.get(pollId);
+        return pollSubscribers == null ? 0 : pollSubscribers.size();
+    }
+
+    private void publish(UUID pollId, UUID responseId) {
+        String payload;
+        try {
+            payload = render(readPollUseCase.getPublic(pollId), responseId);
+        } catch (RuntimeException e) {
+            // the vote itself is committed; subscribers catch up with their next change or page load
+            LOGGER.warn("Skipping live update of poll {}: {}", pollId, e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : subscribers.getOrDefault(pollId, List.of())) {
+            if (!subscriber.queue.offer(payload)) {
+                LOGGER.info("Dropping slow live-update subscriber of poll {}", pollId);
+                drop(subscriber);
+            }
+        }
+    }
+
+
+    private String render(Poll poll, UUID responseId) {
+        PollViewModel view = pollViewModelAssembler.assemble(poll);
+        Context context = new Context(Locale.GERMAN);
+        context.setVariable("pollId", poll.pollId());
+        context.setVariable("responseId", responseId);
+        context.setVariable("summaryCells", view.summaryCells());
+        String fragment = "deleted";
+        Optional<PollViewModel.ParticipantRow> row = view.row(responseId);
+        if (row.isPresent()) {
+            context.setVariable("row", row.get());
+            fragment = "payload";
+        }
+        String html = templateEngine.process("poll/participant-row-update", Set.of(fragment), context);
+        // an SSE data field ends at a line break, so the markup is sent as a single line
+        return html.lines().map(String::strip).filter(line -> !line.isEmpty()).collect(Collectors.joining(" "));
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.pollId, (pollId, pollSubscribers) -> {
+            pollSubscribers.remove(subscriber);
+            return pollSubscribers.isEmpty() ? null : pollSubscribers;
+        });
+        subscriber.close();
+    }
+
+    private record Subscriber(UUID pollId, SseEmitter emitter, BlockingQueue<String> queue) {
+
+        /**
+         * Replaces whatever is still queued by the close marker; the emitter is completed by the drain thread so
+         * a publisher never waits for a send that is stuck on a slow connection.
+         */
+        void close() {
+            do {
+                queue.clear();
+            } while (!queue.offer(CLOSE));
+        }
+
+        void drain() {
+            try {
+                while (true) {
+                    String payload = queue.take();
+                    if (payload.equals(CLOSE)) {
+                        emitter.complete();
+                        return;
+                    }
+                    emitter.send(SseEmitter.event().name(EVENT_NAME).data(payload));
+                }
+            } catch (IOException | IllegalStateException e) {
+                LOGGER.debug("Live-update subscriber disconnected", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -3,12 +3,15 @@ package io.github.bodote.woodle.adapter.in.web;
 import io.github.bodote.woodle.application.model.WizardState;
 import io.github.bodote.woodle.application.port.in.CreatePollResult;
 import io.github.bodote.woodle.application.port.in.CreatePollUseCase;
+import io.github.bodote.woodle.application.port.in.IdempotencyKeyReusedException;
 import io.github.bodote.woodle.application.port.in.command.CreatePollCommand;
 import io.github.bodote.woodle.application.port.out.WizardStateRepository;
 import io.github.bodote.woodle.domain.model.EventType;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.server.ResponseStatusException;
 import jakarta.servlet.http.HttpSession;
 
 import java.time.LocalDate;
@@ -41,9 +44,12 @@ public class PollSubmitController {
             @org.springframework.web.bind.annotation.RequestParam(value = "description", required = false) String description,
             @org.springframework.web.bind.annotation.RequestParam(value = "eventType", required = false) EventType eventType,
             @org.springframework.web.bind.annotation.RequestParam(value = "durationMinutes", required = false) Integer durationMinutes,
+            @org.springframework.web.bind.annotation.RequestParam(value = IdempotencyKeys.PARAMETER, required = false) String idempotencyKeyParameter,
+            @org.springframework.web.bind.annotation.RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKeyHeader,
             HttpServletRequest request,
             HttpSession session
     ) {
+        String idempotencyKey = IdempotencyKeys.of(idempotencyKeyHeader, idempotencyKeyParameter);
         WizardState state = null;
         if (draftId != null) {
             try {
@@ -77,9 +83,15 @@ public class PollSubmitController {
                 state.dates(),
                 state.startTimes(),
                 state.expiresAtOverride(),
-                state.notifyOnComment()
+                state.notifyOnComment(),
+                idempotencyKey
         );
-        CreatePollResult result = createPollUseCase.create(command);
+        CreatePollResult result;
+        try {
+            result = createPollUseCase.create(command);
+        } catch (IdempotencyKeyReusedException exception) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_CONTENT, exception.getMessage(), exception);
+        }
         if (draftId != null) {
             wizardStateRepository.delete(draftId);
         }
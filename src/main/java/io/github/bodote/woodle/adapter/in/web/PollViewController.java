@@ -1,11 +1,10 @@
 package io.github.bodote.woodle.adapter.in.web;
 
+import io.github.bodote.woodle.adapter.in.web.PollViewModel.ParticipantRow;
+import io.github.bodote.woodle.adapter.in.web.PollViewModel.VoteCell;
 import io.github.bodote.woodle.application.port.in.ReadPollUseCase;
 import io.github.bodote.woodle.domain.model.Poll;
-import io.github.bodote.woodle.domain.model.PollOption;
 import io.github.bodote.woodle.domain.model.PollResponse;
-import io.github.bodote.woodle.domain.model.PollVote;
-import io.github.bodote.woodle.domain.model.PollVoteValue;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.http.HttpStatus;
@@ -15,45 +14,54 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import jakarta.servlet.http.HttpServletRequest;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.YearMonth;
-import java.time.format.DateTimeFormatter;
-import java.time.format.TextStyle;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.time.Duration;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 import java.util.UUID;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @Controller
 public class PollViewController {
 
+    private static final Duration CONTENT_RETRY_INTERVAL = Duration.ofMillis(250);
+
     private final ReadPollUseCase readPollUseCase;
+    private final PollViewModelAssembler pollViewModelAssembler;
     private final String publicBaseUrl;
+    private final Duration contentWait;
+    private final boolean liveUpdatesEnabled;
 
     public PollViewController(ReadPollUseCase readPollUseCase,
-                              @Value("${woodle.public-base-url:}") String publicBaseUrl) {
+                              PollViewModelAssembler pollViewModelAssembler,
+                              @Value("${woodle.public-base-url:}") String publicBaseUrl,
+                              @Value("${woodle.poll.content-wait-millis:3000}") long contentWaitMillis,
+                              @Value("${woodle.poll.live-updates.enabled:true}") boolean liveUpdatesEnabled) {
         this.readPollUseCase = readPollUseCase;
+        this.pollViewModelAssembler = pollViewModelAssembler;
         this.publicBaseUrl = publicBaseUrl == null ? "" : publicBaseUrl.trim();
+        this.contentWait = Duration.ofMillis(Math.max(0, contentWaitMillis));
+        this.liveUpdatesEnabled = liveUpdatesEnabled;
     }
 
     @GetMapping("/poll/{pollId:[0-9a-fA-F\\-]{36}}")
-    public String viewPoll(@PathVariable UUID pollId, Model model) {
+    public String viewPoll(@PathVariable UUID pollId, Model model, WebRequest webRequest) {
         Poll poll = loadPublicPoll(pollId);
+        if (notModified(webRequest, poll, "poll/view")) {
+            return null;
+        }
         applyParticipantModel(model, pollId, poll);
         return "poll/view";
     }
 
     @GetMapping("/poll/dynamic/{pollId:[0-9a-fA-F\\-]{36}}")
-    public String viewPollDynamic(@PathVariable UUID pollId, Model model) {
+    public String viewPollDynamic(@PathVariable UUID pollId, Model model, WebRequest webRequest) {
         Poll poll = loadPublicPoll(pollId);
+        if (notModified(webRequest, poll, "poll/view")) {
+            return null;
+        }
         applyParticipantModel(model, pollId, poll);
         return "poll/view";
     }
@@ -64,9 +72,13 @@ public class PollViewController {
                                 @RequestParam(value = "emailFailed", defaultValue = "false") boolean emailFailed,
                                 @RequestParam(value = "emailDisabled", defaultValue = "false") boolean emailDisabled,
                                 Model model,
-                                HttpServletRequest request) {
+                                HttpServletRequest request,
+                                WebRequest webRequest) {
         Poll poll = loadAdminPoll(pollId, adminSecret);
         String origin = resolveOrigin(request);
+        if (notModified(webRequest, poll, "poll/view|" + origin)) {
+            return null;
+        }
         applyAdminModel(model, pollId, adminSecret, poll, origin);
         model.addAttribute("emailFailed", emailFailed);
         model.addAttribute("emailDisabled", emailDisabled);
@@ -79,15 +91,15 @@ public class PollViewController {
                                        @RequestParam(value = "emailFailed", defaultValue = "false") boolean emailFailed,
                                        @RequestParam(value = "emailDisabled", defaultValue = "false") boolean emailDisabled,
                                        Model model,
-                                       HttpServletRequest request) {
-        return viewPollAdmin(pollId, adminSecret, emailFailed, emailDisabled, model, request);
+                                       HttpServletRequest request,
+                                       WebRequest webRequest) {
+        return viewPollAdmin(pollId, adminSecret, emailFailed, emailDisabled, model, request, webRequest);
     }
 
     @GetMapping("/poll/static/{pollId:[0-9a-fA-F\\-]{36}}")
     public String staticPollLoader(@PathVariable UUID pollId, Model model) {
         model.addAttribute("dynamicPollPath", "/poll/dynamic/" + pollId);
-        model.addAttribute("readyPath", "/poll/dynamic/" + pollId + "/ready");
-        model.addAttribute("fragmentPath", "/poll/dynamic/" + pollId + "/fragment");
+        model.addAttribute("contentPath", "/poll/dynamic/" + pollId + "/content");
         return "poll/static-loader";
     }
 
@@ -100,38 +112,69 @@ public class PollViewController {
         String basePath = "/poll/dynamic/" + pollId + "-" + adminSecret;
         String query = buildEmailQuery(emailFailed, emailDisabled);
         model.addAttribute("dynamicPollPath", basePath);
-        model.addAttribute("readyPath", basePath + "/ready");
-        model.addAttribute("fragmentPath", basePath + "/fragment" + query);
+        model.addAttribute("contentPath", basePath + "/content" + query);
         model.addAttribute("emailFailed", emailFailed);
         model.addAttribute("emailDisabled", emailDisabled);
         return "poll/static-loader";
     }
 
+    /**
+     * Ready check and fragment in one request for the static loader: renders {@code pollContent} as soon as the
+     * poll can be loaded, waiting up to {@code woodle.poll.content-wait-millis} for a poll that is not visible yet.
+     */
+    @GetMapping("/poll/dynamic/{pollId:[0-9a-fA-F\\-]{36}}/content")
+    public String participantContent(@PathVariable UUID pollId, Model model, WebRequest webRequest) {
+        Poll poll = awaitPoll(pollId, () -> readPollUseCase.getPublic(pollId));
+        if (notModified(webRequest, poll, "poll/view :: pollContent")) {
+            return null;
+        }
+        applyParticipantModel(model, pollId, poll);
+        return "poll/view :: pollContent";
+    }
+
+    @GetMapping("/poll/dynamic/{pollId:[0-9a-fA-F\\-]{36}}-{adminSecret}/content")
+    public String adminContent(@PathVariable UUID pollId,
+                               @PathVariable String adminSecret,
+                               @RequestParam(value = "emailFailed", defaultValue = "false") boolean emailFailed,
+                               @RequestParam(value = "emailDisabled", defaultValue = "false") boolean emailDisabled,
+                               Model model,
+                               HttpServletRequest request,
+                               WebRequest webRequest) {
+        Poll poll = awaitPoll(pollId, () -> readPollUseCase.getAdmin(pollId, adminSecret));
+        String origin = resolveOrigin(request);
+        if (notModified(webRequest, poll, "poll/view :: pollContent|" + origin)) {
+            return null;
+        }
+        applyAdminModel(model, pollId, adminSecret, poll, origin);
+        model.addAttribute("emailFailed", emailFailed);
+        model.addAttribute("emailDisabled", emailDisabled);
+        return "poll/view :: pollContent";
+    }
+
     @GetMapping("/poll/dynamic/{pollId:[0-9a-fA-F\\-]{36}}/ready")
     @ResponseBody
     public ResponseEntity<String> participantReady(@PathVariable UUID pollId) {
-        try {
-            readPollUseCase.getPublic(pollId);
-            return ResponseEntity.ok("ready");
-        } catch (IllegalArgumentException exception) {
+        if (!readPollUseCase.exists(pollId)) {
             return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok("ready");
     }
 
     @GetMapping("/poll/dynamic/{pollId:[0-9a-fA-F\\-]{36}}-{adminSecret}/ready")
     @ResponseBody
     public ResponseEntity<String> adminReady(@PathVariable UUID pollId, @PathVariable String adminSecret) {
-        try {
-            readPollUseCase.getAdmin(pollId, adminSecret);
-            return ResponseEntity.ok("ready");
-        } catch (IllegalArgumentException exception) {
+        if (!readPollUseCase.existsForAdmin(pollId, adminSecret)) {
             return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok("ready");
     }
 
     @GetMapping("/poll/dynamic/{pollId:[0-9a-fA-F\\-]{36}}/fragment")
-    public String participantFragment(@PathVariable UUID pollId, Model model) {
+    public String participantFragment(@PathVariable UUID pollId, Model model, WebRequest webRequest) {
         Poll poll = loadPublicPoll(pollId);
+        if (notModified(webRequest, poll, "poll/view :: pollContent")) {
+            return null;
+        }
         applyParticipantModel(model, pollId, poll);
         return "poll/view :: pollContent";
     }
@@ -142,9 +185,13 @@ public class PollViewController {
                                 @RequestParam(value = "emailFailed", defaultValue = "false") boolean emailFailed,
                                 @RequestParam(value = "emailDisabled", defaultValue = "false") boolean emailDisabled,
                                 Model model,
-                                HttpServletRequest request) {
+                                HttpServletRequest request,
+                                WebRequest webRequest) {
         Poll poll = loadAdminPoll(pollId, adminSecret);
         String origin = resolveOrigin(request);
+        if (notModified(webRequest, poll, "poll/view :: pollContent|" + origin)) {
+            return null;
+        }
         applyAdminModel(model, pollId, adminSecret, poll, origin);
         model.addAttribute("emailFailed", emailFailed);
         model.addAttribute("emailDisabled", emailDisabled);
@@ -154,28 +201,48 @@ public class PollViewController {
     @GetMapping("/poll/{pollId:[0-9a-fA-F\\-]{36}}/responses/{responseId:[0-9a-fA-F\\-]{36}}/edit")
     public String editResponseRow(@PathVariable UUID pollId, @PathVariable UUID responseId, Model model) {
         Poll poll = loadPublicPoll(pollId);
-        PollResponse response = poll.responses().stream()
-                .filter(candidate -> candidate.responseId().equals(responseId))
-                .findFirst()
+        PollResponse response = poll.findResponse(responseId)
                 .orElseThrow(() -> new IllegalArgumentException("Response not found"));
 
-        List<PollOption> options = poll.options().stream()
-                .sorted(Comparator.comparing(PollOption::date)
-                        .thenComparing(PollOption::startTime, Comparator.nullsFirst(Comparator.naturalOrder())))
-                .toList();
+        PollViewModel view = pollViewModelAssembler.assemble(poll);
+        ParticipantRow row = view.row(responseId).orElseThrow();
 
         model.addAttribute("pollId", pollId);
         model.addAttribute("response", response);
-        model.addAttribute("voteOptions", options);
-        model.addAttribute("voteOptionHeaders", buildOptionHeaders(options));
-        model.addAttribute("editRow", new EditableRow(
-                response.responseId(),
-                response.participantName(),
-                buildVoteCells(options, response.votes())
-        ));
+        model.addAttribute("voteOptions", view.options());
+        model.addAttribute("voteOptionHeaders", view.optionHeaders());
+        model.addAttribute("editRow", new EditableRow(row.responseId(), row.name(), row.cells()));
         return "poll/participant-row-edit :: row";
     }
 
+    /**
+     * Loads the poll, and when it is not found waits with cheap existence checks until it appears or the wait is
+     * over. A poll that exists but still cannot be loaded (wrong admin secret) is not waited for.
+     */
+    private Poll awaitPoll(UUID pollId, Supplier<Poll> load) {
+        long deadline = System.nanoTime() + contentWait.toNanos();
+        try {
+            return load.get();
+        } catch (IllegalArgumentException exception) {
+            while (!readPollUseCase.exists(pollId)) {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Poll not found", exception);
+                }
+                try {
+                    Thread.sleep(CONTENT_RETRY_INTERVAL);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for poll", interrupted);
+                }
+            }
+        }
+        try {
+            return load.get();
+        } catch (IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Poll not found", exception);
+        }
+    }
+
     private Poll loadPublicPoll(UUID pollId) {
         try {
             return readPollUseCase.getPublic(pollId);
@@ -192,24 +259,32 @@ public class PollViewController {
         }
     }
 
+    /**
+     * Sets the poll's ETag and tells whether the client already has this representation; Spring then answers
+     * {@code 304} and the view is never rendered.
+     */
+    private boolean notModified(WebRequest webRequest, Poll poll, String representation) {
+        String tagged = liveUpdatesEnabled ? representation + "|live" : representation;
+        return webRequest.checkNotModified(PollETags.of(poll, tagged));
+    }
+
     private void applyParticipantView(Model model, Poll poll) {
-        List<PollOption> options = poll.options().stream()
-                .sorted(Comparator.comparing(PollOption::date)
-                        .thenComparing(PollOption::startTime, Comparator.nullsFirst(Comparator.naturalOrder())))
-                .toList();
-        List<LocalDate> dates = options.stream().map(PollOption::date).toList();
-        model.addAttribute("voteOptionHeaders", buildOptionHeaders(options));
-        model.addAttribute("voteOptions", options);
-        model.addAttribute("monthGroups", buildMonthGroups(dates));
-        model.addAttribute("dateGroups", buildDateGroups(options));
-        model.addAttribute("participantRows", buildParticipantRows(options, poll.responses()));
-        model.addAttribute("summaryCells", buildSummaryCells(options, poll.responses()));
+        PollViewModel view = pollViewModelAssembler.assemble(poll);
+        model.addAttribute("voteOptionHeaders", view.optionHeaders());
+        model.addAttribute("voteOptions", view.options());
+        model.addAttribute("monthGroups", view.monthGroups());
+        model.addAttribute("dateGroups", view.dateGroups());
+        model.addAttribute("participantRows", view.participantRows());
+        model.addAttribute("summaryCells", view.summaryCells());
     }
 
     private void applyParticipantModel(Model model, UUID pollId, Poll poll) {
         model.addAttribute("poll", poll);
         model.addAttribute("adminView", false);
         model.addAttribute("pollId", pollId);
+        if (liveUpdatesEnabled) {
+            model.addAttribute("liveUpdatesPath", "/poll/" + pollId + "/updates");
+        }
         applyParticipantView(model, poll);
     }
 
@@ -232,146 +307,6 @@ public class PollViewController {
         return "";
     }
 
-    private List<MonthGroup> buildMonthGroups(List<LocalDate> dates) {
-        List<MonthGroup> groups = new ArrayList<>();
-        YearMonth current = null;
-        int startIndex = 0;
-        for (int i = 0; i < dates.size(); i++) {
-            YearMonth month = YearMonth.from(dates.get(i));
-            if (current == null) {
-                current = month;
-                startIndex = i;
-                continue;
-            }
-            if (!month.equals(current)) {
-                groups.add(new MonthGroup(labelFor(current), startIndex, i - startIndex));
-                current = month;
-                startIndex = i;
-            }
-        }
-        if (current != null) {
-            groups.add(new MonthGroup(labelFor(current), startIndex, dates.size() - startIndex));
-        }
-        return groups;
-    }
-
-    private String labelFor(YearMonth month) {
-        String name = month.getMonth().getDisplayName(TextStyle.FULL, Locale.GERMAN);
-        return name.substring(0, 1).toUpperCase(Locale.GERMAN) + name.substring(1) + " " + month.getYear();
-    }
-
-    private List<DateGroup> buildDateGroups(List<PollOption> options) {
-        List<DateGroup> groups = new ArrayList<>();
-        LocalDate currentDate = null;
-        int startIndex = 0;
-        for (int i = 0; i < options.size(); i++) {
-            LocalDate date = options.get(i).date();
-            if (currentDate == null) {
-                currentDate = date;
-                startIndex = i;
-                continue;
-            }
-            if (!date.equals(currentDate)) {
-                groups.add(new DateGroup(formatDateGroupLabel(currentDate), startIndex, i - startIndex, true));
-                currentDate = date;
-                startIndex = i;
-            }
-        }
-        if (currentDate != null) {
-            groups.add(new DateGroup(formatDateGroupLabel(currentDate), startIndex, options.size() - startIndex, false));
-        }
-        return groups;
-    }
-
-    private String formatDateGroupLabel(LocalDate date) {
-        return date.format(DateTimeFormatter.ofPattern("EEE, dd.MM.", Locale.GERMAN));
-    }
-
-    private List<OptionHeader> buildOptionHeaders(List<PollOption> options) {
-        List<OptionHeader> headers = new ArrayList<>();
-        for (int i = 0; i < options.size(); i++) {
-            PollOption option = options.get(i);
-            headers.add(new OptionHeader(option, formatOptionLabel(option), isDayBoundary(options, i)));
-        }
-        return headers;
-    }
-
-    private String formatOptionLabel(PollOption option) {
-        DateTimeFormatter dayFormatter = DateTimeFormatter.ofPattern("EEE, dd.MM.", Locale.GERMAN);
-        String dayLabel = option.date().format(dayFormatter);
-        LocalTime startTime = option.startTime();
-        if (startTime == null) {
-            return dayLabel;
-        }
-        return startTime.toString();
-    }
-
-    private List<ParticipantRow> buildParticipantRows(List<PollOption> options, List<PollResponse> responses) {
-        return responses.stream()
-                .map(response -> new ParticipantRow(
-                        response.responseId(),
-                        response.participantName(),
-                        buildVoteCells(options, response.votes())
-                ))
-                .toList();
-    }
-
-    private List<VoteCell> buildVoteCells(List<PollOption> options, List<PollVote> votes) {
-        Map<UUID, PollVoteValue> byOptionId = votes.stream()
-                .collect(Collectors.toMap(PollVote::optionId, PollVote::value));
-        List<VoteCell> cells = new ArrayList<>();
-        for (int i = 0; i < options.size(); i++) {
-            PollOption option = options.get(i);
-            PollVoteValue value = byOptionId.get(option.optionId());
-            cells.add(new VoteCell(option.optionId(), value, symbolFor(value), markerClassFor(value), isDayBoundary(options, i)));
-        }
-        return cells;
-    }
-
-    private List<SummaryCell> buildSummaryCells(List<PollOption> options, List<PollResponse> responses) {
-        Map<UUID, Long> yesCounts = responses.stream()
-                .flatMap(response -> response.votes().stream())
-                .filter(vote -> vote.value() == PollVoteValue.YES)
-                .collect(Collectors.groupingBy(PollVote::optionId, Collectors.counting()));
-        long max = yesCounts.values().stream().mapToLong(Long::longValue).max().orElse(0);
-        List<SummaryCell> cells = new ArrayList<>();
-        for (int i = 0; i < options.size(); i++) {
-            PollOption option = options.get(i);
-            long count = yesCounts.getOrDefault(option.optionId(), 0L);
-            cells.add(new SummaryCell(option.optionId(), (int) count, count == max && count > 0, isDayBoundary(options, i)));
-        }
-        return cells;
-    }
-
-    private boolean isDayBoundary(List<PollOption> options, int index) {
-        if (index >= options.size() - 1) {
-            return false;
-        }
-        return !options.get(index).date().equals(options.get(index + 1).date());
-    }
-
-    private String symbolFor(PollVoteValue value) {
-        if (value == null) {
-            return "";
-        }
-        return switch (value) {
-            case YES -> "✓";
-            case IF_NEEDED -> "(✓)";
-            case NO -> "✗";
-        };
-    }
-
-    private String markerClassFor(PollVoteValue value) {
-        if (value == null) {
-            return "";
-        }
-        return switch (value) {
-            case YES -> "votes-table__marker--yes";
-            case IF_NEEDED -> "votes-table__marker--if-needed";
-            case NO -> "votes-table__marker--no";
-        };
-    }
-
     private String resolveOrigin(HttpServletRequest request) {
         if (!publicBaseUrl.isBlank()) {
             return publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
@@ -480,58 +415,6 @@ public class PollViewController {
         }
     }
 
-    public record MonthGroup(String label, int startIndex, int span) {
-        public String getLabel() {
-            return label;
-        }
-
-        public int getSpan() {
-            return span;
-        }
-    }
-
-    public record DateGroup(String label, int startIndex, int span, boolean dayBoundary) {
-        public String getLabel() {
-            return label;
-        }
-
-        public int getSpan() {
-            return span;
-        }
-
-        public boolean isDayBoundary() {
-            return dayBoundary;
-        }
-    }
-
-    public record OptionHeader(PollOption option, String label, boolean dayBoundary) {
-        public PollOption getOption() {
-            return option;
-        }
-
-        public String getLabel() {
-            return label;
-        }
-
-        public boolean isDayBoundary() {
-            return dayBoundary;
-        }
-    }
-
-    public record ParticipantRow(UUID responseId, String name, List<VoteCell> cells) {
-        public UUID getResponseId() {
-            return responseId;
-        }
-
-        public String getName() {
-            return name;
-        }
-
-        public List<VoteCell> getCells() {
-            return cells;
-        }
-    }
-
     public record EditableRow(UUID responseId, String name, List<VoteCell> cells) {
         public UUID getResponseId() {
             return responseId;
@@ -545,44 +428,4 @@ public class PollViewController {
             return cells;
         }
     }
-
-    public record VoteCell(UUID optionId, PollVoteValue value, String symbol, String markerClass, boolean dayBoundary) {
-        public UUID getOptionId() {
-            return optionId;
-        }
-
-        public PollVoteValue getValue() {
-            return value;
-        }
-
-        public String getSymbol() {
-            return symbol;
-        }
-
-        public String getMarkerClass() {
-            return markerClass;
-        }
-
-        public boolean isDayBoundary() {
-            return dayBoundary;
-        }
-    }
-
-    public record SummaryCell(UUID optionId, int count, boolean best, boolean dayBoundary) {
-        public UUID getOptionId() {
-            return optionId;
-        }
-
-        public int getCount() {
-            return count;
-        }
-
-        public boolean isBest() {
-            return best;
-        }
-
-        public boolean isDayBoundary() {
-            return dayBoundary;
-        }
-    }
 }
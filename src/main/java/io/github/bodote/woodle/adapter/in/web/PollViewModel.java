@@ -0,0 +1,126 @@
+package io.github.bodote.woodle.adapter.in.web;
+
+import io.github.bodote.woodle.domain.model.PollOption;
+import io.github.bodote.woodle.domain.model.PollVoteValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Everything the participant table needs from a poll, computed once by {@link PollViewModelAssembler}: the options
+ * in display order with their labels, day-boundary flags and month/date groups, one row per response and the
+ * summary row. Immutable, so one instance is shared by all requests that render the same poll state.
+ */
+public record PollViewModel(List<PollOption> options,
+                            List<OptionHeader> optionHeaders,
+                            List<MonthGroup> monthGroups,
+                            List<DateGroup> dateGroups,
+                            List<ParticipantRow> participantRows,
+                            List<SummaryCell> summaryCells,
+                            Map<UUID, ParticipantRow> rowsByResponseId) {
+
+    public Optional<ParticipantRow> row(UUID responseId) {
+        return Optional.ofNullable(rowsByResponseId.get(responseId));
+    }
+
+    /**
+     * Number of table cells, the weight of this model in the {@link PollViewModelAssembler} cache.
+     */
+    long cellCount() {
+        return (long) options.size() * (participantRows.size() + 1);
+    }
+
+    public record MonthGroup(String label, int startIndex, int span) {
+        public String getLabel() {
+            return label;
+        }
+
+        public int getSpan() {
+            return span;
+        }
+    }
+
+    public record DateGroup(String label, int startIndex, int span, boolean dayBoundary) {
+        public String getLabel() {
+            return label;
+        }
+
+        public int getSpan() {
+            return span;
+        }
+
+        public boolean isDayBoundary() {
+            return dayBoundary;
+        }
+    }
+
+    public record OptionHeader(PollOption option, String label, boolean dayBoundary) {
+        public PollOption getOption() {
+            return option;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public boolean isDayBoundary() {
+            return dayBoundary;
+        }
+    }
+
+    public record ParticipantRow(UUID responseId, String name, List<VoteCell> cells) {
+        public UUID getResponseId() {
+            return responseId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<VoteCell> getCells() {
+            return cells;
+        }
+    }
+
+    public record VoteCell(UUID optionId, PollVoteValue value, String symbol, String markerClass, boolean dayBoundary) {
+        public UUID getOptionId() {
+            return optionId;
+        }
+
+        public PollVoteValue getValue() {
+            return value;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public String getMarkerClass() {
+            return markerClass;
+        }
+
+        public boolean isDayBoundary() {
+            return dayBoundary;
+        }
+    }
+
+    public record SummaryCell(UUID optionId, int count, boolean best, boolean dayBoundary) {
+        public UUID getOptionId() {
+            return optionId;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public boolean isBest() {
+            return best;
+        }
+
+        public boolean isDayBoundary() {
+            return dayBoundary;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package io.github.bodote.woodle.adapter.in.web;
+
+import io.github.bodote.woodle.adapter.in.web.PollViewModel.DateGroup;
+import io.github.bodote.woodle.adapter.in.web.PollViewModel.MonthGroup;
+import io.github.bodote.woodle.adapter.in.web.PollViewModel.OptionHeader;
+import io.github.bodote.woodle.adapter.in.web.PollViewModel.ParticipantRow;
+import io.github.bodote.woodle.adapter.in.web.PollViewModel.SummaryCell;
+import io.github.bodote.woodle.adapter.in.web.PollViewModel.VoteCell;
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollOption;
+import io.github.bodote.woodle.domain.model.PollResponse;
+import io.github.bodote.woodle.domain.model.PollTally;
+import io.github.bodote.woodle.domain.model.PollVote;
+import io.github.bodote.woodle.domain.model.PollVoteValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Builds the {@link PollViewModel} of a poll and keeps it for the next request that renders the same poll state.
+ * <p>
+ * Entries are keyed by poll id and reused while the poll still has the same {@code version} and {@code updatedAt}.
+ * Every stored change moves the version on, so the two identify a poll's state without comparing its options and
+ * responses; a poll that was never stored (version 0) is only recognised as the very same instance. The cache is an
+ * LRU bounded by the summed number of table cells of the cached models
+ * ({@code woodle.poll.view-model-cache.max-cells}).
+ * <p>
+ * The vote cells of one option are shared by all rows: a row only allocates the list that points to them. When a
+ * poll changed but kept its options, the new model starts from the cached one: only the rows of responses whose
+ * {@link PollResponse#revision() revision} moved are rebuilt, and the summary row comes from the cached
+ * {@link PollTally} updated for those responses.
+ */
+@Component
+public class PollViewModelAssembler {
+
+    private static final Comparator<PollOption> DISPLAY_ORDER = Comparator.comparing(PollOption::date)
+            .thenComparing(PollOption::startTime, Comparator.nullsFirst(Comparator.naturalOrder()));
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("EEE, dd.MM.", Locale.GERMAN);
+    private static final PollVoteValue[] VOTE_VALUES = PollVoteValue.values();
+
+    private final long maxCells;
+    private final LinkedHashMap<UUID, CachedViewModel> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedCells;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PollViewModelAssembler(@Value("${woodle.poll.view-model-cache.max-cells:500000}") long maxCells) {
+        this.maxCells = maxCells;
+    }
+
+    public PollViewModel assemble(Poll poll) {
+        CachedViewModel cached = get(poll.pollId());
+        if (cached != null && sameState(cached.poll(), poll)) {
+            hits.increment();
+            return cached.viewModel();
+        }
+        misses.increment();
+        CachedViewModel updated = cached != null && cached.poll().options().equals(poll.options())
+                ? update(cached, poll)
+                : build(poll);
+        put(poll.pollId(), updated);
+        return updated.viewModel();
+    }
+
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), entries.size(), cachedCells);
+        }
+    }
+
+    private static CachedViewModel build(Poll poll) {
+        Layout layout = layout(poll.options().stream().sorted(DISPLAY_ORDER).toList());
+        List<ParticipantRow> rows = new ArrayList<>(poll.responses().size());
+        for (PollResponse response : poll.responses()) {
+            rows.add(row(layout, response));
+        }
+        return compose(poll, layout, rows, PollTally.of(layout.options(), poll.responses()));
+    }
+
+    /**
+     * Derives the model of a poll whose options did not change since {@code cached}: the layout and the rows of
+     * unchanged responses are reused, and the tally is updated only for the responses that were added, changed or
+     * removed. Responses are told apart by id and revision, so the cost does not grow with the number of options.
+     */
+    private static CachedViewModel update(CachedViewModel cached, Poll poll) {
+        PollTally tally = cached.tally();
+        List<ParticipantRow> rows = new ArrayList<>(poll.responses().size());
+        int kept = 0;
+        for (PollResponse response : poll.responses()) {
+            PollResponse before = cached.poll().findResponse(response.responseId()).orElse(null);
+            if (before == null) {
+                tally = tally.addResponse(response);
+                rows.add(row(cached.layout(), response));
+                continue;
+            }
+            kept++;
+            if (sameResponse(before, response, poll)) {
+                rows.add(cached.viewModel().rowsByResponseId().get(response.responseId()));
+            } else {
+                tally = tally.replaceResponse(before, response);
+                rows.add(row(cached.layout(), response));
+            }
+        }
+        if (kept < cached.poll().responses().size()) {
+            for (PollResponse before : cached.poll().responses()) {
+                if (poll.findResponse(before.responseId()).isEmpty()) {
+                    tally = tally.removeResponse(before);
+                }
+            }
+        }
+        return compose(poll, cached.layout(), rows, tally);
+    }
+
+    private static Layout layout(List<PollOption> options) {
+        int optionCount = options.size();
+        boolean[] dayBoundaries = new boolean[optionCount];
+        Map<UUID, Integer> optionIndex = new HashMap<>(optionCount * 2);
+        for (int i = 0; i < optionCount; i++) {
+            dayBoundaries[i] = i < optionCount - 1 && !options.get(i).date().equals(options.get(i + 1).date());
+            optionIndex.put(options.get(i).optionId(), i);
+        }
+
+        // cells[i][0] is the empty cell of option i, cells[i][value.ordinal() + 1] the cell for that vote
+        VoteCell[][] cells = new VoteCell[optionCount][VOTE_VALUES.length + 1];
+        List<OptionHeader> headers = new ArrayList<>(optionCount);
+        for (int i = 0; i < optionCount; i++) {
+            PollOption option = options.get(i);
+            cells[i][0] = new VoteCell(option.optionId(), null, "", "", dayBoundaries[i]);
+            for (PollVoteValue value : VOTE_VALUES) {
+                cells[i][value.ordinal() + 1] = new VoteCell(option.optionId(), value, symbolFor(value),
+                        markerClassFor(value), dayBoundaries[i]);
+            }
+            headers.add(new OptionHeader(option, formatOptionLabel(option), dayBoundaries[i]));
+        }
+        return new Layout(options, List.copyOf(headers), buildMonthGroups(options), buildDateGroups(options),
+                dayBoundaries, optionIndex, cells);
+    }
+
+    private static ParticipantRow row(Layout layout, PollResponse response) {
+        VoteCell[][] cells = layout.cells();
+        VoteCell[] rowCells = new VoteCell[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            rowCells[i] = cells[i][0];
+        }
+        for (PollVote vote : response.votes()) {
+            Integer index = layout.optionIndex().get(vote.optionId());
+            if (index == null || vote.value() == null) {
+                continue;
+            }
+            rowCells[index] = cells[index][vote.value().ordinal() + 1];
+        }
+        return new ParticipantRow(response.responseId(), response.participantName(),
+                Collections.unmodifiableList(Arrays.asList(rowCells)));
+    }
+
+    private static CachedViewModel compose(Poll poll, Layout layout, List<ParticipantRow> rows, PollTally tally) {
+        Map<UUID, ParticipantRow> rowsByResponseId = new HashMap<>(rows.size() * 2);
+        for (ParticipantRow row : rows) {
+            rowsByResponseId.put(row.responseId(), row);
+        }
+        List<SummaryCell> summaryCells = new ArrayList<>(layout.options().size());
+        for (int i = 0; i < layout.options().size(); i++) {
+            summaryCells.add(new SummaryCell(layout.options().get(i).optionId(), tally.yes(i), tally.isBest(i),
+                    layout.dayBoundaries()[i]));
+        }
+        PollViewModel viewModel = new PollViewModel(layout.options(), layout.headers(), layout.monthGroups(),
+                layout.dateGroups(), List.copyOf(rows), List.copyOf(summaryCells), Map.copyOf(rowsByResponseId));
+        return new CachedViewModel(poll, layout, tally, viewModel);
+    }
+
+    /**
+     * Every stored write of a response gives it the revision of that write, so an unchanged revision means unchanged
+     * votes. Responses of a poll that was never stored are only recognised as the very same instance.
+     */
+    private static boolean sameResponse(PollResponse before, PollResponse response, Poll poll) {
+        return before == response || poll.version() > 0 && before.revision() == response.revision();
+    }
+
+    private static boolean sameState(Poll cached, Poll poll) {
+        if (cached == poll) {
+            return true;
+        }
+        return poll.version() > 0
+                && cached.version() == poll.version()
+                && Objects.equals(cached.updatedAt(), poll.updatedAt());
+    }
+
+    private static List<MonthGroup> buildMonthGroups(List<PollOption> options) {
+        List<MonthGroup> groups = new ArrayList<>();
+        YearMonth current = null;
+        int startIndex = 0;
+        for (int i = 0; i < options.size(); i++) {
+            YearMonth month = YearMonth.from(options.get(i).date());
+            if (current == null) {
+                current = month;
+                startIndex = i;
+                continue;
+            }
+            if (!month.equals(current)) {
+                groups.add(new MonthGroup(labelFor(current), startIndex, i - startIndex));
+                current = month;
+                startIndex = i;
+            }
+        }
+        if (current != null) {
+            groups.add(new MonthGroup(labelFor(current), startIndex, options.size() - startIndex));
+        }
+        return List.copyOf(groups);
+    }
+
+    private static String labelFor(YearMonth month) {
+        String name = month.getMonth().getDisplayName(TextStyle.FULL, Locale.GERMAN);
+        return name.substring(0, 1).toUpperCase(Locale.GERMAN) + name.substring(1) + " " + month.getYear();
+    }
+
+    private static List<DateGroup> buildDateGroups(List<PollOption> options) {
+        List<DateGroup> groups = new ArrayList<>();
+        LocalDate currentDate = null;
+        int startIndex = 0;
+        for (int i = 0; i < options.size(); i++) {
+            LocalDate date = options.get(i).date();
+            if (currentDate == null) {
+                currentDate = date;
+                startIndex = i;
+                continue;
+            }
+            if (!date.equals(currentDate)) {
+                groups.add(new DateGroup(currentDate.format(DAY_LABEL), startIndex, i - startIndex, true));
+                currentDate = date;
+                startIndex = i;
+            }
+        }
+        if (currentDate != null) {
+            groups.add(new DateGroup(currentDate.format(DAY_LABEL), startIndex, options.size() - startIndex, false));
+        }
+        return List.copyOf(groups);
+    }
+
+    private static String formatOptionLabel(PollOption option) {
+        if (option.startTime() == null) {
+            return option.date().format(DAY_LABEL);
+        }
+        return option.startTime().toString();
+    }
+
+    private static String symbolFor(PollVoteValue value) {
+        return switch (value) {
+            case YES -> "✓";
+            case IF_NEEDED -> "(✓)";
+            case NO -> "✗";
+        };
+    }
+
+    private static String markerClassFor(PollVoteValue value) {
+        return switch (value) {
+            case YES -> "votes-table__marker--yes";
+            case IF_NEEDED -> "votes-table__marker--if-needed";
+            case NO -> "votes-table__marker--no";
+        };
+    }
+
+    private CachedViewModel get(UUID pollId) {
+        synchronized (entries) {
+            return entries.get(pollId);
+        }
+    }
+
+    private void put(UUID pollId, CachedViewModel cachedViewModel) {
+        long cells = cachedViewModel.viewModel().cellCount();
+        synchronized (entries) {
+            CachedViewModel previous = entries.remove(pollId);
+            if (previous != null) {
+                cachedCells -= previous.viewModel().cellCount();
+            }
+            if (cells > maxCells) {
+                return;
+            }
+            entries.put(pollId, cachedViewModel);
+            cachedCells += cells;
+            Iterator<CachedViewModel> eldest = entries.values().iterator();
+            while (cachedCells > maxCells && eldest.hasNext()) {
+                cachedCells -= eldest.next().viewModel().cellCount();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Counters since startup and the current size of the cache in table cells.
+     */
+    public record Stats(long hits, long misses, int entries, long cells) {
+    }
+
+    /**
+     * The parts of a model that only depend on the options: they stay valid while the options are unchanged.
+     */
+    private record Layout(List<PollOption> options, List<OptionHeader> headers, List<MonthGroup> monthGroups,
+                          List<DateGroup> dateGroups, boolean[] dayBoundaries, Map<UUID, Integer> optionIndex,
+                          VoteCell[][] cells) {
+    }
+
+    private record CachedViewModel(Poll poll, Layout layout, PollTally tally, PollViewModel viewModel) {
+    }
+}
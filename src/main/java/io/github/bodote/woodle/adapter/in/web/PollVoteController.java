@@ -1,11 +1,9 @@
 package io.github.bodote.woodle.adapter.in.web;
 
+import io.github.bodote.woodle.application.port.in.IdempotencyKeyReusedException;
 import io.github.bodote.woodle.application.port.in.ReadPollUseCase;
 import io.github.bodote.woodle.application.port.in.SubmitVoteUseCase;
 import io.github.bodote.woodle.application.port.in.command.SubmitVoteCommand;
-import io.github.bodote.woodle.domain.model.Poll;
-import io.github.bodote.woodle.domain.model.PollOption;
-import io.github.bodote.woodle.domain.model.PollResponse;
 import io.github.bodote.woodle.domain.model.PollVote;
 import io.github.bodote.woodle.domain.model.PollVoteValue;
 import org.springframework.stereotype.Controller;
@@ -19,21 +17,23 @@ import org.springframework.ui.Model;
 import org.springframework.http.HttpStatus;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Controller
 public class PollVoteController {
 
     private final SubmitVoteUseCase submitVoteUseCase;
     private final ReadPollUseCase readPollUseCase;
+    private final PollViewModelAssembler pollViewModelAssembler;
 
-    public PollVoteController(SubmitVoteUseCase submitVoteUseCase, ReadPollUseCase readPollUseCase) {
+    public PollVoteController(SubmitVoteUseCase submitVoteUseCase,
+                              ReadPollUseCase readPollUseCase,
+                              PollViewModelAssembler pollViewModelAssembler) {
         this.submitVoteUseCase = submitVoteUseCase;
         this.readPollUseCase = readPollUseCase;
+        this.pollViewModelAssembler = pollViewModelAssembler;
     }
 
     @PostMapping("/poll/{pollId}/vote")
@@ -43,9 +43,12 @@ public class PollVoteController {
             @RequestParam(value = "comment", required = false) String comment,
             @RequestParam(value = "responseId", required = false) UUID responseId,
             @RequestHeader(value = "HX-Request", required = false) String hxRequest,
+            @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKeyHeader,
+            @RequestParam(value = IdempotencyKeys.PARAMETER, required = false) String idempotencyKeyParameter,
             Model model,
             @RequestParam Map<String, String> params
     ) {
+        String idempotencyKey = IdempotencyKeys.of(idempotencyKeyHeader, idempotencyKeyParameter);
         List<PollVote> votes = new ArrayList<>();
         for (Map.Entry<String, String> entry : params.entrySet()) {
             String key = entry.getKey();
@@ -56,24 +59,18 @@ public class PollVoteController {
             PollVoteValue value = PollVoteValue.valueOf(entry.getValue());
             votes.add(new PollVote(UUID.fromString(optionId), value));
         }
-        submitVoteUseCase.submit(new SubmitVoteCommand(pollId, participantName, votes, comment, responseId));
+        try {
+            submitVoteUseCase.submit(new SubmitVoteCommand(pollId, participantName, votes, comment, responseId,
+                    idempotencyKey));
+        } catch (IdempotencyKeyReusedException exception) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_CONTENT, exception.getMessage(), exception);
+        }
         if ("true".equalsIgnoreCase(hxRequest) && responseId != null) {
-            Poll poll = readPollUseCase.getPublic(pollId);
-            PollResponse response = poll.responses().stream()
-                    .filter(candidate -> candidate.responseId().equals(responseId))
-                    .findFirst()
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Response not found"));
-            List<PollOption> options = poll.options().stream()
-                    .sorted(Comparator.comparing(PollOption::date)
-                            .thenComparing(PollOption::startTime, Comparator.nullsFirst(Comparator.naturalOrder())))
-                    .toList();
+            PollViewModel view = pollViewModelAssembler.assemble(readPollUseCase.getPublic(pollId));
             model.addAttribute("pollId", pollId);
-            model.addAttribute("row", new ParticipantRow(
-                    response.responseId(),
-                    response.participantName(),
-                    buildVoteCells(options, response.votes())
-            ));
-            model.addAttribute("summaryCells", buildSummaryCells(options, poll.responses()));
+            model.addAttribute("row", view.row(responseId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Response not found")));
+            model.addAttribute("summaryCells", view.summaryCells());
             return "poll/participant-row-update :: payload";
         }
         return "redirect:/poll/" + pollId;
@@ -96,12 +93,8 @@ public class PollVoteController {
         }
 
         if ("true".equalsIgnoreCase(hxRequest)) {
-            Poll poll = readPollUseCase.getPublic(pollId);
-            List<PollOption> options = poll.options().stream()
-                    .sorted(Comparator.comparing(PollOption::date)
-                            .thenComparing(PollOption::startTime, Comparator.nullsFirst(Comparator.naturalOrder())))
-                    .toList();
-            model.addAttribute("summaryCells", buildSummaryCells(options, poll.responses()));
+            PollViewModel view = pollViewModelAssembler.assemble(readPollUseCase.getPublic(pollId));
+            model.addAttribute("summaryCells", view.summaryCells());
             return "poll/summary-row :: rowOob";
         }
         return "redirect:/poll/" + pollId;
@@ -119,114 +112,4 @@ public class PollVoteController {
         }
         return null;
     }
-
-    private List<VoteCell> buildVoteCells(List<PollOption> options, List<PollVote> votes) {
-        Map<UUID, PollVoteValue> byOptionId = votes.stream()
-                .collect(Collectors.toMap(PollVote::optionId, PollVote::value));
-        List<VoteCell> cells = new ArrayList<>();
-        for (int i = 0; i < options.size(); i++) {
-            PollOption option = options.get(i);
-            PollVoteValue value = byOptionId.get(option.optionId());
-            cells.add(new VoteCell(option.optionId(), value, symbolFor(value), markerClassFor(value), isDayBoundary(options, i)));
-        }
-        return cells;
-    }
-
-    private List<SummaryCell> buildSummaryCells(List<PollOption> options, List<PollResponse> responses) {
-        Map<UUID, Long> yesCounts = responses.stream()
-                .flatMap(response -> response.votes().stream())
-                .filter(vote -> vote.value() == PollVoteValue.YES)
-                .collect(Collectors.groupingBy(PollVote::optionId, Collectors.counting()));
-        long max = yesCounts.values().stream().mapToLong(Long::longValue).max().orElse(0);
-        List<SummaryCell> cells = new ArrayList<>();
-        for (int i = 0; i < options.size(); i++) {
-            PollOption option = options.get(i);
-            long count = yesCounts.getOrDefault(option.optionId(), 0L);
-            cells.add(new SummaryCell(option.optionId(), (int) count, count == max && count > 0, isDayBoundary(options, i)));
-        }
-        return cells;
-    }
-
-    private boolean isDayBoundary(List<PollOption> options, int index) {
-        if (index >= options.size() - 1) {
-            return false;
-        }
-        return !options.get(index).date().equals(options.get(index + 1).date());
-    }
-
-    private String symbolFor(PollVoteValue value) {
-        if (value == null) {
-            return "";
-        }
-        return switch (value) {
-            case YES -> "✓";
-            case IF_NEEDED -> "(✓)";
-            case NO -> "✗";
-        };
-    }
-
-    private String markerClassFor(PollVoteValue value) {
-        if (value == null) {
-            return "";
-        }
-        return switch (value) {
-            case YES -> "votes-table__marker--yes";
-            case IF_NEEDED -> "votes-table__marker--if-needed";
-            case NO -> "votes-table__marker--no";
-        };
-    }
-
-    record ParticipantRow(UUID responseId, String name, List<VoteCell> cells) {
-        public UUID getResponseId() {
-            return responseId;
-        }
-
-        public String getName() {
-            return name;
-        }
-
-        public List<VoteCell> getCells() {
-            return cells;
-        }
-    }
-
-    record VoteCell(UUID optionId, PollVoteValue value, String symbol, String markerClass, boolean dayBoundary) {
-        public UUID getOptionId() {
-            return optionId;
-        }
-
-        public PollVoteValue getValue() {
-            return value;
-        }
-
-        public String getSymbol() {
-            return symbol;
-        }
-
-        public String getMarkerClass() {
-            return markerClass;
-        }
-
-        public boolean isDayBoundary() {
-            return dayBoundary;
-        }
-    }
-
-    record SummaryCell(UUID optionId, int count, boolean best, boolean dayBoundary) {
-        public UUID getOptionId() {
-            return optionId;
-        }
-
-        public int getCount() {
-            return count;
-        }
-
-        public boolean isBest() {
-            return best;
-        }
-
-        public boolean isDayBoundary() {
-            return dayBoundary;
-        }
-    }
 }
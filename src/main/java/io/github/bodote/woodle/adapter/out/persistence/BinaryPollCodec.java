@@ -0,0 +1,374 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Hand-written binary form of {@link PollDAO}: the header {@code WDLB} plus a format version, then the fields in
+ * declaration order. Numbers are varints, dates are epoch days and seconds, every string is written once and
+ * referenced by index afterwards, and a vote refers to its option by position instead of repeating the option
+ * UUID. Decoding needs no reflection, which keeps it cheap on a cold Lambda and in the native image.
+ * <p>
+ * The layout follows the record components; adding or reordering a {@link PollDAO} component requires a new
+ * {@link #FORMAT_VERSION} and a decoder for the old one.
+ */
+public class BinaryPollCodec implements PollCodec {
+
+    private static final byte[] MAGIC = {'W', 'D', 'L', 'B'};
+    /** Version 2 added {@link PollDAO.Response#voteCodes()}, version 3 {@link PollDAO.Response#revision()}. */
+    private static final int FORMAT_VERSION = 3;
+
+    @Override
+    public String contentType() {
+        return "application/vnd.woodle.poll";
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        if (data.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] encode(PollDAO poll) {
+        Writer out = new Writer();
+        out.bytes.writeBytes(MAGIC);
+        out.varint(FORMAT_VERSION);
+        out.uuid(poll.pollId());
+        out.string(poll.schemaVersion());
+        out.string(poll.type());
+        out.string(poll.title());
+        out.string(poll.descriptionHtml());
+        out.string(poll.language());
+        out.dateTime(poll.createdAt());
+        out.dateTime(poll.updatedAt());
+        out.optional(poll.author(), author -> {
+            out.string(author.name());
+            out.string(author.email());
+        });
+        out.optional(poll.access(), access -> {
+            out.string(access.customSlug());
+            out.string(access.passwordHash());
+            out.bool(access.resultsPublic());
+            out.string(access.adminToken());
+        });
+        out.optional(poll.permissions(), permissions -> out.string(permissions.voteChangePolicy()));
+        out.optional(poll.notifications(), notifications -> {
+            out.bool(notifications.onVote());
+            out.bool(notifications.onComment());
+        });
+        out.optional(poll.resultsVisibility(), visibility -> out.bool(visibility.onlyAuthor()));
+        out.string(poll.status());
+        out.optional(poll.expiresAt(), date -> out.zigzag(date.toEpochDay()));
+        Map<UUID, Integer> optionPositions = new HashMap<>();
+        out.optional(poll.options(), options -> {
+            out.string(options.eventType());
+            out.optional(options.durationMinutes(), minutes -> out.zigzag(minutes));
+            out.list(options.items(), item -> {
+                if (item.optionId() != null) {
+                    optionPositions.putIfAbsent(item.optionId(), optionPositions.size() + 1);
+                }
+                out.uuid(item.optionId());
+                out.optional(item.date(), date -> out.zigzag(date.toEpochDay()));
+                out.string(item.startTime());
+                out.string(item.endTime());
+            });
+        });
+        out.list(poll.responses(), response -> {
+            out.uuid(response.responseId());
+            out.string(response.participantName());
+            out.dateTime(response.createdAt());
+            out.list(response.votes(), vote -> {
+                Integer position = vote.optionId() == null ? null : optionPositions.get(vote.optionId());
+                if (position != null) {
+                    out.varint(position + 1L);
+                } else {
+                    out.varint(vote.optionId() == null ? 0 : 1);
+                    out.uuid(vote.optionId());
+                }
+                out.string(vote.value());
+            });
+            out.string(response.comment());
+            out.string(response.voteCodes());
+            out.optional(response.revision(), out::zigzag);
+        });
+        out.optional(poll.revision(), out::zigzag);
+        return out.bytes.toByteArray();
+    }
+
+    @Override
+    public PollDAO decode(byte[] data) {
+        if (!canDecode(data)) {
+            throw new IllegalArgumentException("Not a binary poll document");
+        }
+        Reader in = new Reader(data, MAGIC.length);
+        long version = in.varint();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary poll format version " + version);
+        }
+        UUID pollId = in.uuid();
+        String schemaVersion = in.string();
+        String type = in.string();
+        String title = in.string();
+        String descriptionHtml = in.string();
+        String language = in.string();
+        OffsetDateTime createdAt = in.dateTime();
+        OffsetDateTime updatedAt = in.dateTime();
+        PollDAO.Author author = in.optional(() -> new PollDAO.Author(in.string(), in.string()));
+        PollDAO.Access access = in.optional(() -> new PollDAO.Access(in.string(), in.string(), in.bool(), in.string()));
+        PollDAO.Permissions permissions = in.optional(() -> new PollDAO.Permissions(in.string()));
+        PollDAO.Notifications notifications = in.optional(() -> new PollDAO.Notifications(in.bool(), in.bool()));
+        PollDAO.ResultsVisibility resultsVisibility = in.optional(() -> new PollDAO.ResultsVisibility(in.bool()));
+        String status = in.string();
+        LocalDate expiresAt = in.optional(() -> LocalDate.ofEpochDay(in.zigzag()));
+        List<UUID> optionIds = new ArrayList<>();
+        Set<UUID> seenOptionIds = new HashSet<>();
+        PollDAO.Options options = in.optional(() -> new PollDAO.Options(
+                in.string(),
+                in.optional(() -> Math.toIntExact(in.zigzag())),
+                in.list(() -> {
+                    PollDAO.OptionItem item = new PollDAO.OptionItem(in.uuid(),
+                            in.optional(() -> LocalDate.ofEpochDay(in.zigzag())), in.string(), in.string());
+                    if (item.optionId() != null && seenOptionIds.add(item.optionId())) {
+                        optionIds.add(item.optionId());
+                    }
+                    return item;
+                })));
+        List<PollDAO.Response> responses = in.list(() -> new PollDAO.Response(
+                in.uuid(),
+                in.string(),
+                in.dateTime(),
+                in.list(() -> {
+                    long reference = in.varint();
+                    UUID optionId;
+                    if (reference <= 1) {
+                        optionId = in.uuid();
+                    } else if (reference - 2 < optionIds.size()) {
+                        optionId = optionIds.get((int) (reference - 2));
+                    } else {
+                        throw new IllegalArgumentException("Invalid option reference " + reference);
+                    }
+                    return new PollDAO.Vote(optionId, in.string());
+                }),
+                in.string(),
+                version >= 2 ? in.string() : null,
+                version >= 3 ? in.optional(in::zigzag) : null));
+        Long revision = in.optional(in::zigzag);
+        in.requireEnd();
+        return new PollDAO(pollId, schemaVersion, type, title, descriptionHtml, language, createdAt, updatedAt,
+                author, access, permissions, notifications, resultsVisibility, status, expiresAt, options, responses,
+                revision);
+    }
+
+    private static final class Writer {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                bytes.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            bytes.write((int) value);
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void bool(boolean value) {
+            bytes.write(value ? 1 : 0);
+        }
+
+        /** 0 is {@code null}, 1 a new string that follows, n &gt; 1 the (n-2)th string written before. */
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                varint(index + 2L);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(1);
+            varint(utf8.length);
+            bytes.writeBytes(utf8);
+        }
+
+        void uuid(UUID value) {
+            optional(value, uuid -> {
+                fixed64(uuid.getMostSignificantBits());
+                fixed64(uuid.getLeastSignificantBits());
+            });
+        }
+
+        void dateTime(OffsetDateTime value) {
+            optional(value, dateTime -> {
+                zigzag(dateTime.toEpochSecond());
+                varint(dateTime.getNano());
+                zigzag(dateTime.getOffset().getTotalSeconds());
+            });
+        }
+
+        <T> void optional(T value, Consumer<T> write) {
+            bool(value != null);
+            if (value != null) {
+                write.accept(value);
+            }
+        }
+
+        /** 0 is {@code null}, otherwise the size plus one followed by the elements. */
+        <T> void list(List<T> values, Consumer<T> write) {
+            if (values == null) {
+                varint(0);
+                return;
+            }
+            varint(values.size() + 1L);
+            values.forEach(write);
+        }
+
+        private void fixed64(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes.write((int) (value >>> shift));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private final List<String> strings = new ArrayList<>();
+        private int position;
+
+        Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int next = readByte();
+                value |= (long) (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at byte " + position);
+        }
+
+        long zigzag() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        boolean bool() {
+            return switch (readByte()) {
+                case 0 -> false;
+                case 1 -> true;
+                default -> throw new IllegalArgumentException("Malformed boolean at byte " + (position - 1));
+            };
+        }
+
+        String string() {
+            long reference = varint();
+            if (reference == 0) {
+                return null;
+            }
+            if (reference == 1) {
+                int length = length(varint());
+                String value = new String(data, position, length, StandardCharsets.UTF_8);
+                position += length;
+                strings.add(value);
+                return value;
+            }
+            if (reference - 2 >= strings.size()) {
+                throw new IllegalArgumentException("Invalid string reference " + reference);
+            }
+            return strings.get((int) (reference - 2));
+        }
+
+        UUID uuid() {
+            return optional(() -> new UUID(fixed64(), fixed64()));
+        }
+
+        OffsetDateTime dateTime() {
+            return optional(() -> {
+                long epochSecond = zigzag();
+                long nano = varint();
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds(Math.toIntExact(zigzag()));
+                return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset);
+            });
+        }
+
+        <T> T optional(Supplier<T> read) {
+            return bool() ? read.get() : null;
+        }
+
+        <T> List<T> list(Supplier<T> read) {
+            long encodedSize = varint();
+            if (encodedSize == 0) {
+                return null;
+            }
+            // every element takes at least one byte, which bounds the allocation for corrupt input
+            int size = length(encodedSize - 1);
+            List<T> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(read.get());
+            }
+            return values;
+        }
+
+        void requireEnd() {
+            if (position != data.length) {
+                throw new IllegalArgumentException("Unexpected trailing bytes at byte " + position);
+            }
+        }
+
+        private int length(long value) {
+            if (value < 0 || value > data.length - position) {
+                throw new IllegalArgumentException("Invalid length " + value + " at byte " + position);
+            }
+            return (int) value;
+        }
+
+        private long fixed64() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        private int readByte() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Unexpected end of binary poll document");
+            }
+            return data[position++] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.port.out.ExpiredPollIdsPage;
+import io.github.bodote.woodle.application.port.out.PollMetadata;
+import io.github.bodote.woodle.application.port.out.PollMigrationPage;
+import io.github.bodote.woodle.application.port.out.PollRepository;
+import io.github.bodote.woodle.application.port.out.PollResponseChange;
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache in front of a {@link ConditionalPollRepository} such as {@link S3PollRepository}. The
+ * participant page, its {@code /ready} and {@code /fragment} requests and the vote redirect tend to read the same
+ * poll within a few hundred milliseconds, so fresh entries are served from memory. Entries older than the TTL are
+ * revalidated with a conditional GET of the snapshot ({@code If-None-Match}); when it did not change, the cached
+ * poll is kept without downloading or parsing anything again.
+ * <p>
+ * The cache is an LRU bounded by an estimate of the heap the cached polls take ({@link #estimatedHeapBytes(Poll)}),
+ * since stored documents are compressed and far smaller than the parsed poll. Writes through this repository evict
+ * the affected entries and advance the poll's write generation, so a read that started before the write cannot put
+ * the older poll back afterwards; writes from other instances become visible after at most one TTL.
+ */
+public class CachingPollRepository implements PollRepository {
+
+    /** Power of two; polls sharing a stripe only skip each other's cache fills. */
+    private static final int WRITE_GENERATION_STRIPES = 1024;
+    private static final long POLL_HEAP_BYTES = 640;
+    private static final long OPTION_HEAP_BYTES = 120;
+    private static final long RESPONSE_HEAP_BYTES = 160;
+    private static final long VOTE_HEAP_BYTES = 24;
+
+    private final ConditionalPollRepository delegate;
+    private final Clock clock;
+    private final Duration ttl;
+    private final long maxHeapBytes;
+    private final LinkedHashMap<UUID, CachedPoll> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /** Guarded by {@code entries}. */
+    private final long[] writeGenerations = new long[WRITE_GENERATION_STRIPES];
+    private long cachedHeapBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    public CachingPollRepository(ConditionalPollRepository delegate, Clock clock, Duration ttl, long maxHeapBytes) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.maxHeapBytes = maxHeapBytes;
+    }
+
+    @Override
+    public Optional<Poll> findById(UUID pollId) {
+        Instant now = clock.instant();
+        CachedPoll cached = get(pollId);
+        if (cached != null && now.isBefore(cached.loadedAt().plus(ttl))) {
+            hits.increment();
+            return Optional.of(cached.poll());
+        }
+        long writeGeneration = writeGeneration(pollId);
+        StoredPollRead read;
+        if (cached == null || cached.eTag() == null) {
+            misses.increment();
+            read = delegate.read(pollId, null);
+        } else {
+            revalidations.increment();
+            read = delegate.read(pollId, cached.eTag());
+        }
+        switch (read.outcome()) {
+            case NOT_MODIFIED -> {
+                notModified.increment();
+                put(pollId, new CachedPoll(cached.poll(), cached.eTag(), now, cached.heapBytes()), writeGeneration);
+                return Optional.of(cached.poll());
+            }
+            case NOT_FOUND -> {
+                evict(pollId);
+                return Optional.empty();
+            }
+            default -> {
+                put(pollId, new CachedPoll(read.poll(), read.eTag(), now, estimatedHeapBytes(read.poll())),
+                        writeGeneration);
+                return Optional.of(read.poll());
+            }
+        }
+    }
+
+    /**
+     * Answered from a fresh cache entry when there is one, otherwise by the delegate's {@code HEAD}; metadata
+     * lookups do not populate the cache.
+     */
+    @Override
+    public Optional<PollMetadata> findMetadata(UUID pollId) {
+        CachedPoll cached = get(pollId);
+        if (cached != null && clock.instant().isBefore(cached.loadedAt().plus(ttl))) {
+            return Optional.of(PollMetadata.of(cached.poll()));
+        }
+        return delegate.findMetadata(pollId);
+    }
+
+    @Override
+    public void save(Poll poll) {
+        try {
+            delegate.save(poll);
+        } finally {
+            evict(poll.pollId());
+        }
+    }
+
+    @Override
+    public void create(Poll poll) {
+        try {
+            delegate.create(poll);
+        } finally {
+            evict(poll.pollId());
+        }
+    }
+
+    @Override
+    public Poll update(UUID pollId, UnaryOperator<Poll> change) {
+        try {
+            return delegate.update(pollId, change);
+        } finally {
+            evict(pollId);
+        }
+    }
+
+    @Override
+    public void saveResponse(UUID pollId, PollResponse response) {
+        try {
+            delegate.saveResponse(pollId, response);
+        } finally {
+            evict(pollId);
+        }
+    }
+
+    @Override
+    public void deleteResponse(UUID pollId, UUID responseId) {
+        try {
+            delegate.deleteResponse(pollId, responseId);
+        } finally {
+            evict(pollId);
+        }
+    }
+
+    @Override
+    public void applyResponseChanges(UUID pollId, List<PollResponseChange> changes) {
+        try {
+            delegate.applyResponseChanges(pollId, changes);
+        } finally {
+            evict(pollId);
+        }
+    }
+
+    @Override
+    public long countActivePolls() {
+        return delegate.countActivePolls();
+    }
+
+    @Override
+    public List<UUID> findExpiredPollIds(LocalDate asOf) {
+        return delegate.findExpiredPollIds(asOf);
+    }
+
+    @Override
+    public ExpiredPollIdsPage findExpiredPollIds(LocalDate asOf, String pageToken) {
+        return delegate.findExpiredPollIds(asOf, pageToken);
+    }
+
+    @Override
+    public PollMigrationPage migrateStoredPolls(String pageToken) {
+        // cached polls were already migrated in memory and stay valid: the rewrite does not change their content
+        return delegate.migrateStoredPolls(pageToken);
+    }
+
+    @Override
+    public void deleteById(UUID pollId) {
+        try {
+            delegate.deleteById(pollId);
+        } finally {
+            evict(pollId);
+        }
+    }
+
+    @Override
+    public Map<UUID, String> deleteAllById(Collection<UUID> pollIds) {
+        try {
+            return delegate.deleteAllById(pollIds);
+        } finally {
+            pollIds.forEach(this::evict);
+        }
+    }
+
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), revalidations.sum(), notModified.sum(), entries.size(),
+                    cachedHeapBytes);
+        }
+    }
+
+    private CachedPoll get(UUID pollId) {
+        synchronized (entries) {
+            return entries.get(pollId);
+        }
+    }
+
+    private long writeGeneration(UUID pollId) {
+        synchronized (entries) {
+            return writeGenerations[writeGenerationStripe(pollId)];
+        }
+    }
+
+    /**
+     * Stores a poll that was read while the poll's write generation was {@code writeGeneration}. When a write was
+     * evicted in between, the read may predate it and is not cached.
+     */
+    private void put(UUID pollId, CachedPoll cachedPoll, long writeGeneration) {
+        synchronized (entries) {
+            if (writeGenerations[writeGenerationStripe(pollId)] != writeGeneration) {
+                return;
+            }
+            CachedPoll previous = entries.remove(pollId);
+            if (previous != null) {
+                cachedHeapBytes -= previous.heapBytes();
+            }
+            if (cachedPoll.heapBytes() > maxHeapBytes) {
+                return;
+            }
+            entries.put(pollId, cachedPoll);
+            cachedHeapBytes += cachedPoll.heapBytes();
+            Iterator<CachedPoll> eldest = entries.values().iterator();
+            while (cachedHeapBytes > maxHeapBytes && eldest.hasNext()) {
+                cachedHeapBytes -= eldest.next().heapBytes();
+                eldest.remove();
+            }
+        }
+    }
+
+    private void evict(UUID pollId) {
+        synchronized (entries) {
+            writeGenerations[writeGenerationStripe(pollId)]++;
+            CachedPoll previous = entries.remove(pollId);
+            if (previous != null) {
+                cachedHeapBytes -= previous.heapBytes();
+            }
+        }
+    }
+
+    private static int writeGenerationStripe(UUID pollId) {
+        return pollId.hashCode() & (WRITE_GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * Rough heap size of a parsed poll: a fixed share for the poll, its timestamps and ids, the characters of its
+     * strings and a fixed share per option, response and vote. It only has to rank polls against each other and keep
+     * the cache in the configured order of magnitude.
+     */
+    static long estimatedHeapBytes(Poll poll) {
+        long bytes = POLL_HEAP_BYTES
+                + charBytes(poll.adminSecret()) + charBytes(poll.title()) + charBytes(poll.description())
+                + charBytes(poll.authorName()) + charBytes(poll.authorEmail())
+                + OPTION_HEAP_BYTES * sizeOf(poll.options());
+        for (PollResponse response : poll.responses()) {
+            bytes += RESPONSE_HEAP_BYTES + charBytes(response.participantName()) + charBytes(response.comment())
+                    + VOTE_HEAP_BYTES * sizeOf(response.votes());
+        }
+        return bytes;
+    }
+
+    private static long charBytes(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+
+    private static int sizeOf(List<?> values) {
+        return values == null ? 0 : values.size();
+    }
+
+    /**
+     * Counters since startup. {@code revalidations} counts conditional GETs, {@code notModified} how many of them
+     * were answered with {@code 304}; {@code heapBytes} is the estimated heap size of the cached polls.
+     */
+    public record Stats(long hits, long misses, long revalidations, long notModified, int entries, long heapBytes) {
+    }
+
+    private record CachedPoll(Poll poll, String eTag, Instant loadedAt, long heapBytes) {
+    }
+}
@@ -0,0 +1,244 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.port.out.ExpiredPollIdsPage;
+import io.github.bodote.woodle.application.port.out.PollMetadata;
+import io.github.bodote.woodle.application.port.out.PollMigrationPage;
+import io.github.bodote.woodle.application.port.out.PollRepository;
+import io.github.bodote.woodle.application.port.out.PollResponseChange;
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Write-behind for bursts of votes on the same poll. The first response write to a poll opens a batch that
+ * collects every further write to that poll for {@code window}; the batch is then handed to the delegate's
+ * {@link PollRepository#applyResponseChanges(UUID, List)} in arrival order, which {@link S3PollRepository} stores
+ * with a single snapshot PUT. Batches of one poll are flushed one after the other, never concurrently.
+ * <p>
+ * Each caller blocks until the flush containing its change has finished and gets its exception if it failed, so a
+ * vote is durable and readable once {@code saveResponse} returns. Everything else is passed straight through.
+ * On shutdown the open batches are flushed right away and the timer thread is stopped.
+ */
+public class CoalescingPollRepository implements PollRepository, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingPollRepository.class);
+    private static final CompletableFuture<Void> FLUSHED = CompletableFuture.completedFuture(null);
+
+    private final PollRepository delegate;
+    private final Duration window;
+    private final ScheduledExecutorService timer;
+    private final Executor flushExecutor = command -> Thread.ofVirtual().name("poll-write-flush").start(command);
+    private final Map<UUID, Batch> openBatches = new HashMap<>();
+    private final Map<UUID, CompletableFuture<Void>> lastFlushes = new HashMap<>();
+    private final LongAdder changes = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private boolean closed;
+
+    public CoalescingPollRepository(PollRepository delegate, Duration window) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.delegate = delegate;
+        this.window = window;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("poll-write-coalescer").daemon().factory());
+    }
+
+    @Override
+    public void saveResponse(UUID pollId, PollResponse response) {
+        await(enqueue(pollId, PollResponseChange.saved(response)));
+    }
+
+    @Override
+    public void deleteResponse(UUID pollId, UUID responseId) {
+        await(enqueue(pollId, PollResponseChange.deleted(responseId)));
+    }
+
+    @Override
+    public void applyResponseChanges(UUID pollId, List<PollResponseChange> changes) {
+        CompletableFuture<Void> flushed = FLUSHED;
+        for (PollResponseChange change : changes) {
+            flushed = enqueue(pollId, change);
+        }
+        await(flushed);
+    }
+
+    private CompletableFuture<Void> enqueue(UUID pollId, PollResponseChange change) {
+        changes.increment();
+        synchronized (openBatches) {
+            if (closed) {
+                // no timer left to close a batch, so the change is flushed on its own
+                Batch single = new Batch();
+                single.changes.add(change);
+                flushAfterPrevious(pollId, single);
+                return single.flushed;
+            }
+            Batch batch = openBatches.get(pollId);
+            if (batch == null) {
+                batch = new Batch();
+                openBatches.put(pollId, batch);
+                Batch opened = batch;
+                timer.schedule(() -> close(pollId, opened), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch.changes.add(change);
+            return batch.flushed;
+        }
+    }
+
+    /**
+     * Stops the batch from taking further changes and flushes it once the previous flush of the poll has finished.
+     */
+    private void close(UUID pollId, Batch batch) {
+        synchronized (openBatches) {
+            if (openBatches.remove(pollId, batch)) {
+                flushAfterPrevious(pollId, batch);
+            }
+        }
+    }
+
+    private void flushAfterPrevious(UUID pollId, Batch batch) {
+        synchronized (openBatches) {
+            CompletableFuture<Void> flush = lastFlushes.getOrDefault(pollId, FLUSHED)
+                    .thenRunAsync(() -> flush(pollId, batch), flushExecutor);
+            lastFlushes.put(pollId, flush);
+            flush.whenComplete((ignored, e) -> {
+                synchronized (openBatches) {
+                    lastFlushes.remove(pollId, flush);
+                }
+            });
+        }
+    }
+
+    /**
+     * Flushes every open batch without waiting for its window, waits for all flushes to finish and stops the timer.
+     */
+    @Override
+    public void destroy() {
+        List<CompletableFuture<Void>> pending;
+        synchronized (openBatches) {
+            closed = true;
+            List.copyOf(openBatches.entrySet()).forEach(batch -> close(batch.getKey(), batch.getValue()));
+            pending = List.copyOf(lastFlushes.values());
+        }
+        timer.shutdownNow();
+        // a failed flush has already been passed on to its callers
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+    }
+
+    private void flush(UUID pollId, Batch batch) {
+        flushes.increment();
+        try {
+            delegate.applyResponseChanges(pollId, List.copyOf(batch.changes));
+            batch.flushed.complete(null);
+        } catch (RuntimeException | Error e) {
+            LOGGER.warn("Failed to store {} response change(s) of poll {}: {}", batch.changes.size(), pollId,
+                    e.getMessage());
+            batch.flushed.completeExceptionally(e);
+        }
+    }
+
+    private static void await(CompletableFuture<Void> flushed) {
+        try {
+            flushed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void save(Poll poll) {
+        delegate.save(poll);
+    }
+
+    @Override
+    public void create(Poll poll) {
+        delegate.create(poll);
+    }
+
+    @Override
+    public Optional<Poll> findById(UUID pollId) {
+        return delegate.findById(pollId);
+    }
+
+    @Override
+    public Poll update(UUID pollId, UnaryOperator<Poll> change) {
+        return delegate.update(pollId, change);
+    }
+
+    @Override
+    public Optional<PollMetadata> findMetadata(UUID pollId) {
+        return delegate.findMetadata(pollId);
+    }
+
+    @Override
+    public long countActivePolls() {
+        return delegate.countActivePolls();
+    }
+
+    @Override
+    public List<UUID> findExpiredPollIds(LocalDate asOf) {
+        return delegate.findExpiredPollIds(asOf);
+    }
+
+    @Override
+    public ExpiredPollIdsPage findExpiredPollIds(LocalDate asOf, String pageToken) {
+        return delegate.findExpiredPollIds(asOf, pageToken);
+    }
+
+    @Override
+    public PollMigrationPage migrateStoredPolls(String pageToken) {
+        return delegate.migrateStoredPolls(pageToken);
+    }
+
+    @Override
+    public void deleteById(UUID pollId) {
+        delegate.deleteById(pollId);
+    }
+
+    @Override
+    public Map<UUID, String> deleteAllById(Collection<UUID> pollIds) {
+        return delegate.deleteAllById(pollIds);
+    }
+
+    public Stats stats() {
+        return new Stats(changes.sum(), flushes.sum());
+    }
+
+    /**
+     * Counters since startup: response changes accepted and flushes that stored them.
+     */
+    public record Stats(long changes, long flushes) {
+    }
+
+    private static final class Batch {
+
+        private final List<PollResponseChange> changes = new ArrayList<>();
+        private final CompletableFuture<Void> flushed = new CompletableFuture<>();
+    }
+}
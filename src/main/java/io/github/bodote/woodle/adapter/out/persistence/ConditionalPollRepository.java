@@ -0,0 +1,18 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.port.out.PollRepository;
+
+import java.util.UUID;
+
+/**
+ * A poll store that hands out a validator with every read and can answer a later read of the same poll with
+ * {@link StoredPollRead.Outcome#NOT_MODIFIED} while that validator still holds. {@link CachingPollRepository}
+ * revalidates its entries through it.
+ */
+public interface ConditionalPollRepository extends PollRepository {
+
+    /**
+     * Reads the poll, or only checks it when {@code ifNoneMatch} is the validator of an earlier read.
+     */
+    StoredPollRead read(UUID pollId, String ifNoneMatch);
+}
@@ -0,0 +1,65 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reusable output buffers for documents written to S3. A poll snapshot is serialized straight into a pooled buffer
+ * and uploaded from its backing array, so a write allocates neither an intermediate {@code String} nor a copy of the
+ * bytes once the buffer has grown to the usual document size.
+ * <p>
+ * A buffer must only be released after the upload returned: the synchronous S3 client has read the body by then.
+ * Buffers that grew beyond {@code maxRetainedBytes} are dropped instead of pooled, so one huge poll does not pin
+ * its memory for the lifetime of the instance.
+ */
+final class DocumentBufferPool {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+
+    private final BlockingQueue<Buffer> buffers;
+    private final int maxRetainedBytes;
+
+    DocumentBufferPool(int maxBuffers, int maxRetainedBytes) {
+        this.buffers = new ArrayBlockingQueue<>(maxBuffers);
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    Buffer acquire() {
+        Buffer buffer = buffers.poll();
+        return buffer == null ? new Buffer() : buffer;
+    }
+
+    void release(Buffer buffer) {
+        if (buffer.capacity() > maxRetainedBytes) {
+            return;
+        }
+        buffer.reset();
+        buffers.offer(buffer);
+    }
+
+    static final class Buffer extends ByteArrayOutputStream {
+
+        private Buffer() {
+            super(INITIAL_CAPACITY);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+
+        /**
+         * A request body backed by the current content of this buffer, without copying it. Only valid until the
+         * buffer is released.
+         */
+        RequestBody toRequestBody(String contentType) {
+            byte[] content = buf;
+            int length = count;
+            return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(content, 0, length), length,
+                    contentType);
+        }
+    }
+}
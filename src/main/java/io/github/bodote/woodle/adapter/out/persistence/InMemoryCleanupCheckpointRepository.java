@@ -0,0 +1,22 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.model.CleanupCheckpoint;
+import io.github.bodote.woodle.application.port.out.CleanupCheckpointRepository;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class InMemoryCleanupCheckpointRepository implements CleanupCheckpointRepository {
+
+    private final AtomicReference<CleanupCheckpoint> checkpoint = new AtomicReference<>();
+
+    @Override
+    public Optional<CleanupCheckpoint> load() {
+        return Optional.ofNullable(checkpoint.get());
+    }
+
+    @Override
+    public void save(CleanupCheckpoint checkpoint) {
+        this.checkpoint.set(checkpoint);
+    }
+}
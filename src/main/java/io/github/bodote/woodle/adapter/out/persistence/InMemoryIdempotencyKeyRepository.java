@@ -0,0 +1,86 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.model.IdempotentOutcome;
+import io.github.bodote.woodle.application.port.out.IdempotencyKeyRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Recent idempotency keys in memory, bounded in number and age: entries older than the TTL are ignored, and once
+ * {@code maxEntries} is exceeded the oldest entries are dropped.
+ */
+public class InMemoryIdempotencyKeyRepository implements IdempotencyKeyRepository {
+
+    private final Clock clock;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyKeyRepository(Clock clock, Duration ttl, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.clock = clock;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Optional<IdempotentOutcome> find(String key) {
+        Instant now = clock.instant();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null || isExpired(entry, now)) {
+                return Optional.empty();
+            }
+            return Optional.of(entry.outcome());
+        }
+    }
+
+    @Override
+    public void save(String key, IdempotentOutcome outcome) {
+        save(key, outcome, clock.instant());
+    }
+
+    /**
+     * Records an outcome with the time it was first recorded, which may be earlier than now when it was read from
+     * another store.
+     */
+    void save(String key, IdempotentOutcome outcome, Instant recordedAt) {
+        Instant now = clock.instant();
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing != null && !isExpired(existing, now)) {
+                return;
+            }
+            entries.remove(key);
+            entries.put(key, new Entry(outcome, recordedAt));
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (eldest.hasNext()) {
+                Entry entry = eldest.next();
+                if (entries.size() <= maxEntries && !isExpired(entry, now)) {
+                    break;
+                }
+                eldest.remove();
+            }
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private boolean isExpired(Entry entry, Instant now) {
+        return !now.isBefore(entry.recordedAt().plus(ttl));
+    }
+
+    private record Entry(IdempotentOutcome outcome, Instant recordedAt) {
+    }
+}
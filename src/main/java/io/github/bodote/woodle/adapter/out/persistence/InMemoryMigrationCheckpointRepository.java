@@ -0,0 +1,22 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.model.MigrationCheckpoint;
+import io.github.bodote.woodle.application.port.out.MigrationCheckpointRepository;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class InMemoryMigrationCheckpointRepository implements MigrationCheckpointRepository {
+
+    private final AtomicReference<MigrationCheckpoint> checkpoint = new AtomicReference<>();
+
+    @Override
+    public Optional<MigrationCheckpoint> load() {
+        return Optional.ofNullable(checkpoint.get());
+    }
+
+    @Override
+    public void save(MigrationCheckpoint checkpoint) {
+        this.checkpoint.set(checkpoint);
+    }
+}
@@ -1,14 +1,17 @@
 package io.github.bodote.woodle.adapter.out.persistence;
 
 import io.github.bodote.woodle.application.port.out.PollRepository;
+import io.github.bodote.woodle.application.port.out.PollUpdateConflictException;
 import io.github.bodote.woodle.domain.model.Poll;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 public class InMemoryPollRepository implements PollRepository {
 
@@ -16,7 +19,12 @@ public class InMemoryPollRepository implements PollRepository {
 
     @Override
     public void save(Poll poll) {
-        storage.put(poll.pollId(), poll);
+        storage.compute(poll.pollId(), (pollId, stored) -> {
+            if (stored != null && stored.version() != poll.version()) {
+                throw new PollUpdateConflictException(pollId);
+            }
+            return poll.withVersion(poll.version() + 1);
+        });
     }
 
     @Override
@@ -24,6 +32,26 @@ public class InMemoryPollRepository implements PollRepository {
         return Optional.ofNullable(storage.get(pollId));
     }
 
+    /**
+     * Compare-and-swap on the map entry of this poll only: the change is applied outside any lock and its result
+     * stored if the poll is still the one it was applied to, otherwise it is applied again to the newer poll. Votes
+     * and admin changes on different polls never wait for each other, and none of them is lost. The version still
+     * moves on, so a poll read before the update cannot be saved over it.
+     */
+    @Override
+    public Poll update(UUID pollId, UnaryOperator<Poll> change) {
+        while (true) {
+            Poll current = storage.get(pollId);
+            if (current == null) {
+                throw new IllegalArgumentException("Poll not found");
+            }
+            Poll next = change.apply(current).withVersion(current.version() + 1);
+            if (storage.computeIfPresent(pollId, (id, stored) -> stored == current ? next : stored) == next) {
+                return next;
+            }
+        }
+    }
+
     @Override
     public long countActivePolls() {
         return storage.size();
@@ -41,4 +69,10 @@ public class InMemoryPollRepository implements PollRepository {
     public void deleteById(UUID pollId) {
         storage.remove(pollId);
     }
+
+    @Override
+    public Map<UUID, String> deleteAllById(Collection<UUID> pollIds) {
+        storage.keySet().removeAll(pollIds);
+        return Map.of();
+    }
 }
@@ -0,0 +1,61 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The original format: UTF-8 JSON written by Jackson. It is the fallback for every object no other codec claims.
+ */
+public class JsonPollCodec implements PollCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonPollCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String contentType() {
+        return "application/json";
+    }
+
+    @Override
+    public byte[] encode(PollDAO pollDAO) {
+        try {
+            return objectMapper.writeValueAsBytes(pollDAO);
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Failed to serialize poll", e);
+        }
+    }
+
+    /**
+     * Serializes straight into {@code out}; Jackson encodes UTF-8 in its own recycled buffers, so no intermediate
+     * {@code String} or {@code byte[]} of the document is created.
+     */
+    @Override
+    public void encode(PollDAO pollDAO, OutputStream out) {
+        try {
+            objectMapper.writeValue(out, pollDAO);
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Failed to serialize poll", e);
+        }
+    }
+
+    @Override
+    public PollDAO decode(byte[] data) {
+        return objectMapper.readValue(data, PollDAO.class);
+    }
+
+    @Override
+    public PollDAO decode(InputStream in) {
+        return objectMapper.readValue(in, PollDAO.class);
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        return true;
+    }
+}
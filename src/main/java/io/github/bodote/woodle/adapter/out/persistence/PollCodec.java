@@ -0,0 +1,55 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Serialized form of a poll snapshot. {@link S3PollRepository} writes with one configured codec but reads with
+ * whichever codec recognises the stored bytes, so documents written in different formats can live side by side.
+ */
+public interface PollCodec {
+
+    String contentType();
+
+    byte[] encode(PollDAO pollDAO);
+
+    /**
+     * @throws IllegalArgumentException or {@link tools.jackson.core.JacksonException} when the bytes are not a
+     *                                  valid document of this codec
+     */
+    PollDAO decode(byte[] data);
+
+    /**
+     * Whether the bytes start like a document of this codec. Only the header is checked.
+     */
+    boolean canDecode(byte[] data);
+
+    /**
+     * Writes the encoded poll to {@code out}; the caller closes it. Codecs that can serialize incrementally override
+     * this to avoid building the whole document as a byte array first.
+     */
+    default void encode(PollDAO pollDAO, OutputStream out) throws IOException {
+        out.write(encode(pollDAO));
+    }
+
+    /**
+     * Decodes a poll from {@code in}, which is positioned at the start of the document. Codecs that can parse
+     * incrementally override this to avoid buffering the whole document.
+     */
+    default PollDAO decode(InputStream in) throws IOException {
+        return decode(in.readAllBytes());
+    }
+
+    static PollCodec fromProperty(String value, ObjectMapper objectMapper) {
+        String format = value == null || value.isBlank() ? "json" : value.trim().toLowerCase(Locale.ROOT);
+        return switch (format) {
+            case "json" -> new JsonPollCodec(objectMapper);
+            case "binary" -> new BinaryPollCodec();
+            default -> throw new IllegalArgumentException("Unsupported poll codec: " + value);
+        };
+    }
+}
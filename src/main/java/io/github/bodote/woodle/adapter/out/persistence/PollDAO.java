@@ -1,5 +1,7 @@
 package io.github.bodote.woodle.adapter.out.persistence;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -22,8 +24,25 @@ public record PollDAO(
         String status,
         LocalDate expiresAt,
         Options options,
-        List<Response> responses
+        List<Response> responses,
+        Long revision
 ) {
+
+    public PollDAO withResponses(List<Response> responses) {
+        return new PollDAO(pollId, schemaVersion, type, title, descriptionHtml, language, createdAt, updatedAt, author,
+                access, permissions, notifications, resultsVisibility, status, expiresAt, options, responses, revision);
+    }
+
+    public PollDAO withRevision(Long revision) {
+        return new PollDAO(pollId, schemaVersion, type, title, descriptionHtml, language, createdAt, updatedAt, author,
+                access, permissions, notifications, resultsVisibility, status, expiresAt, options, responses, revision);
+    }
+
+    public PollDAO withUpdatedAt(OffsetDateTime updatedAt) {
+        return new PollDAO(pollId, schemaVersion, type, title, descriptionHtml, language, createdAt, updatedAt, author,
+                access, permissions, notifications, resultsVisibility, status, expiresAt, options, responses, revision);
+    }
+
     public record Author(String name, String email) {
     }
 
@@ -45,8 +64,21 @@ public record PollDAO(
     public record OptionItem(UUID optionId, LocalDate date, String startTime, String endTime) {
     }
 
-    public record Response(UUID responseId, String participantName, OffsetDateTime createdAt, List<Vote> votes,
-                           String comment) {
+    /**
+     * From schema version 3 on, snapshot responses usually store their votes as {@code voteCodes}, one character per
+     * option in {@code options.items} order (see {@link VoteCodes}), and leave {@code votes} empty. Votes that cannot
+     * be expressed that way keep the {@code votes} list. {@code revision} is the snapshot revision that last wrote
+     * the response; responses stored before it was recorded have none.
+     */
+    public record Response(UUID responseId, String participantName, OffsetDateTime createdAt,
+                           @JsonInclude(JsonInclude.Include.NON_NULL) List<Vote> votes, String comment,
+                           @JsonInclude(JsonInclude.Include.NON_NULL) String voteCodes,
+                           @JsonInclude(JsonInclude.Include.NON_NULL) Long revision) {
+
+        public Response(UUID responseId, String participantName, OffsetDateTime createdAt, List<Vote> votes,
+                        String comment) {
+            this(responseId, participantName, createdAt, votes, comment, null, null);
+        }
     }
 
     public record Vote(UUID optionId, String value) {
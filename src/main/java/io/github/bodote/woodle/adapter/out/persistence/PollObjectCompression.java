@@ -0,0 +1,84 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * How poll documents are encoded when they are written to S3. The encoding is recorded as {@code Content-Encoding}
+ * on the object, but reads do not rely on it: {@link #decoding(InputStream)} recognises gzip by its magic header, so
+ * objects written before compression was switched on (or off) stay readable either way.
+ */
+public enum PollObjectCompression {
+
+    NONE(null),
+    GZIP("gzip");
+
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+
+    private final String contentEncoding;
+
+    PollObjectCompression(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    public static PollObjectCompression fromProperty(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported poll compression: " + value, e);
+        }
+    }
+
+    /**
+     * The {@code Content-Encoding} to store with the object, {@code null} for plain JSON.
+     */
+    String contentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Wraps {@code out} so that everything written to it is stored in this encoding. Closing the returned stream
+     * finishes the encoding and closes {@code out}.
+     */
+    OutputStream encoding(OutputStream out) throws IOException {
+        return this == NONE ? out : new GZIPOutputStream(out);
+    }
+
+    /**
+     * Decodes a stored document, plain or gzip. The returned stream supports {@code mark}, so callers can peek at
+     * the header of the decoded document.
+     */
+    static InputStream decoding(InputStream stored) throws IOException {
+        InputStream buffered = stored.markSupported() ? stored : new BufferedInputStream(stored);
+        if (!isGzip(peek(buffered, 2))) {
+            return buffered;
+        }
+        return new BufferedInputStream(new GZIPInputStream(buffered));
+    }
+
+    /**
+     * Returns up to {@code length} bytes from the start of {@code in} without consuming them.
+     */
+    static byte[] peek(InputStream in, int length) throws IOException {
+        in.mark(length);
+        byte[] header = in.readNBytes(length);
+        in.reset();
+        return header;
+    }
+
+    private static boolean isGzip(byte[] stored) {
+        // plain JSON starts with '{' or whitespace, never with the gzip magic number
+        return stored.length >= 2
+                && (stored[0] & 0xff) == GZIP_MAGIC_FIRST
+                && (stored[1] & 0xff) == GZIP_MAGIC_SECOND;
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.github.bodote.woodle.application.model.CleanupCheckpoint;
+import io.github.bodote.woodle.application.port.out.CleanupCheckpointRepository;
+import tools.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Keeps the cleanup checkpoint in a single small JSON object next to the other bookkeeping objects.
+ */
+public class S3CleanupCheckpointRepository implements CleanupCheckpointRepository {
+
+    static final String CHECKPOINT_KEY = "meta/cleanup-checkpoint.json";
+
+    private final S3JsonDocumentStore<CleanupCheckpointDocument> store;
+
+    public S3CleanupCheckpointRepository(S3Client s3Client, ObjectMapper objectMapper, String bucketName) {
+        this.store = new S3JsonDocumentStore<>(s3Client, objectMapper, bucketName, CHECKPOINT_KEY,
+                CleanupCheckpointDocument.class, "cleanup checkpoint");
+    }
+
+    @Override
+    public Optional<CleanupCheckpoint> load() {
+        return store.load().map(CleanupCheckpointDocument::toCheckpoint);
+    }
+
+    @Override
+    public void save(CleanupCheckpoint checkpoint) {
+        store.save(CleanupCheckpointDocument.from(checkpoint));
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record CleanupCheckpointDocument(
+            LocalDate asOf,
+            String pageToken,
+            int found,
+            int deleted,
+            boolean finished
+    ) {
+        static CleanupCheckpointDocument from(CleanupCheckpoint checkpoint) {
+            return new CleanupCheckpointDocument(
+                    checkpoint.asOf(),
+                    checkpoint.pageToken(),
+                    checkpoint.found(),
+                    checkpoint.deleted(),
+                    checkpoint.finished()
+            );
+        }
+
+        CleanupCheckpoint toCheckpoint() {
+            return new CleanupCheckpoint(asOf, pageToken, found, deleted, finished);
+        }
+    }
+}
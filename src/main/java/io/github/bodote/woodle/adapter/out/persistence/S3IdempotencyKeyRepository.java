@@ -0,0 +1,153 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.github.bodote.woodle.application.model.IdempotentOutcome;
+import io.github.bodote.woodle.application.port.out.IdempotencyKeyRepository;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Idempotency keys shared by all instances: one small object per key under {@value #KEY_PREFIX}, named by the
+ * SHA-256 of the key and written with {@code If-None-Match: *}, so the first outcome recorded for a key stays. Keys
+ * seen by this instance are answered from {@code recent} without a request to S3. Objects older than the TTL are
+ * ignored; the bucket's lifecycle rule on the prefix removes them.
+ */
+public class S3IdempotencyKeyRepository implements IdempotencyKeyRepository {
+
+    static final String KEY_PREFIX = "idempotency/";
+
+    private final S3Client s3Client;
+    private final ObjectMapper objectMapper;
+    private final String bucketName;
+    private final Clock clock;
+    private final Duration ttl;
+    private final InMemoryIdempotencyKeyRepository recent;
+
+    public S3IdempotencyKeyRepository(S3Client s3Client, ObjectMapper objectMapper, String bucketName, Clock clock,
+                                      Duration ttl, InMemoryIdempotencyKeyRepository recent) {
+        this.s3Client = s3Client;
+        this.objectMapper = objectMapper;
+        this.bucketName = bucketName;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.recent = recent;
+    }
+
+    @Override
+    public Optional<IdempotentOutcome> find(String key) {
+        Optional<IdempotentOutcome> known = recent.find(key);
+        if (known.isPresent()) {
+            return known;
+        }
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey(key))
+                .build();
+        IdempotencyDocument document;
+        try (ResponseInputStream<GetObjectResponse> response = s3Client.getObject(request)) {
+            document = objectMapper.readValue(response.readAllBytes(), IdempotencyDocument.class);
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            throw new IllegalStateException("Failed to fetch idempotency key from S3", e);
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to fetch idempotency key from S3", e);
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Failed to deserialize idempotency key", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to deserialize idempotency key", e);
+        }
+        if (document.recordedAt() == null || !clock.instant().isBefore(document.recordedAt().plus(ttl))) {
+            return Optional.empty();
+        }
+        recent.save(key, document.toOutcome(), document.recordedAt());
+        return Optional.of(document.toOutcome());
+    }
+
+    @Override
+    public void save(String key, IdempotentOutcome outcome) {
+        Instant now = clock.instant();
+        recent.save(key, outcome, now);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(IdempotencyDocument.from(outcome, now));
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Failed to serialize idempotency key", e);
+        }
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey(key))
+                .contentType("application/json")
+                .ifNoneMatch("*")
+                .build();
+        try {
+            s3Client.putObject(request, RequestBody.fromBytes(json));
+        } catch (S3Exception e) {
+            // 412: another instance recorded the key first; 409: it is doing so right now
+            if (e.statusCode() == 412 || e.statusCode() == 409) {
+                return;
+            }
+            throw new IllegalStateException("Failed to store idempotency key in S3", e);
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to store idempotency key in S3", e);
+        }
+    }
+
+    static String objectKey(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return KEY_PREFIX + HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)))
+                    + ".json";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record IdempotencyDocument(
+            UUID pollId,
+            UUID responseId,
+            String adminSecret,
+            boolean notificationQueued,
+            boolean notificationDisabled,
+            String requestHash,
+            Instant recordedAt
+    ) {
+        static IdempotencyDocument from(IdempotentOutcome outcome, Instant recordedAt) {
+            return new IdempotencyDocument(
+                    outcome.pollId(),
+                    outcome.responseId(),
+                    outcome.adminSecret(),
+                    outcome.notificationQueued(),
+                    outcome.notificationDisabled(),
+                    outcome.requestHash(),
+                    recordedAt
+            );
+        }
+
+        IdempotentOutcome toOutcome() {
+            return new IdempotentOutcome(pollId, responseId, adminSecret, notificationQueued, notificationDisabled,
+                    requestHash);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * A single small JSON object under a fixed key, read and overwritten as a whole. Used for bookkeeping documents
+ * such as job checkpoints; {@code description} names the document in error messages.
+ */
+class S3JsonDocumentStore<T> {
+
+    private final S3Client s3Client;
+    private final ObjectMapper objectMapper;
+    private final String bucketName;
+    private final String key;
+    private final Class<T> type;
+    private final String description;
+
+    S3JsonDocumentStore(S3Client s3Client, ObjectMapper objectMapper, String bucketName, String key, Class<T> type,
+                        String description) {
+        this.s3Client = s3Client;
+        this.objectMapper = objectMapper;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.type = type;
+        this.description = description;
+    }
+
+    Optional<T> load() {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        try (ResponseInputStream<GetObjectResponse> response = s3Client.getObject(request)) {
+            return Optional.of(objectMapper.readValue(response, type));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            throw new IllegalStateException("Failed to fetch " + description + " from S3", e);
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to fetch " + description + " from S3", e);
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Failed to deserialize " + description, e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to deserialize " + description, e);
+        }
+    }
+
+    void save(T document) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(document);
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Failed to serialize " + description, e);
+        }
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType("application/json")
+                .build();
+        try {
+            s3Client.putObject(request, RequestBody.fromBytes(json));
+        } catch (S3Exception e) {
+            throw new IllegalStateException("Failed to store " + description + " in S3", e);
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to store " + description + " in S3", e);
+        }
+    }
+}
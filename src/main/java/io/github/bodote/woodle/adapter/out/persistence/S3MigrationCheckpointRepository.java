@@ -0,0 +1,59 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.github.bodote.woodle.application.model.MigrationCheckpoint;
+import io.github.bodote.woodle.application.port.out.MigrationCheckpointRepository;
+import tools.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.Optional;
+
+/**
+ * Keeps the schema migration checkpoint in a single small JSON object next to the other bookkeeping objects.
+ */
+public class S3MigrationCheckpointRepository implements MigrationCheckpointRepository {
+
+    static final String CHECKPOINT_KEY = "meta/migration-checkpoint.json";
+
+    private final S3JsonDocumentStore<MigrationCheckpointDocument> store;
+
+    public S3MigrationCheckpointRepository(S3Client s3Client, ObjectMapper objectMapper, String bucketName) {
+        this.store = new S3JsonDocumentStore<>(s3Client, objectMapper, bucketName, CHECKPOINT_KEY,
+                MigrationCheckpointDocument.class, "migration checkpoint");
+    }
+
+    @Override
+    public Optional<MigrationCheckpoint> load() {
+        return store.load().map(MigrationCheckpointDocument::toCheckpoint);
+    }
+
+    @Override
+    public void save(MigrationCheckpoint checkpoint) {
+        store.save(MigrationCheckpointDocument.from(checkpoint));
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record MigrationCheckpointDocument(
+            String schemaVersion,
+            String pageToken,
+            int migrated,
+            int skipped,
+            int failed,
+            boolean finished
+    ) {
+        static MigrationCheckpointDocument from(MigrationCheckpoint checkpoint) {
+            return new MigrationCheckpointDocument(
+                    checkpoint.schemaVersion(),
+                    checkpoint.pageToken(),
+                    checkpoint.migrated(),
+                    checkpoint.skipped(),
+                    checkpoint.failed(),
+                    checkpoint.finished()
+            );
+        }
+
+        MigrationCheckpoint toCheckpoint() {
+            return new MigrationCheckpoint(schemaVersion, pageToken, migrated, skipped, failed, finished);
+        }
+    }
+}
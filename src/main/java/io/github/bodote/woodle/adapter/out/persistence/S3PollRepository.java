@@ -1,6 +1,10 @@
 package io.github.bodote.woodle.adapter.out.persistence;
 
-import io.github.bodote.woodle.application.port.out.PollRepository;
+import io.github.bodote.woodle.application.port.out.ExpiredPollIdsPage;
+import io.github.bodote.woodle.application.port.out.PollMetadata;
+import io.github.bodote.woodle.application.port.out.PollMigrationPage;
+import io.github.bodote.woodle.application.port.out.PollResponseChange;
+import io.github.bodote.woodle.application.port.out.PollUpdateConflictException;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
 import io.github.bodote.woodle.domain.model.Poll;
@@ -8,13 +12,22 @@ import io.github.bodote.woodle.domain.model.PollOption;
 import io.github.bodote.woodle.domain.model.PollResponse;
 import io.github.bodote.woodle.domain.model.PollVote;
 import io.github.bodote.woodle.domain.model.PollVoteValue;
+import io.github.bodote.woodle.domain.model.VoteMatrix;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
@@ -22,20 +35,64 @@ import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import java.time.LocalTime;
 import software.amazon.awssdk.core.exception.SdkException;
 
-public class S3PollRepository implements PollRepository {
+public class S3PollRepository implements ConditionalPollRepository {
 
-    private static final String DEFAULT_SCHEMA_VERSION = "2";
+    private static final String DEFAULT_SCHEMA_VERSION = "3";
+    static final String ACTIVE_POLL_COUNT_KEY = "meta/active-poll-count.json";
+    private static final Duration ACTIVE_POLL_COUNT_CACHE_TTL = Duration.ofSeconds(30);
+    private static final Duration ACTIVE_POLL_COUNT_RECONCILE_INTERVAL = Duration.ofHours(24);
+    private static final int ACTIVE_POLL_COUNT_UPDATE_ATTEMPTS = 5;
+    static final String EXPIRY_INDEX_PREFIX = "expiry/";
+    static final String EXPIRY_INDEX_MARKER_KEY = "meta/expiry-index.json";
+    private static final int KNOWN_EXPIRIES_CAPACITY = 10_000;
+    private static final int KNOWN_VERSIONS_CAPACITY = 10_000;
+    /** Power of two; polls sharing a stripe only miss each other's shared reads. */
+    private static final int WRITE_GENERATION_STRIPES = 1024;
+    private static final int DELETE_OBJECTS_BATCH_SIZE = 1000;
+    private static final int EXPIRED_POLL_PAGE_SIZE = 200;
+    private static final int DEFAULT_FETCH_CONCURRENCY = 16;
+    private static final int RESPONSE_WRITE_ATTEMPTS = 5;
+    private static final Duration RESPONSE_WRITE_BASE_BACKOFF = Duration.ofMillis(20);
+    /** User metadata on each snapshot, so admin links can be checked with a {@code HEAD}. */
+    static final String ADMIN_SECRET_HASH_METADATA = "admin-secret-sha256";
+    private static final int DOCUMENT_BUFFER_POOL_SIZE = 4;
+    /** Enough to recognise every codec's magic number. */
+    private static final int CODEC_HEADER_LENGTH = 16;
+    private static final int MAX_POOLED_DOCUMENT_BYTES = 4 * 1024 * 1024;
     private static final Logger LOGGER = LoggerFactory.getLogger(S3PollRepository.class);
 
     private final S3Client s3Client;
@@ -43,60 +100,296 @@ public class S3PollRepository implements PollRepository {
     private final String bucketName;
     private final String currentSchemaVersion;
     private final int currentSchemaVersionNumber;
+    private final Clock clock;
+    private final int fetchConcurrency;
+    private final PollObjectCompression compression;
+    private final PollCodec codec;
+    private final List<PollCodec> readCodecs;
+    private final DocumentBufferPool documentBuffers = new DocumentBufferPool(DOCUMENT_BUFFER_POOL_SIZE,
+            MAX_POOLED_DOCUMENT_BYTES);
+    private final SingleFlight<PollReadKey, StoredPollRead> inFlightReads = new SingleFlight<>();
+    private final AtomicLongArray writeGenerations = new AtomicLongArray(WRITE_GENERATION_STRIPES);
+    private final Map<UUID, KnownVersion> knownVersions = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, KnownVersion> eldest) {
+                    return size() > KNOWN_VERSIONS_CAPACITY;
+                }
+            });
+    private final AtomicBoolean activePollCountReconcileRunning = new AtomicBoolean(false);
+    private final SingleFlight<String, ActivePollCountDocument> activePollCountRecounts = new SingleFlight<>();
+    private volatile CachedActivePollCount cachedActivePollCount;
+    private final Map<UUID, LocalDate> knownExpiries = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, LocalDate> eldest) {
+                    return size() > KNOWN_EXPIRIES_CAPACITY;
+                }
+            });
 
     public S3PollRepository(S3Client s3Client, ObjectMapper objectMapper, String bucketName) {
         this(s3Client, objectMapper, bucketName, DEFAULT_SCHEMA_VERSION);
     }
 
     public S3PollRepository(S3Client s3Client, ObjectMapper objectMapper, String bucketName, String currentSchemaVersion) {
+        this(s3Client, objectMapper, bucketName, currentSchemaVersion, Clock.systemUTC());
+    }
+
+    public S3PollRepository(S3Client s3Client, ObjectMapper objectMapper, String bucketName, String currentSchemaVersion,
+                            Clock clock) {
+        this(s3Client, objectMapper, bucketName, currentSchemaVersion, clock, DEFAULT_FETCH_CONCURRENCY);
+    }
+
+    public S3PollRepository(S3Client s3Client, ObjectMapper objectMapper, String bucketName, String currentSchemaVersion,
+                            Clock clock, int fetchConcurrency) {
+        this(s3Client, objectMapper, bucketName, currentSchemaVersion, clock, fetchConcurrency,
+                PollObjectCompression.NONE);
+    }
+
+    public S3PollRepository(S3Client s3Client, ObjectMapper objectMapper, String bucketName, String currentSchemaVersion,
+                            Clock clock, int fetchConcurrency, PollObjectCompression compression) {
+        this(s3Client, objectMapper, bucketName, currentSchemaVersion, clock, fetchConcurrency, compression,
+                new JsonPollCodec(objectMapper));
+    }
+
+    /**
+     * @param codec the format new snapshots are written in; snapshots in any supported format are read
+     */
+    public S3PollRepository(S3Client s3Client, ObjectMapper objectMapper, String bucketName, String currentSchemaVersion,
+                            Clock clock, int fetchConcurrency, PollObjectCompression compression, PollCodec codec) {
+        if (fetchConcurrency < 1) {
+            throw new IllegalArgumentException("fetchConcurrency must be at least 1");
+        }
         this.s3Client = s3Client;
         this.objectMapper = objectMapper;
         this.bucketName = bucketName;
         this.currentSchemaVersionNumber = parseCurrentSchemaVersion(currentSchemaVersion);
         this.currentSchemaVersion = Integer.toString(this.currentSchemaVersionNumber);
+        this.clock = clock;
+        this.fetchConcurrency = fetchConcurrency;
+        this.compression = compression;
+        this.codec = codec;
+        // JSON accepts anything, so it is tried last
+        this.readCodecs = List.of(new BinaryPollCodec(), new JsonPollCodec(objectMapper));
     }
 
+    /**
+     * Compare-and-swap write: the PUT carries {@code If-Match} with the ETag of the revision the poll was read at,
+     * so a concurrent write in between makes S3 reject it and a {@link PollUpdateConflictException} is thrown. The
+     * ETag is remembered from the last read or write of this instance; otherwise the current object is read first.
+     */
     @Override
     public void save(Poll poll) {
-        PollDAO pollDAO = toDao(poll);
-        saveDao(pollDAO);
+        String ifMatch = expectedETag(poll);
+        Poll next = poll.withVersion(poll.version() + 1);
+        String eTag = ifMatch == null
+                ? putDao(toDao(next), null, "*")
+                : putDao(toDao(next), ifMatch, null);
+        rememberVersion(next.pollId(), next.version(), eTag);
+        updateExpiryIndex(poll.pollId(), poll.expiresAt());
     }
 
-    private void saveDao(PollDAO pollDAO) {
-        String json = writeJson(pollDAO);
-        String key = "polls/" + pollDAO.pollId() + ".json";
+    /**
+     * Stores a new poll with {@code If-None-Match: *}, so an existing object with the same id is never replaced.
+     */
+    @Override
+    public void create(Poll poll) {
+        Poll next = poll.withVersion(poll.version() + 1);
+        String eTag = putDao(toDao(next), null, "*");
+        rememberVersion(next.pollId(), next.version(), eTag);
+        updateExpiryIndex(poll.pollId(), poll.expiresAt());
+        adjustActivePollCount(1);
+    }
 
-        PutObjectRequest request = PutObjectRequest.builder()
+    /**
+     * ETag the stored object must still have for {@code poll} to be written, or {@code null} when no object may
+     * exist yet. A stored revision other than the one the poll was read at is reported as a conflict right away.
+     */
+    private String expectedETag(Poll poll) {
+        KnownVersion known = knownVersions.get(poll.pollId());
+        if (known != null && known.version() == poll.version() && known.eTag() != null) {
+            return known.eTag();
+        }
+        StoredSnapshot current = readSnapshot(poll.pollId(), null);
+        if (current == null) {
+            if (poll.version() != 0) {
+                throw new PollUpdateConflictException(poll.pollId());
+            }
+            return null;
+        }
+        if (revisionOf(current.pollDAO()) != poll.version()) {
+            throw new PollUpdateConflictException(poll.pollId());
+        }
+        return requireETag(poll.pollId(), current.eTag());
+    }
+
+    /**
+     * The ETag a rewrite of a snapshot that was read is made conditional on. S3 sends one with every object; without
+     * it the rewrite could only be unconditional and would silently replace a concurrent change, so it is refused.
+     */
+    private static String requireETag(UUID pollId, String eTag) {
+        if (eTag == null) {
+            throw new IllegalStateException("S3 returned no ETag for poll " + pollId
+                    + ", refusing an unconditional write");
+        }
+        return eTag;
+    }
+
+    private String putDao(PollDAO pollDAO, String ifMatch, String ifNoneMatch) {
+        String key = pollKey(pollDAO.pollId());
+
+        PutObjectRequest.Builder requestBuilder = PutObjectRequest.builder()
                 .bucket(bucketName)
                 .key(key)
-                .contentType("application/json")
-                .build();
+                .contentType(codec.contentType())
+                .contentEncoding(compression.contentEncoding());
+        String adminSecretHash = pollDAO.access() == null
+                ? null
+                : PollMetadata.hashAdminSecret(pollDAO.access().adminToken());
+        if (adminSecretHash != null) {
+            requestBuilder.metadata(Map.of(ADMIN_SECRET_HASH_METADATA, adminSecretHash));
+        }
+        if (ifMatch != null) {
+            requestBuilder.ifMatch(ifMatch);
+        }
+        if (ifNoneMatch != null) {
+            requestBuilder.ifNoneMatch(ifNoneMatch);
+        }
 
-        s3Client.putObject(request, RequestBody.fromBytes(json.getBytes(StandardCharsets.UTF_8)));
+        DocumentBufferPool.Buffer document = documentBuffers.acquire();
+        try {
+            try (OutputStream out = compression.encoding(document)) {
+                codec.encode(withVoteCodes(pollDAO), out);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to serialize poll", e);
+            }
+            PutObjectResponse response = s3Client.putObject(requestBuilder.build(),
+                    document.toRequestBody(codec.contentType()));
+            return response == null ? null : response.eTag();
+        } catch (S3Exception e) {
+            // 412: the condition no longer holds; 409: another conditional write to the key was in progress
+            if ((ifMatch != null || ifNoneMatch != null) && (e.statusCode() == 412 || e.statusCode() == 409)) {
+                knownVersions.remove(pollDAO.pollId());
+                throw new PollUpdateConflictException(pollDAO.pollId(), e);
+            }
+            throw e;
+        } finally {
+            documentBuffers.release(document);
+            advanceWriteGeneration(pollDAO.pollId());
+        }
+    }
+
+    private void rememberVersion(UUID pollId, long version, String eTag) {
+        if (eTag == null) {
+            knownVersions.remove(pollId);
+            return;
+        }
+        knownVersions.put(pollId, new KnownVersion(version, eTag));
     }
 
     @Override
     public Optional<Poll> findById(UUID pollId) {
-        String key = "polls/" + pollId + ".json";
-        GetObjectRequest request = GetObjectRequest.builder()
+        StoredPollRead read = read(pollId, null);
+        return read.outcome() == StoredPollRead.Outcome.FOUND ? Optional.of(read.poll()) : Optional.empty();
+    }
+
+    /**
+     * One {@code HEAD} on the snapshot; the admin-secret hash comes from its user metadata. Snapshots written before
+     * the hash was stored are read in full once more, until their next save adds it.
+     */
+    @Override
+    public Optional<PollMetadata> findMetadata(UUID pollId) {
+        HeadObjectRequest request = HeadObjectRequest.builder()
                 .bucket(bucketName)
-                .key(key)
+                .key(pollKey(pollId))
                 .build();
-        try (ResponseInputStream<GetObjectResponse> response = s3Client.getObject(request)) {
-            String json = new String(response.readAllBytes(), StandardCharsets.UTF_8);
-            PollDAO pollDAO = objectMapper.readValue(json, PollDAO.class);
+        HeadObjectResponse response;
+        try {
+            response = s3Client.headObject(request);
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            // HEAD responses have no body, so a missing key can also surface as a plain 404
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new IllegalStateException("Failed to fetch poll metadata from S3", e);
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to fetch poll metadata from S3", e);
+        }
+        String adminSecretHash = response == null ? null : response.metadata().get(ADMIN_SECRET_HASH_METADATA);
+        if (adminSecretHash == null) {
+            return findById(pollId).map(PollMetadata::of);
+        }
+        return Optional.of(new PollMetadata(pollId, adminSecretHash));
+    }
+
+    /**
+     * Reads a poll together with its ETag. The snapshot holds every response, so a read is a single GET, and with
+     * {@code ifNoneMatch} set S3 answers {@code 304 Not Modified} without a body while the snapshot still has that
+     * ETag. Concurrent reads of the same poll share one load, so a link mailed to a large group does not fan out into
+     * identical requests; a read issued after a write of this instance has finished never joins a load started before
+     * it.
+     */
+    @Override
+    public StoredPollRead read(UUID pollId, String ifNoneMatch) {
+        PollReadKey key = new PollReadKey(pollId, ifNoneMatch, writeGenerations.get(writeGenerationStripe(pollId)));
+        return inFlightReads.load(key, () -> readFromS3(pollId, ifNoneMatch));
+    }
+
+    /**
+     * Called once a write to a poll has finished, successfully or not. Reads started afterwards get a different
+     * {@link PollReadKey} and so never join a load that may have fetched the poll before the write.
+     */
+    private void advanceWriteGeneration(UUID pollId) {
+        writeGenerations.incrementAndGet(writeGenerationStripe(pollId));
+    }
+
+    private static int writeGenerationStripe(UUID pollId) {
+        return pollId.hashCode() & (WRITE_GENERATION_STRIPES - 1);
+    }
+
+    private StoredPollRead readFromS3(UUID pollId, String ifNoneMatch) {
+        StoredSnapshot snapshot = readSnapshot(pollId, ifNoneMatch);
+        if (snapshot == null) {
+            return StoredPollRead.notFound();
+        }
+        if (snapshot == StoredSnapshot.NOT_MODIFIED) {
+            return StoredPollRead.notModified();
+        }
+        return StoredPollRead.found(toPoll(snapshot.pollDAO()), snapshot.eTag());
+    }
+
+    /**
+     * Reads the poll snapshot {@code polls/{pollId}.json}, migrating it to the current schema in memory if needed.
+     * Returns {@code null} when it does not exist and {@link StoredSnapshot#NOT_MODIFIED} for a {@code 304}.
+     */
+    private StoredSnapshot readSnapshot(UUID pollId, String ifNoneMatch) {
+        String key = pollKey(pollId);
+        GetObjectRequest.Builder requestBuilder = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key);
+        if (ifNoneMatch != null) {
+            requestBuilder.ifNoneMatch(ifNoneMatch);
+        }
+        try (ResponseInputStream<GetObjectResponse> response = s3Client.getObject(requestBuilder.build())) {
+            String eTag = response.response() == null ? null : response.response().eTag();
+            PollDAO pollDAO = decodeDao(response);
             if (requiresMigration(pollDAO.schemaVersion())) {
                 String previousVersion = pollDAO.schemaVersion() == null ? "<missing>" : pollDAO.schemaVersion();
                 LOGGER.info("Migrating poll {} from schemaVersion {} to {}", pollDAO.pollId(), previousVersion, currentSchemaVersion);
-                PollDAO migratedPoll = migrateToCurrentSchema(pollDAO);
-                saveDao(migratedPoll);
-                LOGGER.info("Migration persisted for poll {} with schemaVersion {}", migratedPoll.pollId(), currentSchemaVersion);
-                pollDAO = migratedPoll;
+                // in memory only: the stored object keeps its ETag and is rewritten by migrateStoredPolls
+                pollDAO = migrateToCurrentSchema(pollDAO);
             }
-            return Optional.of(fromDao(pollDAO));
+            rememberExpiry(pollDAO);
+            rememberVersion(pollDAO.pollId(), revisionOf(pollDAO), eTag);
+            return new StoredSnapshot(pollDAO, eTag);
         } catch (NoSuchKeyException e) {
-            return Optional.empty();
+            return null;
         } catch (S3Exception e) {
+            if (ifNoneMatch != null && e.statusCode() == 304) {
+                return StoredSnapshot.NOT_MODIFIED;
+            }
             throw new IllegalStateException("Failed to fetch poll from S3", e);
         } catch (SdkException e) {
             throw new IllegalStateException("Failed to fetch poll from S3", e);
@@ -109,60 +402,153 @@ public class S3PollRepository implements PollRepository {
         }
     }
 
-    @Override
-    public long countActivePolls() {
+    private Poll toPoll(PollDAO pollDAO) {
         try {
-            String continuationToken = null;
-            long count = 0L;
-            do {
-                ListObjectsV2Request.Builder requestBuilder = ListObjectsV2Request.builder()
-                        .bucket(bucketName)
-                        .prefix("polls/");
-                if (continuationToken != null) {
-                    requestBuilder.continuationToken(continuationToken);
+            return fromDao(pollDAO);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to deserialize poll", e);
+        }
+    }
+
+    @Override
+    public void saveResponse(UUID pollId, PollResponse response) {
+        applyResponseChanges(pollId, List.of(PollResponseChange.saved(response)));
+    }
+
+    @Override
+    public void deleteResponse(UUID pollId, UUID responseId) {
+        applyResponseChanges(pollId, List.of(PollResponseChange.deleted(responseId)));
+    }
+
+    /**
+     * Writes the changes into the snapshot with one conditional PUT, so the snapshot stays the complete state of the
+     * poll and every response write moves its revision and ETag. A write that loses against a concurrent one is
+     * retried on the reloaded snapshot after a short, jittered exponential backoff.
+     *
+     * @throws IllegalArgumentException if the poll does not exist
+     * @throws PollUpdateConflictException if every attempt lost against a concurrent write
+     */
+    @Override
+    public void applyResponseChanges(UUID pollId, List<PollResponseChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writeIntoSnapshot(pollId, changes);
+                return;
+            } catch (PollUpdateConflictException e) {
+                if (attempt >= RESPONSE_WRITE_ATTEMPTS) {
+                    LOGGER.warn("Giving up storing {} response change(s) of poll {} after {} conflicting write(s)",
+                            changes.size(), pollId, attempt);
+                    throw e;
                 }
-                ListObjectsV2Response response = s3Client.listObjectsV2(requestBuilder.build());
-                count += response.contents().stream()
-                        .map(S3Object::key)
-                        .filter(key -> key != null && key.endsWith(".json"))
-                        .count();
-                continuationToken = response.nextContinuationToken();
-            } while (continuationToken != null);
-            return count;
-        } catch (S3Exception e) {
-            throw new IllegalStateException("Failed to count polls from S3", e);
-        } catch (SdkException e) {
-            throw new IllegalStateException("Failed to count polls from S3", e);
+                LOGGER.debug("Concurrent write to poll {} while storing {} response change(s) (attempt {})",
+                        pollId, changes.size(), attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void writeIntoSnapshot(UUID pollId, List<PollResponseChange> changes) {
+        StoredSnapshot stored = readSnapshot(pollId, null);
+        if (stored == null) {
+            throw new IllegalArgumentException("Poll not found");
+        }
+        long revision = revisionOf(stored.pollDAO()) + 1;
+        Map<UUID, PollDAO.Response> responses = new LinkedHashMap<>();
+        if (stored.pollDAO().responses() != null) {
+            stored.pollDAO().responses().forEach(response -> responses.put(response.responseId(), response));
         }
+        for (PollResponseChange change : changes) {
+            if (change.deleted()) {
+                responses.remove(change.responseId());
+            } else {
+                // the revision tells readers which responses this write changed without comparing their votes
+                responses.put(change.responseId(), toResponse(change.response().withRevision(revision)));
+            }
+        }
+        PollDAO next = stored.pollDAO()
+                .withResponses(List.copyOf(responses.values()))
+                .withUpdatedAt(OffsetDateTime.now(clock))
+                .withRevision(revision);
+        String eTag = putDao(next, requireETag(pollId, stored.eTag()), null);
+        rememberVersion(pollId, revisionOf(next), eTag);
     }
 
+    private void backOff(int attempt) {
+        long maxMillis = RESPONSE_WRITE_BASE_BACKOFF.toMillis() << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis / 2, maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying poll response write", e);
+        }
+    }
+
+    /**
+     * Serves the count from the maintained counter object ({@value #ACTIVE_POLL_COUNT_KEY}) instead of listing
+     * the bucket, so a homepage view costs at most one small GET. The value is cached in-process for a short
+     * time. A stale counter is recounted in the background. A missing one is recounted in the background too when
+     * a count is already known; otherwise the caller waits for that recount (shared with concurrent callers), so the
+     * first answer is a real count rather than a placeholder {@code 0}.
+     */
+    @Override
+    public long countActivePolls() {
+        Instant now = clock.instant();
+        CachedActivePollCount cached = cachedActivePollCount;
+        if (cached != null && now.isBefore(cached.loadedAt().plus(ACTIVE_POLL_COUNT_CACHE_TTL))) {
+            return cached.count();
+        }
+        StoredActivePollCount stored = readActivePollCount();
+        if (stored == null) {
+            if (cached == null) {
+                return recountActivePolls().count();
+            }
+            reconcileActivePollCountInBackground();
+            return cached.count();
+        }
+        if (isStale(stored.document(), now)) {
+            reconcileActivePollCountInBackground();
+        }
+        cachedActivePollCount = new CachedActivePollCount(stored.document().count(), now);
+        return stored.document().count();
+    }
+
+    /**
+     * Lists only the {@code expiry/{yyyy-MM-dd}/{pollId}} index entries dated before {@code asOf} and confirms
+     * each candidate against its poll document, so the cost follows the number of expired polls. Entries whose
+     * poll is gone or whose expiry moved are removed. Until the index has been backfilled once (marker object
+     * {@value #EXPIRY_INDEX_MARKER_KEY}), the whole {@code polls/} prefix is scanned and indexed instead.
+     */
     @Override
     public List<UUID> findExpiredPollIds(LocalDate asOf) {
+        Set<UUID> expired = new LinkedHashSet<>();
+        String pageToken = null;
+        do {
+            ExpiredPollIdsPage page = findExpiredPollIds(asOf, pageToken);
+            expired.addAll(page.pollIds());
+            pageToken = page.nextPageToken();
+        } while (pageToken != null);
+        return List.copyOf(expired);
+    }
+
+    /**
+     * Pages hold at most {@value #EXPIRED_POLL_PAGE_SIZE} listed keys, which keeps a single page well inside the
+     * cleanup time budget. The poll documents of a page are fetched in parallel (see
+     * {@link #readConcurrently(List, Function)}). The page token is the S3 continuation token of the listing in use.
+     */
+    @Override
+    public ExpiredPollIdsPage findExpiredPollIds(LocalDate asOf, String pageToken) {
         try {
-            List<UUID> expired = new ArrayList<>();
-            String continuationToken = null;
-            do {
-                ListObjectsV2Request.Builder requestBuilder = ListObjectsV2Request.builder()
-                        .bucket(bucketName)
-                        .prefix("polls/");
-                if (continuationToken != null) {
-                    requestBuilder.continuationToken(continuationToken);
+            if (!isExpiryIndexBackfilled()) {
+                ExpiredPollIdsPage page = scanExpiredPollIdsAndBackfillIndex(asOf, pageToken);
+                if (page.nextPageToken() == null) {
+                    markExpiryIndexBackfilled();
                 }
-                ListObjectsV2Response response = s3Client.listObjectsV2(requestBuilder.build());
-                for (S3Object object : response.contents()) {
-                    String key = object.key();
-                    if (key == null || !key.endsWith(".json")) {
-                        continue;
-                    }
-                    PollDAO pollDAO = readDaoByKey(key);
-                    if (pollDAO != null && pollDAO.expiresAt() != null
-                            && pollDAO.expiresAt().isBefore(asOf)) {
-                        expired.add(pollDAO.pollId());
-                    }
-                }
-                continuationToken = response.nextContinuationToken();
-            } while (continuationToken != null);
-            return expired;
+                return page;
+            }
+            return findExpiredPollIdsFromIndex(asOf, pageToken);
         } catch (S3Exception e) {
             throw new IllegalStateException("Failed to list polls from S3", e);
         } catch (SdkException e) {
@@ -170,9 +556,220 @@ public class S3PollRepository implements PollRepository {
         }
     }
 
+    private ExpiredPollIdsPage findExpiredPollIdsFromIndex(LocalDate asOf, String pageToken) {
+        ListObjectsV2Response response = s3Client.listObjectsV2(listRequest(EXPIRY_INDEX_PREFIX, pageToken));
+        List<ExpiryIndexEntry> candidates = new ArrayList<>();
+        String nextPageToken = response.nextContinuationToken();
+        for (S3Object object : response.contents()) {
+            ExpiryIndexEntry entry = parseExpiryIndexKey(object.key());
+            if (entry == null) {
+                continue;
+            }
+            if (!entry.expiresAt().isBefore(asOf)) {
+                // keys are listed in ascending order, so every remaining entry is dated asOf or later
+                nextPageToken = null;
+                break;
+            }
+            candidates.add(entry);
+        }
+        List<PollDAO> polls = readConcurrently(candidates, entry -> readDaoByKey(pollKey(entry.pollId())));
+        Set<UUID> expired = new LinkedHashSet<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (isConfirmedExpired(candidates.get(i), polls.get(i), asOf)) {
+                expired.add(candidates.get(i).pollId());
+            }
+        }
+        return new ExpiredPollIdsPage(List.copyOf(expired), nextPageToken);
+    }
+
+    private boolean isConfirmedExpired(ExpiryIndexEntry entry, PollDAO pollDAO, LocalDate asOf) {
+        LocalDate expiresAt = pollDAO == null ? null : pollDAO.expiresAt();
+        if (expiresAt != null && expiresAt.isBefore(asOf)) {
+            rememberExpiry(pollDAO);
+            return true;
+        }
+        deleteExpiryIndexEntry(entry.expiresAt(), entry.pollId());
+        if (expiresAt != null && !expiresAt.equals(entry.expiresAt())) {
+            writeExpiryIndexEntry(expiresAt, entry.pollId());
+            knownExpiries.put(entry.pollId(), expiresAt);
+        }
+        return false;
+    }
+
+    private ExpiredPollIdsPage scanExpiredPollIdsAndBackfillIndex(LocalDate asOf, String pageToken) {
+        if (pageToken == null) {
+            LOGGER.info("Expiry index not backfilled yet, scanning all polls");
+        }
+        ListObjectsV2Response response = s3Client.listObjectsV2(listRequest("polls/", pageToken));
+        List<String> keys = response.contents().stream()
+                .map(S3Object::key)
+                .filter(key -> key != null && key.endsWith(".json"))
+                .toList();
+        List<UUID> expired = new ArrayList<>();
+        for (PollDAO pollDAO : readConcurrently(keys, this::readDaoByKey)) {
+            if (pollDAO == null || pollDAO.expiresAt() == null) {
+                continue;
+            }
+            writeExpiryIndexEntry(pollDAO.expiresAt(), pollDAO.pollId());
+            rememberExpiry(pollDAO);
+            if (pollDAO.expiresAt().isBefore(asOf)) {
+                expired.add(pollDAO.pollId());
+            }
+        }
+        return new ExpiredPollIdsPage(expired, response.nextContinuationToken());
+    }
+
+    /**
+     * Rewrites the snapshots of one listing page of {@code polls/} that are stored in an older schema. Snapshots
+     * are fetched and migrated concurrently (see {@link #readConcurrently(List, Function)}); every rewrite is
+     * conditional on the ETag that was read, so a poll changed in the meantime is skipped rather than overwritten
+     * and picked up again by the next run.
+     */
+    @Override
+    public PollMigrationPage migrateStoredPolls(String pageToken) {
+        ListObjectsV2Response response = s3Client.listObjectsV2(listRequest("polls/", pageToken));
+        List<String> keys = response.contents().stream()
+                .map(S3Object::key)
+                .filter(key -> key != null && key.endsWith(".json"))
+                .toList();
+        int migrated = 0;
+        int skipped = 0;
+        int failed = 0;
+        for (MigrationOutcome outcome : readConcurrently(keys, this::migrateStoredPoll)) {
+            switch (outcome) {
+                case MIGRATED -> migrated++;
+                case SKIPPED -> skipped++;
+                case FAILED -> failed++;
+            }
+        }
+        return new PollMigrationPage(migrated, skipped, failed, response.nextContinuationToken());
+    }
+
+    private MigrationOutcome migrateStoredPoll(String key) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        try {
+            PollDAO pollDAO;
+            String eTag;
+            try (ResponseInputStream<GetObjectResponse> response = s3Client.getObject(request)) {
+                pollDAO = decodeDao(response);
+                eTag = response.response() == null ? null : response.response().eTag();
+            }
+            if (!requiresMigration(pollDAO.schemaVersion())) {
+                return MigrationOutcome.SKIPPED;
+            }
+            PollDAO migratedPoll = migrateToCurrentSchema(pollDAO);
+            String newETag = putDao(migratedPoll, requireETag(migratedPoll.pollId(), eTag), null);
+            rememberVersion(migratedPoll.pollId(), revisionOf(migratedPoll), newETag);
+            LOGGER.info("Migration persisted for poll {} with schemaVersion {}", migratedPoll.pollId(), currentSchemaVersion);
+            return MigrationOutcome.MIGRATED;
+        } catch (NoSuchKeyException | PollUpdateConflictException e) {
+            // deleted or changed since it was listed
+            return MigrationOutcome.SKIPPED;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to migrate poll {}: {}", key, e.getMessage());
+            return MigrationOutcome.FAILED;
+        }
+    }
+
+    /**
+     * Runs the given S3 reads on virtual threads, at most {@code fetchConcurrency} at a time, and returns the
+     * results in input order. Writes that depend on the results stay with the caller so their order is stable.
+     */
+    private <T, R> List<R> readConcurrently(List<T> items, Function<T, R> read) {
+        if (items.size() <= 1 || fetchConcurrency <= 1) {
+            return items.stream().map(read).toList();
+        }
+        Semaphore permits = new Semaphore(fetchConcurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<R>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return read.apply(item);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            List<R> results = new ArrayList<>(futures.size());
+            for (Future<R> future : futures) {
+                results.add(await(future));
+            }
+            return results;
+        }
+    }
+
+    private <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to read polls from S3", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading polls from S3", e);
+        }
+    }
+
+    private ListObjectsV2Request listRequest(String prefix, String continuationToken) {
+        ListObjectsV2Request.Builder requestBuilder = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .maxKeys(EXPIRED_POLL_PAGE_SIZE);
+        if (continuationToken != null) {
+            requestBuilder.continuationToken(continuationToken);
+        }
+        return requestBuilder.build();
+    }
+
+    /**
+     * Only a marker that was actually read counts; any other failure propagates, so an unreadable marker never
+     * switches the cleanup over to an index that may not be complete.
+     */
+    private boolean isExpiryIndexBackfilled() {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(EXPIRY_INDEX_MARKER_KEY)
+                .build();
+        try (ResponseInputStream<GetObjectResponse> ignored = s3Client.getObject(request)) {
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read expiry index marker from S3", e);
+        }
+    }
+
+    private void markExpiryIndexBackfilled() {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(new ExpiryIndexMarkerDocument(OffsetDateTime.now(clock)));
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Failed to serialize expiry index marker", e);
+        }
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(EXPIRY_INDEX_MARKER_KEY)
+                .contentType("application/json")
+                .build();
+        s3Client.putObject(request, RequestBody.fromBytes(json.getBytes(StandardCharsets.UTF_8)));
+        LOGGER.info("Expiry index backfill completed");
+    }
+
+    /**
+     * The active poll counter is only decremented when the snapshot existed, which a {@code HEAD} checks first,
+     * because S3 reports success for deleting a missing key.
+     */
     @Override
     public void deleteById(UUID pollId) {
-        String key = "polls/" + pollId + ".json";
+        boolean existed = snapshotExists(pollId);
+        String key = pollKey(pollId);
         DeleteObjectRequest request = DeleteObjectRequest.builder()
                 .bucket(bucketName)
                 .key(key)
@@ -183,6 +780,348 @@ public class S3PollRepository implements PollRepository {
             throw new IllegalStateException("Failed to delete poll from S3", e);
         } catch (SdkException e) {
             throw new IllegalStateException("Failed to delete poll from S3", e);
+        } finally {
+            advanceWriteGeneration(pollId);
+        }
+        LocalDate knownExpiry = knownExpiries.remove(pollId);
+        if (knownExpiry != null) {
+            deleteExpiryIndexEntry(knownExpiry, pollId);
+        }
+        if (existed) {
+            adjustActivePollCount(-1);
+        }
+    }
+
+    private boolean snapshotExists(UUID pollId) {
+        HeadObjectRequest request = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(pollKey(pollId))
+                .build();
+        try {
+            s3Client.headObject(request);
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw new IllegalStateException("Failed to fetch poll metadata from S3", e);
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to fetch poll metadata from S3", e);
+        }
+    }
+
+    /**
+     * Deletes the polls with {@code DeleteObjects} in batches of up to {@value #DELETE_OBJECTS_BATCH_SIZE} keys.
+     * S3 reports errors per key, so a failing key only fails its own poll; a batch that fails as a whole marks
+     * all of its polls as failed. Index entries of deleted polls are removed afterwards on a best-effort basis.
+     * S3 also reports success for a missing key, so only polls whose document was seen before (they have a known
+     * expiry, as every poll listed by {@link #findExpiredPollIds(LocalDate, String)} does) are taken off the active
+     * poll counter; the periodic recount corrects the rest.
+     */
+    @Override
+    public Map<UUID, String> deleteAllById(Collection<UUID> pollIds) {
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(pollIds));
+        Map<UUID, String> failures = new LinkedHashMap<>();
+        List<String> indexKeys = new ArrayList<>();
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += DELETE_OBJECTS_BATCH_SIZE) {
+            List<UUID> batch = distinctIds.subList(from, Math.min(from + DELETE_OBJECTS_BATCH_SIZE, distinctIds.size()));
+            Map<String, UUID> idsByKey = new LinkedHashMap<>();
+            for (UUID pollId : batch) {
+                idsByKey.put(pollKey(pollId), pollId);
+            }
+            Map<UUID, String> batchFailures = deletePollBatch(idsByKey);
+            failures.putAll(batchFailures);
+            for (UUID pollId : batch) {
+                if (batchFailures.containsKey(pollId)) {
+                    continue;
+                }
+                LocalDate knownExpiry = knownExpiries.remove(pollId);
+                if (knownExpiry != null) {
+                    indexKeys.add(expiryIndexKey(knownExpiry, pollId));
+                    deleted++;
+                }
+            }
+        }
+        deleteExpiryIndexEntries(indexKeys);
+        if (deleted > 0) {
+            adjustActivePollCount(-deleted);
+        }
+        return failures;
+    }
+
+    private Map<UUID, String> deletePollBatch(Map<String, UUID> idsByKey) {
+        Map<UUID, String> failures = new LinkedHashMap<>();
+        DeleteObjectsResponse response;
+        try {
+            response = s3Client.deleteObjects(deleteObjectsRequest(idsByKey.keySet()));
+        } catch (SdkException e) {
+            idsByKey.values().forEach(pollId -> failures.put(pollId, e.getMessage()));
+            return failures;
+        } finally {
+            idsByKey.values().forEach(this::advanceWriteGeneration);
+        }
+        if (response != null) {
+            for (S3Error error : response.errors()) {
+                UUID pollId = idsByKey.get(error.key());
+                if (pollId != null) {
+                    failures.put(pollId, error.code() + ": " + error.message());
+                }
+            }
+        }
+        return failures;
+    }
+
+    private void deleteExpiryIndexEntries(List<String> indexKeys) {
+        for (int from = 0; from < indexKeys.size(); from += DELETE_OBJECTS_BATCH_SIZE) {
+            List<String> batch = indexKeys.subList(from, Math.min(from + DELETE_OBJECTS_BATCH_SIZE, indexKeys.size()));
+            try {
+                s3Client.deleteObjects(deleteObjectsRequest(batch));
+            } catch (SdkException e) {
+                LOGGER.warn("Failed to delete {} expiry index entries: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    private DeleteObjectsRequest deleteObjectsRequest(Collection<String> keys) {
+        return deleteObjectsRequestFor(keys.stream()
+                .map(key -> ObjectIdentifier.builder().key(key).build())
+                .toList());
+    }
+
+    private DeleteObjectsRequest deleteObjectsRequestFor(List<ObjectIdentifier> objects) {
+        return DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder().objects(objects).quiet(true).build())
+                .build();
+    }
+
+    /**
+     * Keeps the {@code expiry/} index in line with the saved poll. Writes are skipped when the expiry matches
+     * the one this instance last read or wrote, so regular votes do not cost an extra PUT. Index failures are
+     * only logged: a missing or stale entry is repaired by the next cleanup run.
+     */
+    private void updateExpiryIndex(UUID pollId, LocalDate expiresAt) {
+        LocalDate previous = knownExpiries.get(pollId);
+        if (previous != null && previous.equals(expiresAt)) {
+            return;
+        }
+        if (expiresAt == null) {
+            if (previous != null) {
+                deleteExpiryIndexEntry(previous, pollId);
+                knownExpiries.remove(pollId);
+            }
+            return;
+        }
+        writeExpiryIndexEntry(expiresAt, pollId);
+        if (previous != null) {
+            deleteExpiryIndexEntry(previous, pollId);
+        }
+        knownExpiries.put(pollId, expiresAt);
+    }
+
+    private void writeExpiryIndexEntry(LocalDate expiresAt, UUID pollId) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(expiryIndexKey(expiresAt, pollId))
+                .build();
+        try {
+            s3Client.putObject(request, RequestBody.empty());
+        } catch (SdkException e) {
+            LOGGER.warn("Failed to write expiry index entry for poll {}: {}", pollId, e.getMessage());
+        }
+    }
+
+    private void deleteExpiryIndexEntry(LocalDate expiresAt, UUID pollId) {
+        DeleteObjectRequest request = DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(expiryIndexKey(expiresAt, pollId))
+                .build();
+        try {
+            s3Client.deleteObject(request);
+        } catch (SdkException e) {
+            LOGGER.warn("Failed to delete expiry index entry for poll {}: {}", pollId, e.getMessage());
+        }
+    }
+
+    private void rememberExpiry(PollDAO pollDAO) {
+        if (pollDAO.pollId() != null && pollDAO.expiresAt() != null) {
+            knownExpiries.put(pollDAO.pollId(), pollDAO.expiresAt());
+        }
+    }
+
+    private String pollKey(UUID pollId) {
+        return "polls/" + pollId + ".json";
+    }
+
+    private String expiryIndexKey(LocalDate expiresAt, UUID pollId) {
+        return EXPIRY_INDEX_PREFIX + expiresAt + "/" + pollId;
+    }
+
+    private ExpiryIndexEntry parseExpiryIndexKey(String key) {
+        if (key == null || !key.startsWith(EXPIRY_INDEX_PREFIX)) {
+            return null;
+        }
+        String[] parts = key.substring(EXPIRY_INDEX_PREFIX.length()).split("/");
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new ExpiryIndexEntry(LocalDate.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private StoredActivePollCount readActivePollCount() {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(ACTIVE_POLL_COUNT_KEY)
+                .build();
+        try (ResponseInputStream<GetObjectResponse> response = s3Client.getObject(request)) {
+            String json = new String(response.readAllBytes(), StandardCharsets.UTF_8);
+            String eTag = response.response() == null ? null : response.response().eTag();
+            return new StoredActivePollCount(objectMapper.readValue(json, ActivePollCountDocument.class), eTag);
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (S3Exception e) {
+            throw new IllegalStateException("Failed to count polls from S3", e);
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to count polls from S3", e);
+        } catch (JacksonException e) {
+            LOGGER.warn("Active poll counter is unreadable, recounting: {}", e.getMessage());
+            return null;
+        } catch (IOException e) {
+            LOGGER.warn("Active poll counter is unreadable, recounting: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the counter, with {@code If-Match} when {@code ifMatch} is set.
+     *
+     * @return {@code false} when the counter changed since it was read with {@code ifMatch}
+     */
+    private boolean writeActivePollCount(ActivePollCountDocument document, String ifMatch) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(document);
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Failed to serialize active poll counter", e);
+        }
+        PutObjectRequest.Builder requestBuilder = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(ACTIVE_POLL_COUNT_KEY)
+                .contentType("application/json");
+        if (ifMatch != null) {
+            requestBuilder.ifMatch(ifMatch);
+        }
+        try {
+            s3Client.putObject(requestBuilder.build(), RequestBody.fromBytes(json.getBytes(StandardCharsets.UTF_8)));
+            return true;
+        } catch (S3Exception e) {
+            if (ifMatch != null && (e.statusCode() == 412 || e.statusCode() == 409)) {
+                return false;
+            }
+            throw new IllegalStateException("Failed to store active poll counter in S3", e);
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to store active poll counter in S3", e);
+        }
+    }
+
+    /**
+     * Read-modify-write of the counter, conditional on the ETag that was read and retried a few times when another
+     * instance updated it in between. A counter failure never fails the poll write itself: the periodic recount
+     * corrects whatever drift is left.
+     */
+    private void adjustActivePollCount(long delta) {
+        try {
+            for (int attempt = 1; attempt <= ACTIVE_POLL_COUNT_UPDATE_ATTEMPTS; attempt++) {
+                StoredActivePollCount current = readActivePollCount();
+                if (current == null) {
+                    cachedActivePollCount = null;
+                    return;
+                }
+                ActivePollCountDocument updated = new ActivePollCountDocument(
+                        Math.max(0L, current.document().count() + delta), current.document().reconciledAt());
+                if (writeActivePollCount(updated, current.eTag())) {
+                    cachedActivePollCount = new CachedActivePollCount(updated.count(), clock.instant());
+                    return;
+                }
+                LOGGER.debug("Active poll counter changed concurrently (attempt {})", attempt);
+            }
+            LOGGER.warn("Gave up updating the active poll counter by {} after {} attempts", delta,
+                    ACTIVE_POLL_COUNT_UPDATE_ATTEMPTS);
+        } catch (IllegalStateException e) {
+            LOGGER.warn("Failed to update active poll counter by {}: {}", delta, e.getMessage());
+        }
+    }
+
+    private ActivePollCountDocument reconcileActivePollCount() {
+        long count = listActivePollCount();
+        ActivePollCountDocument document = new ActivePollCountDocument(count, OffsetDateTime.now(clock));
+        try {
+            writeActivePollCount(document, null);
+            LOGGER.info("Active poll counter reconciled to {}", count);
+        } catch (IllegalStateException e) {
+            LOGGER.warn("Failed to store reconciled active poll counter: {}", e.getMessage());
+        }
+        return document;
+    }
+
+    private void reconcileActivePollCountInBackground() {
+        if (!activePollCountReconcileRunning.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("active-poll-count-reconcile").start(() -> {
+            try {
+                recountActivePolls();
+            } catch (IllegalStateException e) {
+                LOGGER.warn("Background recount of active polls failed: {}", e.getMessage());
+            } finally {
+                activePollCountReconcileRunning.set(false);
+            }
+        });
+    }
+
+    private ActivePollCountDocument recountActivePolls() {
+        return activePollCountRecounts.load(ACTIVE_POLL_COUNT_KEY, () -> {
+            ActivePollCountDocument document = reconcileActivePollCount();
+            cachedActivePollCount = new CachedActivePollCount(document.count(), clock.instant());
+            return document;
+        });
+    }
+
+    private boolean isStale(ActivePollCountDocument document, Instant now) {
+        return document.reconciledAt() == null
+                || document.reconciledAt().toInstant().plus(ACTIVE_POLL_COUNT_RECONCILE_INTERVAL).isBefore(now);
+    }
+
+    private long listActivePollCount() {
+        try {
+            String continuationToken = null;
+            long count = 0L;
+            do {
+                ListObjectsV2Request.Builder requestBuilder = ListObjectsV2Request.builder()
+                        .bucket(bucketName)
+                        .prefix("polls/");
+                if (continuationToken != null) {
+                    requestBuilder.continuationToken(continuationToken);
+                }
+                ListObjectsV2Response response = s3Client.listObjectsV2(requestBuilder.build());
+                count += response.contents().stream()
+                        .map(S3Object::key)
+                        .filter(key -> key != null && key.endsWith(".json"))
+                        .count();
+                continuationToken = response.nextContinuationToken();
+            } while (continuationToken != null);
+            return count;
+        } catch (S3Exception e) {
+            throw new IllegalStateException("Failed to count polls from S3", e);
+        } catch (SdkException e) {
+            throw new IllegalStateException("Failed to count polls from S3", e);
         }
     }
 
@@ -192,8 +1131,7 @@ public class S3PollRepository implements PollRepository {
                 .key(key)
                 .build();
         try (ResponseInputStream<GetObjectResponse> response = s3Client.getObject(request)) {
-            String json = new String(response.readAllBytes(), StandardCharsets.UTF_8);
-            return objectMapper.readValue(json, PollDAO.class);
+            return decodeDao(response);
         } catch (NoSuchKeyException e) {
             return null;
         } catch (JacksonException e) {
@@ -205,12 +1143,19 @@ public class S3PollRepository implements PollRepository {
         }
     }
 
-    private String writeJson(PollDAO pollDAO) {
-        try {
-            return objectMapper.writeValueAsString(pollDAO);
-        } catch (JacksonException e) {
-            throw new IllegalStateException("Failed to serialize poll", e);
+    /**
+     * Decodes a snapshot straight from the object stream, decompressing it when it was stored compressed, with the
+     * first codec that recognises its header, independent of the codec used for writes.
+     */
+    private PollDAO decodeDao(InputStream stored) throws IOException {
+        InputStream document = PollObjectCompression.decoding(stored);
+        byte[] header = PollObjectCompression.peek(document, CODEC_HEADER_LENGTH);
+        for (PollCodec readCodec : readCodecs) {
+            if (readCodec.canDecode(header)) {
+                return readCodec.decode(document);
+            }
         }
+        throw new IllegalArgumentException("Unknown poll document format");
     }
 
     private PollDAO toDao(Poll poll) {
@@ -239,10 +1184,15 @@ public class S3PollRepository implements PollRepository {
                 "OPEN",
                 poll.expiresAt(),
                 new PollDAO.Options(poll.eventType().name(), poll.durationMinutes(), items),
-                responses
+                responses,
+                poll.version()
         );
     }
 
+    private long revisionOf(PollDAO pollDAO) {
+        return pollDAO.revision() == null ? 0 : pollDAO.revision();
+    }
+
     private PollDAO.OptionItem toOptionItem(PollOption option) {
         String startTime = option.startTime() == null ? null : option.startTime().toString();
         String endTime = option.endTime() == null ? null : option.endTime().toString();
@@ -253,9 +1203,7 @@ public class S3PollRepository implements PollRepository {
         List<PollOption> options = pollDAO.options().items().stream()
                 .map(item -> new PollOption(item.optionId(), item.date(), parseTime(item.startTime()), parseTime(item.endTime())))
                 .toList();
-        List<PollResponse> responses = pollDAO.responses().stream()
-                .map(this::fromResponse)
-                .toList();
+        List<PollResponse> responses = fromResponses(distinctResponses(pollDAO), pollDAO.options().items());
         boolean notifyOnComment = pollDAO.notifications() != null && pollDAO.notifications().onComment();
         return new Poll(
                 pollDAO.pollId(),
@@ -271,24 +1219,115 @@ public class S3PollRepository implements PollRepository {
                 pollDAO.createdAt(),
                 pollDAO.updatedAt(),
                 pollDAO.expiresAt(),
-                notifyOnComment
+                notifyOnComment,
+                revisionOf(pollDAO)
         );
     }
 
+    /**
+     * The stored responses with one entry per response id. A snapshot should never list an id twice; if one does,
+     * the later entry wins at the position of the first and the duplicate is logged instead of disappearing silently
+     * inside the poll's response list.
+     */
+    private static List<PollDAO.Response> distinctResponses(PollDAO pollDAO) {
+        Map<UUID, PollDAO.Response> byId = new LinkedHashMap<>();
+        for (PollDAO.Response response : pollDAO.responses()) {
+            if (byId.put(response.responseId(), response) != null) {
+                LOGGER.warn("Poll {} stores response {} more than once, keeping the last entry", pollDAO.pollId(),
+                        response.responseId());
+            }
+        }
+        return byId.size() == pollDAO.responses().size() ? pollDAO.responses() : List.copyOf(byId.values());
+    }
+
     private PollDAO.Response toResponse(PollResponse response) {
         List<PollDAO.Vote> votes = response.votes().stream()
                 .map(vote -> new PollDAO.Vote(vote.optionId(), vote.value().name()))
                 .toList();
         return new PollDAO.Response(response.responseId(), response.participantName(), response.createdAt(), votes,
-                response.comment());
+                response.comment(), null, response.revision() == 0 ? null : response.revision());
+    }
+
+    /**
+     * Packs the votes of all responses into one {@link VoteMatrix} with a column per option, so a loaded poll holds
+     * no {@link PollVote} objects. A matrix row lists its votes in option order, so responses whose votes are stored
+     * in a different order (only schema 2 lists can be), vote for options that are no longer in the poll or vote twice
+     * for one option keep a plain vote list; the background migration turns the first kind into vote codes.
+     */
+    static List<PollResponse> fromResponses(List<PollDAO.Response> responses, List<PollDAO.OptionItem> items) {
+        List<UUID> optionIds = items.stream().map(PollDAO.OptionItem::optionId).filter(Objects::nonNull).distinct()
+                .toList();
+        VoteMatrix.Builder matrix = VoteMatrix.builder(optionIds, responses.size());
+        boolean[] packed = new boolean[responses.size()];
+        for (int row = 0; row < responses.size(); row++) {
+            PollDAO.Response response = responses.get(row);
+            packed[row] = response.voteCodes() != null
+                    ? packCodes(response.voteCodes(), items, matrix, row)
+                    : pack(response.votes() == null ? List.of() : response.votes(), matrix, row);
+            if (!packed[row]) {
+                matrix.clearRow(row);
+            }
+        }
+        VoteMatrix votes = matrix.build();
+        List<PollResponse> result = new ArrayList<>(responses.size());
+        for (int row = 0; row < responses.size(); row++) {
+            PollDAO.Response response = responses.get(row);
+            result.add(packed[row]
+                    ? new PollResponse(response.responseId(), response.participantName(), response.createdAt(),
+                    votes.row(row), response.comment(), revisionOf(response))
+                    : fromResponse(response, items));
+        }
+        return List.copyOf(result);
+    }
+
+    private static boolean pack(List<PollDAO.Vote> votes, VoteMatrix.Builder matrix, int row) {
+        int previousColumn = -1;
+        for (PollDAO.Vote vote : votes) {
+            int column = vote.optionId() == null ? -1 : matrix.column(vote.optionId());
+            if (column <= previousColumn) {
+                return false;
+            }
+            previousColumn = column;
+            matrix.set(row, column, PollVoteValue.valueOf(vote.value()));
+        }
+        return true;
+    }
+
+    private static boolean packCodes(String codes, List<PollDAO.OptionItem> items, VoteMatrix.Builder matrix,
+                                     int row) {
+        if (codes.length() > items.size()) {
+            throw new IllegalArgumentException("More vote codes than options: " + codes.length());
+        }
+        int previousColumn = -1;
+        for (int i = 0; i < codes.length(); i++) {
+            String value = VoteCodes.value(codes.charAt(i));
+            if (value == null) {
+                continue;
+            }
+            UUID optionId = items.get(i).optionId();
+            int column = optionId == null ? -1 : matrix.column(optionId);
+            if (column <= previousColumn) {
+                return false;
+            }
+            previousColumn = column;
+            matrix.set(row, column, PollVoteValue.valueOf(value));
+        }
+        return true;
     }
 
-    private PollResponse fromResponse(PollDAO.Response response) {
-        List<PollVote> votes = response.votes().stream()
+    private static PollResponse fromResponse(PollDAO.Response response, List<PollDAO.OptionItem> items) {
+        List<PollDAO.Vote> storedVotes = response.voteCodes() != null
+                ? VoteCodes.decode(response.voteCodes(), items)
+                : response.votes() == null ? List.of() : response.votes();
+        List<PollVote> votes = storedVotes.stream()
                 .map(vote -> new PollVote(vote.optionId(), PollVoteValue.valueOf(vote.value())))
                 .toList();
         return new PollResponse(response.responseId(), response.participantName(), response.createdAt(), votes,
-                response.comment());
+                response.comment(), revisionOf(response));
+    }
+
+    private static long revisionOf(PollDAO.Response response) {
+        return response.revision() == null ? 0 : response.revision();
     }
 
     private LocalTime parseTime(String value) {
@@ -298,6 +1337,30 @@ public class S3PollRepository implements PollRepository {
         return LocalTime.parse(value);
     }
 
+    /**
+     * From schema version 3 on, snapshot votes are written as {@link VoteCodes}. Applied to every snapshot write,
+     * so responses of older snapshots are converted as well.
+     */
+    private PollDAO withVoteCodes(PollDAO pollDAO) {
+        if (currentSchemaVersionNumber < VoteCodes.SCHEMA_VERSION || pollDAO.options() == null
+                || pollDAO.responses() == null) {
+            return pollDAO;
+        }
+        Map<UUID, Integer> optionPositions = VoteCodes.optionPositions(pollDAO.options().items());
+        List<PollDAO.Response> responses = pollDAO.responses().stream()
+                .map(response -> {
+                    String voteCodes = response.votes() == null
+                            ? null
+                            : VoteCodes.encode(response.votes(), optionPositions);
+                    return voteCodes == null
+                            ? response
+                            : new PollDAO.Response(response.responseId(), response.participantName(),
+                            response.createdAt(), null, response.comment(), voteCodes, response.revision());
+                })
+                .toList();
+        return pollDAO.withResponses(responses);
+    }
+
     private boolean requiresMigration(String schemaVersion) {
         if (schemaVersion == null || schemaVersion.isBlank()) {
             return true;
@@ -328,7 +1391,8 @@ public class S3PollRepository implements PollRepository {
                 pollDAO.status(),
                 pollDAO.expiresAt(),
                 pollDAO.options(),
-                pollDAO.responses()
+                pollDAO.responses(),
+                pollDAO.revision()
         );
     }
 
@@ -346,4 +1410,37 @@ public class S3PollRepository implements PollRepository {
             throw new IllegalArgumentException("woodle.poll.schema-version must be a positive integer", e);
         }
     }
+
+    private record ActivePollCountDocument(long count, OffsetDateTime reconciledAt) {
+    }
+
+    private record StoredActivePollCount(ActivePollCountDocument document, String eTag) {
+    }
+
+    private record CachedActivePollCount(long count, Instant loadedAt) {
+    }
+
+    private record ExpiryIndexMarkerDocument(OffsetDateTime backfilledAt) {
+    }
+
+    private enum MigrationOutcome {
+        MIGRATED, SKIPPED, FAILED
+    }
+
+    private record KnownVersion(long version, String eTag) {
+    }
+
+    private record StoredSnapshot(PollDAO pollDAO, String eTag) {
+        static final StoredSnapshot NOT_MODIFIED = new StoredSnapshot(null, null);
+    }
+
+    /**
+     * {@code writeGeneration} is the poll's write generation when the read was issued, so only reads issued between
+     * the same two writes share a load.
+     */
+    private record PollReadKey(UUID pollId, String ifNoneMatch, long writeGeneration) {
+    }
+
+    private record ExpiryIndexEntry(LocalDate expiresAt, UUID pollId) {
+    }
 }
@@ -0,0 +1,29 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.domain.model.Poll;
+
+/**
+ * Outcome of a (possibly conditional) poll read. {@code poll} and {@code eTag} are only set for
+ * {@link Outcome#FOUND}. {@code eTag} is the ETag of the snapshot, to be passed back as
+ * {@code ifNoneMatch}; it may be {@code null} when the snapshot was rewritten during the read.
+ */
+public record StoredPollRead(Outcome outcome, Poll poll, String eTag) {
+
+    public enum Outcome {
+        FOUND,
+        NOT_FOUND,
+        NOT_MODIFIED
+    }
+
+    static StoredPollRead found(Poll poll, String eTag) {
+        return new StoredPollRead(Outcome.FOUND, poll, eTag);
+    }
+
+    static StoredPollRead notFound() {
+        return new StoredPollRead(Outcome.NOT_FOUND, null, null);
+    }
+
+    static StoredPollRead notModified() {
+        return new StoredPollRead(Outcome.NOT_MODIFIED, null, null);
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Vote encoding of schema version 3: character {@code i} of the code string is the vote for option {@code i} of
+ * {@code options.items}, {@code Y}, {@code N} or {@code I} for yes, no and if-needed, a blank for no vote. Trailing
+ * blanks are left out. This replaces a 36-character option UUID plus the value name per vote with one character.
+ */
+final class VoteCodes {
+
+    static final int SCHEMA_VERSION = 3;
+    private static final char NO_VOTE = ' ';
+
+    private VoteCodes() {
+    }
+
+    static Map<UUID, Integer> optionPositions(List<PollDAO.OptionItem> items) {
+        Map<UUID, Integer> positions = new HashMap<>();
+        for (PollDAO.OptionItem item : items) {
+            if (item.optionId() != null) {
+                positions.putIfAbsent(item.optionId(), positions.size());
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * @return the code string, or {@code null} when a vote refers to an option that is not in the list (any more),
+     * an option is voted twice or a value has no code; such responses keep their vote list.
+     */
+    static String encode(List<PollDAO.Vote> votes, Map<UUID, Integer> optionPositions) {
+        char[] codes = new char[optionPositions.size()];
+        Arrays.fill(codes, NO_VOTE);
+        int length = 0;
+        for (PollDAO.Vote vote : votes) {
+            Integer position = vote.optionId() == null ? null : optionPositions.get(vote.optionId());
+            char code = code(vote.value());
+            if (position == null || code == NO_VOTE || codes[position] != NO_VOTE) {
+                return null;
+            }
+            codes[position] = code;
+            length = Math.max(length, position + 1);
+        }
+        return new String(codes, 0, length);
+    }
+
+    static List<PollDAO.Vote> decode(String codes, List<PollDAO.OptionItem> items) {
+        if (codes.length() > items.size()) {
+            throw new IllegalArgumentException("More vote codes than options: " + codes.length());
+        }
+        List<PollDAO.Vote> votes = new ArrayList<>(codes.length());
+        for (int i = 0; i < codes.length(); i++) {
+            String value = value(codes.charAt(i));
+            if (value != null) {
+                votes.add(new PollDAO.Vote(items.get(i).optionId(), value));
+            }
+        }
+        return votes;
+    }
+
+    /**
+     * @return the vote value of a code, or {@code null} for no vote
+     */
+    static String value(char code) {
+        return switch (code) {
+            case 'Y' -> "YES";
+            case 'N' -> "NO";
+            case 'I' -> "IF_NEEDED";
+            case NO_VOTE -> null;
+            default -> throw new IllegalArgumentException("Unknown vote code '" + code + "'");
+        };
+    }
+
+    private static char code(String value) {
+        if (value == null) {
+            return NO_VOTE;
+        }
+        return switch (value) {
+            case "YES" -> 'Y';
+            case "NO" -> 'N';
+            case "IF_NEEDED" -> 'I';
+            default -> NO_VOTE;
+        };
+    }
+}
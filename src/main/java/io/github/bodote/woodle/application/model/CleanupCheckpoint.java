@@ -0,0 +1,20 @@
+package io.github.bodote.woodle.application.model;
+
+import java.time.LocalDate;
+
+/**
+ * Progress of a cleanup run: the cutoff date it was started with, the repository page token to continue from
+ * ({@code null} once the last page has been processed) and the counters collected so far.
+ */
+public record CleanupCheckpoint(
+        LocalDate asOf,
+        String pageToken,
+        int found,
+        int deleted,
+        boolean finished
+) {
+
+    public static CleanupCheckpoint start(LocalDate asOf) {
+        return new CleanupCheckpoint(asOf, null, 0, 0, false);
+    }
+}
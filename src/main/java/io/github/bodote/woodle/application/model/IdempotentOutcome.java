@@ -0,0 +1,33 @@
+package io.github.bodote.woodle.application.model;
+
+import java.util.UUID;
+
+/**
+ * What a request with an idempotency key did, so a repeated request can be answered the same way without being
+ * executed again: the poll it created or voted on, the response it stored, and for a created poll its admin secret
+ * and how the creation email went. {@code requestHash} identifies the request the outcome belongs to; a repeated key
+ * is only answered with this outcome when it carries the same request.
+ */
+public record IdempotentOutcome(
+        UUID pollId,
+        UUID responseId,
+        String adminSecret,
+        boolean notificationQueued,
+        boolean notificationDisabled,
+        String requestHash
+) {
+
+    public IdempotentOutcome(UUID pollId, UUID responseId, String adminSecret, boolean notificationQueued,
+                             boolean notificationDisabled) {
+        this(pollId, responseId, adminSecret, notificationQueued, notificationDisabled, null);
+    }
+
+    public static IdempotentOutcome voted(UUID pollId, UUID responseId) {
+        return new IdempotentOutcome(pollId, responseId, null, false, false);
+    }
+
+    public IdempotentOutcome withRequestHash(String requestHash) {
+        return new IdempotentOutcome(pollId, responseId, adminSecret, notificationQueued, notificationDisabled,
+                requestHash);
+    }
+}
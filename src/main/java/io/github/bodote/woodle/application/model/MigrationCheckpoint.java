@@ -0,0 +1,19 @@
+package io.github.bodote.woodle.application.model;
+
+/**
+ * Progress of a schema migration run: the schema version it migrates to, the repository page token to continue
+ * from ({@code null} once the last page has been processed) and the counters collected so far.
+ */
+public record MigrationCheckpoint(
+        String schemaVersion,
+        String pageToken,
+        int migrated,
+        int skipped,
+        int failed,
+        boolean finished
+) {
+
+    public static MigrationCheckpoint start(String schemaVersion) {
+        return new MigrationCheckpoint(schemaVersion, null, 0, 0, 0, false);
+    }
+}
@@ -3,9 +3,10 @@ package io.github.bodote.woodle.application.port.in;
 public interface CleanupExpiredPollsUseCase {
 
     /**
-     * Deletes all polls whose {@code expiresAt} date has passed.
+     * Deletes polls whose {@code expiresAt} date has passed, within the configured time budget. A run that
+     * cannot finish in time saves a checkpoint and continues from there on the next call.
      *
-     * @return the number of polls deleted
+     * @return the progress of the current run
      */
-    int cleanupExpiredPolls();
+    CleanupRunResult cleanupExpiredPolls();
 }
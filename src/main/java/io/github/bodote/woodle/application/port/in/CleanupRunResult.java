@@ -0,0 +1,13 @@
+package io.github.bodote.woodle.application.port.in;
+
+/**
+ * Outcome of one cleanup invocation. {@code found} and {@code deleted} count the whole run, including earlier
+ * invocations that were resumed from a checkpoint; {@code finished} is {@code false} while expired polls may
+ * still be left for the next invocation.
+ */
+public record CleanupRunResult(
+        int found,
+        int deleted,
+        boolean finished
+) {
+}
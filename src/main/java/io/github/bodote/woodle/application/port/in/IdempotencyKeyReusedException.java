@@ -0,0 +1,12 @@
+package io.github.bodote.woodle.application.port.in;
+
+/**
+ * Thrown by a use case when its idempotency key was already used for a different request. The earlier outcome is
+ * not returned and the request is not applied; the client has to send it with a new key.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException() {
+        super("Idempotency key was already used for a different request");
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.bodote.woodle.application.port.in;
+
+public interface MigratePollsUseCase {
+
+    /**
+     * Rewrites stored polls in the current storage schema, within the configured time budget. A run that cannot
+     * finish in time saves a checkpoint and continues from there on the next call; a finished run for the current
+     * schema version returns right away.
+     *
+     * @return the progress of the current run
+     */
+    MigrationRunResult migratePolls();
+}
@@ -0,0 +1,14 @@
+package io.github.bodote.woodle.application.port.in;
+
+/**
+ * Outcome of one schema migration invocation. The counters cover the whole run, including earlier invocations
+ * that were resumed from a checkpoint; {@code finished} is {@code false} while polls may still be left for the next
+ * invocation.
+ */
+public record MigrationRunResult(
+        int migrated,
+        int skipped,
+        int failed,
+        boolean finished
+) {
+}
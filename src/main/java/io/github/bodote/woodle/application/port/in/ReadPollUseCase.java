@@ -9,4 +9,15 @@ public interface ReadPollUseCase {
     Poll getPublic(UUID pollId);
 
     Poll getAdmin(UUID pollId, String adminSecret);
+
+    /**
+     * Whether {@link #getPublic(UUID)} would find the poll, answered without loading it where the storage allows.
+     */
+    boolean exists(UUID pollId);
+
+    /**
+     * Whether {@link #getAdmin(UUID, String)} would succeed, answered without loading the poll where the storage
+     * allows.
+     */
+    boolean existsForAdmin(UUID pollId, String adminSecret);
 }
@@ -17,7 +17,8 @@ public record CreatePollCommand(
         List<LocalDate> dates,
         List<LocalTime> startTimes,
         LocalDate expiresAtOverride,
-        boolean notifyOnComment
+        boolean notifyOnComment,
+        String idempotencyKey
 ) {
     public CreatePollCommand {
         Objects.requireNonNull(authorName, "authorName");
@@ -27,4 +28,11 @@ public record CreatePollCommand(
         Objects.requireNonNull(dates, "dates");
         Objects.requireNonNull(startTimes, "startTimes");
     }
+
+    public CreatePollCommand(String authorName, String authorEmail, String title, String description,
+                             EventType eventType, Integer durationMinutes, List<LocalDate> dates,
+                             List<LocalTime> startTimes, LocalDate expiresAtOverride, boolean notifyOnComment) {
+        this(authorName, authorEmail, title, description, eventType, durationMinutes, dates, startTimes,
+                expiresAtOverride, notifyOnComment, null);
+    }
 }
@@ -10,6 +10,12 @@ public record SubmitVoteCommand(
         String participantName,
         List<PollVote> votes,
         String comment,
-        UUID responseId
+        UUID responseId,
+        String idempotencyKey
 ) {
+
+    public SubmitVoteCommand(UUID pollId, String participantName, List<PollVote> votes, String comment,
+                             UUID responseId) {
+        this(pollId, participantName, votes, comment, responseId, null);
+    }
 }
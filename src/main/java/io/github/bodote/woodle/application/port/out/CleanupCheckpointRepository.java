@@ -0,0 +1,12 @@
+package io.github.bodote.woodle.application.port.out;
+
+import io.github.bodote.woodle.application.model.CleanupCheckpoint;
+
+import java.util.Optional;
+
+public interface CleanupCheckpointRepository {
+
+    Optional<CleanupCheckpoint> load();
+
+    void save(CleanupCheckpoint checkpoint);
+}
@@ -0,0 +1,13 @@
+package io.github.bodote.woodle.application.port.out;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of expired poll ids. {@code nextPageToken} is {@code null} when there are no further pages.
+ */
+public record ExpiredPollIdsPage(
+        List<UUID> pollIds,
+        String nextPageToken
+) {
+}
@@ -0,0 +1,30 @@
+package io.github.bodote.woodle.application.port.out;
+
+import io.github.bodote.woodle.application.model.IdempotentOutcome;
+
+import java.util.Optional;
+
+/**
+ * Outcomes of recent requests that carried an idempotency key. Entries are kept for a limited time only; a key
+ * that has expired is treated like a new one.
+ */
+public interface IdempotencyKeyRepository {
+
+    IdempotencyKeyRepository NONE = new IdempotencyKeyRepository() {
+        @Override
+        public Optional<IdempotentOutcome> find(String key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void save(String key, IdempotentOutcome outcome) {
+        }
+    };
+
+    Optional<IdempotentOutcome> find(String key);
+
+    /**
+     * Records the outcome of the request with this key. When an outcome is already recorded, the first one stays.
+     */
+    void save(String key, IdempotentOutcome outcome);
+}
@@ -0,0 +1,12 @@
+package io.github.bodote.woodle.application.port.out;
+
+import io.github.bodote.woodle.application.model.MigrationCheckpoint;
+
+import java.util.Optional;
+
+public interface MigrationCheckpointRepository {
+
+    Optional<MigrationCheckpoint> load();
+
+    void save(MigrationCheckpoint checkpoint);
+}
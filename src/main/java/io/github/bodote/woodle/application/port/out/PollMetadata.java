@@ -0,0 +1,40 @@
+package io.github.bodote.woodle.application.port.out;
+
+import io.github.bodote.woodle.domain.model.Poll;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * What is known about a stored poll without loading it: that it exists, and a SHA-256 hash of its admin secret so
+ * admin links can be checked without reading the poll document.
+ */
+public record PollMetadata(UUID pollId, String adminSecretHash) {
+
+    public static PollMetadata of(Poll poll) {
+        return new PollMetadata(poll.pollId(), hashAdminSecret(poll.adminSecret()));
+    }
+
+    public static String hashAdminSecret(String adminSecret) {
+        if (adminSecret == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(adminSecret.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public boolean adminSecretMatches(String adminSecret) {
+        if (adminSecretHash == null || adminSecret == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(adminSecretHash.getBytes(StandardCharsets.US_ASCII),
+                hashAdminSecret(adminSecret).getBytes(StandardCharsets.US_ASCII));
+    }
+}
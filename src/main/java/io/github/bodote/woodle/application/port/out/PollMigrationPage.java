@@ -0,0 +1,8 @@
+package io.github.bodote.woodle.application.port.out;
+
+/**
+ * Outcome of migrating one page of stored polls. {@code skipped} counts polls that were already in the current
+ * schema or changed concurrently; {@code nextPageToken} is {@code null} after the last page.
+ */
+public record PollMigrationPage(int migrated, int skipped, int failed, String nextPageToken) {
+}
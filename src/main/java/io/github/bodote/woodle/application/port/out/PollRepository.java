@@ -1,18 +1,92 @@
 package io.github.bodote.woodle.application.port.out;
 
 import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollResponse;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 public interface PollRepository {
 
     void save(Poll poll);
 
+    /**
+     * Stores a poll that did not exist before. Adapters that maintain aggregate bookkeeping (such as the
+     * active-poll counter) hook in here; by default this is a plain {@link #save(Poll)}.
+     */
+    default void create(Poll poll) {
+        save(poll);
+    }
+
     Optional<Poll> findById(UUID pollId);
 
+    /**
+     * Existence and admin-secret hash of a poll, for checks that do not need its content. Adapters that can answer
+     * this without reading the poll document override it; by default the poll is loaded.
+     */
+    default Optional<PollMetadata> findMetadata(UUID pollId) {
+        return findById(pollId).map(PollMetadata::of);
+    }
+
+    /**
+     * Applies {@code change} to the stored poll and stores the result, with no other write to the poll landing in
+     * between. By default the poll is read and written back with {@link #save(Poll)}, whose compare-and-swap
+     * reports a write in between as {@link PollUpdateConflictException}; adapters that can retry cheaply
+     * themselves override this. The change may be applied more than once and must be free of side effects.
+     *
+     * @return the changed poll as stored, with the version the save gave it
+     * @throws IllegalArgumentException if the poll does not exist
+     */
+    default Poll update(UUID pollId, UnaryOperator<Poll> change) {
+        Poll poll = findById(pollId).orElseThrow(() -> new IllegalArgumentException("Poll not found"));
+        Poll updated = change.apply(poll);
+        save(updated);
+        return updated.withVersion(updated.version() + 1);
+    }
+
+    /**
+     * Adds the response to an existing poll or replaces the one with the same id, and moves the poll's
+     * {@code updatedAt} to the time of the write. The stored response carries the poll version of the write as its
+     * {@link PollResponse#revision()}. By default this is an {@link #update(UUID, UnaryOperator)} of the whole poll;
+     * adapters that can apply the change to the stored document directly override it.
+     */
+    default void saveResponse(UUID pollId, PollResponse response) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        update(pollId, poll -> poll.replaceResponse(response.withRevision(poll.version() + 1)).withUpdatedAt(now));
+    }
+
+    /**
+     * Removes a response from a poll. Like {@link #saveResponse(UUID, PollResponse)} this is a whole-poll
+     * update unless the adapter overrides it.
+     */
+    default void deleteResponse(UUID pollId, UUID responseId) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        update(pollId, poll -> poll.removeResponse(responseId).withUpdatedAt(now));
+    }
+
+    /**
+     * Applies several response writes to one poll in the given order. Adapters that can store them together
+     * override this; by default it is one {@link #saveResponse(UUID, PollResponse)} or
+     * {@link #deleteResponse(UUID, UUID)} per change.
+     */
+    default void applyResponseChanges(UUID pollId, List<PollResponseChange> changes) {
+        for (PollResponseChange change : changes) {
+            if (change.deleted()) {
+                deleteResponse(pollId, change.responseId());
+            } else {
+                saveResponse(pollId, change.response());
+            }
+        }
+    }
+
     long countActivePolls();
 
     /**
@@ -20,5 +94,40 @@ public interface PollRepository {
      */
     List<UUID> findExpiredPollIds(LocalDate asOf);
 
+    /**
+     * One page of {@link #findExpiredPollIds(LocalDate)}, so callers can stop between pages and continue later
+     * with the returned token. Pass {@code null} to start from the beginning. By default everything is returned
+     * as a single page.
+     */
+    default ExpiredPollIdsPage findExpiredPollIds(LocalDate asOf, String pageToken) {
+        return new ExpiredPollIdsPage(findExpiredPollIds(asOf), null);
+    }
+
+    /**
+     * Rewrites one page of stored polls in the current storage schema. Pass {@code null} to start from the
+     * beginning and the returned token to continue. Adapters that have no older schemas to migrate return an empty
+     * last page.
+     */
+    default PollMigrationPage migrateStoredPolls(String pageToken) {
+        return new PollMigrationPage(0, 0, 0, null);
+    }
+
     void deleteById(UUID pollId);
+
+    /**
+     * Deletes all given polls. Each id succeeds or fails on its own: the returned map holds the ids that could not
+     * be deleted together with the reason, every other id is gone afterwards. By default this is one
+     * {@link #deleteById(UUID)} per id; adapters override it to batch the deletes.
+     */
+    default Map<UUID, String> deleteAllById(Collection<UUID> pollIds) {
+        Map<UUID, String> failures = new LinkedHashMap<>();
+        for (UUID pollId : pollIds) {
+            try {
+                deleteById(pollId);
+            } catch (RuntimeException e) {
+                failures.put(pollId, e.getMessage());
+            }
+        }
+        return failures;
+    }
 }
@@ -0,0 +1,32 @@
+package io.github.bodote.woodle.application.port.out;
+
+import io.github.bodote.woodle.domain.model.PollResponse;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One pending write of a poll response: the response to add or replace, or, with {@code response} {@code null},
+ * the removal of the response with {@code responseId}.
+ */
+public record PollResponseChange(UUID responseId, PollResponse response) {
+
+    public PollResponseChange {
+        Objects.requireNonNull(responseId, "responseId");
+        if (response != null && !responseId.equals(response.responseId())) {
+            throw new IllegalArgumentException("Response id does not match the response");
+        }
+    }
+
+    public static PollResponseChange saved(PollResponse response) {
+        return new PollResponseChange(response.responseId(), response);
+    }
+
+    public static PollResponseChange deleted(UUID responseId) {
+        return new PollResponseChange(responseId, null);
+    }
+
+    public boolean deleted() {
+        return response == null;
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.bodote.woodle.application.port.out;
+
+import java.util.UUID;
+
+/**
+ * Thrown by {@link PollRepository#save} when the stored poll changed since the given one was read. Callers reload
+ * the poll, re-apply their change and try again.
+ */
+public class PollUpdateConflictException extends IllegalStateException {
+
+    private final UUID pollId;
+
+    public PollUpdateConflictException(UUID pollId) {
+        super("Poll " + pollId + " was changed concurrently");
+        this.pollId = pollId;
+    }
+
+    public PollUpdateConflictException(UUID pollId, Throwable cause) {
+        super("Poll " + pollId + " was changed concurrently", cause);
+        this.pollId = pollId;
+    }
+
+    public UUID pollId() {
+        return pollId;
+    }
+}
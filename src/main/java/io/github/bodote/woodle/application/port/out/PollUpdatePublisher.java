@@ -0,0 +1,21 @@
+package io.github.bodote.woodle.application.port.out;
+
+import java.util.UUID;
+
+/**
+ * Tells interested clients about a committed change to a poll's responses. Called after the write succeeded;
+ * implementations must not block the caller on slow receivers.
+ * <p>
+ * The event carries no poll: the writer only knows the poll it read before its write, which misses changes that
+ * other requests committed in between. Receivers that need the poll read the committed state themselves.
+ */
+public interface PollUpdatePublisher {
+
+    PollUpdatePublisher NONE = (pollId, responseId) -> {
+    };
+
+    /**
+     * @param responseId the response that was saved or deleted
+     */
+    void responseChanged(UUID pollId, UUID responseId);
+}
@@ -6,23 +6,35 @@ import io.github.bodote.woodle.domain.model.EventType;
 import io.github.bodote.woodle.domain.model.Poll;
 import io.github.bodote.woodle.domain.model.PollOption;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 public class AdminPollOptionsService implements AdminPollOptionsUseCase {
 
-    private final PollRepository pollRepository;
+    private final OptimisticPollUpdater pollUpdater;
+    private final Clock clock;
 
     public AdminPollOptionsService(PollRepository pollRepository) {
-        this.pollRepository = pollRepository;
+        this(pollRepository, Clock.systemUTC());
+    }
+
+    public AdminPollOptionsService(PollRepository pollRepository, Clock clock) {
+        this.pollUpdater = new OptimisticPollUpdater(pollRepository);
+        this.clock = clock;
     }
 
     @Override
     public void addDate(UUID pollId, String adminSecret, LocalDate date, LocalTime startTime) {
-        Poll poll = requireAdminPoll(pollId, adminSecret);
+        UUID optionId = UUID.randomUUID();
+        pollUpdater.update(pollId, poll -> withAddedDate(requireAdmin(poll, adminSecret), optionId, date, startTime));
+    }
+
+    private Poll withAddedDate(Poll poll, UUID optionId, LocalDate date, LocalTime startTime) {
         if (poll.eventType() == EventType.INTRADAY && startTime == null) {
             throw new IllegalArgumentException("Start time is required for intraday polls");
         }
@@ -31,13 +43,16 @@ public class AdminPollOptionsService implements AdminPollOptionsUseCase {
                 ? null
                 : optionStartTime.plusMinutes(poll.durationMinutes());
         List<PollOption> options = new ArrayList<>(poll.options());
-        options.add(new PollOption(UUID.randomUUID(), date, optionStartTime, optionEndTime));
-        pollRepository.save(poll.withOptions(options));
+        options.add(new PollOption(optionId, date, optionStartTime, optionEndTime));
+        return poll.withOptions(options).withUpdatedAt(OffsetDateTime.now(clock));
     }
 
     @Override
     public void removeOption(UUID pollId, String adminSecret, LocalDate date, LocalTime startTime) {
-        Poll poll = requireAdminPoll(pollId, adminSecret);
+        pollUpdater.update(pollId, poll -> withoutOption(requireAdmin(poll, adminSecret), date, startTime));
+    }
+
+    private Poll withoutOption(Poll poll, LocalDate date, LocalTime startTime) {
         List<PollOption> options = new ArrayList<>(poll.options());
         for (int i = 0; i < options.size(); i++) {
             PollOption option = options.get(i);
@@ -56,12 +71,10 @@ public class AdminPollOptionsService implements AdminPollOptionsUseCase {
                 break;
             }
         }
-        pollRepository.save(poll.withOptions(options));
+        return poll.withOptions(options).withUpdatedAt(OffsetDateTime.now(clock));
     }
 
-    private Poll requireAdminPoll(UUID pollId, String adminSecret) {
-        Poll poll = pollRepository.findById(pollId)
-                .orElseThrow(() -> new IllegalArgumentException("Poll not found"));
+    private Poll requireAdmin(Poll poll, String adminSecret) {
         if (!poll.adminSecret().equals(adminSecret)) {
             throw new IllegalArgumentException("Invalid admin secret");
         }
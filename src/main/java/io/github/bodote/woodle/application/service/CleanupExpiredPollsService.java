@@ -1,44 +1,124 @@
 package io.github.bodote.woodle.application.service;
 
+import io.github.bodote.woodle.application.model.CleanupCheckpoint;
 import io.github.bodote.woodle.application.port.in.CleanupExpiredPollsUseCase;
+import io.github.bodote.woodle.application.port.in.CleanupRunResult;
+import io.github.bodote.woodle.application.port.out.CleanupCheckpointRepository;
+import io.github.bodote.woodle.application.port.out.ExpiredPollIdsPage;
 import io.github.bodote.woodle.application.port.out.PollRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+/**
+ * Deletes expired polls page by page. After every page the progress is stored as a {@link CleanupCheckpoint};
+ * once the time budget is used up the invocation returns and the next one resumes from the checkpoint, so a
+ * growing bucket never outlasts the Lambda timeout. The deletes of a page run on a virtual thread while the next
+ * page is listed and checked; the checkpoint only moves forward once a page's deletes have completed.
+ */
 public class CleanupExpiredPollsService implements CleanupExpiredPollsUseCase {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CleanupExpiredPollsService.class);
 
     private final PollRepository pollRepository;
+    private final CleanupCheckpointRepository checkpointRepository;
     private final Clock clock;
+    private final Duration timeBudget;
 
-    public CleanupExpiredPollsService(PollRepository pollRepository, Clock clock) {
+    public CleanupExpiredPollsService(PollRepository pollRepository,
+                                      CleanupCheckpointRepository checkpointRepository,
+                                      Clock clock,
+                                      Duration timeBudget) {
         this.pollRepository = pollRepository;
+        this.checkpointRepository = checkpointRepository;
         this.clock = clock;
+        this.timeBudget = timeBudget;
     }
 
     @Override
-    public int cleanupExpiredPolls() {
+    public CleanupRunResult cleanupExpiredPolls() {
+        Instant deadline = clock.instant().plus(timeBudget);
         LocalDate today = LocalDate.now(clock);
-        LOGGER.info("POLL_CLEANUP started asOf={}", today);
-        List<UUID> expiredPollIds = pollRepository.findExpiredPollIds(today);
-        int found = expiredPollIds.size();
-        LOGGER.info("POLL_CLEANUP found {} expired poll(s) asOf={}", found, today);
-        int deleted = 0;
-        for (UUID pollId : expiredPollIds) {
-            try {
-                pollRepository.deleteById(pollId);
-                deleted++;
-            } catch (RuntimeException e) {
-                LOGGER.warn("POLL_CLEANUP failed to delete poll {}: {}", pollId, e.getMessage());
+        CleanupCheckpoint checkpoint = checkpointRepository.load().orElse(null);
+        if (checkpoint != null && checkpoint.finished() && checkpoint.asOf().equals(today)) {
+            LOGGER.info("POLL_CLEANUP already finished asOf={}", today);
+            return toResult(checkpoint);
+        }
+        if (checkpoint == null || checkpoint.finished()) {
+            checkpoint = CleanupCheckpoint.start(today);
+            LOGGER.info("POLL_CLEANUP started asOf={}", today);
+        } else {
+            LOGGER.info("POLL_CLEANUP resumed asOf={} found={} deleted={}",
+                    checkpoint.asOf(), checkpoint.found(), checkpoint.deleted());
+        }
+        LocalDate asOf = checkpoint.asOf();
+        try (ExecutorService deleter = Executors.newVirtualThreadPerTaskExecutor()) {
+            ExpiredPollIdsPage page = pollRepository.findExpiredPollIds(asOf, checkpoint.pageToken());
+            while (page != null) {
+                List<UUID> pollIds = page.pollIds();
+                Future<Integer> deletion = deleter.submit(() -> deleteAll(pollIds));
+                ExpiredPollIdsPage nextPage = null;
+                if (page.nextPageToken() != null && clock.instant().isBefore(deadline)) {
+                    // list and check the next page while the current one is being deleted
+                    nextPage = pollRepository.findExpiredPollIds(asOf, page.nextPageToken());
+                }
+                checkpoint = new CleanupCheckpoint(
+                        asOf,
+                        page.nextPageToken(),
+                        checkpoint.found() + pollIds.size(),
+                        checkpoint.deleted() + await(deletion),
+                        page.nextPageToken() == null
+                );
+                checkpointRepository.save(checkpoint);
+                page = nextPage;
             }
         }
-        LOGGER.info("POLL_CLEANUP deleted {} of {} expired poll(s) asOf={}", deleted, found, today);
-        return deleted;
+
+        LOGGER.info("POLL_CLEANUP found {} expired poll(s) asOf={}", checkpoint.found(), asOf);
+        LOGGER.info("POLL_CLEANUP deleted {} of {} expired poll(s) asOf={}", checkpoint.deleted(), checkpoint.found(), asOf);
+        if (!checkpoint.finished()) {
+            LOGGER.info("POLL_CLEANUP time budget of {}s used up, continuing with the next invocation asOf={}",
+                    timeBudget.toSeconds(), asOf);
+        }
+        return toResult(checkpoint);
+    }
+
+    private int deleteAll(List<UUID> pollIds) {
+        if (pollIds.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, String> failures = pollRepository.deleteAllById(pollIds);
+        failures.forEach((pollId, reason) ->
+                LOGGER.warn("POLL_CLEANUP failed to delete poll {}: {}", pollId, reason));
+        return pollIds.size() - failures.size();
+    }
+
+    private int await(Future<Integer> deletion) {
+        try {
+            return deletion.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to delete expired polls", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while deleting expired polls", e);
+        }
+    }
+
+    private CleanupRunResult toResult(CleanupCheckpoint checkpoint) {
+        return new CleanupRunResult(checkpoint.found(), checkpoint.deleted(), checkpoint.finished());
     }
 }
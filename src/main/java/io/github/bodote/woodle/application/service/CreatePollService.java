@@ -1,8 +1,10 @@
 package io.github.bodote.woodle.application.service;
 
+import io.github.bodote.woodle.application.model.IdempotentOutcome;
 import io.github.bodote.woodle.application.port.in.CreatePollResult;
 import io.github.bodote.woodle.application.port.in.CreatePollUseCase;
 import io.github.bodote.woodle.application.port.in.command.CreatePollCommand;
+import io.github.bodote.woodle.application.port.out.IdempotencyKeyRepository;
 import io.github.bodote.woodle.application.port.out.PollCreatedEmail;
 import io.github.bodote.woodle.application.port.out.PollEmailSender;
 import io.github.bodote.woodle.application.port.out.PollRepository;
@@ -26,16 +28,46 @@ public class CreatePollService implements CreatePollUseCase {
     private final PollRepository pollRepository;
     private final PollEmailSender pollEmailSender;
     private final boolean emailEnabled;
+    private final IdempotentRequests idempotentRequests;
     private final SecureRandom secureRandom = new SecureRandom();
 
     public CreatePollService(PollRepository pollRepository, PollEmailSender pollEmailSender, boolean emailEnabled) {
+        this(pollRepository, pollEmailSender, emailEnabled, IdempotencyKeyRepository.NONE);
+    }
+
+    public CreatePollService(PollRepository pollRepository, PollEmailSender pollEmailSender, boolean emailEnabled,
+                             IdempotencyKeyRepository idempotencyKeyRepository) {
         this.pollRepository = pollRepository;
         this.pollEmailSender = pollEmailSender;
         this.emailEnabled = emailEnabled;
+        this.idempotentRequests = new IdempotentRequests(idempotencyKeyRepository);
     }
 
+    /**
+     * A repeated command with an idempotency key that was already used returns the poll created then, without
+     * validating the command or creating another poll. The admin secret is only returned to the same command: a
+     * different command with that key is rejected with
+     * {@link io.github.bodote.woodle.application.port.in.IdempotencyKeyReusedException}.
+     */
     @Override
     public CreatePollResult create(CreatePollCommand command) {
+        String key = command.idempotencyKey() == null ? null : "poll/" + command.idempotencyKey();
+        IdempotentOutcome outcome = idempotentRequests.run(key, requestHash(command), () -> {
+            CreatePollResult result = createPoll(command);
+            return new IdempotentOutcome(result.pollId(), null, result.adminSecret(), result.notificationQueued(),
+                    result.notificationDisabled());
+        });
+        return new CreatePollResult(outcome.pollId(), outcome.adminSecret(), outcome.notificationQueued(),
+                outcome.notificationDisabled());
+    }
+
+    private static String requestHash(CreatePollCommand command) {
+        return IdempotentRequests.requestHash(command.authorName(), command.authorEmail(), command.title(),
+                command.description(), command.eventType(), command.durationMinutes(), command.dates(),
+                command.startTimes(), command.expiresAtOverride(), command.notifyOnComment());
+    }
+
+    private CreatePollResult createPoll(CreatePollCommand command) {
         validateCommand(command);
         UUID pollId = UUID.randomUUID();
         String adminSecret = generateAdminSecret();
@@ -60,7 +92,7 @@ public class CreatePollService implements CreatePollUseCase {
                 command.notifyOnComment()
         );
 
-        pollRepository.save(poll);
+        pollRepository.create(poll);
         if (!emailEnabled) {
             return new CreatePollResult(pollId, adminSecret, false, true);
         }
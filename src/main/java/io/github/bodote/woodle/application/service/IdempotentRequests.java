@@ -0,0 +1,140 @@
+package io.github.bodote.woodle.application.service;
+
+import io.github.bodote.woodle.application.model.IdempotentOutcome;
+import io.github.bodote.woodle.application.port.in.IdempotencyKeyReusedException;
+import io.github.bodote.woodle.application.port.out.IdempotencyKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per idempotency key. A key with a recorded outcome is answered with that outcome
+ * without running the request; requests with the same key arriving while the first one is still running on this
+ * instance wait for it and share its outcome or exception. Only successful requests are recorded, so a failed one
+ * can be retried with the same key.
+ * <p>
+ * Each outcome is recorded with a hash of the request that produced it. A key repeated with a different request, or
+ * one whose recorded outcome has no hash, is rejected with {@link IdempotencyKeyReusedException} instead of being
+ * answered with an outcome that belongs to another request.
+ * <p>
+ * The key store is a safeguard, not a dependency: when it cannot be read or written the request runs as if it
+ * carried no key.
+ */
+class IdempotentRequests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotentRequests.class);
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ConcurrentMap<String, Running> running = new ConcurrentHashMap<>();
+
+    IdempotentRequests(IdempotencyKeyRepository idempotencyKeyRepository) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+    }
+
+    /**
+     * @param key         the scoped idempotency key, or {@code null} to just run the request
+     * @param requestHash identifies the request, see {@link #requestHash}
+     * @param request     runs the request and describes what it did
+     * @return the outcome of this request or of the first one with the same key
+     * @throws IdempotencyKeyReusedException when the key was used for a different request
+     */
+    IdempotentOutcome run(String key, String requestHash, Supplier<IdempotentOutcome> request) {
+        if (key == null) {
+            return request.get();
+        }
+        CompletableFuture<IdempotentOutcome> own = new CompletableFuture<>();
+        Running first = running.putIfAbsent(key, new Running(requestHash, own));
+        if (first != null) {
+            if (!first.requestHash().equals(requestHash)) {
+                LOGGER.info("Idempotency key {} is already running for a different request", key);
+                throw new IdempotencyKeyReusedException();
+            }
+            LOGGER.info("Request with idempotency key {} is already running, waiting for its outcome", key);
+            return await(first.outcome());
+        }
+        try {
+            Optional<IdempotentOutcome> recorded = find(key);
+            if (recorded.isPresent()) {
+                if (!requestHash.equals(recorded.get().requestHash())) {
+                    LOGGER.info("Idempotency key {} was recorded for a different request", key);
+                    throw new IdempotencyKeyReusedException();
+                }
+                LOGGER.info("Replaying the recorded outcome for idempotency key {}", key);
+                own.complete(recorded.get());
+                return recorded.get();
+            }
+            IdempotentOutcome outcome = request.get().withRequestHash(requestHash);
+            save(key, outcome);
+            own.complete(outcome);
+            return outcome;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            running.remove(key, new Running(requestHash, own));
+        }
+    }
+
+    /**
+     * Hashes the fields of a request that decide what it does. Each part is written with its length, so moving text
+     * from one field to the next changes the hash.
+     */
+    static String requestHash(Object... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (Object part : parts) {
+            byte[] bytes = String.valueOf(part).getBytes(StandardCharsets.UTF_8);
+            digest.update((bytes.length + ":").getBytes(StandardCharsets.UTF_8));
+            digest.update(bytes);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Optional<IdempotentOutcome> find(String key) {
+        try {
+            return idempotencyKeyRepository.find(key);
+        } catch (IllegalStateException e) {
+            LOGGER.warn("Could not look up idempotency key {}, running the request: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void save(String key, IdempotentOutcome outcome) {
+        try {
+            idempotencyKeyRepository.save(key, outcome);
+        } catch (IllegalStateException e) {
+            LOGGER.warn("Could not record idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static IdempotentOutcome await(CompletableFuture<IdempotentOutcome> first) {
+        try {
+            return first.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Running(String requestHash, CompletableFuture<IdempotentOutcome> outcome) {
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.bodote.woodle.application.service;
+
+import io.github.bodote.woodle.application.model.MigrationCheckpoint;
+import io.github.bodote.woodle.application.port.in.MigratePollsUseCase;
+import io.github.bodote.woodle.application.port.in.MigrationRunResult;
+import io.github.bodote.woodle.application.port.out.MigrationCheckpointRepository;
+import io.github.bodote.woodle.application.port.out.PollMigrationPage;
+import io.github.bodote.woodle.application.port.out.PollRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Rewrites stored polls in the current schema so reads only ever have to migrate in memory. Works page by page
+ * like {@link CleanupExpiredPollsService}: the progress is stored as a {@link MigrationCheckpoint} after every page
+ * and an invocation that runs out of time budget is resumed by the next one. Once a run has finished, later
+ * invocations return right away until the schema version changes.
+ */
+public class MigratePollsService implements MigratePollsUseCase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MigratePollsService.class);
+
+    private final PollRepository pollRepository;
+    private final MigrationCheckpointRepository checkpointRepository;
+    private final Clock clock;
+    private final Duration timeBudget;
+    private final String schemaVersion;
+
+    public MigratePollsService(PollRepository pollRepository,
+                               MigrationCheckpointRepository checkpointRepository,
+                               Clock clock,
+                               Duration timeBudget,
+                               String schemaVersion) {
+        this.pollRepository = pollRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.clock = clock;
+        this.timeBudget = timeBudget;
+        this.schemaVersion = schemaVersion;
+    }
+
+    @Override
+    public MigrationRunResult migratePolls() {
+        Instant deadline = clock.instant().plus(timeBudget);
+        MigrationCheckpoint checkpoint = checkpointRepository.load().orElse(null);
+        if (checkpoint != null && checkpoint.finished() && schemaVersion.equals(checkpoint.schemaVersion())) {
+            LOGGER.info("POLL_MIGRATION already finished schemaVersion={}", schemaVersion);
+            return toResult(checkpoint);
+        }
+        if (checkpoint == null || checkpoint.finished() || !schemaVersion.equals(checkpoint.schemaVersion())) {
+            checkpoint = MigrationCheckpoint.start(schemaVersion);
+            LOGGER.info("POLL_MIGRATION started schemaVersion={}", schemaVersion);
+        } else {
+            LOGGER.info("POLL_MIGRATION resumed schemaVersion={} migrated={} skipped={} failed={}",
+                    schemaVersion, checkpoint.migrated(), checkpoint.skipped(), checkpoint.failed());
+        }
+        do {
+            PollMigrationPage page = pollRepository.migrateStoredPolls(checkpoint.pageToken());
+            checkpoint = new MigrationCheckpoint(
+                    schemaVersion,
+                    page.nextPageToken(),
+                    checkpoint.migrated() + page.migrated(),
+                    checkpoint.skipped() + page.skipped(),
+                    checkpoint.failed() + page.failed(),
+                    page.nextPageToken() == null
+            );
+            checkpointRepository.save(checkpoint);
+        } while (!checkpoint.finished() && clock.instant().isBefore(deadline));
+
+        LOGGER.info("POLL_MIGRATION migrated={} skipped={} failed={} schemaVersion={}",
+                checkpoint.migrated(), checkpoint.skipped(), checkpoint.failed(), schemaVersion);
+        if (!checkpoint.finished()) {
+            LOGGER.info("POLL_MIGRATION time budget of {}s used up, continuing with the next invocation schemaVersion={}",
+                    timeBudget.toSeconds(), schemaVersion);
+        }
+        return toResult(checkpoint);
+    }
+
+    private MigrationRunResult toResult(MigrationCheckpoint checkpoint) {
+        return new MigrationRunResult(checkpoint.migrated(), checkpoint.skipped(), checkpoint.failed(),
+                checkpoint.finished());
+    }
+}
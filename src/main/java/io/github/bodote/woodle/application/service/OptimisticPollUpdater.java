@@ -0,0 +1,77 @@
+package io.github.bodote.woodle.application.service;
+
+import io.github.bodote.woodle.application.port.out.PollRepository;
+import io.github.bodote.woodle.application.port.out.PollUpdateConflictException;
+import io.github.bodote.woodle.domain.model.Poll;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
+
+/**
+ * Retry loop around {@link PollRepository#update(UUID, UnaryOperator)}. When the repository reports a
+ * {@link PollUpdateConflictException} the update is run again on the reloaded poll after a short, jittered
+ * exponential backoff. The change must therefore be free of side effects. Repositories that apply updates
+ * atomically themselves never conflict, and the loop ends after the first attempt.
+ */
+class OptimisticPollUpdater {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OptimisticPollUpdater.class);
+    private static final int DEFAULT_MAX_ATTEMPTS = 5;
+    private static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(20);
+
+    private final PollRepository pollRepository;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+
+    OptimisticPollUpdater(PollRepository pollRepository) {
+        this(pollRepository, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_BACKOFF);
+    }
+
+    OptimisticPollUpdater(PollRepository pollRepository, int maxAttempts, Duration baseBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.pollRepository = pollRepository;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+    }
+
+    /**
+     * Applies {@code change} to the current state of the poll and stores the result.
+     *
+     * @return the changed poll
+     * @throws IllegalArgumentException if the poll does not exist
+     * @throws PollUpdateConflictException if every attempt lost against a concurrent write
+     */
+    Poll update(UUID pollId, UnaryOperator<Poll> change) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return pollRepository.update(pollId, change);
+            } catch (PollUpdateConflictException e) {
+                if (attempt >= maxAttempts) {
+                    LOGGER.warn("Giving up on poll {} after {} conflicting update(s)", pollId, attempt);
+                    throw e;
+                }
+                LOGGER.debug("Concurrent update of poll {}, retrying (attempt {})", pollId, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        long maxMillis = baseBackoff.toMillis() << Math.min(attempt - 1, 10);
+        if (maxMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis / 2, maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying poll update", e);
+        }
+    }
+}
@@ -28,4 +28,16 @@ public class ReadPollService implements ReadPollUseCase {
         }
         return poll;
     }
+
+    @Override
+    public boolean exists(UUID pollId) {
+        return pollRepository.findMetadata(pollId).isPresent();
+    }
+
+    @Override
+    public boolean existsForAdmin(UUID pollId, String adminSecret) {
+        return pollRepository.findMetadata(pollId)
+                .map(metadata -> metadata.adminSecretMatches(adminSecret))
+                .orElse(false);
+    }
 }
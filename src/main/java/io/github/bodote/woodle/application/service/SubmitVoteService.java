@@ -1,17 +1,23 @@
 package io.github.bodote.woodle.application.service;
 
+import io.github.bodote.woodle.application.model.IdempotentOutcome;
 import io.github.bodote.woodle.application.port.in.SubmitVoteUseCase;
 import io.github.bodote.woodle.application.port.in.command.SubmitVoteCommand;
+import io.github.bodote.woodle.application.port.out.IdempotencyKeyRepository;
 import io.github.bodote.woodle.application.port.out.NewCommentEmail;
 import io.github.bodote.woodle.application.port.out.PollEmailSender;
 import io.github.bodote.woodle.application.port.out.PollRepository;
+import io.github.bodote.woodle.application.port.out.PollUpdatePublisher;
 import io.github.bodote.woodle.domain.model.Poll;
 import io.github.bodote.woodle.domain.model.PollResponse;
+import io.github.bodote.woodle.domain.model.PollVote;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 
 public class SubmitVoteService implements SubmitVoteUseCase {
@@ -21,28 +27,63 @@ public class SubmitVoteService implements SubmitVoteUseCase {
     private final PollRepository pollRepository;
     private final PollEmailSender pollEmailSender;
     private final boolean emailEnabled;
+    private final PollUpdatePublisher pollUpdatePublisher;
+    private final IdempotentRequests idempotentRequests;
 
     public SubmitVoteService(PollRepository pollRepository,
                              PollEmailSender pollEmailSender,
                              boolean emailEnabled) {
+        this(pollRepository, pollEmailSender, emailEnabled, PollUpdatePublisher.NONE);
+    }
+
+    public SubmitVoteService(PollRepository pollRepository,
+                             PollEmailSender pollEmailSender,
+                             boolean emailEnabled,
+                             PollUpdatePublisher pollUpdatePublisher) {
+        this(pollRepository, pollEmailSender, emailEnabled, pollUpdatePublisher, IdempotencyKeyRepository.NONE);
+    }
+
+    public SubmitVoteService(PollRepository pollRepository,
+                             PollEmailSender pollEmailSender,
+                             boolean emailEnabled,
+                             PollUpdatePublisher pollUpdatePublisher,
+                             IdempotencyKeyRepository idempotencyKeyRepository) {
         this.pollRepository = pollRepository;
         this.pollEmailSender = pollEmailSender;
         this.emailEnabled = emailEnabled;
+        this.pollUpdatePublisher = pollUpdatePublisher;
+        this.idempotentRequests = new IdempotentRequests(idempotencyKeyRepository);
     }
 
+    /**
+     * A command with an idempotency key that was already used for this poll is not applied again; the poll is not
+     * even read. If the key was used with other answers, a different name, comment or response, the command is
+     * rejected with {@link io.github.bodote.woodle.application.port.in.IdempotencyKeyReusedException}.
+     */
     @Override
     public void submit(SubmitVoteCommand command) {
+        String key = command.idempotencyKey() == null
+                ? null
+                : "vote/" + command.pollId() + "/" + command.idempotencyKey();
+        idempotentRequests.run(key, requestHash(command),
+                () -> IdempotentOutcome.voted(command.pollId(), submitVote(command)));
+    }
+
+    private static String requestHash(SubmitVoteCommand command) {
+        List<PollVote> votes = command.votes().stream()
+                .sorted(Comparator.comparing(PollVote::optionId))
+                .toList();
+        return IdempotentRequests.requestHash(command.pollId(), command.responseId(), command.participantName(),
+                command.comment(), votes);
+    }
+
+    private UUID submitVote(SubmitVoteCommand command) {
         Poll poll = pollRepository.findById(command.pollId())
                 .orElseThrow(() -> new IllegalArgumentException("Poll not found"));
 
         PollResponse existingResponse = null;
         if (command.responseId() != null) {
-            for (PollResponse response : poll.responses()) {
-                if (response.responseId().equals(command.responseId())) {
-                    existingResponse = response;
-                    break;
-                }
-            }
+            existingResponse = poll.findResponse(command.responseId()).orElse(null);
         }
 
         PollResponse response = new PollResponse(
@@ -53,13 +94,14 @@ public class SubmitVoteService implements SubmitVoteUseCase {
                 command.comment()
         );
 
+        // only this response is replaced; a vote that races another write to the poll is retried, not lost
+        pollRepository.saveResponse(poll.pollId(), response);
+        pollUpdatePublisher.responseChanged(poll.pollId(), response.responseId());
+
         if (command.responseId() != null) {
-            pollRepository.save(poll.replaceResponse(response));
-            return;
+            return response.responseId();
         }
 
-        pollRepository.save(poll.addResponse(response));
-
         if (emailEnabled && poll.notifyOnComment()) {
             LOGGER.info("Sending new-entry notification for poll {} to {}", poll.pollId(), poll.authorEmail());
             boolean sent = pollEmailSender.sendNewComment(new NewCommentEmail(
@@ -78,12 +120,17 @@ public class SubmitVoteService implements SubmitVoteUseCase {
             LOGGER.debug("Skipping new-entry notification for poll {} (emailEnabled={}, notifyOnComment={})",
                     poll.pollId(), emailEnabled, poll.notifyOnComment());
         }
+        return response.responseId();
     }
 
     @Override
     public void delete(UUID pollId, UUID responseId) {
         Poll poll = pollRepository.findById(pollId)
                 .orElseThrow(() -> new IllegalArgumentException("Poll not found"));
-        pollRepository.save(poll.removeResponse(responseId));
+        if (poll.findResponse(responseId).isEmpty()) {
+            throw new IllegalArgumentException("Response not found");
+        }
+        pollRepository.deleteResponse(pollId, responseId);
+        pollUpdatePublisher.responseChanged(pollId, responseId);
     }
 }
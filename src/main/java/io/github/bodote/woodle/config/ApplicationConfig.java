@@ -3,15 +3,31 @@ package io.github.bodote.woodle.config;
 import io.github.bodote.woodle.adapter.out.email.NoopPollEmailSender;
 import io.github.bodote.woodle.adapter.out.email.SesPollEmailSender;
 import io.github.bodote.woodle.adapter.out.email.SmtpPollEmailSender;
+import io.github.bodote.woodle.adapter.out.persistence.CachingPollRepository;
+import io.github.bodote.woodle.adapter.out.persistence.CoalescingPollRepository;
+import io.github.bodote.woodle.adapter.out.persistence.InMemoryCleanupCheckpointRepository;
+import io.github.bodote.woodle.adapter.out.persistence.InMemoryIdempotencyKeyRepository;
+import io.github.bodote.woodle.adapter.out.persistence.InMemoryMigrationCheckpointRepository;
 import io.github.bodote.woodle.adapter.out.persistence.InMemoryPollRepository;
 import io.github.bodote.woodle.adapter.out.persistence.InMemoryWizardStateRepository;
+import io.github.bodote.woodle.adapter.out.persistence.PollCodec;
+import io.github.bodote.woodle.adapter.out.persistence.PollObjectCompression;
+import io.github.bodote.woodle.adapter.out.persistence.S3CleanupCheckpointRepository;
+import io.github.bodote.woodle.adapter.out.persistence.S3IdempotencyKeyRepository;
+import io.github.bodote.woodle.adapter.out.persistence.S3MigrationCheckpointRepository;
 import io.github.bodote.woodle.adapter.out.persistence.S3PollRepository;
 import io.github.bodote.woodle.adapter.out.persistence.S3WizardStateRepository;
+import io.github.bodote.woodle.application.port.out.CleanupCheckpointRepository;
+import io.github.bodote.woodle.application.port.out.IdempotencyKeyRepository;
+import io.github.bodote.woodle.application.port.out.MigrationCheckpointRepository;
 import io.github.bodote.woodle.application.port.out.PollRepository;
 import io.github.bodote.woodle.application.port.out.PollEmailSender;
+import io.github.bodote.woodle.application.port.out.PollUpdatePublisher;
 import io.github.bodote.woodle.application.port.out.WizardStateRepository;
 import io.github.bodote.woodle.application.service.CleanupExpiredPollsService;
 import io.github.bodote.woodle.application.port.in.CleanupExpiredPollsUseCase;
+import io.github.bodote.woodle.application.service.MigratePollsService;
+import io.github.bodote.woodle.application.port.in.MigratePollsUseCase;
 import io.github.bodote.woodle.application.service.CreatePollService;
 import io.github.bodote.woodle.application.port.in.CreatePollUseCase;
 import io.github.bodote.woodle.application.port.in.ReadPollUseCase;
@@ -34,6 +50,7 @@ import software.amazon.awssdk.services.sesv2.SesV2Client;
 import tools.jackson.databind.ObjectMapper;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.util.Properties;
 
 @Configuration
@@ -44,16 +61,33 @@ public class ApplicationConfig {
     public PollRepository pollRepository(
             @Value("${woodle.s3.enabled:false}") boolean s3Enabled,
             @Value("${woodle.s3.bucket:woodle}") String bucketName,
-            @Value("${woodle.poll.schema-version:2}") String pollSchemaVersion,
+            @Value("${woodle.poll.schema-version:3}") String pollSchemaVersion,
+            @Value("${woodle.cleanup.fetch-concurrency:16}") int cleanupFetchConcurrency,
+            @Value("${woodle.poll.cache.ttl-millis:2000}") long pollCacheTtlMillis,
+            @Value("${woodle.poll.cache.max-heap-bytes:67108864}") long pollCacheMaxHeapBytes,
+            @Value("${woodle.poll.compression:none}") String pollCompression,
+            @Value("${woodle.poll.codec:json}") String pollCodec,
+            @Value("${woodle.poll.write-coalescing.window-millis:0}") long writeCoalescingWindowMillis,
             ObjectProvider<S3Client> s3ClientProvider,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            Clock clock
     ) {
         if (s3Enabled) {
             S3Client s3Client = s3ClientProvider.getIfAvailable();
             if (s3Client == null) {
                 throw new IllegalStateException("S3 is enabled but no S3 client bean is available");
             }
-            return new S3PollRepository(s3Client, objectMapper, bucketName, pollSchemaVersion);
+            S3PollRepository s3PollRepository = new S3PollRepository(s3Client, objectMapper, bucketName,
+                    pollSchemaVersion, clock, cleanupFetchConcurrency,
+                    PollObjectCompression.fromProperty(pollCompression),
+                    PollCodec.fromProperty(pollCodec, objectMapper));
+            PollRepository cachingPollRepository = new CachingPollRepository(s3PollRepository, clock,
+                    Duration.ofMillis(pollCacheTtlMillis), pollCacheMaxHeapBytes);
+            if (writeCoalescingWindowMillis > 0) {
+                return new CoalescingPollRepository(cachingPollRepository,
+                        Duration.ofMillis(writeCoalescingWindowMillis));
+            }
+            return cachingPollRepository;
         }
         return new InMemoryPollRepository();
     }
@@ -76,6 +110,65 @@ public class ApplicationConfig {
         return new InMemoryWizardStateRepository();
     }
 
+    @Bean
+    @ConditionalOnMissingBean(CleanupCheckpointRepository.class)
+    public CleanupCheckpointRepository cleanupCheckpointRepository(
+            @Value("${woodle.s3.enabled:false}") boolean s3Enabled,
+            @Value("${woodle.s3.bucket:woodle}") String bucketName,
+            ObjectProvider<S3Client> s3ClientProvider,
+            ObjectMapper objectMapper
+    ) {
+        if (s3Enabled) {
+            S3Client s3Client = s3ClientProvider.getIfAvailable();
+            if (s3Client == null) {
+                throw new IllegalStateException("S3 is enabled but no S3 client bean is available");
+            }
+            return new S3CleanupCheckpointRepository(s3Client, objectMapper, bucketName);
+        }
+        return new InMemoryCleanupCheckpointRepository();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(MigrationCheckpointRepository.class)
+    public MigrationCheckpointRepository migrationCheckpointRepository(
+            @Value("${woodle.s3.enabled:false}") boolean s3Enabled,
+            @Value("${woodle.s3.bucket:woodle}") String bucketName,
+            ObjectProvider<S3Client> s3ClientProvider,
+            ObjectMapper objectMapper
+    ) {
+        if (s3Enabled) {
+            S3Client s3Client = s3ClientProvider.getIfAvailable();
+            if (s3Client == null) {
+                throw new IllegalStateException("S3 is enabled but no S3 client bean is available");
+            }
+            return new S3MigrationCheckpointRepository(s3Client, objectMapper, bucketName);
+        }
+        return new InMemoryMigrationCheckpointRepository();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(IdempotencyKeyRepository.class)
+    public IdempotencyKeyRepository idempotencyKeyRepository(
+            @Value("${woodle.s3.enabled:false}") boolean s3Enabled,
+            @Value("${woodle.s3.bucket:woodle}") String bucketName,
+            @Value("${woodle.idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${woodle.idempotency.max-entries:10000}") int maxEntries,
+            ObjectProvider<S3Client> s3ClientProvider,
+            ObjectMapper objectMapper,
+            Clock clock
+    ) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        InMemoryIdempotencyKeyRepository recent = new InMemoryIdempotencyKeyRepository(clock, ttl, maxEntries);
+        if (s3Enabled) {
+            S3Client s3Client = s3ClientProvider.getIfAvailable();
+            if (s3Client == null) {
+                throw new IllegalStateException("S3 is enabled but no S3 client bean is available");
+            }
+            return new S3IdempotencyKeyRepository(s3Client, objectMapper, bucketName, clock, ttl, recent);
+        }
+        return recent;
+    }
+
     @Bean
     public PollEmailSender pollEmailSender(
             @Value("${woodle.email.enabled:false}") boolean emailEnabled,
@@ -161,9 +254,10 @@ public class ApplicationConfig {
     public CreatePollUseCase createPollUseCase(
             PollRepository pollRepository,
             PollEmailSender pollEmailSender,
-            @Value("${woodle.email.enabled:false}") boolean emailEnabled
+            @Value("${woodle.email.enabled:false}") boolean emailEnabled,
+            IdempotencyKeyRepository idempotencyKeyRepository
     ) {
-        return new CreatePollService(pollRepository, pollEmailSender, emailEnabled);
+        return new CreatePollService(pollRepository, pollEmailSender, emailEnabled, idempotencyKeyRepository);
     }
 
     @Bean
@@ -175,9 +269,12 @@ public class ApplicationConfig {
     public SubmitVoteUseCase submitVoteUseCase(
             PollRepository pollRepository,
             PollEmailSender pollEmailSender,
-            @Value("${woodle.email.enabled:false}") boolean emailEnabled
+            @Value("${woodle.email.enabled:false}") boolean emailEnabled,
+            ObjectProvider<PollUpdatePublisher> pollUpdatePublisherProvider,
+            IdempotencyKeyRepository idempotencyKeyRepository
     ) {
-        return new SubmitVoteService(pollRepository, pollEmailSender, emailEnabled);
+        return new SubmitVoteService(pollRepository, pollEmailSender, emailEnabled,
+                pollUpdatePublisherProvider.getIfAvailable(() -> PollUpdatePublisher.NONE), idempotencyKeyRepository);
     }
 
     @Bean
@@ -192,7 +289,25 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public CleanupExpiredPollsUseCase cleanupExpiredPollsUseCase(PollRepository pollRepository, Clock clock) {
-        return new CleanupExpiredPollsService(pollRepository, clock);
+    public CleanupExpiredPollsUseCase cleanupExpiredPollsUseCase(
+            PollRepository pollRepository,
+            CleanupCheckpointRepository cleanupCheckpointRepository,
+            Clock clock,
+            @Value("${woodle.cleanup.time-budget-seconds:20}") long timeBudgetSeconds
+    ) {
+        return new CleanupExpiredPollsService(pollRepository, cleanupCheckpointRepository, clock,
+                Duration.ofSeconds(timeBudgetSeconds));
+    }
+
+    @Bean
+    public MigratePollsUseCase migratePollsUseCase(
+            PollRepository pollRepository,
+            MigrationCheckpointRepository migrationCheckpointRepository,
+            Clock clock,
+            @Value("${woodle.migration.time-budget-seconds:20}") long timeBudgetSeconds,
+            @Value("${woodle.poll.schema-version:3}") String pollSchemaVersion
+    ) {
+        return new MigratePollsService(pollRepository, migrationCheckpointRepository, clock,
+                Duration.ofSeconds(timeBudgetSeconds), pollSchemaVersion);
     }
 }
@@ -11,16 +11,13 @@ public class ThymeleafRuntimeHints implements RuntimeHintsRegistrar {
     public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
         registerType(hints, "io.github.bodote.woodle.domain.model.Poll");
         registerType(hints, "io.github.bodote.woodle.domain.model.PollOption");
-        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewController$MonthGroup");
-        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewController$DateGroup");
-        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewController$OptionHeader");
-        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewController$ParticipantRow");
+        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewModel$MonthGroup");
+        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewModel$DateGroup");
+        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewModel$OptionHeader");
+        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewModel$ParticipantRow");
         registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewController$EditableRow");
-        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewController$VoteCell");
-        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewController$SummaryCell");
-        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollVoteController$ParticipantRow");
-        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollVoteController$VoteCell");
-        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollVoteController$SummaryCell");
+        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewModel$VoteCell");
+        registerType(hints, "io.github.bodote.woodle.adapter.in.web.PollViewModel$SummaryCell");
         registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.PollDAO");
         registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.PollDAO$Author");
         registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.PollDAO$Access");
@@ -31,6 +28,11 @@ public class ThymeleafRuntimeHints implements RuntimeHintsRegistrar {
         registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.PollDAO$OptionItem");
         registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.PollDAO$Response");
         registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.PollDAO$Vote");
+        registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.S3PollRepository$ActivePollCountDocument");
+        registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.S3PollRepository$ExpiryIndexMarkerDocument");
+        registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.S3CleanupCheckpointRepository$CleanupCheckpointDocument");
+        registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.S3MigrationCheckpointRepository$MigrationCheckpointDocument");
+        registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.S3IdempotencyKeyRepository$IdempotencyDocument");
         registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.S3WizardStateRepository$WizardStateDocument");
         registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.S3WizardStateRepository$WizardDayDocument");
         registerType(hints, "io.github.bodote.woodle.adapter.out.persistence.S3WizardStateRepository$LegacySelection");
@@ -3,6 +3,7 @@ package io.github.bodote.woodle.domain.model;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public record Poll(
@@ -19,8 +20,29 @@ public record Poll(
         OffsetDateTime createdAt,
         OffsetDateTime updatedAt,
         LocalDate expiresAt,
-        boolean notifyOnComment
+        boolean notifyOnComment,
+        long version
 ) {
+
+    /**
+     * Keeps the responses as {@link PollResponses}, so response changes share structure with the previous poll and
+     * lookups by id do not scan.
+     */
+    public Poll {
+        responses = PollResponses.copyOf(responses == null ? List.of() : responses);
+    }
+
+    /**
+     * Creates a poll that has not been stored yet ({@code version} 0).
+     */
+    public Poll(UUID pollId, String adminSecret, String title, String description, String authorName,
+                String authorEmail, EventType eventType, Integer durationMinutes, List<PollOption> options,
+                List<PollResponse> responses, OffsetDateTime createdAt, OffsetDateTime updatedAt,
+                LocalDate expiresAt, boolean notifyOnComment) {
+        this(pollId, adminSecret, title, description, authorName, authorEmail, eventType, durationMinutes, options,
+                responses, createdAt, updatedAt, expiresAt, notifyOnComment, 0);
+    }
+
     public String getTitle() {
         return title;
     }
@@ -33,46 +55,59 @@ public record Poll(
         return options;
     }
 
+    public Optional<PollResponse> findResponse(UUID responseId) {
+        return responseCollection().find(responseId);
+    }
+
+    /**
+     * Appends the response, or replaces the response with the same id.
+     */
     public Poll addResponse(PollResponse response) {
-        List<PollResponse> updated = new java.util.ArrayList<>(responses);
-        updated.add(response);
-        return new Poll(pollId, adminSecret, title, description, authorName, authorEmail, eventType,
-                durationMinutes, options, java.util.List.copyOf(updated), createdAt, updatedAt, expiresAt,
-                notifyOnComment);
+        return withResponses(responseCollection().put(response));
     }
 
     public Poll replaceResponse(PollResponse response) {
-        List<PollResponse> updated = new java.util.ArrayList<>(responses);
-        boolean replaced = false;
-        for (int i = 0; i < updated.size(); i++) {
-            if (updated.get(i).responseId().equals(response.responseId())) {
-                updated.set(i, response);
-                replaced = true;
-                break;
-            }
-        }
-        if (!replaced) {
-            updated.add(response);
-        }
-        return new Poll(pollId, adminSecret, title, description, authorName, authorEmail, eventType,
-                durationMinutes, options, java.util.List.copyOf(updated), createdAt, updatedAt, expiresAt,
-                notifyOnComment);
+        return withResponses(responseCollection().put(response));
     }
 
     public Poll removeResponse(UUID responseId) {
-        List<PollResponse> updated = new java.util.ArrayList<>(responses);
-        boolean removed = updated.removeIf(response -> response.responseId().equals(responseId));
-        if (!removed) {
+        PollResponses updated = responseCollection().remove(responseId);
+        if (updated == responses) {
             throw new IllegalArgumentException("Response not found");
         }
+        return withResponses(updated);
+    }
+
+    /**
+     * {@code version} counts stored revisions: repositories only accept a save whose version still matches the
+     * stored one and store the result with the next version, so concurrent read-modify-write cycles cannot
+     * silently overwrite each other.
+     */
+    public Poll withVersion(long newVersion) {
+        return new Poll(pollId, adminSecret, title, description, authorName, authorEmail, eventType,
+                durationMinutes, options, responses, createdAt, updatedAt, expiresAt, notifyOnComment, newVersion);
+    }
+
+    /**
+     * Marks a change: views use {@code updatedAt} together with {@code version} to tell whether a poll changed.
+     */
+    public Poll withUpdatedAt(OffsetDateTime newUpdatedAt) {
+        return new Poll(pollId, adminSecret, title, description, authorName, authorEmail, eventType,
+                durationMinutes, options, responses, createdAt, newUpdatedAt, expiresAt, notifyOnComment, version);
+    }
+
+    private PollResponses responseCollection() {
+        return (PollResponses) responses;
+    }
+
+    private Poll withResponses(PollResponses newResponses) {
         return new Poll(pollId, adminSecret, title, description, authorName, authorEmail, eventType,
-                durationMinutes, options, java.util.List.copyOf(updated), createdAt, updatedAt, expiresAt,
-                notifyOnComment);
+                durationMinutes, options, newResponses, createdAt, updatedAt, expiresAt, notifyOnComment, version);
     }
 
     public Poll withOptions(List<PollOption> newOptions) {
         return new Poll(pollId, adminSecret, title, description, authorName, authorEmail, eventType,
                 durationMinutes, List.copyOf(newOptions), responses, createdAt, updatedAt, expiresAt,
-                notifyOnComment);
+                notifyOnComment, version);
     }
 }
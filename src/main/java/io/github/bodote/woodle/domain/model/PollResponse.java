@@ -4,11 +4,26 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * {@code revision} is the poll revision that last wrote this response. Repositories set it when they store the
+ * response, so two reads of a response with the same revision hold the same votes; 0 means it was never stored on
+ * its own.
+ */
 public record PollResponse(
         UUID responseId,
         String participantName,
         OffsetDateTime createdAt,
         List<PollVote> votes,
-        String comment
+        String comment,
+        long revision
 ) {
+
+    public PollResponse(UUID responseId, String participantName, OffsetDateTime createdAt, List<PollVote> votes,
+                        String comment) {
+        this(responseId, participantName, createdAt, votes, comment, 0);
+    }
+
+    public PollResponse withRevision(long newRevision) {
+        return new PollResponse(responseId, participantName, createdAt, votes, comment, newRevision);
+    }
 }
@@ -0,0 +1,276 @@
+package io.github.bodote.woodle.domain.model;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The responses of a poll in the order they were added, as a persistent list: {@link #put} and {@link #remove}
+ * return a new instance in O(log n) that shares all untouched nodes with this one, and {@link #find} looks a
+ * response up by id without scanning. Two balanced trees back it, one ordered by an insertion sequence number
+ * (with subtree sizes for {@link #get(int)}) and one from response id to that number.
+ * <p>
+ * A response id occurs at most once: putting a response whose id is already present replaces it in place.
+ */
+public final class PollResponses extends AbstractList<PollResponse> {
+
+    private static final PollResponses EMPTY = new PollResponses(null, null, 0);
+
+    private final Node<Long, PollResponse> order;
+    private final Node<UUID, Long> sequences;
+    private final long nextSequence;
+
+    private PollResponses(Node<Long, PollResponse> order, Node<UUID, Long> sequences, long nextSequence) {
+        this.order = order;
+        this.sequences = sequences;
+        this.nextSequence = nextSequence;
+    }
+
+    public static PollResponses empty() {
+        return EMPTY;
+    }
+
+    public static PollResponses copyOf(Collection<? extends PollResponse> responses) {
+        if (responses instanceof PollResponses persistent) {
+            return persistent;
+        }
+        PollResponses result = EMPTY;
+        for (PollResponse response : responses) {
+            result = result.put(response);
+        }
+        return result;
+    }
+
+    public Optional<PollResponse> find(UUID responseId) {
+        Long sequence = Node.get(sequences, responseId);
+        return sequence == null ? Optional.empty() : Optional.of(Node.get(order, sequence));
+    }
+
+    /**
+     * Replaces the response with the same id, or appends the response when there is none.
+     */
+    public PollResponses put(PollResponse response) {
+        Long sequence = Node.get(sequences, response.responseId());
+        if (sequence != null) {
+            return new PollResponses(Node.put(order, sequence, response), sequences, nextSequence);
+        }
+        return new PollResponses(Node.put(order, nextSequence, response),
+                Node.put(sequences, response.responseId(), nextSequence), nextSequence + 1);
+    }
+
+    /**
+     * @return the responses without the one with this id, or this instance when there is none
+     */
+    public PollResponses remove(UUID responseId) {
+        Long sequence = Node.get(sequences, responseId);
+        if (sequence == null) {
+            return this;
+        }
+        return new PollResponses(Node.remove(order, sequence), Node.remove(sequences, responseId), nextSequence);
+    }
+
+    @Override
+    public PollResponse get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Response " + index + " of " + size());
+        }
+        return Node.byIndex(order, index).value;
+    }
+
+    @Override
+    public int size() {
+        return Node.size(order);
+    }
+
+    @Override
+    public Iterator<PollResponse> iterator() {
+        return new Iterator<>() {
+            private final Deque<Node<Long, PollResponse>> path = new ArrayDeque<>();
+
+            {
+                descend(order);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public PollResponse next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<Long, PollResponse> node = path.pop();
+                descend(node.right);
+                return node.value;
+            }
+
+            private void descend(Node<Long, PollResponse> node) {
+                for (Node<Long, PollResponse> current = node; current != null; current = current.left) {
+                    path.push(current);
+                }
+            }
+        };
+    }
+
+    // AbstractList compares through get(int), which walks the tree for every element
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof List<?> responses) || responses.size() != size()) {
+            return false;
+        }
+        Iterator<?> theirs = responses.iterator();
+        for (PollResponse response : this) {
+            if (!response.equals(theirs.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * Immutable AVL tree node; updates copy the path from the root to the changed node.
+     */
+    private static final class Node<K extends Comparable<K>, V> {
+
+        private final K key;
+        private final V value;
+        private final Node<K, V> left;
+        private final Node<K, V> right;
+        private final int height;
+        private final int size;
+
+        private Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        private static int height(Node<?, ?> node) {
+            return node == null ? 0 : node.height;
+        }
+
+        private static int size(Node<?, ?> node) {
+            return node == null ? 0 : node.size;
+        }
+
+        private static <K extends Comparable<K>, V> V get(Node<K, V> node, K key) {
+            Node<K, V> current = node;
+            while (current != null) {
+                int comparison = key.compareTo(current.key);
+                if (comparison == 0) {
+                    return current.value;
+                }
+                current = comparison < 0 ? current.left : current.right;
+            }
+            return null;
+        }
+
+        private static <K extends Comparable<K>, V> Node<K, V> byIndex(Node<K, V> node, int index) {
+            Node<K, V> current = node;
+            int remaining = index;
+            while (true) {
+                int leftSize = size(current.left);
+                if (remaining < leftSize) {
+                    current = current.left;
+                } else if (remaining == leftSize) {
+                    return current;
+                } else {
+                    remaining -= leftSize + 1;
+                    current = current.right;
+                }
+            }
+        }
+
+        private static <K extends Comparable<K>, V> Node<K, V> put(Node<K, V> node, K key, V value) {
+            if (node == null) {
+                return new Node<>(key, value, null, null);
+            }
+            int comparison = key.compareTo(node.key);
+            if (comparison == 0) {
+                return new Node<>(key, value, node.left, node.right);
+            }
+            return comparison < 0
+                    ? balance(node.key, node.value, put(node.left, key, value), node.right)
+                    : balance(node.key, node.value, node.left, put(node.right, key, value));
+        }
+
+        private static <K extends Comparable<K>, V> Node<K, V> remove(Node<K, V> node, K key) {
+            if (node == null) {
+                return null;
+            }
+            int comparison = key.compareTo(node.key);
+            if (comparison < 0) {
+                return balance(node.key, node.value, remove(node.left, key), node.right);
+            }
+            if (comparison > 0) {
+                return balance(node.key, node.value, node.left, remove(node.right, key));
+            }
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<K, V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            return balance(successor.key, successor.value, node.left, remove(node.right, successor.key));
+        }
+
+        private static <K extends Comparable<K>, V> Node<K, V> balance(K key, V value, Node<K, V> left,
+                                                                       Node<K, V> right) {
+            int difference = height(left) - height(right);
+            if (difference > 1) {
+                if (height(left.left) < height(left.right)) {
+                    left = rotateLeft(left);
+                }
+                return rotateRight(key, value, left, right);
+            }
+            if (difference < -1) {
+                if (height(right.right) < height(right.left)) {
+                    right = rotateRight(right);
+                }
+                return rotateLeft(key, value, left, right);
+            }
+            return new Node<>(key, value, left, right);
+        }
+
+        private static <K extends Comparable<K>, V> Node<K, V> rotateRight(Node<K, V> node) {
+            return rotateRight(node.key, node.value, node.left, node.right);
+        }
+
+        private static <K extends Comparable<K>, V> Node<K, V> rotateRight(K key, V value, Node<K, V> left,
+                                                                           Node<K, V> right) {
+            return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+        }
+
+        private static <K extends Comparable<K>, V> Node<K, V> rotateLeft(Node<K, V> node) {
+            return rotateLeft(node.key, node.value, node.left, node.right);
+        }
+
+        private static <K extends Comparable<K>, V> Node<K, V> rotateLeft(K key, V value, Node<K, V> left,
+                                                                          Node<K, V> right) {
+            return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+        }
+    }
+}
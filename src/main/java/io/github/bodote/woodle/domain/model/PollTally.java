@@ -0,0 +1,138 @@
+package io.github.bodote.woodle.domain.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Vote counts per option of a poll, indexed by the position of the option in the list the tally was built for.
+ * <p>
+ * Built once from all responses, by column scans when they are the rows of one {@link VoteMatrix};
+ * {@link #addResponse}, {@link #replaceResponse} and {@link #removeResponse} derive the tally of the changed poll in
+ * O(options) instead of counting every vote again. Tallies are immutable, so one instance can be shared by every
+ * view of the same poll state. Votes for options outside the list are ignored, and when a response votes twice for
+ * an option, the last vote counts.
+ */
+public final class PollTally {
+
+    private final List<PollOption> options;
+    private final Map<UUID, Integer> optionIndex;
+    private final int[] yes;
+    private final int[] ifNeeded;
+    private final int[] no;
+    private final int maxYes;
+
+    private PollTally(List<PollOption> options, Map<UUID, Integer> optionIndex, int[] yes, int[] ifNeeded, int[] no) {
+        this.options = options;
+        this.optionIndex = optionIndex;
+        this.yes = yes;
+        this.ifNeeded = ifNeeded;
+        this.no = no;
+        this.maxYes = Arrays.stream(yes).max().orElse(0);
+    }
+
+    public static PollTally of(List<PollOption> options, List<PollResponse> responses) {
+        List<PollOption> copy = List.copyOf(options);
+        Map<UUID, Integer> optionIndex = new HashMap<>(copy.size() * 2);
+        for (int i = 0; i < copy.size(); i++) {
+            optionIndex.put(copy.get(i).optionId(), i);
+        }
+        int[] yes = new int[copy.size()];
+        int[] ifNeeded = new int[copy.size()];
+        int[] no = new int[copy.size()];
+        VoteMatrix matrix = VoteMatrix.backing(responses);
+        if (matrix != null) {
+            for (int i = 0; i < copy.size(); i++) {
+                int column = matrix.column(copy.get(i).optionId());
+                if (column >= 0) {
+                    yes[i] = matrix.count(column, PollVoteValue.YES);
+                    ifNeeded[i] = matrix.count(column, PollVoteValue.IF_NEEDED);
+                    no[i] = matrix.count(column, PollVoteValue.NO);
+                }
+            }
+        } else {
+            for (PollResponse response : responses) {
+                count(optionIndex, response, 1, yes, ifNeeded, no);
+            }
+        }
+        return new PollTally(copy, optionIndex, yes, ifNeeded, no);
+    }
+
+    public PollTally addResponse(PollResponse response) {
+        return update(null, response);
+    }
+
+    public PollTally replaceResponse(PollResponse previous, PollResponse updated) {
+        return update(previous, updated);
+    }
+
+    public PollTally removeResponse(PollResponse response) {
+        return update(response, null);
+    }
+
+    /**
+     * The options this tally counts, in the order of its positions.
+     */
+    public List<PollOption> options() {
+        return options;
+    }
+
+    public int yes(int position) {
+        return yes[position];
+    }
+
+    public int ifNeeded(int position) {
+        return ifNeeded[position];
+    }
+
+    public int no(int position) {
+        return no[position];
+    }
+
+    public int maxYes() {
+        return maxYes;
+    }
+
+    /**
+     * Whether the option has the most YES votes; no option is best while nobody voted YES.
+     */
+    public boolean isBest(int position) {
+        return maxYes > 0 && yes[position] == maxYes;
+    }
+
+    private PollTally update(PollResponse removed, PollResponse added) {
+        int[] newYes = yes.clone();
+        int[] newIfNeeded = ifNeeded.clone();
+        int[] newNo = no.clone();
+        if (removed != null) {
+            count(optionIndex, removed, -1, newYes, newIfNeeded, newNo);
+        }
+        if (added != null) {
+            count(optionIndex, added, 1, newYes, newIfNeeded, newNo);
+        }
+        return new PollTally(options, optionIndex, newYes, newIfNeeded, newNo);
+    }
+
+    private static void count(Map<UUID, Integer> optionIndex, PollResponse response, int delta,
+                              int[] yes, int[] ifNeeded, int[] no) {
+        PollVoteValue[] values = new PollVoteValue[yes.length];
+        for (PollVote vote : response.votes()) {
+            Integer position = optionIndex.get(vote.optionId());
+            if (position != null && vote.value() != null) {
+                values[position] = vote.value();
+            }
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            switch (values[i]) {
+                case YES -> yes[i] += delta;
+                case IF_NEEDED -> ifNeeded[i] += delta;
+                case NO -> no[i] += delta;
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package io.github.bodote.woodle.domain.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * The votes of a loaded poll packed into 2 bits per cell: one row per response, one column per option. A cell is
+ * {@code 0} for no vote and {@code value.ordinal() + 1} otherwise, so a poll with 1000 options and 500 participants
+ * fits in 125 KB instead of half a million {@link PollVote} objects.
+ * <p>
+ * {@link #row(int)} is the vote list of a response. It creates its {@link PollVote}s only when they are read, and
+ * {@link #count(int, PollVoteValue)} counts a column without creating any. The matrix is immutable once built.
+ */
+public final class VoteMatrix {
+
+    private static final int BITS_PER_CELL = 2;
+    private static final int CELLS_PER_WORD = Long.SIZE / BITS_PER_CELL;
+    private static final long CELL_MASK = 0b11;
+    private static final PollVoteValue[] VALUES = PollVoteValue.values();
+
+    private final List<UUID> optionIds;
+    private final Map<UUID, Integer> columns;
+    private final int rowCount;
+    private final int wordsPerRow;
+    private final long[] cells;
+    private final int[] votesPerRow;
+
+    private VoteMatrix(List<UUID> optionIds, Map<UUID, Integer> columns, int rowCount, int wordsPerRow, long[] cells) {
+        this.optionIds = optionIds;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.wordsPerRow = wordsPerRow;
+        this.cells = cells;
+        this.votesPerRow = new int[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            int votes = 0;
+            for (int word = 0; word < wordsPerRow; word++) {
+                votes += Long.bitCount(occupied(cells[row * wordsPerRow + word]));
+            }
+            votesPerRow[row] = votes;
+        }
+    }
+
+    /**
+     * @param optionIds the option of each column; ids must be unique
+     */
+    public static Builder builder(List<UUID> optionIds, int rowCount) {
+        return new Builder(optionIds, rowCount);
+    }
+
+    /**
+     * The matrix whose rows are the vote lists of {@code responses}, in order, or {@code null} when the responses
+     * are not backed by one matrix (for instance after a response was added to a loaded poll).
+     */
+    public static VoteMatrix backing(List<PollResponse> responses) {
+        if (responses.isEmpty() || !(responses.iterator().next().votes() instanceof Row first)) {
+            return null;
+        }
+        VoteMatrix matrix = first.matrix();
+        if (matrix.rowCount != responses.size()) {
+            return null;
+        }
+        int row = 0;
+        for (PollResponse response : responses) {
+            if (!(response.votes() instanceof Row votes) || votes.matrix() != matrix || votes.index() != row++) {
+                return null;
+            }
+        }
+        return matrix;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return optionIds.size();
+    }
+
+    public UUID optionId(int column) {
+        return optionIds.get(column);
+    }
+
+    /**
+     * @return the column of the option, or {@code -1} when the matrix has none for it
+     */
+    public int column(UUID optionId) {
+        Integer column = columns.get(optionId);
+        return column == null ? -1 : column;
+    }
+
+    /**
+     * @return the vote in the cell, or {@code null} when the response did not vote for the option
+     */
+    public PollVoteValue value(int row, int column) {
+        int code = code(cells, wordsPerRow, row, column);
+        return code == 0 ? null : VALUES[code - 1];
+    }
+
+    /**
+     * Number of {@code value} votes in a column.
+     */
+    public int count(int column, PollVoteValue value) {
+        int wanted = value.ordinal() + 1;
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (code(cells, wordsPerRow, row, column) == wanted) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public List<PollVote> row(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + rowCount);
+        }
+        return new Row(this, row);
+    }
+
+    /**
+     * The low bit of every cell in {@code word} that holds a vote.
+     */
+    private static long occupied(long word) {
+        // a cell is set when either of its two bits is
+        return (word | (word >>> 1)) & 0x5555_5555_5555_5555L;
+    }
+
+    private static int code(long[] cells, int wordsPerRow, int row, int column) {
+        long word = cells[row * wordsPerRow + column / CELLS_PER_WORD];
+        return (int) ((word >>> ((column % CELLS_PER_WORD) * BITS_PER_CELL)) & CELL_MASK);
+    }
+
+    public static final class Builder {
+
+        private final List<UUID> optionIds;
+        private final Map<UUID, Integer> columns;
+        private final int rowCount;
+        private final int wordsPerRow;
+        private long[] cells;
+
+        private Builder(List<UUID> optionIds, int rowCount) {
+            this.optionIds = List.copyOf(optionIds);
+            this.columns = new HashMap<>(optionIds.size() * 2);
+            for (int column = 0; column < this.optionIds.size(); column++) {
+                if (columns.putIfAbsent(this.optionIds.get(column), column) != null) {
+                    throw new IllegalArgumentException("Duplicate option " + this.optionIds.get(column));
+                }
+            }
+            this.rowCount = rowCount;
+            this.wordsPerRow = (this.optionIds.size() + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+            this.cells = new long[Math.multiplyExact(rowCount, wordsPerRow)];
+        }
+
+        /**
+         * @return the column of the option, or {@code -1} when the matrix has none for it
+         */
+        public int column(UUID optionId) {
+            Integer column = columns.get(optionId);
+            return column == null ? -1 : column;
+        }
+
+        public PollVoteValue value(int row, int column) {
+            int code = code(cells, wordsPerRow, row, column);
+            return code == 0 ? null : VALUES[code - 1];
+        }
+
+        public Builder set(int row, int column, PollVoteValue value) {
+            int index = row * wordsPerRow + column / CELLS_PER_WORD;
+            int shift = (column % CELLS_PER_WORD) * BITS_PER_CELL;
+            long code = value == null ? 0 : value.ordinal() + 1;
+            cells[index] = (cells[index] & ~(CELL_MASK << shift)) | (code << shift);
+            return this;
+        }
+
+        public Builder clearRow(int row) {
+            Arrays.fill(cells, row * wordsPerRow, (row + 1) * wordsPerRow, 0L);
+            return this;
+        }
+
+        public VoteMatrix build() {
+            if (cells == null) {
+                throw new IllegalStateException("Matrix already built");
+            }
+            VoteMatrix matrix = new VoteMatrix(optionIds, Map.copyOf(columns), rowCount, wordsPerRow, cells);
+            cells = null;
+            return matrix;
+        }
+    }
+
+    /**
+     * The votes of one response, in column order.
+     */
+    public static final class Row extends AbstractList<PollVote> {
+
+        private final VoteMatrix matrix;
+        private final int index;
+
+        private Row(VoteMatrix matrix, int index) {
+            this.matrix = matrix;
+            this.index = index;
+        }
+
+        public VoteMatrix matrix() {
+            return matrix;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return matrix.votesPerRow[index];
+        }
+
+        @Override
+        public PollVote get(int position) {
+            if (position < 0 || position >= size()) {
+                throw new IndexOutOfBoundsException("Vote " + position + " of " + size());
+            }
+            int first = index * matrix.wordsPerRow;
+            if (size() == matrix.columnCount()) {
+                // every option has a vote, so the position is the column
+                long word = matrix.cells[first + position / CELLS_PER_WORD];
+                int code = (int) ((word >>> ((position % CELLS_PER_WORD) * BITS_PER_CELL)) & CELL_MASK);
+                return new PollVote(matrix.optionId(position), VALUES[code - 1]);
+            }
+            int remaining = position;
+            for (int word = 0; word < matrix.wordsPerRow; word++) {
+                long occupied = occupied(matrix.cells[first + word]);
+                int votes = Long.bitCount(occupied);
+                if (remaining < votes) {
+                    for (int skip = 0; skip < remaining; skip++) {
+                        occupied &= occupied - 1;
+                    }
+                    int column = word * CELLS_PER_WORD + Long.numberOfTrailingZeros(occupied) / BITS_PER_CELL;
+                    return new PollVote(matrix.optionId(column), matrix.value(index, column));
+                }
+                remaining -= votes;
+            }
+            throw new IllegalStateException("Vote count out of sync");
+        }
+
+        // AbstractList compares through get(int), which scans the row for every element
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            }
+            if (!(other instanceof List<?> votes) || votes.size() != size()) {
+                return false;
+            }
+            Iterator<?> theirs = votes.iterator();
+            for (PollVote vote : this) {
+                if (!vote.equals(theirs.next())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode();
+        }
+
+        @Override
+        public Iterator<PollVote> iterator() {
+            return new Iterator<>() {
+                private int column = nextColumn(0);
+
+                @Override
+                public boolean hasNext() {
+                    return column < matrix.columnCount();
+                }
+
+                @Override
+                public PollVote next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    PollVote vote = new PollVote(matrix.optionId(column), matrix.value(index, column));
+                    column = nextColumn(column + 1);
+                    return vote;
+                }
+
+                private int nextColumn(int from) {
+                    int next = from;
+                    while (next < matrix.columnCount() && matrix.value(index, next) == null) {
+                        next++;
+                    }
+                    return next;
+                }
+            };
+        }
+    }
+}
@@ -134,6 +134,84 @@
         });
     };
 
+    let liveUpdates = null;
+
+    // Applies an out-of-band payload from the poll's update stream: rows replace the element with their id,
+    // participant rows not on the page yet go above the add row, and hx-swap-oob="delete" removes the row.
+    // A row that is open for editing is left alone.
+    const applyLiveUpdate = function (html) {
+        const template = document.createElement("template");
+        template.innerHTML = html;
+        Array.from(template.content.children).forEach(function (element) {
+            const current = element.id ? document.getElementById(element.id) : null;
+            if (element.getAttribute("hx-swap-oob") === "delete") {
+                if (current) {
+                    current.remove();
+                }
+                return;
+            }
+            element.removeAttribute("hx-swap-oob");
+            if (current) {
+                if (current.querySelector("input, select")) {
+                    return;
+                }
+                current.replaceWith(element);
+            } else {
+                const addRow = document.querySelector("#poll-votes-table [data-add-row]");
+                if (!addRow || !element.id.startsWith("row-")) {
+                    return;
+                }
+                addRow.before(element);
+            }
+            if (window.htmx) {
+                window.htmx.process(element);
+            }
+        });
+        updateParticipantHintLayout();
+    };
+
+    const bindLiveUpdates = function () {
+        const table = document.querySelector("[data-live-updates]");
+        const path = table ? table.getAttribute("data-live-updates") : null;
+        if (liveUpdates && liveUpdates.path === path) {
+            return;
+        }
+        if (liveUpdates) {
+            liveUpdates.source.close();
+            liveUpdates = null;
+        }
+        if (!path || typeof EventSource === "undefined") {
+            return;
+        }
+        const source = new EventSource(path);
+        source.addEventListener("update", function (event) {
+            applyLiveUpdate(event.data);
+        });
+        liveUpdates = {path: path, source: source};
+    };
+
+    const randomIdempotencyKey = function () {
+        if (window.crypto && typeof window.crypto.randomUUID === "function") {
+            return window.crypto.randomUUID();
+        }
+        const bytes = new Uint8Array(16);
+        window.crypto.getRandomValues(bytes);
+        return Array.from(bytes, function (value) {
+            return value.toString(16).padStart(2, "0");
+        }).join("");
+    };
+
+    // Vote and poll forms carry an empty idempotencyKey field. It gets a random key on the first submit and keeps it,
+    // so a double click or a retried request sends the same key and the server stores the vote or poll only once.
+    // Runs in the capture phase, before htmx collects the form values.
+    document.addEventListener("submit", function (event) {
+        const form = event.target;
+        const field = form && form.elements ? form.elements.namedItem("idempotencyKey") : null;
+        if (field && !field.value) {
+            field.value = randomIdempotencyKey();
+        }
+    }, true);
+
     document.addEventListener("click", async function (event) {
         const copyButton = event.target.closest("[data-copy-target]");
         if (copyButton) {
@@ -203,6 +281,7 @@
     });
 
     document.body.addEventListener("htmx:afterSwap", function () {
+        bindLiveUpdates();
         refreshAdminTimeControls();
         bindParticipantScrollHint();
         updateParticipantHintLayout();
@@ -214,6 +293,7 @@
         updateParticipantHintLayout: updateParticipantHintLayout
     };
     window.woodleUiBound = true;
+    bindLiveUpdates();
     refreshAdminTimeControls();
     bindParticipantScrollHint();
     updateParticipantHintLayout();
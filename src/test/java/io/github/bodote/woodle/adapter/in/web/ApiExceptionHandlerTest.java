@@ -78,6 +78,14 @@ class ApiExceptionHandlerTest {
                 .andExpect(jsonPath("$.error.message").value(ApiExceptionTestController.ILLEGAL_ARGUMENT_MESSAGE));
     }
 
+    @Test
+    @DisplayName("maps a reused idempotency key to unprocessable content")
+    void mapsReusedIdempotencyKeyToUnprocessableContent() throws Exception {
+        mockMvc.perform(get(ApiExceptionTestController.IDEMPOTENCY_KEY_REUSED_PATH))
+                .andExpect(status().is(422))
+                .andExpect(jsonPath("$.error.code").value("IDEMPOTENCY_KEY_REUSED"));
+    }
+
     @Test
     @DisplayName("maps malformed JSON payload to validation error")
     void mapsMalformedJsonPayloadToValidationError() throws Exception {
@@ -1,5 +1,6 @@
 package io.github.bodote.woodle.adapter.in.web;
 
+import io.github.bodote.woodle.application.port.in.IdempotencyKeyReusedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -17,6 +18,7 @@ class ApiExceptionTestController {
     static final String INTERNAL_ERROR_PATH = "/test/internal-error";
     static final String ILLEGAL_ARGUMENT_PATH = "/test/illegal-argument";
     static final String UNREADABLE_PAYLOAD_PATH = "/test/unreadable";
+    static final String IDEMPOTENCY_KEY_REUSED_PATH = "/test/idempotency-key-reused";
     static final String ETAG_MISMATCH_MESSAGE = "etag mismatch";
     static final String PRECONDITION_REQUIRED_MESSAGE = "missing if-match";
     static final String CONFLICT_MESSAGE = "duplicate vote";
@@ -54,6 +56,11 @@ class ApiExceptionTestController {
         throw new IllegalArgumentException(ILLEGAL_ARGUMENT_MESSAGE);
     }
 
+    @GetMapping(IDEMPOTENCY_KEY_REUSED_PATH)
+    void idempotencyKeyReused() {
+        throw new IdempotencyKeyReusedException();
+    }
+
     @PostMapping(UNREADABLE_PAYLOAD_PATH)
     void unreadablePayload(@RequestBody CreatePollRequestDTO requestDTO) {
         // Body intentionally empty; malformed JSON should fail before method invocation.
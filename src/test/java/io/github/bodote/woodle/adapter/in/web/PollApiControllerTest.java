@@ -100,6 +100,23 @@ class PollApiControllerTest {
                 .andExpect(jsonPath("$.options[0].date").value("2026-02-10"));
     }
 
+    @Test
+    @DisplayName("answers GET /v1/polls/{pollId} with not modified for a matching ETag")
+    void answersGetWithNotModifiedForMatchingETag() throws Exception {
+        Poll poll = TestFixtures.poll(POLL_ID, List.of(), List.of());
+        when(readPollUseCase.getPublic(POLL_ID)).thenReturn(poll);
+        String eTag = mockMvc.perform(get("/v1/polls/" + POLL_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/v1/polls/" + POLL_ID).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("returns 404 when poll is missing")
     void returns404WhenPollMissing() throws Exception {
@@ -1,6 +1,7 @@
 package io.github.bodote.woodle.adapter.in.web;
 
 import io.github.bodote.woodle.application.port.in.CleanupExpiredPollsUseCase;
+import io.github.bodote.woodle.application.port.in.MigratePollsUseCase;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,9 @@ class PollCleanupControllerDisabledTest {
     @MockitoBean
     private CleanupExpiredPollsUseCase cleanupExpiredPollsUseCase;
 
+    @MockitoBean
+    private MigratePollsUseCase migratePollsUseCase;
+
     @Test
     @DisplayName("is disabled and rejects every request")
     void isDisabledWhenTokenBlank() throws Exception {
@@ -1,6 +1,9 @@
 package io.github.bodote.woodle.adapter.in.web;
 
 import io.github.bodote.woodle.application.port.in.CleanupExpiredPollsUseCase;
+import io.github.bodote.woodle.application.port.in.CleanupRunResult;
+import io.github.bodote.woodle.application.port.in.MigratePollsUseCase;
+import io.github.bodote.woodle.application.port.in.MigrationRunResult;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,20 +29,54 @@ class PollCleanupControllerTest {
     @MockitoBean
     private CleanupExpiredPollsUseCase cleanupExpiredPollsUseCase;
 
+    @MockitoBean
+    private MigratePollsUseCase migratePollsUseCase;
+
     @Test
-    @DisplayName("runs cleanup and returns deleted count for a valid request")
+    @DisplayName("runs cleanup and returns the run progress for a valid request")
     void runsCleanupForValidRequest() throws Exception {
-        when(cleanupExpiredPollsUseCase.cleanupExpiredPolls()).thenReturn(3);
+        when(cleanupExpiredPollsUseCase.cleanupExpiredPolls()).thenReturn(new CleanupRunResult(4, 3, false));
 
         mockMvc.perform(post("/events")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"task\":\"cleanup-expired-polls\",\"token\":\"secret-token\"}"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.deleted").value(3));
+                .andExpect(jsonPath("$.found").value(4))
+                .andExpect(jsonPath("$.deleted").value(3))
+                .andExpect(jsonPath("$.finished").value(false));
 
         verify(cleanupExpiredPollsUseCase).cleanupExpiredPolls();
     }
 
+    @Test
+    @DisplayName("runs the schema migration and returns its counters for the migration task")
+    void runsMigrationForMigrationTask() throws Exception {
+        when(migratePollsUseCase.migratePolls()).thenReturn(new MigrationRunResult(5, 7, 1, true));
+
+        mockMvc.perform(post("/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"task\":\"migrate-poll-schema\",\"token\":\"secret-token\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.migrated").value(5))
+                .andExpect(jsonPath("$.skipped").value(7))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.finished").value(true));
+
+        verify(migratePollsUseCase).migratePolls();
+        verify(cleanupExpiredPollsUseCase, never()).cleanupExpiredPolls();
+    }
+
+    @Test
+    @DisplayName("rejects a migration request with the wrong token")
+    void rejectsMigrationWithWrongToken() throws Exception {
+        mockMvc.perform(post("/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"task\":\"migrate-poll-schema\",\"token\":\"wrong\"}"))
+                .andExpect(status().isForbidden());
+
+        verify(migratePollsUseCase, never()).migratePolls();
+    }
+
     @Test
     @DisplayName("rejects a request with the wrong token")
     void rejectsWrongToken() throws Exception {
@@ -0,0 +1,83 @@
+package io.github.bodote.woodle.adapter.in.web;
+
+import io.github.bodote.woodle.application.port.in.ReadPollUseCase;
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.testfixtures.TestFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.thymeleaf.ITemplateEngine;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PollLiveUpdateController.class)
+@DisplayName("/poll/{id}/updates")
+class PollLiveUpdateControllerTest {
+
+    private static final UUID POLL_ID = UUID.fromString("00000000-0000-0000-0000-000000000710");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PollLiveUpdates pollLiveUpdates;
+
+    @MockitoBean
+    private ReadPollUseCase readPollUseCase;
+
+    @Test
+    @DisplayName("streams changes of the poll as server-sent events")
+    void streamsChangesOfThePollAsServerSentEvents() throws Exception {
+        when(readPollUseCase.exists(POLL_ID)).thenReturn(true);
+        UUID responseId = UUID.randomUUID();
+        Poll poll = TestFixtures.poll(POLL_ID, List.of(),
+                List.of(TestFixtures.response(responseId, "Bob", List.of())));
+        when(readPollUseCase.getPublic(POLL_ID)).thenReturn(poll);
+
+        MvcResult result = mockMvc.perform(get("/poll/" + POLL_ID + "/updates").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pollLiveUpdates.responseChanged(POLL_ID, responseId);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = "";
+        while (!body.contains("Bob") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        assertTrue(body.startsWith("event:update\ndata:"), body);
+        assertTrue(body.contains("id=\"row-" + responseId + "\""), body);
+    }
+
+    @Test
+    @DisplayName("returns not found for a missing poll")
+    void returnsNotFoundForAMissingPoll() throws Exception {
+        when(readPollUseCase.exists(POLL_ID)).thenReturn(false);
+
+        mockMvc.perform(get("/poll/" + POLL_ID + "/updates"))
+                .andExpect(status().isNotFound());
+    }
+
+    @TestConfiguration
+    static class LiveUpdatesConfig {
+
+        @Bean
+        PollLiveUpdates pollLiveUpdates(ITemplateEngine templateEngine, ReadPollUseCase readPollUseCase) {
+            return new PollLiveUpdates(templateEngine, readPollUseCase, new PollViewModelAssembler(0), 4, 60_000);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package io.github.bodote.woodle.adapter.in.web;
+
+import io.github.bodote.woodle.application.port.in.ReadPollUseCase;
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollOption;
+import io.github.bodote.woodle.domain.model.PollVote;
+import io.github.bodote.woodle.domain.model.PollVoteValue;
+import io.github.bodote.woodle.testfixtures.TestFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PollLiveUpdates")
+class PollLiveUpdatesTest {
+
+    private static final UUID POLL_ID = UUID.fromString("00000000-0000-0000-0000-000000000700");
+    private static final UUID OPTION_ID = UUID.fromString("00000000-0000-0000-0000-000000000701");
+    private static final UUID RESPONSE_ID = UUID.fromString("00000000-0000-0000-0000-000000000702");
+
+    @Test
+    @DisplayName("sends the changed participant row and the summary row to every subscriber of the poll")
+    void sendsTheChangedRowAndTheSummaryToEverySubscriber() throws Exception {
+        RecordingEmitter first = new RecordingEmitter(null);
+        RecordingEmitter second = new RecordingEmitter(null);
+        RecordingEmitter otherPoll = new RecordingEmitter(null);
+        List<RecordingEmitter> emitters = new ArrayList<>(List.of(first, second, otherPoll));
+        PollLiveUpdates liveUpdates = new PollLiveUpdates(templateEngine(), reading(pollWithAlice()),
+                new PollViewModelAssembler(0), 4, emitters::removeFirst, Runnable::run);
+        liveUpdates.subscribe(POLL_ID);
+        liveUpdates.subscribe(POLL_ID);
+        liveUpdates.subscribe(UUID.randomUUID());
+
+        liveUpdates.responseChanged(POLL_ID, RESPONSE_ID);
+
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            String payload = emitter.sent.poll(5, TimeUnit.SECONDS);
+            assertTrue(payload.contains("id=\"row-" + RESPONSE_ID + "\""), payload);
+            assertTrue(payload.contains("Alice"), payload);
+            assertTrue(payload.contains("/poll/" + POLL_ID + "/responses/" + RESPONSE_ID + "/edit"), payload);
+            assertTrue(payload.contains("id=\"summary-row\""), payload);
+            assertTrue(payload.contains("hx-swap-oob=\"true\""), payload);
+            assertTrue(payload.matches("event:update\ndata:[^\n]+\n\n"), payload);
+        }
+        assertNull(otherPoll.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("sends a delete for a response that is no longer part of the poll")
+    void sendsADeleteForARemovedResponse() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        PollLiveUpdates liveUpdates = new PollLiveUpdates(templateEngine(),
+                reading(pollWithAlice().removeResponse(RESPONSE_ID)), new PollViewModelAssembler(0), 4, () -> emitter,
+                Runnable::run);
+        liveUpdates.subscribe(POLL_ID);
+
+        liveUpdates.responseChanged(POLL_ID, RESPONSE_ID);
+
+        String payload = emitter.sent.poll(5, TimeUnit.SECONDS);
+        assertTrue(payload.contains("id=\"row-" + RESPONSE_ID + "\" hx-swap-oob=\"delete\""), payload);
+        assertTrue(payload.contains("id=\"summary-row\""), payload);
+    }
+
+    @Test
+    @DisplayName("drops a subscriber whose send queue is full and completes its stream")
+    void dropsASubscriberWhoseQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        PollLiveUpdates liveUpdates = new PollLiveUpdates(templateEngine(), reading(pollWithAlice()),
+                new PollViewModelAssembler(0), 1, () -> slow, Runnable::run);
+        liveUpdates.subscribe(POLL_ID);
+
+        for (int i = 0; i < 3; i++) {
+            liveUpdates.responseChanged(POLL_ID, RESPONSE_ID);
+        }
+
+        assertEquals(0, liveUpdates.subscriberCount(POLL_ID));
+        release.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(slow.sent.size() <= 1);
+    }
+
+    @Test
+    @DisplayName("forgets a subscriber once its stream completed")
+    void forgetsASubscriberOnceItsStreamCompleted() {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        PollLiveUpdates liveUpdates = new PollLiveUpdates(templateEngine(), reading(pollWithAlice()),
+                new PollViewModelAssembler(0), 4, () -> emitter, Runnable::run);
+        liveUpdates.subscribe(POLL_ID);
+        assertEquals(1, liveUpdates.subscriberCount(POLL_ID));
+
+        emitter.completionCallback.run();
+
+        assertEquals(0, liveUpdates.subscriberCount(POLL_ID));
+    }
+
+    @Test
+    @DisplayName("reads the committed poll only when it has subscribers and skips the update when it is gone")
+    void readsTheCommittedPollOnlyWhenItHasSubscribers() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        ReadPollUseCase readPollUseCase = mock(ReadPollUseCase.class);
+        when(readPollUseCase.getPublic(POLL_ID)).thenThrow(new IllegalArgumentException("Poll not found"));
+        PollLiveUpdates liveUpdates = new PollLiveUpdates(templateEngine(), readPollUseCase,
+                new PollViewModelAssembler(0), 4, () -> emitter, Runnable::run);
+
+        liveUpdates.responseChanged(POLL_ID, RESPONSE_ID);
+        verify(readPollUseCase, never()).getPublic(POLL_ID);
+
+        liveUpdates.subscribe(POLL_ID);
+        liveUpdates.responseChanged(POLL_ID, RESPONSE_ID);
+
+        verify(readPollUseCase).getPublic(POLL_ID);
+        assertNull(emitter.sent.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, liveUpdates.subscriberCount(POLL_ID));
+    }
+
+    @Test
+    @DisplayName("hands reading and rendering to the publisher executor so the vote request returns at once")
+    void handsReadingAndRenderingToThePublisherExecutor() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        ReadPollUseCase readPollUseCase = reading(pollWithAlice());
+        List<Runnable> pending = new ArrayList<>();
+        PollLiveUpdates liveUpdates = new PollLiveUpdates(templateEngine(), readPollUseCase,
+                new PollViewModelAssembler(0), 4, () -> emitter, pending::add);
+        liveUpdates.subscribe(POLL_ID);
+
+        liveUpdates.responseChanged(POLL_ID, RESPONSE_ID);
+
+        verify(readPollUseCase, never()).getPublic(POLL_ID);
+        assertEquals(1, pending.size());
+        pending.getFirst().run();
+        verify(readPollUseCase).getPublic(POLL_ID);
+        String payload = emitter.sent.poll(5, TimeUnit.SECONDS);
+        assertTrue(payload.contains("id=\"row-" + RESPONSE_ID + "\""), payload);
+    }
+
+    private static ReadPollUseCase reading(Poll poll) {
+        ReadPollUseCase readPollUseCase = mock(ReadPollUseCase.class);
+        when(readPollUseCase.getPublic(poll.pollId())).thenReturn(poll);
+        return readPollUseCase;
+    }
+
+    private static Poll pollWithAlice() {
+        PollOption option = TestFixtures.option(OPTION_ID, LocalDate.of(2026, 2, 10));
+        return TestFixtures.poll(POLL_ID, List.of(option), List.of(
+                TestFixtures.response(RESPONSE_ID, "Alice", List.of(new PollVote(OPTION_ID, PollVoteValue.YES)))));
+    }
+
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private Runnable completionCallback = () -> {
+        };
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            sent.add(builder.build().stream()
+                    .map(data -> data.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallback = callback;
+        }
+    }
+}
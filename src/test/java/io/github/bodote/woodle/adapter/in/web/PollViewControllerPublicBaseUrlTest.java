@@ -16,10 +16,12 @@ import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(value = PollViewController.class, properties = "woodle.public-base-url=https://woodle.click")
+@Import(PollViewModelAssembler.class)
 @DisplayName("/poll/{id} with configured public base url")
 class PollViewControllerPublicBaseUrlTest {
 
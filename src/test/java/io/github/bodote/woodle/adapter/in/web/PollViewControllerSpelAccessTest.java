@@ -19,7 +19,7 @@ class PollViewControllerSpelAccessTest {
     @DisplayName("exposes DateGroup as public type for template property introspection")
     void exposesDateGroupAsPublicTypeForTemplatePropertyIntrospection() throws Exception {
         Class<?> dateGroupClass = Class.forName(
-                "io.github.bodote.woodle.adapter.in.web.PollViewController$DateGroup"
+                "io.github.bodote.woodle.adapter.in.web.PollViewModel$DateGroup"
         );
         assertTrue(
                 Modifier.isPublic(dateGroupClass.getModifiers()),
@@ -31,7 +31,7 @@ class PollViewControllerSpelAccessTest {
     @DisplayName("resolves DateGroup span via SpEL property access")
     void resolvesDateGroupSpanViaSpelPropertyAccess() throws Exception {
         Class<?> dateGroupClass = Class.forName(
-                "io.github.bodote.woodle.adapter.in.web.PollViewController$DateGroup"
+                "io.github.bodote.woodle.adapter.in.web.PollViewModel$DateGroup"
         );
         Constructor<?> constructor = dateGroupClass.getDeclaredConstructor(String.class, int.class, int.class, boolean.class);
         constructor.setAccessible(true);
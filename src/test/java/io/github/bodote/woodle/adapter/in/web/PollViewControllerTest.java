@@ -13,7 +13,9 @@ import io.github.bodote.woodle.domain.model.PollVoteValue;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.ui.ExtendedModelMap;
@@ -25,6 +27,9 @@ import java.util.UUID;
 
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -36,7 +41,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@WebMvcTest(PollViewController.class)
+@WebMvcTest(controllers = PollViewController.class, properties = "woodle.poll.content-wait-millis=600")
+@Import(PollViewModelAssembler.class)
 @DisplayName("/poll/{id}")
 class PollViewControllerTest {
 
@@ -80,21 +86,19 @@ class PollViewControllerTest {
     @DisplayName("returns ready when dynamic participant poll is available")
     void returnsReadyWhenDynamicParticipantPollIsAvailable() throws Exception {
         UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000052");
-        Poll poll = TestFixtures.poll(pollId, List.of(), List.of());
-        when(readPollUseCase.getPublic(pollId)).thenReturn(poll);
+        when(readPollUseCase.exists(pollId)).thenReturn(true);
 
         mockMvc.perform(get("/poll/dynamic/" + pollId + "/ready"))
                 .andExpect(status().isOk())
                 .andExpect(content().string("ready"));
+        verify(readPollUseCase, never()).getPublic(pollId);
     }
 
     @Test
     @DisplayName("returns not found when dynamic participant poll is unavailable")
     void returnsNotFoundWhenDynamicParticipantPollIsUnavailable() throws Exception {
         UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000055");
-        doThrow(new IllegalArgumentException("Poll not found"))
-                .when(readPollUseCase)
-                .getPublic(pollId);
+        when(readPollUseCase.exists(pollId)).thenReturn(false);
 
         mockMvc.perform(get("/poll/dynamic/" + pollId + "/ready"))
                 .andExpect(status().isNotFound());
@@ -105,19 +109,12 @@ class PollViewControllerTest {
     void returnsReadyWhenDynamicAdminPollIsAvailable() throws Exception {
         UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000056");
         String adminSecret = "ReadyAdmin001";
-        Poll poll = TestFixtures.poll(
-                pollId,
-                adminSecret,
-                EventType.ALL_DAY,
-                null,
-                List.of(TestFixtures.option(UUID.randomUUID(), LocalDate.of(2026, 2, 10))),
-                List.of()
-        );
-        when(readPollUseCase.getAdmin(pollId, adminSecret)).thenReturn(poll);
+        when(readPollUseCase.existsForAdmin(pollId, adminSecret)).thenReturn(true);
 
         mockMvc.perform(get("/poll/dynamic/" + pollId + "-" + adminSecret + "/ready"))
                 .andExpect(status().isOk())
                 .andExpect(content().string("ready"));
+        verify(readPollUseCase, never()).getAdmin(pollId, adminSecret);
     }
 
     @Test
@@ -125,9 +122,7 @@ class PollViewControllerTest {
     void returnsNotFoundWhenDynamicAdminPollIsUnavailable() throws Exception {
         UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000057");
         String adminSecret = "ReadyAdmin002";
-        doThrow(new IllegalArgumentException("Poll not found"))
-                .when(readPollUseCase)
-                .getAdmin(pollId, adminSecret);
+        when(readPollUseCase.existsForAdmin(pollId, adminSecret)).thenReturn(false);
 
         mockMvc.perform(get("/poll/dynamic/" + pollId + "-" + adminSecret + "/ready"))
                 .andExpect(status().isNotFound());
@@ -141,9 +136,9 @@ class PollViewControllerTest {
         mockMvc.perform(get("/poll/static/" + pollId))
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString("Bitte noch ein bischen Geduld, wir laden gerade die Umfrage")))
-                .andExpect(content().string(containsString("hx-trigger=\"load, every 1.5s\"")))
-                .andExpect(content().string(containsString("/poll/dynamic/" + pollId + "/ready")))
-                .andExpect(content().string(containsString("/poll/dynamic/" + pollId + "/fragment")));
+                .andExpect(content().string(containsString("hx-trigger=\"load, retry\"")))
+                .andExpect(content().string(containsString("hx-get=\"/poll/dynamic/" + pollId + "/content\"")))
+                .andExpect(content().string(not(containsString("/ready"))));
     }
 
     @Test
@@ -174,25 +169,152 @@ class PollViewControllerTest {
     }
 
     @Test
-    @DisplayName("renders static admin loader with email failed query on fragment path")
-    void rendersStaticAdminLoaderWithEmailFailedQueryOnFragmentPath() throws Exception {
+    @DisplayName("answers a fragment request with the poll's ETag with not modified")
+    void answersFragmentRequestWithMatchingETagWithNotModified() throws Exception {
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000055");
+        Poll poll = TestFixtures.poll(
+                pollId,
+                List.of(TestFixtures.option(UUID.randomUUID(), LocalDate.of(2026, 2, 10))),
+                List.of()
+        );
+        when(readPollUseCase.getPublic(pollId)).thenReturn(poll);
+
+        String eTag = mockMvc.perform(get("/poll/dynamic/" + pollId + "/fragment"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/poll/dynamic/" + pollId + "/fragment").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("renders the fragment again once the poll changed")
+    void rendersFragmentAgainOncePollChanged() throws Exception {
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000056");
+        Poll poll = TestFixtures.poll(pollId, List.of(), List.of());
+        when(readPollUseCase.getPublic(pollId)).thenReturn(poll);
+        String eTag = mockMvc.perform(get("/poll/dynamic/" + pollId + "/fragment"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        when(readPollUseCase.getPublic(pollId)).thenReturn(poll.withUpdatedAt(poll.updatedAt().plusSeconds(1))
+                .withVersion(poll.version() + 1));
+
+        mockMvc.perform(get("/poll/dynamic/" + pollId + "/fragment").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(content().string(containsString("Team Meeting")));
+    }
+
+    @Test
+    @DisplayName("admin ETag depends on the origin used in share links")
+    void adminETagDependsOnOrigin() throws Exception {
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000057");
+        String adminSecret = "Abc123XyZ789";
+        Poll poll = TestFixtures.poll(pollId, List.of(), List.of());
+        when(readPollUseCase.getAdmin(pollId, adminSecret)).thenReturn(poll);
+        String eTag = mockMvc.perform(get("/poll/dynamic/" + pollId + "-" + adminSecret))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/poll/dynamic/" + pollId + "-" + adminSecret)
+                        .header("If-None-Match", eTag)
+                        .with(request -> {
+                            request.setServerName("woodle.example.org");
+                            return request;
+                        }))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("woodle.example.org/poll/static/" + pollId)));
+    }
+
+    @Test
+    @DisplayName("content endpoint renders the poll fragment in one request")
+    void contentEndpointRendersThePollFragmentInOneRequest() throws Exception {
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000061");
+        Poll poll = TestFixtures.poll(
+                pollId,
+                List.of(TestFixtures.option(UUID.randomUUID(), LocalDate.of(2026, 2, 10))),
+                List.of()
+        );
+        when(readPollUseCase.getPublic(pollId)).thenReturn(poll);
+
+        mockMvc.perform(get("/poll/dynamic/" + pollId + "/content"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id=\"poll-content\"")))
+                .andExpect(content().string(containsString("Team Meeting")));
+        verify(readPollUseCase, never()).exists(pollId);
+    }
+
+    @Test
+    @DisplayName("content endpoint waits for a poll that becomes visible")
+    void contentEndpointWaitsForAPollThatBecomesVisible() throws Exception {
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000062");
+        Poll poll = TestFixtures.poll(pollId, List.of(), List.of());
+        when(readPollUseCase.getPublic(pollId))
+                .thenThrow(new IllegalArgumentException("Poll not found"))
+                .thenReturn(poll);
+        when(readPollUseCase.exists(pollId)).thenReturn(false, true);
+
+        mockMvc.perform(get("/poll/dynamic/" + pollId + "/content"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Team Meeting")));
+    }
+
+    @Test
+    @DisplayName("content endpoint returns not found once the wait is over")
+    void contentEndpointReturnsNotFoundOnceTheWaitIsOver() throws Exception {
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000063");
+        doThrow(new IllegalArgumentException("Poll not found"))
+                .when(readPollUseCase)
+                .getPublic(pollId);
+
+        mockMvc.perform(get("/poll/dynamic/" + pollId + "/content"))
+                .andExpect(status().isNotFound());
+        verify(readPollUseCase, times(1)).getPublic(pollId);
+    }
+
+    @Test
+    @DisplayName("admin content endpoint does not wait when the poll exists but the secret is wrong")
+    void adminContentEndpointDoesNotWaitForAWrongSecret() throws Exception {
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000064");
+        String adminSecret = "WrongSecret1";
+        doThrow(new IllegalArgumentException("Invalid admin secret"))
+                .when(readPollUseCase)
+                .getAdmin(pollId, adminSecret);
+        when(readPollUseCase.exists(pollId)).thenReturn(true);
+
+        mockMvc.perform(get("/poll/dynamic/" + pollId + "-" + adminSecret + "/content"))
+                .andExpect(status().isNotFound());
+        verify(readPollUseCase, times(1)).exists(pollId);
+    }
+
+    @Test
+    @DisplayName("renders static admin loader with email failed query on content path")
+    void rendersStaticAdminLoaderWithEmailFailedQueryOnContentPath() throws Exception {
         UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000058");
         String adminSecret = "AdminLoad001";
 
         mockMvc.perform(get("/poll/static/" + pollId + "-" + adminSecret + "?emailFailed=true"))
                 .andExpect(status().isOk())
-                .andExpect(content().string(containsString("/poll/dynamic/" + pollId + "-" + adminSecret + "/fragment?emailFailed=true")));
+                .andExpect(content().string(containsString("/poll/dynamic/" + pollId + "-" + adminSecret + "/content?emailFailed=true")));
     }
 
     @Test
-    @DisplayName("renders static admin loader with email disabled query on fragment path")
-    void rendersStaticAdminLoaderWithEmailDisabledQueryOnFragmentPath() throws Exception {
+    @DisplayName("renders static admin loader with email disabled query on content path")
+    void rendersStaticAdminLoaderWithEmailDisabledQueryOnContentPath() throws Exception {
         UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000059");
         String adminSecret = "AdminLoad002";
 
         mockMvc.perform(get("/poll/static/" + pollId + "-" + adminSecret + "?emailDisabled=true"))
                 .andExpect(status().isOk())
-                .andExpect(content().string(containsString("/poll/dynamic/" + pollId + "-" + adminSecret + "/fragment?emailDisabled=true")));
+                .andExpect(content().string(containsString("/poll/dynamic/" + pollId + "-" + adminSecret + "/content?emailDisabled=true")));
     }
 
     @Test
@@ -810,14 +932,15 @@ class PollViewControllerTest {
         );
         when(readPollUseCase.getAdmin(pollId, adminSecret)).thenReturn(poll);
 
-        PollViewController controller = new PollViewController(readPollUseCase, null);
+        PollViewController controller = new PollViewController(readPollUseCase, new PollViewModelAssembler(0), null, 0, false);
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.setScheme("https");
         request.setServerName("null-base.woodle.click");
         request.setServerPort(443);
         ExtendedModelMap model = new ExtendedModelMap();
 
-        String view = controller.viewPollAdmin(pollId, adminSecret, false, false, model, request);
+        String view = controller.viewPollAdmin(pollId, adminSecret, false, false, model, request,
+                new ServletWebRequest(request));
 
         assertEquals("poll/view", view);
         assertEquals("https://null-base.woodle.click/poll/static/" + pollId, model.getAttribute("participantShareUrl"));
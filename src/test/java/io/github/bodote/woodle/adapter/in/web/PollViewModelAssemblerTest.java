@@ -0,0 +1,153 @@
+package io.github.bodote.woodle.adapter.in.web;
+
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollOption;
+import io.github.bodote.woodle.domain.model.PollResponse;
+import io.github.bodote.woodle.domain.model.PollVote;
+import io.github.bodote.woodle.domain.model.PollVoteValue;
+import io.github.bodote.woodle.testfixtures.TestFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("PollViewModelAssembler")
+class PollViewModelAssemblerTest {
+
+    private static final UUID POLL_ID = UUID.fromString("00000000-0000-0000-0000-000000000800");
+    private static final UUID MORNING = UUID.fromString("00000000-0000-0000-0000-000000000801");
+    private static final UUID EVENING = UUID.fromString("00000000-0000-0000-0000-000000000802");
+    private static final UUID NEXT_MONTH = UUID.fromString("00000000-0000-0000-0000-000000000803");
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-000000000811");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-000000000812");
+
+    @Test
+    @DisplayName("sorts options and builds headers, groups, rows and the summary")
+    void sortsOptionsAndBuildsHeadersGroupsRowsAndTheSummary() {
+        PollViewModel view = new PollViewModelAssembler(1_000).assemble(poll(List.of(
+                TestFixtures.response(ALICE, "Alice", List.of(
+                        new PollVote(MORNING, PollVoteValue.YES),
+                        new PollVote(NEXT_MONTH, PollVoteValue.IF_NEEDED))),
+                TestFixtures.response(BOB, "Bob", List.of(
+                        new PollVote(MORNING, PollVoteValue.YES),
+                        new PollVote(EVENING, PollVoteValue.NO))))));
+
+        assertEquals(List.of(MORNING, EVENING, NEXT_MONTH), view.options().stream().map(PollOption::optionId).toList());
+        assertEquals(List.of("09:00", "18:00", "Mo., 02.03."),
+                view.optionHeaders().stream().map(PollViewModel.OptionHeader::label).toList());
+        assertEquals(List.of(false, true, false),
+                view.optionHeaders().stream().map(PollViewModel.OptionHeader::dayBoundary).toList());
+        assertEquals(List.of(new PollViewModel.MonthGroup("Februar 2026", 0, 2),
+                new PollViewModel.MonthGroup("März 2026", 2, 1)), view.monthGroups());
+        assertEquals(List.of(new PollViewModel.DateGroup("Di., 10.02.", 0, 2, true),
+                new PollViewModel.DateGroup("Mo., 02.03.", 2, 1, false)), view.dateGroups());
+
+        PollViewModel.ParticipantRow alice = view.row(ALICE).orElseThrow();
+        assertEquals("Alice", alice.name());
+        assertEquals(List.of("✓", "", "(✓)"), alice.cells().stream().map(PollViewModel.VoteCell::symbol).toList());
+        assertNull(alice.cells().get(1).value());
+        assertEquals("votes-table__marker--no", view.row(BOB).orElseThrow().cells().get(1).markerClass());
+
+        assertEquals(List.of(2, 0, 0), view.summaryCells().stream().map(PollViewModel.SummaryCell::count).toList());
+        assertEquals(List.of(true, false, false),
+                view.summaryCells().stream().map(PollViewModel.SummaryCell::best).toList());
+        assertFalse(view.row(UUID.randomUUID()).isPresent());
+    }
+
+    @Test
+    @DisplayName("reuses the model while the poll is unchanged and rebuilds it after a change")
+    void reusesTheModelWhileThePollIsUnchangedAndRebuildsItAfterAChange() {
+        PollViewModelAssembler assembler = new PollViewModelAssembler(1_000);
+        Poll poll = poll(List.of(TestFixtures.response(ALICE, "Alice", List.of(new PollVote(MORNING, PollVoteValue.YES)))));
+
+        PollViewModel first = assembler.assemble(poll);
+        PollViewModel again = assembler.assemble(poll(poll.responses()));
+        PollViewModel changed = assembler.assemble(poll(List.of(
+                TestFixtures.response(ALICE, "Alice", List.of(new PollVote(MORNING, PollVoteValue.NO)))
+                        .withRevision(2)))
+                .withVersion(2));
+
+        assertSame(first, again);
+        assertNotSame(first, changed);
+        assertEquals("✗", changed.row(ALICE).orElseThrow().cells().get(0).symbol());
+        assertEquals(new PollViewModelAssembler.Stats(1, 2, 1, 6), assembler.stats());
+    }
+
+    @Test
+    @DisplayName("keeps the rows of responses with an unchanged revision and updates the summary when one moves on")
+    void keepsTheRowsOfUnchangedResponsesAndUpdatesTheSummaryWhenAResponseChanges() {
+        PollViewModelAssembler assembler = new PollViewModelAssembler(1_000);
+        List<PollVote> morning = List.of(new PollVote(MORNING, PollVoteValue.YES));
+        Poll poll = poll(List.of(TestFixtures.response(ALICE, "Alice", morning).withRevision(1),
+                TestFixtures.response(BOB, "Bob", List.of(new PollVote(EVENING, PollVoteValue.YES))).withRevision(1)));
+
+        PollViewModel before = assembler.assemble(poll);
+        // a reload decodes fresh response instances; the unchanged one is recognised by its revision
+        PollViewModel after = assembler.assemble(poll(List.of(
+                TestFixtures.response(ALICE, "Alice", morning).withRevision(1),
+                TestFixtures.response(BOB, "Bob", morning).withRevision(2)))
+                .withVersion(2));
+
+        assertSame(before.row(ALICE).orElseThrow(), after.row(ALICE).orElseThrow());
+        assertSame(before.optionHeaders(), after.optionHeaders());
+        assertEquals(List.of(2, 0, 0), after.summaryCells().stream().map(PollViewModel.SummaryCell::count).toList());
+        assertEquals(List.of(true, false, false),
+                after.summaryCells().stream().map(PollViewModel.SummaryCell::best).toList());
+    }
+
+    @Test
+    @DisplayName("evicts the least recently used models beyond the cell budget and skips models above it")
+    void evictsTheLeastRecentlyUsedModelsBeyondTheCellBudget() {
+        PollViewModelAssembler assembler = new PollViewModelAssembler(7);
+        Poll first = TestFixtures.poll(UUID.randomUUID(), options(), List.of());
+        Poll second = TestFixtures.poll(UUID.randomUUID(), options(), List.of());
+        Poll third = TestFixtures.poll(UUID.randomUUID(), options(), List.of());
+        Poll tooLarge = poll(List.of(TestFixtures.response(ALICE, "Alice", List.of()),
+                TestFixtures.response(BOB, "Bob", List.of())));
+
+        PollViewModel kept = assembler.assemble(first);
+        assembler.assemble(second);
+        assembler.assemble(first);
+        assembler.assemble(third);
+        assembler.assemble(tooLarge);
+
+        assertEquals(new PollViewModelAssembler.Stats(1, 4, 2, 6), assembler.stats());
+        assertSame(kept, assembler.assemble(first));
+        assembler.assemble(second);
+        assertEquals(new PollViewModelAssembler.Stats(2, 5, 2, 6), assembler.stats());
+    }
+
+    @Test
+    @DisplayName("reuses the model of a poll that was never stored only for the same instance")
+    void reusesTheModelOfAPollThatWasNeverStoredOnlyForTheSameInstance() {
+        PollViewModelAssembler assembler = new PollViewModelAssembler(1_000);
+        Poll draft = TestFixtures.poll(POLL_ID, options(), List.of());
+
+        PollViewModel first = assembler.assemble(draft);
+        PollViewModel same = assembler.assemble(draft);
+        PollViewModel copy = assembler.assemble(TestFixtures.poll(POLL_ID, options(), List.of()));
+
+        assertSame(first, same);
+        assertNotSame(first, copy);
+    }
+
+    private static Poll poll(List<PollResponse> responses) {
+        return TestFixtures.poll(POLL_ID, options(), responses).withVersion(1);
+    }
+
+    private static List<PollOption> options() {
+        return List.of(
+                TestFixtures.option(NEXT_MONTH, LocalDate.of(2026, 3, 2)),
+                TestFixtures.option(EVENING, LocalDate.of(2026, 2, 10), LocalTime.of(18, 0), LocalTime.of(19, 0)),
+                TestFixtures.option(MORNING, LocalDate.of(2026, 2, 10), LocalTime.of(9, 0), LocalTime.of(10, 0)));
+    }
+}
@@ -3,6 +3,7 @@ package io.github.bodote.woodle.adapter.in.web;
 import io.github.bodote.woodle.testfixtures.TestFixtures;
 
 import io.github.bodote.woodle.adapter.in.web.PollVoteController;
+import io.github.bodote.woodle.application.port.in.IdempotencyKeyReusedException;
 import io.github.bodote.woodle.application.port.in.ReadPollUseCase;
 import io.github.bodote.woodle.application.port.in.SubmitVoteUseCase;
 import io.github.bodote.woodle.application.port.in.command.SubmitVoteCommand;
@@ -15,6 +16,7 @@ import io.github.bodote.woodle.domain.model.PollVoteValue;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -40,6 +42,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 
 @WebMvcTest(PollVoteController.class)
+@Import(PollViewModelAssembler.class)
 @DisplayName("/poll/{id}/vote")
 class PollVoteControllerTest {
 
@@ -66,6 +69,46 @@ class PollVoteControllerTest {
         verify(submitVoteUseCase).submit(any(SubmitVoteCommand.class));
     }
 
+    @Test
+    @DisplayName("passes the idempotency key from the header or the form field to the command")
+    void passesIdempotencyKeyToCommand() throws Exception {
+        mockMvc.perform(post("/poll/" + POLL_ID + "/vote")
+                        .header("Idempotency-Key", "header-key-0001")
+                        .param("participantName", "Alice"))
+                .andExpect(status().is3xxRedirection());
+        mockMvc.perform(post("/poll/" + POLL_ID + "/vote")
+                        .param("participantName", "Bob")
+                        .param("idempotencyKey", "form-key-0001"))
+                .andExpect(status().is3xxRedirection());
+
+        ArgumentCaptor<SubmitVoteCommand> captor = ArgumentCaptor.forClass(SubmitVoteCommand.class);
+        verify(submitVoteUseCase, org.mockito.Mockito.times(2)).submit(captor.capture());
+        assertEquals("header-key-0001", captor.getAllValues().get(0).idempotencyKey());
+        assertEquals("form-key-0001", captor.getAllValues().get(1).idempotencyKey());
+    }
+
+    @Test
+    @DisplayName("answers 422 when the idempotency key was used for a different vote")
+    void answersUnprocessableContentForReusedIdempotencyKey() throws Exception {
+        doThrow(new IdempotencyKeyReusedException()).when(submitVoteUseCase).submit(any(SubmitVoteCommand.class));
+
+        mockMvc.perform(post("/poll/" + POLL_ID + "/vote")
+                        .header("Idempotency-Key", "header-key-0001")
+                        .param("participantName", "Alice"))
+                .andExpect(status().is(422));
+    }
+
+    @Test
+    @DisplayName("rejects a malformed idempotency key")
+    void rejectsMalformedIdempotencyKey() throws Exception {
+        mockMvc.perform(post("/poll/" + POLL_ID + "/vote")
+                        .header("Idempotency-Key", "no spaces/allowed")
+                        .param("participantName", "Alice"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(submitVoteUseCase);
+    }
+
     @Test
     @DisplayName("accepts vote_new parameters from participant table")
     void acceptsVoteNewParametersFromParticipantTable() throws Exception {
@@ -0,0 +1,106 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("BinaryPollCodec")
+class BinaryPollCodecTest {
+
+    private static final UUID OPTION_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID UNKNOWN_OPTION_ID = UUID.fromString("00000000-0000-0000-0000-000000000009");
+
+    private final BinaryPollCodec codec = new BinaryPollCodec();
+
+    @Test
+    @DisplayName("decodes exactly what it encoded, including nulls, offsets and votes for unknown options")
+    void roundTripsAllFields() {
+        PollDAO poll = samplePoll();
+
+        byte[] encoded = codec.encode(poll);
+
+        assertTrue(codec.canDecode(encoded));
+        assertEquals(poll, codec.decode(encoded));
+    }
+
+    @Test
+    @DisplayName("round-trips a legacy document without schema version, nested records or revision")
+    void roundTripsSparseDocument() {
+        PollDAO poll = new PollDAO(UUID.fromString("00000000-0000-0000-0000-000000000001"), null, "date", "Legacy",
+                null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+        assertEquals(poll, codec.decode(codec.encode(poll)));
+    }
+
+    @Test
+    @DisplayName("is considerably smaller than the json of the same poll")
+    void isSmallerThanJson() {
+        PollDAO poll = samplePoll();
+
+        int binarySize = codec.encode(poll).length;
+        int jsonSize = new JsonPollCodec(new ObjectMapper()).encode(poll).length;
+
+        assertTrue(binarySize * 2 < jsonSize, binarySize + " vs " + jsonSize);
+    }
+
+    @Test
+    @DisplayName("does not claim json documents and rejects truncated or trailing input")
+    void rejectsForeignAndCorruptInput() {
+        byte[] json = new JsonPollCodec(new ObjectMapper()).encode(samplePoll());
+        byte[] encoded = codec.encode(samplePoll());
+
+        assertFalse(codec.canDecode(json));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(json));
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode(Arrays.copyOf(encoded, encoded.length - 3)));
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+    }
+
+    @Test
+    @DisplayName("is selected by the codec property")
+    void isSelectedByProperty() {
+        assertInstanceOf(BinaryPollCodec.class, PollCodec.fromProperty("binary", new ObjectMapper()));
+        assertInstanceOf(JsonPollCodec.class, PollCodec.fromProperty("", new ObjectMapper()));
+        assertThrows(IllegalArgumentException.class, () -> PollCodec.fromProperty("smile", new ObjectMapper()));
+    }
+
+    private static PollDAO samplePoll() {
+        OffsetDateTime createdAt = OffsetDateTime.of(2026, 2, 10, 10, 0, 0, 123_000_000, ZoneOffset.ofHours(1));
+        List<PollDAO.Vote> votes = List.of(
+                new PollDAO.Vote(OPTION_ID, "YES"),
+                new PollDAO.Vote(UNKNOWN_OPTION_ID, "NO"),
+                new PollDAO.Vote(null, null));
+        List<PollDAO.Response> responses = List.of(
+                new PollDAO.Response(UUID.fromString("00000000-0000-0000-0000-000000000003"), "Bob",
+                        createdAt.plusHours(1), votes, "works for me – 👍"),
+                new PollDAO.Response(UUID.fromString("00000000-0000-0000-0000-000000000004"), "Carol",
+                        createdAt.plusHours(2), List.of(new PollDAO.Vote(OPTION_ID, "YES")), null, null, 6L));
+        return new PollDAO(UUID.fromString("00000000-0000-0000-0000-000000000001"), "2", "date", "Team Sync",
+                "<p>Weekly planning</p>", "de", createdAt, createdAt.plusDays(1),
+                new PollDAO.Author("Alice", "alice@invalid"),
+                new PollDAO.Access(null, null, true, "AdminSecret12"),
+                new PollDAO.Permissions("ALL_CAN_EDIT"),
+                new PollDAO.Notifications(false, true),
+                new PollDAO.ResultsVisibility(false),
+                "OPEN", LocalDate.of(2026, 3, 11),
+                new PollDAO.Options("INTRADAY", 30, List.of(
+                        new PollDAO.OptionItem(OPTION_ID, LocalDate.of(2026, 2, 11), "09:00", "09:30"),
+                        new PollDAO.OptionItem(UUID.fromString("00000000-0000-0000-0000-000000000005"),
+                                LocalDate.of(1969, 12, 31), null, null))),
+                responses, 7L);
+    }
+}
@@ -0,0 +1,275 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.port.out.PollMetadata;
+import io.github.bodote.woodle.domain.model.EventType;
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollOption;
+import io.github.bodote.woodle.domain.model.PollResponse;
+import io.github.bodote.woodle.domain.model.PollVote;
+import io.github.bodote.woodle.domain.model.PollVoteValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CachingPollRepository")
+class CachingPollRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-21T10:00:00Z");
+    private static final Duration TTL = Duration.ofSeconds(2);
+    private static final UUID POLL_ID = UUID.fromString("00000000-0000-0000-0000-000000000401");
+
+    @Test
+    @DisplayName("serves repeated reads within the TTL from memory")
+    void servesRepeatedReadsWithinTheTtlFromMemory() {
+        ConditionalPollRepository delegate = mock(ConditionalPollRepository.class);
+        Poll poll = poll(POLL_ID, "Title");
+        when(delegate.read(POLL_ID, null)).thenReturn(StoredPollRead.found(poll, "\"etag-1\""));
+        MutableClock clock = new MutableClock(NOW);
+        CachingPollRepository repository = new CachingPollRepository(delegate, clock, TTL, 10_000);
+
+        repository.findById(POLL_ID);
+        clock.advance(Duration.ofMillis(500));
+        Optional<Poll> result = repository.findById(POLL_ID);
+
+        assertSame(poll, result.orElseThrow());
+        verify(delegate, times(1)).read(POLL_ID, null);
+        assertEquals(new CachingPollRepository.Stats(1, 1, 0, 0, 1, CachingPollRepository.estimatedHeapBytes(poll)),
+                repository.stats());
+    }
+
+    @Test
+    @DisplayName("revalidates with the stored ETag after the TTL and keeps the entry on 304")
+    void revalidatesWithTheStoredEtagAfterTheTtlAndKeepsTheEntryOnNotModified() {
+        ConditionalPollRepository delegate = mock(ConditionalPollRepository.class);
+        Poll poll = poll(POLL_ID, "Title");
+        when(delegate.read(POLL_ID, null)).thenReturn(StoredPollRead.found(poll, "\"etag-1\""));
+        when(delegate.read(POLL_ID, "\"etag-1\"")).thenReturn(StoredPollRead.notModified());
+        MutableClock clock = new MutableClock(NOW);
+        CachingPollRepository repository = new CachingPollRepository(delegate, clock, TTL, 10_000);
+
+        repository.findById(POLL_ID);
+        clock.advance(Duration.ofSeconds(3));
+        Optional<Poll> revalidated = repository.findById(POLL_ID);
+        clock.advance(Duration.ofSeconds(1));
+        repository.findById(POLL_ID);
+
+        assertSame(poll, revalidated.orElseThrow());
+        verify(delegate, times(1)).read(POLL_ID, "\"etag-1\"");
+        assertEquals(new CachingPollRepository.Stats(1, 1, 1, 1, 1, CachingPollRepository.estimatedHeapBytes(poll)),
+                repository.stats());
+    }
+
+    @Test
+    @DisplayName("replaces the entry when revalidation finds a changed poll")
+    void replacesTheEntryWhenRevalidationFindsAChangedPoll() {
+        ConditionalPollRepository delegate = mock(ConditionalPollRepository.class);
+        Poll changed = poll(POLL_ID, "Changed");
+        when(delegate.read(POLL_ID, null)).thenReturn(StoredPollRead.found(poll(POLL_ID, "Title"), "\"etag-1\""));
+        when(delegate.read(POLL_ID, "\"etag-1\"")).thenReturn(StoredPollRead.found(changed, "\"etag-2\""));
+        MutableClock clock = new MutableClock(NOW);
+        CachingPollRepository repository = new CachingPollRepository(delegate, clock, TTL, 10_000);
+
+        repository.findById(POLL_ID);
+        clock.advance(Duration.ofSeconds(3));
+
+        assertSame(changed, repository.findById(POLL_ID).orElseThrow());
+        assertEquals(CachingPollRepository.estimatedHeapBytes(changed), repository.stats().heapBytes());
+    }
+
+    @Test
+    @DisplayName("drops the entry when the poll was deleted elsewhere")
+    void dropsTheEntryWhenThePollWasDeletedElsewhere() {
+        ConditionalPollRepository delegate = mock(ConditionalPollRepository.class);
+        when(delegate.read(POLL_ID, null)).thenReturn(StoredPollRead.found(poll(POLL_ID, "Title"), "\"etag-1\""));
+        when(delegate.read(POLL_ID, "\"etag-1\"")).thenReturn(StoredPollRead.notFound());
+        MutableClock clock = new MutableClock(NOW);
+        CachingPollRepository repository = new CachingPollRepository(delegate, clock, TTL, 10_000);
+
+        repository.findById(POLL_ID);
+        clock.advance(Duration.ofSeconds(3));
+
+        assertEquals(Optional.empty(), repository.findById(POLL_ID));
+        assertEquals(0, repository.stats().entries());
+    }
+
+    @Test
+    @DisplayName("answers metadata from a fresh entry and from the delegate's HEAD otherwise")
+    void answersMetadataFromAFreshEntryAndFromTheDelegateOtherwise() {
+        ConditionalPollRepository delegate = mock(ConditionalPollRepository.class);
+        Poll poll = poll(POLL_ID, "Title");
+        PollMetadata headMetadata = new PollMetadata(POLL_ID, "hash-from-head");
+        when(delegate.read(POLL_ID, null)).thenReturn(StoredPollRead.found(poll, "\"etag-1\""));
+        when(delegate.findMetadata(POLL_ID)).thenReturn(Optional.of(headMetadata));
+        MutableClock clock = new MutableClock(NOW);
+        CachingPollRepository repository = new CachingPollRepository(delegate, clock, TTL, 10_000);
+
+        repository.findById(POLL_ID);
+        Optional<PollMetadata> cached = repository.findMetadata(POLL_ID);
+        clock.advance(TTL);
+        Optional<PollMetadata> expired = repository.findMetadata(POLL_ID);
+
+        assertEquals(PollMetadata.of(poll), cached.orElseThrow());
+        assertSame(headMetadata, expired.orElseThrow());
+        verify(delegate, times(1)).findMetadata(POLL_ID);
+    }
+
+    @Test
+    @DisplayName("evicts the cached poll when it is saved through the repository")
+    void evictsTheCachedPollWhenItIsSaved() {
+        ConditionalPollRepository delegate = mock(ConditionalPollRepository.class);
+        Poll poll = poll(POLL_ID, "Title");
+        when(delegate.read(POLL_ID, null)).thenReturn(StoredPollRead.found(poll, "\"etag-1\""));
+        CachingPollRepository repository = new CachingPollRepository(delegate, new MutableClock(NOW), TTL, 10_000);
+
+        repository.findById(POLL_ID);
+        repository.save(poll);
+        repository.findById(POLL_ID);
+
+        verify(delegate).save(poll);
+        verify(delegate, times(2)).read(POLL_ID, null);
+    }
+
+    @Test
+    @DisplayName("updates through the stored poll and evicts the cached one")
+    void updatesThroughTheStoredPollAndEvictsTheCachedOne() {
+        ConditionalPollRepository delegate = mock(ConditionalPollRepository.class);
+        Poll poll = poll(POLL_ID, "Title");
+        java.util.function.UnaryOperator<Poll> change = stored -> stored.withOptions(List.of());
+        when(delegate.read(POLL_ID, null)).thenReturn(StoredPollRead.found(poll, "\"etag-1\""));
+        when(delegate.update(POLL_ID, change)).thenReturn(poll);
+        CachingPollRepository repository = new CachingPollRepository(delegate, new MutableClock(NOW), TTL, 10_000);
+
+        repository.findById(POLL_ID);
+        repository.update(POLL_ID, change);
+        repository.findById(POLL_ID);
+
+        verify(delegate).update(POLL_ID, change);
+        verify(delegate, times(2)).read(POLL_ID, null);
+    }
+
+    @Test
+    @DisplayName("evicts the least recently used polls once the heap budget is exceeded")
+    void evictsTheLeastRecentlyUsedPollsOnceTheHeapBudgetIsExceeded() {
+        ConditionalPollRepository delegate = mock(ConditionalPollRepository.class);
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000411");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000412");
+        UUID third = UUID.fromString("00000000-0000-0000-0000-000000000413");
+        when(delegate.read(first, null)).thenReturn(StoredPollRead.found(poll(first, "1"), "\"a\""));
+        when(delegate.read(second, null)).thenReturn(StoredPollRead.found(poll(second, "2"), "\"b\""));
+        when(delegate.read(third, null)).thenReturn(StoredPollRead.found(poll(third, "3"), "\"c\""));
+        long pollHeapBytes = CachingPollRepository.estimatedHeapBytes(poll(first, "1"));
+        CachingPollRepository repository = new CachingPollRepository(delegate, new MutableClock(NOW), TTL,
+                2 * pollHeapBytes + pollHeapBytes / 2);
+
+        repository.findById(first);
+        repository.findById(second);
+        repository.findById(first);
+        repository.findById(third);
+        repository.findById(first);
+        repository.findById(second);
+
+        verify(delegate, times(1)).read(first, null);
+        verify(delegate, times(2)).read(second, null);
+        assertEquals(2 * pollHeapBytes, repository.stats().heapBytes());
+    }
+
+    @Test
+    @DisplayName("does not cache a poll that is larger than the whole heap budget")
+    void doesNotCacheAPollLargerThanTheWholeHeapBudget() {
+        ConditionalPollRepository delegate = mock(ConditionalPollRepository.class);
+        when(delegate.read(POLL_ID, null))
+                .thenReturn(StoredPollRead.found(poll(POLL_ID, "Huge".repeat(200)), "\"etag-1\""));
+        CachingPollRepository repository = new CachingPollRepository(delegate, new MutableClock(NOW), TTL, 1_000);
+
+        repository.findById(POLL_ID);
+        repository.findById(POLL_ID);
+
+        verify(delegate, times(2)).read(POLL_ID, null);
+        assertEquals(0, repository.stats().entries());
+    }
+
+    @Test
+    @DisplayName("does not cache a poll read while a write through the repository evicted it")
+    void doesNotCacheAPollReadWhileAWriteEvictedIt() {
+        ConditionalPollRepository delegate = mock(ConditionalPollRepository.class);
+        Poll stale = poll(POLL_ID, "Stale");
+        AtomicReference<CachingPollRepository> repository = new AtomicReference<>();
+        when(delegate.read(POLL_ID, null)).thenAnswer(invocation -> {
+            // another request saves the poll while this read is still in flight
+            repository.get().save(stale);
+            return StoredPollRead.found(stale, "\"etag-1\"");
+        });
+        repository.set(new CachingPollRepository(delegate, new MutableClock(NOW), TTL, 10_000));
+
+        assertSame(stale, repository.get().findById(POLL_ID).orElseThrow());
+
+        assertEquals(0, repository.get().stats().entries());
+    }
+
+    @Test
+    @DisplayName("estimates more heap for polls with more options and responses")
+    void estimatesMoreHeapForPollsWithMoreOptionsAndResponses() {
+        Poll empty = poll(POLL_ID, "Title");
+        UUID optionId = UUID.fromString("00000000-0000-0000-0000-000000000421");
+        Poll withOption = empty.withOptions(List.of(new PollOption(optionId, LocalDate.of(2026, 3, 1), null, null)));
+        Poll withResponse = withOption.addResponse(new PollResponse(UUID.randomUUID(), "Bob",
+                empty.createdAt(), List.of(new PollVote(optionId, PollVoteValue.YES)), "See you"));
+
+        assertTrue(CachingPollRepository.estimatedHeapBytes(empty)
+                < CachingPollRepository.estimatedHeapBytes(withOption));
+        assertTrue(CachingPollRepository.estimatedHeapBytes(withOption)
+                < CachingPollRepository.estimatedHeapBytes(withResponse));
+    }
+
+    private static Poll poll(UUID pollId, String title) {
+        OffsetDateTime now = OffsetDateTime.parse("2026-02-01T10:00:00Z");
+        return new Poll(pollId, "AdminSecret12", title, "Desc", "Max", "max@invalid",
+                EventType.ALL_DAY, null, List.of(), List.of(), now, now, LocalDate.of(2026, 3, 1), false);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.port.out.PollResponseChange;
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollResponse;
+import io.github.bodote.woodle.testfixtures.TestFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("CoalescingPollRepository")
+class CoalescingPollRepositoryTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(200);
+
+    @Test
+    @DisplayName("stores concurrent votes on a poll with one flush and returns once they are stored")
+    void storesConcurrentVotesWithOneFlush() throws Exception {
+        RecordingRepository delegate = new RecordingRepository();
+        Poll poll = TestFixtures.poll(UUID.randomUUID(), List.of(), List.of());
+        delegate.save(poll);
+        CoalescingPollRepository repository = new CoalescingPollRepository(delegate, WINDOW);
+        int voters = 20;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> stored = new ArrayList<>();
+            for (int i = 0; i < voters; i++) {
+                PollResponse response = TestFixtures.response(UUID.randomUUID(), "Voter " + i, List.of());
+                stored.add(executor.submit(() -> {
+                    start.await();
+                    repository.saveResponse(poll.pollId(), response);
+                    return delegate.findById(poll.pollId()).orElseThrow().findResponse(response.responseId())
+                            .isPresent() ? 1 : 0;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> vote : stored) {
+                assertEquals(1, vote.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(voters, delegate.findById(poll.pollId()).orElseThrow().responses().size());
+        assertEquals(1, delegate.batches.size());
+        assertEquals(new CoalescingPollRepository.Stats(voters, 1), repository.stats());
+    }
+
+    @Test
+    @DisplayName("applies the changes of a batch in arrival order")
+    void appliesTheChangesOfABatchInArrivalOrder() {
+        RecordingRepository delegate = new RecordingRepository();
+        Poll poll = TestFixtures.poll(UUID.randomUUID(), List.of(), List.of());
+        delegate.save(poll);
+        CoalescingPollRepository repository = new CoalescingPollRepository(delegate, WINDOW);
+        PollResponse first = TestFixtures.response(UUID.randomUUID(), "Alice", List.of());
+        PollResponse renamed = TestFixtures.response(first.responseId(), "Alicia", List.of());
+
+        repository.applyResponseChanges(poll.pollId(), List.of(PollResponseChange.saved(first),
+                PollResponseChange.saved(renamed), PollResponseChange.deleted(first.responseId()),
+                PollResponseChange.saved(renamed)));
+
+        // the in-memory delegate stores the four changes one by one, the last as version 5
+        assertEquals(List.of(renamed.withRevision(5)), delegate.findById(poll.pollId()).orElseThrow().responses());
+        assertEquals(1, delegate.batches.size());
+    }
+
+    @Test
+    @DisplayName("flushes open batches on shutdown and writes later changes without a batch")
+    void flushesOpenBatchesOnShutdown() throws Exception {
+        RecordingRepository delegate = new RecordingRepository();
+        Poll poll = TestFixtures.poll(UUID.randomUUID(), List.of(), List.of());
+        delegate.save(poll);
+        CoalescingPollRepository repository = new CoalescingPollRepository(delegate, Duration.ofHours(1));
+        PollResponse pending = TestFixtures.response(UUID.randomUUID(), "Alice", List.of());
+        PollResponse late = TestFixtures.response(UUID.randomUUID(), "Bob", List.of());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> vote = executor.submit(() -> repository.saveResponse(poll.pollId(), pending));
+            while (repository.stats().changes() == 0) {
+                Thread.onSpinWait();
+            }
+            repository.destroy();
+            vote.get(5, TimeUnit.SECONDS);
+        }
+        repository.saveResponse(poll.pollId(), late);
+
+        assertEquals(List.of(pending.withRevision(2), late.withRevision(3)),
+                delegate.findById(poll.pollId()).orElseThrow().responses());
+        assertEquals(2, delegate.batches.size());
+    }
+
+    @Test
+    @DisplayName("passes a failed flush on to its callers")
+    void passesAFailedFlushOnToItsCallers() {
+        RecordingRepository delegate = new RecordingRepository();
+        CoalescingPollRepository repository = new CoalescingPollRepository(delegate, WINDOW);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                repository.saveResponse(UUID.randomUUID(), TestFixtures.response(UUID.randomUUID(), "Bob", List.of())));
+
+        assertEquals("Poll not found", exception.getMessage());
+        assertEquals(new CoalescingPollRepository.Stats(1, 1), repository.stats());
+    }
+
+    private static final class RecordingRepository extends InMemoryPollRepository {
+
+        private final List<List<PollResponseChange>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void applyResponseChanges(UUID pollId, List<PollResponseChange> changes) {
+            batches.add(changes);
+            super.applyResponseChanges(pollId, changes);
+        }
+    }
+}
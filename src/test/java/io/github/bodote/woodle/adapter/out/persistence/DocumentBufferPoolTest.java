@@ -0,0 +1,48 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.sync.RequestBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("DocumentBufferPool")
+class DocumentBufferPoolTest {
+
+    @Test
+    @DisplayName("request body exposes exactly the written bytes and released buffers are reused empty")
+    void releasedBuffersAreReused() throws IOException {
+        DocumentBufferPool pool = new DocumentBufferPool(2, 1024 * 1024);
+        DocumentBufferPool.Buffer buffer = pool.acquire();
+        buffer.write("{\"title\":\"Team Sync\"}".getBytes(StandardCharsets.UTF_8));
+
+        RequestBody body = buffer.toRequestBody("application/json");
+
+        assertArrayEquals("{\"title\":\"Team Sync\"}".getBytes(StandardCharsets.UTF_8),
+                body.contentStreamProvider().newStream().readAllBytes());
+        assertEquals(21L, body.optionalContentLength().orElseThrow());
+        assertEquals("application/json", body.contentType());
+        pool.release(buffer);
+        DocumentBufferPool.Buffer reused = pool.acquire();
+        assertSame(buffer, reused);
+        assertEquals(0, reused.size());
+    }
+
+    @Test
+    @DisplayName("buffers that grew beyond the retention limit are not pooled")
+    void oversizedBuffersAreDropped() {
+        DocumentBufferPool pool = new DocumentBufferPool(2, 16 * 1024);
+        DocumentBufferPool.Buffer buffer = pool.acquire();
+        buffer.write(new byte[64 * 1024], 0, 64 * 1024);
+
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.acquire());
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.model.IdempotentOutcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("InMemoryIdempotencyKeyRepository")
+class InMemoryIdempotencyKeyRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-21T10:00:00Z");
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final UUID POLL_ID = UUID.fromString("00000000-0000-0000-0000-000000000501");
+
+    @Test
+    @DisplayName("keeps the first outcome recorded for a key")
+    void keepsTheFirstOutcomeRecordedForAKey() {
+        InMemoryIdempotencyKeyRepository repository =
+                new InMemoryIdempotencyKeyRepository(new MutableClock(NOW), TTL, 10);
+        IdempotentOutcome first = IdempotentOutcome.voted(POLL_ID, UUID.randomUUID());
+
+        repository.save("key", first);
+        repository.save("key", IdempotentOutcome.voted(POLL_ID, UUID.randomUUID()));
+
+        assertEquals(Optional.of(first), repository.find("key"));
+    }
+
+    @Test
+    @DisplayName("forgets keys once the TTL has passed")
+    void forgetsKeysOnceTheTtlHasPassed() {
+        MutableClock clock = new MutableClock(NOW);
+        InMemoryIdempotencyKeyRepository repository = new InMemoryIdempotencyKeyRepository(clock, TTL, 10);
+        repository.save("key", IdempotentOutcome.voted(POLL_ID, UUID.randomUUID()));
+
+        clock.advance(TTL);
+
+        assertTrue(repository.find("key").isEmpty());
+        IdempotentOutcome again = IdempotentOutcome.voted(POLL_ID, UUID.randomUUID());
+        repository.save("key", again);
+        assertEquals(Optional.of(again), repository.find("key"));
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    @DisplayName("drops the oldest keys beyond maxEntries")
+    void dropsTheOldestKeysBeyondMaxEntries() {
+        InMemoryIdempotencyKeyRepository repository =
+                new InMemoryIdempotencyKeyRepository(new MutableClock(NOW), TTL, 2);
+
+        repository.save("first", IdempotentOutcome.voted(POLL_ID, UUID.randomUUID()));
+        repository.save("second", IdempotentOutcome.voted(POLL_ID, UUID.randomUUID()));
+        repository.save("third", IdempotentOutcome.voted(POLL_ID, UUID.randomUUID()));
+
+        assertEquals(2, repository.size());
+        assertTrue(repository.find("first").isEmpty());
+        assertTrue(repository.find("third").isPresent());
+    }
+
+    @Test
+    @DisplayName("rejects a capacity below one")
+    void rejectsACapacityBelowOne() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new InMemoryIdempotencyKeyRepository(new MutableClock(NOW), TTL, 0));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,17 +1,28 @@
 package io.github.bodote.woodle.adapter.out.persistence;
 
+import io.github.bodote.woodle.application.port.out.PollUpdateConflictException;
 import io.github.bodote.woodle.domain.model.EventType;
 import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollOption;
+import io.github.bodote.woodle.domain.model.PollResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("InMemoryPollRepository")
@@ -50,10 +61,135 @@ class InMemoryPollRepositoryTest {
         assertFalse(repository.findById(pollId).isPresent());
     }
 
+    @Test
+    @DisplayName("deleteAllById removes every given poll and reports no failures")
+    void deleteAllByIdRemovesEveryGivenPoll() {
+        InMemoryPollRepository repository = new InMemoryPollRepository();
+        UUID first = id(1);
+        UUID second = id(2);
+        UUID kept = id(3);
+        repository.save(poll(first, TODAY.minusDays(1)));
+        repository.save(poll(second, TODAY.minusDays(1)));
+        repository.save(poll(kept, TODAY.plusDays(1)));
+
+        Map<UUID, String> failures = repository.deleteAllById(List.of(first, second));
+
+        assertTrue(failures.isEmpty());
+        assertFalse(repository.findById(first).isPresent());
+        assertFalse(repository.findById(second).isPresent());
+        assertTrue(repository.findById(kept).isPresent());
+    }
+
+    @Test
+    @DisplayName("save rejects a poll that was read before the stored revision")
+    void saveRejectsAStalePoll() {
+        InMemoryPollRepository repository = new InMemoryPollRepository();
+        UUID pollId = id(1);
+        repository.save(poll(pollId, TODAY));
+        Poll first = repository.findById(pollId).orElseThrow();
+        Poll second = repository.findById(pollId).orElseThrow();
+        repository.save(first);
+
+        assertThrows(PollUpdateConflictException.class, () -> repository.save(second));
+        assertEquals(2, repository.findById(pollId).orElseThrow().version());
+    }
+
+    @Test
+    @DisplayName("saveResponse makes a poll read before the vote conflict instead of dropping the response")
+    void saveResponseMakesAStalePollSaveConflict() {
+        InMemoryPollRepository repository = new InMemoryPollRepository();
+        UUID pollId = id(1);
+        repository.save(poll(pollId, TODAY));
+        Poll readBeforeVote = repository.findById(pollId).orElseThrow();
+        PollResponse response = new PollResponse(id(2), "Bob", OffsetDateTime.parse("2026-02-02T10:00:00Z"),
+                List.of(), null);
+
+        repository.saveResponse(pollId, response);
+
+        assertThrows(PollUpdateConflictException.class, () -> repository.save(readBeforeVote.withOptions(List.of())));
+        assertEquals(List.of(response.withRevision(2)), repository.findById(pollId).orElseThrow().responses());
+    }
+
+    @Test
+    @DisplayName("update applies the change to the stored poll and moves the version on")
+    void updateAppliesTheChangeAndMovesTheVersionOn() {
+        InMemoryPollRepository repository = new InMemoryPollRepository();
+        UUID pollId = id(1);
+        repository.save(poll(pollId, TODAY));
+        Poll readBeforeUpdate = repository.findById(pollId).orElseThrow();
+
+        Poll updated = repository.update(pollId, stored -> stored.withOptions(List.of(option(1))));
+
+        assertEquals(updated, repository.findById(pollId).orElseThrow());
+        assertEquals(List.of(option(1)), updated.options());
+        assertThrows(PollUpdateConflictException.class, () -> repository.save(readBeforeUpdate));
+    }
+
+    @Test
+    @DisplayName("update rejects an unknown poll")
+    void updateRejectsAnUnknownPoll() {
+        InMemoryPollRepository repository = new InMemoryPollRepository();
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> repository.update(id(1), stored -> stored));
+        assertEquals("Poll not found", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("loses no vote and no option while many participants and admins write the same poll in parallel")
+    void losesNoWriteUnderParallelVotingAndAdminChanges() throws Exception {
+        InMemoryPollRepository repository = new InMemoryPollRepository();
+        UUID pollId = id(1);
+        repository.save(poll(pollId, TODAY));
+        int voters = 16;
+        int votesPerVoter = 200;
+        int options = 50;
+        OffsetDateTime votedAt = OffsetDateTime.parse("2026-02-02T10:00:00Z");
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(voters + 1)) {
+            for (int voter = 0; voter < voters; voter++) {
+                int first = voter * votesPerVoter;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int vote = first; vote < first + votesPerVoter; vote++) {
+                        repository.saveResponse(pollId, new PollResponse(new UUID(1, vote), "Voter " + vote,
+                                votedAt, List.of(), null));
+                    }
+                    return null;
+                }));
+            }
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int day = 1; day <= options; day++) {
+                    PollOption option = option(day);
+                    repository.update(pollId, stored -> stored.withOptions(
+                            java.util.stream.Stream.concat(stored.options().stream(), java.util.stream.Stream.of(option))
+                                    .toList()));
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        Poll stored = repository.findById(pollId).orElseThrow();
+        assertEquals(voters * votesPerVoter, stored.responses().size());
+        assertEquals(options, stored.options().size());
+        assertEquals(1 + voters * votesPerVoter + options, stored.version());
+    }
+
     private static UUID id(int last) {
         return UUID.fromString("00000000-0000-0000-0000-00000000000" + last);
     }
 
+    private static PollOption option(int day) {
+        return new PollOption(new UUID(0, day), LocalDate.of(2026, 3, 1).plusDays(day), null, null);
+    }
+
     private static Poll poll(UUID pollId, LocalDate expiresAt) {
         OffsetDateTime now = OffsetDateTime.parse("2026-02-01T10:00:00Z");
         return new Poll(pollId, "AdminSecret12", "Title", "Desc", "Max", "max@invalid",
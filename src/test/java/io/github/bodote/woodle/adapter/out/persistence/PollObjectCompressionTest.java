@@ -0,0 +1,80 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("PollObjectCompression")
+class PollObjectCompressionTest {
+
+    private static final byte[] JSON = "{\"title\":\"Team Sync\",\"responses\":[]}".repeat(20)
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("gzip output decodes back to the original json and is smaller for repetitive documents")
+    void gzipRoundTrip() throws IOException {
+        byte[] encoded = encode(PollObjectCompression.GZIP, JSON);
+
+        assertTrue(encoded.length < JSON.length);
+        assertArrayEquals(JSON, PollObjectCompression.decoding(new ByteArrayInputStream(encoded)).readAllBytes());
+        assertEquals("gzip", PollObjectCompression.GZIP.contentEncoding());
+    }
+
+    @Test
+    @DisplayName("plain json is stored and decoded unchanged")
+    void plainJsonPassesThrough() throws IOException {
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+
+        assertSame(stored, PollObjectCompression.NONE.encoding(stored));
+        assertArrayEquals(JSON, PollObjectCompression.decoding(new ByteArrayInputStream(JSON)).readAllBytes());
+        assertNull(PollObjectCompression.NONE.contentEncoding());
+    }
+
+    @Test
+    @DisplayName("streaming encode and decode round-trip and leave the decoded header peekable")
+    void streamingRoundTrip() throws IOException {
+        for (PollObjectCompression compression : PollObjectCompression.values()) {
+            ByteArrayOutputStream stored = new ByteArrayOutputStream();
+            try (OutputStream out = compression.encoding(stored)) {
+                out.write(JSON);
+            }
+
+            InputStream decoded = PollObjectCompression.decoding(new ByteArrayInputStream(stored.toByteArray()));
+
+            assertArrayEquals("{\"title\"".getBytes(StandardCharsets.UTF_8), PollObjectCompression.peek(decoded, 8));
+            assertArrayEquals(JSON, decoded.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("parses the configuration property case-insensitively and rejects unknown codecs")
+    void parsesProperty() {
+        assertEquals(PollObjectCompression.GZIP, PollObjectCompression.fromProperty(" Gzip "));
+        assertEquals(PollObjectCompression.NONE, PollObjectCompression.fromProperty(""));
+        assertEquals(PollObjectCompression.NONE, PollObjectCompression.fromProperty("none"));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> PollObjectCompression.fromProperty("zstd"));
+        assertEquals("Unsupported poll compression: zstd", exception.getMessage());
+    }
+
+    private static byte[] encode(PollObjectCompression compression, byte[] document) throws IOException {
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        try (OutputStream out = compression.encoding(stored)) {
+            out.write(document);
+        }
+        return stored.toByteArray();
+    }
+}
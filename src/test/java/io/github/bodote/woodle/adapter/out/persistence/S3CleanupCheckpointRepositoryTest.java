@@ -0,0 +1,96 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.model.CleanupCheckpoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import tools.jackson.databind.ObjectMapper;
+
+@DisplayName("S3CleanupCheckpointRepository")
+class S3CleanupCheckpointRepositoryTest {
+
+    @Test
+    @DisplayName("saves the checkpoint as json and loads it back")
+    void savesTheCheckpointAsJsonAndLoadsItBack() throws Exception {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3CleanupCheckpointRepository repository = new S3CleanupCheckpointRepository(s3Client, new ObjectMapper(), "woodle");
+        CleanupCheckpoint checkpoint = new CleanupCheckpoint(LocalDate.of(2026, 6, 21), "token-1", 12, 11, false);
+
+        repository.save(checkpoint);
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(requestCaptor.capture(), bodyCaptor.capture());
+        assertEquals("meta/cleanup-checkpoint.json", requestCaptor.getValue().key());
+        byte[] json = bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes();
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(json))
+        ));
+
+        assertEquals(Optional.of(checkpoint), repository.load());
+    }
+
+    @Test
+    @DisplayName("returns empty when no checkpoint was stored yet")
+    void returnsEmptyWhenNoCheckpointWasStoredYet() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("missing").build());
+        S3CleanupCheckpointRepository repository = new S3CleanupCheckpointRepository(s3Client, new ObjectMapper(), "woodle");
+
+        assertEquals(Optional.empty(), repository.load());
+    }
+
+    @Test
+    @DisplayName("loads a finished checkpoint without page token")
+    void loadsAFinishedCheckpointWithoutPageToken() {
+        S3Client s3Client = mock(S3Client.class);
+        String json = "{\"asOf\":\"2026-06-21\",\"found\":3,\"deleted\":3,\"finished\":true}";
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+        ));
+        S3CleanupCheckpointRepository repository = new S3CleanupCheckpointRepository(s3Client, new ObjectMapper(), "woodle");
+
+        assertEquals(Optional.of(new CleanupCheckpoint(LocalDate.of(2026, 6, 21), null, 3, 3, true)), repository.load());
+    }
+
+    @Test
+    @DisplayName("wraps sdk failures while storing the checkpoint")
+    void wrapsSdkFailuresWhileStoringTheCheckpoint() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenThrow(SdkClientException.create("network down"));
+        S3CleanupCheckpointRepository repository = new S3CleanupCheckpointRepository(s3Client, new ObjectMapper(), "woodle");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> repository.save(CleanupCheckpoint.start(LocalDate.of(2026, 6, 21))));
+
+        assertEquals("Failed to store cleanup checkpoint in S3", exception.getMessage());
+    }
+}
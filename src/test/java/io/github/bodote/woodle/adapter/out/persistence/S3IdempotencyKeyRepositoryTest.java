@@ -0,0 +1,140 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.model.IdempotentOutcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("S3IdempotencyKeyRepository")
+class S3IdempotencyKeyRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-21T10:00:00Z");
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final UUID POLL_ID = UUID.fromString("00000000-0000-0000-0000-000000000601");
+    private static final UUID RESPONSE_ID = UUID.fromString("00000000-0000-0000-0000-000000000602");
+
+    @Test
+    @DisplayName("writes the outcome under the hashed key only if no outcome exists yet")
+    void writesTheOutcomeUnderTheHashedKeyOnlyIfNoOutcomeExistsYet() {
+        S3Client s3Client = mock(S3Client.class);
+        S3IdempotencyKeyRepository repository = repository(s3Client, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        repository.save("vote/key-0001", IdempotentOutcome.voted(POLL_ID, RESPONSE_ID));
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(requestCaptor.capture(), any(RequestBody.class));
+        assertEquals("woodle", requestCaptor.getValue().bucket());
+        assertEquals(S3IdempotencyKeyRepository.objectKey("vote/key-0001"), requestCaptor.getValue().key());
+        assertTrue(requestCaptor.getValue().key().matches("idempotency/[0-9a-f]{64}\\.json"));
+        assertEquals("*", requestCaptor.getValue().ifNoneMatch());
+    }
+
+    @Test
+    @DisplayName("treats an outcome recorded first by another instance as success")
+    void treatsAnOutcomeRecordedFirstByAnotherInstanceAsSuccess() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().statusCode(412).message("precondition failed").build());
+        S3IdempotencyKeyRepository repository = repository(s3Client, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertDoesNotThrow(() -> repository.save("vote/key-0001", IdempotentOutcome.voted(POLL_ID, RESPONSE_ID)));
+    }
+
+    @Test
+    @DisplayName("answers keys saved by this instance without reading S3")
+    void answersKeysSavedByThisInstanceWithoutReadingS3() {
+        S3Client s3Client = mock(S3Client.class);
+        S3IdempotencyKeyRepository repository = repository(s3Client, Clock.fixed(NOW, ZoneOffset.UTC));
+        IdempotentOutcome outcome = IdempotentOutcome.voted(POLL_ID, RESPONSE_ID);
+
+        repository.save("vote/key-0001", outcome);
+
+        assertEquals(Optional.of(outcome), repository.find("vote/key-0001"));
+        verify(s3Client, never()).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("reads outcomes recorded by other instances and ignores expired ones")
+    void readsOutcomesRecordedByOtherInstancesAndIgnoresExpiredOnes() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenReturn(stream(document("2026-06-21T09:00:00Z")))
+                .thenReturn(stream(document("2026-06-20T09:00:00Z")));
+        S3IdempotencyKeyRepository repository = repository(s3Client, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertEquals(Optional.of(IdempotentOutcome.voted(POLL_ID, RESPONSE_ID)), repository.find("vote/recent"));
+        assertTrue(repository.find("vote/expired").isEmpty());
+    }
+
+    @Test
+    @DisplayName("reads the request hash recorded with an outcome")
+    void readsTheRequestHashRecordedWithAnOutcome() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(stream("""
+                {"pollId":"%s","responseId":"%s","notificationQueued":false,"notificationDisabled":false,
+                 "requestHash":"abc123","recordedAt":"2026-06-21T09:00:00Z"}
+                """.formatted(POLL_ID, RESPONSE_ID)));
+        S3IdempotencyKeyRepository repository = repository(s3Client, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertEquals(Optional.of(IdempotentOutcome.voted(POLL_ID, RESPONSE_ID).withRequestHash("abc123")),
+                repository.find("vote/hashed"));
+    }
+
+    @Test
+    @DisplayName("returns empty for an unknown key")
+    void returnsEmptyForAnUnknownKey() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("missing").build());
+        S3IdempotencyKeyRepository repository = repository(s3Client, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertTrue(repository.find("vote/unknown").isEmpty());
+    }
+
+    private static S3IdempotencyKeyRepository repository(S3Client s3Client, Clock clock) {
+        return new S3IdempotencyKeyRepository(s3Client, new ObjectMapper(), "woodle", clock, TTL,
+                new InMemoryIdempotencyKeyRepository(clock, TTL, 100));
+    }
+
+    private static String document(String recordedAt) {
+        return """
+                {"pollId":"%s","responseId":"%s","notificationQueued":false,"notificationDisabled":false,
+                 "recordedAt":"%s"}
+                """.formatted(POLL_ID, RESPONSE_ID, recordedAt);
+    }
+
+    private static ResponseInputStream<GetObjectResponse> stream(String json) {
+        return new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+}
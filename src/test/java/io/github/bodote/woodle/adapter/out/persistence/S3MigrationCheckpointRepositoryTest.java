@@ -0,0 +1,80 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import io.github.bodote.woodle.application.model.MigrationCheckpoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import tools.jackson.databind.ObjectMapper;
+
+@DisplayName("S3MigrationCheckpointRepository")
+class S3MigrationCheckpointRepositoryTest {
+
+    @Test
+    @DisplayName("saves the checkpoint as json and loads it back")
+    void savesTheCheckpointAsJsonAndLoadsItBack() throws Exception {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3MigrationCheckpointRepository repository = new S3MigrationCheckpointRepository(s3Client, new ObjectMapper(), "woodle");
+        MigrationCheckpoint checkpoint = new MigrationCheckpoint("2", "token-1", 12, 3, 1, false);
+
+        repository.save(checkpoint);
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(requestCaptor.capture(), bodyCaptor.capture());
+        assertEquals("meta/migration-checkpoint.json", requestCaptor.getValue().key());
+        byte[] json = bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes();
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(json))
+        ));
+
+        assertEquals(Optional.of(checkpoint), repository.load());
+    }
+
+    @Test
+    @DisplayName("returns empty when no checkpoint was stored yet")
+    void returnsEmptyWhenNoCheckpointWasStoredYet() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("missing").build());
+        S3MigrationCheckpointRepository repository = new S3MigrationCheckpointRepository(s3Client, new ObjectMapper(), "woodle");
+
+        assertEquals(Optional.empty(), repository.load());
+    }
+
+    @Test
+    @DisplayName("wraps sdk failures while storing the checkpoint")
+    void wrapsSdkFailuresWhileStoringTheCheckpoint() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenThrow(SdkClientException.create("network down"));
+        S3MigrationCheckpointRepository repository = new S3MigrationCheckpointRepository(s3Client, new ObjectMapper(), "woodle");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> repository.save(MigrationCheckpoint.start("2")));
+
+        assertEquals("Failed to store migration checkpoint in S3", exception.getMessage());
+    }
+}
@@ -4,12 +4,18 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import io.github.bodote.woodle.application.port.out.PollMetadata;
+import io.github.bodote.woodle.application.port.out.ExpiredPollIdsPage;
+import io.github.bodote.woodle.application.port.out.PollMigrationPage;
+import io.github.bodote.woodle.application.port.out.PollResponseChange;
+import io.github.bodote.woodle.application.port.out.PollUpdateConflictException;
 import io.github.bodote.woodle.domain.model.EventType;
 import io.github.bodote.woodle.domain.model.Poll;
 import io.github.bodote.woodle.domain.model.PollOption;
 import io.github.bodote.woodle.domain.model.PollResponse;
 import io.github.bodote.woodle.domain.model.PollVote;
 import io.github.bodote.woodle.domain.model.PollVoteValue;
+import io.github.bodote.woodle.domain.model.VoteMatrix;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.core.ResponseInputStream;
@@ -18,8 +24,14 @@ import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
@@ -30,25 +42,42 @@ import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.core.exception.SdkClientException;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
@@ -64,6 +93,7 @@ class S3PollRepositoryTest {
     @DisplayName("saves poll as json with expected key and content type")
     void savesPollAsJsonWithExpectedKeyAndContentType() throws IOException {
         S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
         when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
                 .thenReturn(PutObjectResponse.builder().build());
         ObjectMapper objectMapper = new ObjectMapper();
@@ -99,15 +129,19 @@ class S3PollRepositoryTest {
 
         ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
         ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
-        verify(s3Client).putObject(requestCaptor.capture(), bodyCaptor.capture());
+        verify(s3Client, times(2)).putObject(requestCaptor.capture(), bodyCaptor.capture());
 
-        PutObjectRequest request = requestCaptor.getValue();
+        PutObjectRequest request = requestCaptor.getAllValues().get(0);
         assertEquals("woodle", request.bucket());
         assertEquals("polls/00000000-0000-0000-0000-000000000099.json", request.key());
         assertEquals("application/json", request.contentType());
+        assertEquals(PollMetadata.hashAdminSecret("AdminSecret12"),
+                request.metadata().get(S3PollRepository.ADMIN_SECRET_HASH_METADATA));
 
-        String json = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
-        assertTrue(json.contains("\"schemaVersion\":\"2\""));
+        String json = new String(bodyCaptor.getAllValues().get(0).contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"schemaVersion\":\"3\""));
+        assertTrue(json.contains("\"voteCodes\":\"Y\""));
+        assertFalse(json.contains("\"votes\""));
         assertTrue(json.contains("\"title\":\"Team Sync\""));
         assertTrue(json.contains("\"eventType\":\"INTRADAY\""));
         assertTrue(json.contains("\"startTime\":\"09:00\""));
@@ -211,12 +245,10 @@ class S3PollRepositoryTest {
                   "responses":[{"responseId":"00000000-0000-0000-0000-000000000023","participantName":"Bob","createdAt":"2026-02-10T10:00:00Z","votes":[{"optionId":"00000000-0000-0000-0000-000000000022","value":"YES"}],"comment":"ok"}]
                 }
                 """;
-        GetObjectResponse response = GetObjectResponse.builder().build();
-        ResponseInputStream<GetObjectResponse> stream = new ResponseInputStream<>(
-                response,
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
                 AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
-        );
-        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(stream);
+        ));
         ObjectMapper objectMapper = new ObjectMapper();
         S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
 
@@ -239,8 +271,8 @@ class S3PollRepositoryTest {
     }
 
     @Test
-    @DisplayName("migrates legacy poll without schema version and saves it back before returning")
-    void migratesLegacyPollWithoutSchemaVersionAndSavesItBackBeforeReturning() throws IOException {
+    @DisplayName("migrates legacy poll without schema version in memory without writing it back")
+    void migratesLegacyPollWithoutSchemaVersionInMemoryWithoutWritingItBack() {
         S3Client s3Client = mock(S3Client.class);
         String json = """
                 {
@@ -264,14 +296,10 @@ class S3PollRepositoryTest {
                   "responses":[]
                 }
                 """;
-        GetObjectResponse response = GetObjectResponse.builder().build();
-        ResponseInputStream<GetObjectResponse> stream = new ResponseInputStream<>(
-                response,
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
                 AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
-        );
-        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(stream);
-        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
-                .thenReturn(PutObjectResponse.builder().build());
+        ));
         ObjectMapper objectMapper = new ObjectMapper();
         S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
 
@@ -281,15 +309,8 @@ class S3PollRepositoryTest {
         Poll poll = found.orElseThrow();
         assertEquals("Legacy", poll.title());
 
-        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
-        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
-        verify(s3Client).putObject(requestCaptor.capture(), bodyCaptor.capture());
-        assertEquals("polls/00000000-0000-0000-0000-000000000031.json", requestCaptor.getValue().key());
-        String migratedJson = new String(
-                bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(),
-                StandardCharsets.UTF_8
-        );
-        assertTrue(migratedJson.contains("\"schemaVersion\":\"2\""));
+        assertEquals(1, poll.options().size());
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
     }
 
     @Test
@@ -318,12 +339,10 @@ class S3PollRepositoryTest {
                   "responses":[]
                 }
                 """;
-        GetObjectResponse response = GetObjectResponse.builder().build();
-        ResponseInputStream<GetObjectResponse> stream = new ResponseInputStream<>(
-                response,
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
                 AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
-        );
-        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(stream);
+        ));
         when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
                 .thenReturn(PutObjectResponse.builder().build());
 
@@ -350,56 +369,114 @@ class S3PollRepositoryTest {
     }
 
     @Test
-    @DisplayName("migrates poll with older schema version and saves it back before returning")
-    void migratesPollWithOlderSchemaVersionAndSavesItBackBeforeReturning() throws IOException {
+    @DisplayName("keeps the last entry of a response id stored twice and logs the duplicate")
+    void keepsTheLastEntryOfADuplicateResponseIdAndLogsIt() {
         S3Client s3Client = mock(S3Client.class);
-        String json = """
-                {
-                  "pollId":"00000000-0000-0000-0000-000000000041",
-                  "schemaVersion":"0",
-                  "type":"date",
-                  "title":"Old Version",
-                  "descriptionHtml":"Description",
-                  "language":"de",
-                  "createdAt":"2026-02-10T10:00:00Z",
-                  "updatedAt":"2026-02-10T10:00:00Z",
-                  "author":{"name":"Alice","email":"alice@invalid"},
-                  "access":{"customSlug":null,"passwordHash":null,"resultsPublic":true,"adminToken":"secret"},
-                  "permissions":{"voteChangePolicy":"ALL_CAN_EDIT"},
-                  "notifications":{"onVote":false,"onComment":false},
-                  "resultsVisibility":{"onlyAuthor":false},
-                  "status":"OPEN",
-                  "expiresAt":"2026-03-01",
-                  "options":{"eventType":"ALL_DAY","durationMinutes":null,"items":[
-                    {"optionId":"00000000-0000-0000-0000-000000000042","date":"2026-02-10","startTime":null,"endTime":null}
-                  ]},
-                  "responses":[]
-                }
-                """;
-        GetObjectResponse response = GetObjectResponse.builder().build();
-        ResponseInputStream<GetObjectResponse> stream = new ResponseInputStream<>(
-                response,
-                AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
-        );
-        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(stream);
-        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
-                .thenReturn(PutObjectResponse.builder().build());
-        ObjectMapper objectMapper = new ObjectMapper();
-        S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000062");
+        UUID duplicate = UUID.fromString("00000000-0000-0000-0000-000000000063");
+        UUID other = UUID.fromString("00000000-0000-0000-0000-000000000064");
+        String json = pollJson(pollId, "2026-03-01").replace("\"responses\":[]", "\"responses\":["
+                + responseJson(duplicate, "Alice", "2026-02-10T11:00:00Z") + ","
+                + responseJson(other, "Bob", "2026-02-10T12:00:00Z") + ","
+                + responseJson(duplicate, "Alicia", "2026-02-10T11:00:00Z") + "]");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(jsonStream(json));
+        Logger logger = (Logger) LoggerFactory.getLogger(S3PollRepository.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
 
-        Optional<Poll> found = repository.findById(UUID.fromString("00000000-0000-0000-0000-000000000041"));
+        try {
+            Poll poll = new S3PollRepository(s3Client, new ObjectMapper(), "woodle").findById(pollId).orElseThrow();
 
-        assertTrue(found.isPresent());
-        Poll poll = found.orElseThrow();
-        assertEquals("Old Version", poll.title());
+            assertEquals(List.of("Alicia", "Bob"),
+                    poll.responses().stream().map(PollResponse::participantName).toList());
+            assertTrue(appender.list.stream().anyMatch(event -> event.getLevel() == Level.WARN
+                    && event.getFormattedMessage().contains(duplicate.toString())));
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+
+    @Test
+    @DisplayName("migrateStoredPolls rewrites older polls conditionally and skips current or concurrently changed ones")
+    void migrateStoredPollsRewritesOlderPollsConditionallyAndSkipsCurrentOrChangedOnes() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        UUID legacyPollId = UUID.fromString("00000000-0000-0000-0000-000000000041");
+        UUID currentPollId = UUID.fromString("00000000-0000-0000-0000-000000000042");
+        UUID changedPollId = UUID.fromString("00000000-0000-0000-0000-000000000043");
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(
+                        S3Object.builder().key("polls/" + legacyPollId + ".json").build(),
+                        S3Object.builder().key("polls/" + currentPollId + ".json").build(),
+                        S3Object.builder().key("polls/" + changedPollId + ".json").build())
+                .nextContinuationToken("next-page")
+                .build());
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgument(0);
+            String key = request.key();
+            String json = key.contains(currentPollId.toString())
+                    ? pollJson(currentPollId, "2026-03-01")
+                    : pollJson(UUID.fromString(key.substring(6, 42)), "2026-03-01")
+                    .replace("\"schemaVersion\":\"3\"", "\"schemaVersion\":\"0\"");
+            return new ResponseInputStream<>(
+                    GetObjectResponse.builder().eTag("\"etag-" + key.substring(6, 42) + "\"").build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+        });
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            PutObjectRequest request = invocation.getArgument(0);
+            if (request.key().contains(changedPollId.toString())) {
+                throw S3Exception.builder().statusCode(412).message("precondition failed").build();
+            }
+            return PutObjectResponse.builder().eTag("\"migrated\"").build();
+        });
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        PollMigrationPage page = repository.migrateStoredPolls(null);
 
+        assertEquals(1, page.migrated());
+        assertEquals(2, page.skipped());
+        assertEquals(0, page.failed());
+        assertEquals("next-page", page.nextPageToken());
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
         ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
-        verify(s3Client).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        verify(s3Client, times(2)).putObject(requestCaptor.capture(), bodyCaptor.capture());
+        int legacyIndex = requestCaptor.getAllValues().getFirst().key().contains(legacyPollId.toString()) ? 0 : 1;
+        PutObjectRequest legacyPut = requestCaptor.getAllValues().get(legacyIndex);
+        assertEquals("polls/" + legacyPollId + ".json", legacyPut.key());
+        assertEquals("\"etag-" + legacyPollId + "\"", legacyPut.ifMatch());
         String migratedJson = new String(
-                bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(),
+                bodyCaptor.getAllValues().get(legacyIndex).contentStreamProvider().newStream().readAllBytes(),
                 StandardCharsets.UTF_8
         );
-        assertTrue(migratedJson.contains("\"schemaVersion\":\"2\""));
+        assertTrue(migratedJson.contains("\"schemaVersion\":\"3\""));
+    }
+
+    @Test
+    @DisplayName("migrateStoredPolls counts unreadable polls as failed and continues with the page")
+    void migrateStoredPollsCountsUnreadablePollsAsFailed() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID brokenPollId = UUID.fromString("00000000-0000-0000-0000-000000000044");
+        UUID currentPollId = UUID.fromString("00000000-0000-0000-0000-000000000045");
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(
+                        S3Object.builder().key("polls/" + brokenPollId + ".json").build(),
+                        S3Object.builder().key("polls/" + currentPollId + ".json").build())
+                .build());
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgument(0);
+            return request.key().contains(brokenPollId.toString())
+                    ? jsonStream("{not json")
+                    : jsonStream(pollJson(currentPollId, null));
+        });
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        PollMigrationPage page = repository.migrateStoredPolls(null);
+
+        assertEquals(0, page.migrated());
+        assertEquals(1, page.skipped());
+        assertEquals(1, page.failed());
+        assertNull(page.nextPageToken());
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
     }
 
     @Test
@@ -409,7 +486,7 @@ class S3PollRepositoryTest {
         String json = """
                 {
                   "pollId":"00000000-0000-0000-0000-000000000051",
-                  "schemaVersion":"2",
+                  "schemaVersion":"3",
                   "type":"date",
                   "title":"Current Version",
                   "descriptionHtml":"Description",
@@ -429,12 +506,10 @@ class S3PollRepositoryTest {
                   "responses":[]
                 }
                 """;
-        GetObjectResponse response = GetObjectResponse.builder().build();
-        ResponseInputStream<GetObjectResponse> stream = new ResponseInputStream<>(
-                response,
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
                 AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
-        );
-        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(stream);
+        ));
         ObjectMapper objectMapper = new ObjectMapper();
         S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
 
@@ -470,12 +545,10 @@ class S3PollRepositoryTest {
                   "responses":[{"responseId":"00000000-0000-0000-0000-000000000011","participantName":"Bob","createdAt":"2026-02-10T10:00:00Z","votes":[{"optionId":"00000000-0000-0000-0000-000000000010","value":"INVALID_VALUE"}],"comment":null}]
                 }
                 """;
-        GetObjectResponse response = GetObjectResponse.builder().build();
-        ResponseInputStream<GetObjectResponse> stream = new ResponseInputStream<>(
-                response,
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
                 AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
-        );
-        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(stream);
+        ));
 
         ObjectMapper objectMapper = new ObjectMapper();
         S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
@@ -507,40 +580,28 @@ class S3PollRepositoryTest {
                 .build();
         when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
                 .thenReturn(firstPage, secondPage);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("not found").build());
         ObjectMapper objectMapper = new ObjectMapper();
         S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
 
-        long count = repository.countActivePolls();
-
-        assertEquals(3L, count);
+        assertEquals(3L, repository.countActivePolls());
     }
 
     @Test
-    @DisplayName("throws count error when S3 list operation fails")
-    void throwsCountErrorWhenS3ListOperationFails() {
+    @DisplayName("fails instead of reporting zero when the counter is missing and the first recount fails")
+    void failsInsteadOfReportingZeroWhenTheFirstRecountFails() {
         S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("not found").build());
         when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
                 .thenThrow(S3Exception.builder().statusCode(500).message("boom").build());
-        ObjectMapper objectMapper = new ObjectMapper();
-        S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
-
-        IllegalStateException exception = assertThrows(IllegalStateException.class, repository::countActivePolls);
-
-        assertEquals("Failed to count polls from S3", exception.getMessage());
-    }
-
-    @Test
-    @DisplayName("throws count error when SDK client fails during list")
-    void throwsCountErrorWhenSdkClientFailsDuringList() {
-        S3Client s3Client = mock(S3Client.class);
-        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
-                .thenThrow(SdkClientException.builder().message("network down").build());
-        ObjectMapper objectMapper = new ObjectMapper();
-        S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
 
-        IllegalStateException exception = assertThrows(IllegalStateException.class, repository::countActivePolls);
+        assertThrows(IllegalStateException.class, repository::countActivePolls);
 
-        assertEquals("Failed to count polls from S3", exception.getMessage());
+        verify(s3Client).listObjectsV2(any(ListObjectsV2Request.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
     }
 
     @Test
@@ -554,18 +615,19 @@ class S3PollRepositoryTest {
                 )
                 .build();
         when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(response);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("not found").build());
         ObjectMapper objectMapper = new ObjectMapper();
         S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
 
-        long count = repository.countActivePolls();
-
-        assertEquals(1L, count);
+        assertEquals(1L, repository.countActivePolls());
     }
 
     @Test
     @DisplayName("save serializes null start and end times for all-day options")
     void saveSerializesNullStartAndEndTimesForAllDayOptions() throws IOException {
         S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
         when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
                 .thenReturn(PutObjectResponse.builder().build());
         ObjectMapper objectMapper = new ObjectMapper();
@@ -594,8 +656,8 @@ class S3PollRepositoryTest {
         repository.save(poll);
 
         ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
-        verify(s3Client).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
-        String json = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
+        verify(s3Client, times(2)).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        String json = new String(bodyCaptor.getAllValues().get(0).contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
         assertTrue(json.contains("\"startTime\":null"));
         assertTrue(json.contains("\"endTime\":null"));
     }
@@ -626,12 +688,10 @@ class S3PollRepositoryTest {
                   "responses":[]
                 }
                 """;
-        GetObjectResponse response = GetObjectResponse.builder().build();
-        ResponseInputStream<GetObjectResponse> stream = new ResponseInputStream<>(
-                response,
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
                 AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
-        );
-        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(stream);
+        ));
         ObjectMapper objectMapper = new ObjectMapper();
         S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
 
@@ -645,8 +705,10 @@ class S3PollRepositoryTest {
     @DisplayName("save throws when poll serialization fails")
     void saveThrowsWhenPollSerializationFails() {
         S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
         ObjectMapper objectMapper = mock(ObjectMapper.class);
-        doThrow(new StreamWriteException(null, "boom")).when(objectMapper).writeValueAsString(any(PollDAO.class));
+        doThrow(new StreamWriteException(null, "boom")).when(objectMapper)
+                .writeValue(any(OutputStream.class), any(PollDAO.class));
         S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
 
         UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000140");
@@ -677,6 +739,7 @@ class S3PollRepositoryTest {
     @DisplayName("persists notifyOnComment=true and restores it on read")
     void persistsNotifyOnCommentTrueAndRestoresItOnRead() throws IOException {
         S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
         when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
                 .thenReturn(PutObjectResponse.builder().build());
         ObjectMapper objectMapper = new ObjectMapper();
@@ -704,8 +767,8 @@ class S3PollRepositoryTest {
         repository.save(poll);
 
         ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
-        verify(s3Client).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
-        String json = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
+        verify(s3Client, times(2)).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        String json = new String(bodyCaptor.getAllValues().get(0).contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
         assertTrue(json.contains("\"onComment\":true"));
     }
 
@@ -716,7 +779,7 @@ class S3PollRepositoryTest {
         String json = """
                 {
                   "pollId":"00000000-0000-0000-0000-000000000151",
-                  "schemaVersion":"2",
+                  "schemaVersion":"3",
                   "type":"date",
                   "title":"Notify Test",
                   "descriptionHtml":"",
@@ -734,12 +797,10 @@ class S3PollRepositoryTest {
                   "responses":[]
                 }
                 """;
-        GetObjectResponse response = GetObjectResponse.builder().build();
-        ResponseInputStream<GetObjectResponse> stream = new ResponseInputStream<>(
-                response,
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
                 AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
-        );
-        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(stream);
+        ));
         ObjectMapper objectMapper = new ObjectMapper();
         S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
 
@@ -754,6 +815,8 @@ class S3PollRepositoryTest {
         S3Client s3Client = mock(S3Client.class);
         when(s3Client.deleteObject(any(DeleteObjectRequest.class)))
                 .thenReturn(DeleteObjectResponse.builder().build());
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("not found").build());
         ObjectMapper objectMapper = new ObjectMapper();
         S3PollRepository repository = new S3PollRepository(s3Client, objectMapper, "woodle");
         UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000201");
@@ -782,7 +845,7 @@ class S3PollRepositoryTest {
     }
 
     @Test
-    @DisplayName("findExpiredPollIds returns only expired polls and skips non-json, missing, and never-expiring objects")
+    @DisplayName("findExpiredPollIds scans all polls while the expiry index is not backfilled and skips non-json, missing, and never-expiring objects")
     void findExpiredPollIdsReturnsOnlyExpired() {
         S3Client s3Client = mock(S3Client.class);
         UUID expired = UUID.fromString("00000000-0000-0000-0000-000000000301");
@@ -803,7 +866,7 @@ class S3PollRepositoryTest {
         when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
             GetObjectRequest request = invocation.getArgument(0);
             String key = request.key();
-            if (key.contains(missing.toString())) {
+            if (key.equals("meta/expiry-index.json") || key.contains(missing.toString())) {
                 throw NoSuchKeyException.builder().message("gone").build();
             }
             String json;
@@ -827,12 +890,990 @@ class S3PollRepositoryTest {
         assertEquals(List.of(expired), result);
     }
 
+    @Test
+    @DisplayName("serves active poll count from the counter object without listing the bucket")
+    void servesActivePollCountFromCounterObjectWithoutListingTheBucket() {
+        S3Client s3Client = mock(S3Client.class);
+        Clock clock = Clock.fixed(Instant.parse("2026-06-21T10:00:00Z"), ZoneOffset.UTC);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenAnswer(invocation -> jsonStream("{\"count\":42,\"reconciledAt\":\"2026-06-21T09:00:00Z\"}"));
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle", "2", clock);
+
+        long first = repository.countActivePolls();
+        long second = repository.countActivePolls();
+
+        assertEquals(42L, first);
+        assertEquals(42L, second);
+        ArgumentCaptor<GetObjectRequest> requestCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client, times(1)).getObject(requestCaptor.capture());
+        assertEquals("meta/active-poll-count.json", requestCaptor.getValue().key());
+        verify(s3Client, never()).listObjectsV2(any(ListObjectsV2Request.class));
+    }
+
+    @Test
+    @DisplayName("rebuilds the counter object by listing once when it does not exist yet")
+    void rebuildsTheCounterObjectByListingWhenItDoesNotExistYet() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("not found").build());
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key("polls/one.json").build(), S3Object.builder().key("polls/two.json").build())
+                .build());
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        assertEquals(2L, repository.countActivePolls());
+        assertEquals(2L, repository.countActivePolls());
+
+        verify(s3Client, times(1)).listObjectsV2(any(ListObjectsV2Request.class));
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(requestCaptor.capture(), bodyCaptor.capture());
+        assertEquals("meta/active-poll-count.json", requestCaptor.getValue().key());
+        String json = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"count\":2"));
+    }
+
+    @Test
+    @DisplayName("create stores the poll and increments the active poll counter")
+    void createStoresThePollAndIncrementsTheActivePollCounter() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenAnswer(invocation -> jsonStream("{\"count\":5,\"reconciledAt\":\"2026-06-21T09:00:00Z\"}"));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        OffsetDateTime now = OffsetDateTime.of(2026, 2, 10, 10, 0, 0, 0, ZoneOffset.UTC);
+        Poll poll = new Poll(UUID.fromString("00000000-0000-0000-0000-000000000160"), "AdminSecret12", "Title",
+                "desc", "Alice", "alice@invalid", EventType.ALL_DAY, null, List.of(), List.of(), now, now,
+                LocalDate.of(2026, 3, 10), false);
+
+        repository.create(poll);
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client, times(3)).putObject(requestCaptor.capture(), bodyCaptor.capture());
+        assertEquals("polls/00000000-0000-0000-0000-000000000160.json", requestCaptor.getAllValues().get(0).key());
+        assertEquals("meta/active-poll-count.json", requestCaptor.getAllValues().get(2).key());
+        String json = new String(bodyCaptor.getAllValues().get(2).contentStreamProvider().newStream().readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"count\":6"));
+        assertEquals(6L, repository.countActivePolls());
+    }
+
+    @Test
+    @DisplayName("deleteById decrements the active poll counter")
+    void deleteByIdDecrementsTheActivePollCounter() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.deleteObject(any(DeleteObjectRequest.class)))
+                .thenReturn(DeleteObjectResponse.builder().build());
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenAnswer(invocation -> jsonStream("{\"count\":5,\"reconciledAt\":\"2026-06-21T09:00:00Z\"}"));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        repository.deleteById(UUID.fromString("00000000-0000-0000-0000-000000000201"));
+
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        String json = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"count\":4"));
+    }
+
+    @Test
+    @DisplayName("deleteById leaves the active poll counter alone when the poll did not exist")
+    void deleteByIdLeavesTheCounterAloneForAMissingPoll() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        when(s3Client.deleteObject(any(DeleteObjectRequest.class)))
+                .thenReturn(DeleteObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        repository.deleteById(UUID.fromString("00000000-0000-0000-0000-000000000202"));
+
+        verify(s3Client).deleteObject(any(DeleteObjectRequest.class));
+        verify(s3Client, never()).getObject(any(GetObjectRequest.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("updates the active poll counter with If-Match and retries when another instance changed it")
+    void updatesTheCounterWithIfMatchAndRetriesOnAConcurrentChange() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.deleteObject(any(DeleteObjectRequest.class)))
+                .thenReturn(DeleteObjectResponse.builder().build());
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(
+                jsonStream("{\"count\":5,\"reconciledAt\":\"2026-06-21T09:00:00Z\"}"),
+                jsonStream("{\"count\":7,\"reconciledAt\":\"2026-06-21T09:00:00Z\"}"));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().statusCode(412).message("precondition failed").build())
+                .thenReturn(PutObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        repository.deleteById(UUID.fromString("00000000-0000-0000-0000-000000000203"));
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client, times(2)).putObject(requestCaptor.capture(), bodyCaptor.capture());
+        assertEquals("\"stored\"", requestCaptor.getAllValues().get(1).ifMatch());
+        String json = new String(bodyCaptor.getAllValues().get(1).contentStreamProvider().newStream().readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"count\":6"));
+        assertEquals(6L, repository.countActivePolls());
+    }
+
+    @Test
+    @DisplayName("deleteAllById deletes polls with DeleteObjects in batches of at most 1000 keys")
+    void deleteAllByIdDeletesPollsInBatchesOfAtMost1000Keys() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenReturn(DeleteObjectsResponse.builder().build());
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenAnswer(invocation -> jsonStream("{\"count\":1500,\"reconciledAt\":\"2026-06-21T09:00:00Z\"}"));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        List<UUID> pollIds = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            pollIds.add(new UUID(0L, i));
+        }
+
+        Map<UUID, String> failures = repository.deleteAllById(pollIds);
+
+        assertTrue(failures.isEmpty());
+        ArgumentCaptor<DeleteObjectsRequest> requestCaptor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client, times(2)).deleteObjects(requestCaptor.capture());
+        assertEquals(1000, requestCaptor.getAllValues().get(0).delete().objects().size());
+        assertEquals(1, requestCaptor.getAllValues().get(1).delete().objects().size());
+        assertEquals("polls/" + pollIds.get(1000) + ".json",
+                requestCaptor.getAllValues().get(1).delete().objects().get(0).key());
+        verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("deleteAllById reports per-key errors and only counts known polls against the counter")
+    void deleteAllByIdReportsPerKeyErrors() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        UUID ok = UUID.fromString("00000000-0000-0000-0000-000000000341");
+        UUID denied = UUID.fromString("00000000-0000-0000-0000-000000000342");
+        UUID unseen = UUID.fromString("00000000-0000-0000-0000-000000000343");
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder()
+                .errors(S3Error.builder().key("polls/" + denied + ".json").code("AccessDenied").message("denied").build())
+                .build());
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0, GetObjectRequest.class).key();
+            return key.startsWith("polls/")
+                    ? jsonStream(pollJson(UUID.fromString(key.substring(6, 42)), "2026-03-01"))
+                    : jsonStream("{\"count\":5,\"reconciledAt\":\"2026-06-21T09:00:00Z\"}");
+        });
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        repository.findById(ok);
+        repository.findById(denied);
+
+        Map<UUID, String> failures = repository.deleteAllById(List.of(ok, denied, unseen));
+
+        assertEquals(Map.of(denied, "AccessDenied: denied"), failures);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        String json = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"count\":4"));
+    }
+
+    @Test
+    @DisplayName("deleteAllById marks every poll of a batch as failed when the batch request fails")
+    void deleteAllByIdMarksWholeBatchFailedWhenRequestFails() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000351");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000352");
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenThrow(SdkClientException.create("network down"));
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        Map<UUID, String> failures = repository.deleteAllById(List.of(first, second));
+
+        assertEquals(Map.of(first, "network down", second, "network down"), failures);
+        verify(s3Client, never()).getObject(any(GetObjectRequest.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("deleteAllById removes the expiry index entries of deleted polls")
+    void deleteAllByIdRemovesTheExpiryIndexEntriesOfDeletedPolls() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000361");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> jsonStream(pollJson(pollId, "2026-03-01")));
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenReturn(DeleteObjectsResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        repository.findById(pollId);
+
+        repository.deleteAllById(List.of(pollId));
+
+        ArgumentCaptor<DeleteObjectsRequest> requestCaptor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client, times(2)).deleteObjects(requestCaptor.capture());
+        assertEquals(
+                List.of(List.of("polls/" + pollId + ".json"), List.of("expiry/2026-03-01/" + pollId)),
+                requestCaptor.getAllValues().stream()
+                        .map(request -> request.delete().objects().stream().map(ObjectIdentifier::key).toList())
+                        .toList());
+    }
+
+    @Test
+    @DisplayName("poll write succeeds even when the active poll counter cannot be updated")
+    void pollWriteSucceedsEvenWhenTheActivePollCounterCannotBeUpdated() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.deleteObject(any(DeleteObjectRequest.class)))
+                .thenReturn(DeleteObjectResponse.builder().build());
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(500).message("boom").build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        repository.deleteById(UUID.fromString("00000000-0000-0000-0000-000000000202"));
+
+        verify(s3Client).deleteObject(any(DeleteObjectRequest.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("backfills the expiry index and marker object while scanning all polls")
+    void backfillsTheExpiryIndexAndMarkerObjectWhileScanningAllPolls() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID expired = UUID.fromString("00000000-0000-0000-0000-000000000311");
+        UUID future = UUID.fromString("00000000-0000-0000-0000-000000000312");
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(
+                        S3Object.builder().key("polls/" + expired + ".json").build(),
+                        S3Object.builder().key("polls/" + future + ".json").build()
+                )
+                .build());
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            String key = ((GetObjectRequest) invocation.getArgument(0)).key();
+            if (key.equals("meta/expiry-index.json")) {
+                throw NoSuchKeyException.builder().message("not found").build();
+            }
+            return key.contains(expired.toString())
+                    ? jsonStream(pollJson(expired, "2026-03-01"))
+                    : jsonStream(pollJson(future, "2026-12-31"));
+        });
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        List<UUID> result = repository.findExpiredPollIds(LocalDate.of(2026, 6, 21));
+
+        assertEquals(List.of(expired), result);
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client, times(3)).putObject(requestCaptor.capture(), any(RequestBody.class));
+        assertEquals(
+                List.of(
+                        "expiry/2026-03-01/" + expired,
+                        "expiry/2026-12-31/" + future,
+                        "meta/expiry-index.json"
+                ),
+                requestCaptor.getAllValues().stream().map(PutObjectRequest::key).toList());
+    }
+
+    @Test
+    @DisplayName("findExpiredPollIds lists only index entries dated before the cutoff once the index is backfilled")
+    void findExpiredPollIdsListsOnlyIndexEntriesDatedBeforeTheCutoff() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID expired = UUID.fromString("00000000-0000-0000-0000-000000000321");
+        UUID extended = UUID.fromString("00000000-0000-0000-0000-000000000322");
+        UUID deleted = UUID.fromString("00000000-0000-0000-0000-000000000323");
+        UUID future = UUID.fromString("00000000-0000-0000-0000-000000000324");
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(
+                        S3Object.builder().key("expiry/2026-03-01/" + expired).build(),
+                        S3Object.builder().key("expiry/2026-04-01/" + extended).build(),
+                        S3Object.builder().key("expiry/2026-05-01/" + deleted).build(),
+                        S3Object.builder().key("expiry/2026-12-31/" + future).build()
+                )
+                .build());
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            String key = ((GetObjectRequest) invocation.getArgument(0)).key();
+            if (key.equals("meta/expiry-index.json")) {
+                return jsonStream("{\"backfilledAt\":\"2026-06-01T03:00:00Z\"}");
+            }
+            if (key.contains(expired.toString())) {
+                return jsonStream(pollJson(expired, "2026-03-01"));
+            }
+            if (key.contains(extended.toString())) {
+                return jsonStream(pollJson(extended, "2026-09-01"));
+            }
+            throw NoSuchKeyException.builder().message("gone").build();
+        });
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        when(s3Client.deleteObject(any(DeleteObjectRequest.class)))
+                .thenReturn(DeleteObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        List<UUID> result = repository.findExpiredPollIds(LocalDate.of(2026, 6, 21));
+
+        assertEquals(List.of(expired), result);
+        ArgumentCaptor<ListObjectsV2Request> listCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(s3Client).listObjectsV2(listCaptor.capture());
+        assertEquals("expiry/", listCaptor.getValue().prefix());
+        ArgumentCaptor<GetObjectRequest> getCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client, times(4)).getObject(getCaptor.capture());
+        assertTrue(getCaptor.getAllValues().stream().noneMatch(request -> request.key().contains(future.toString())));
+        ArgumentCaptor<DeleteObjectRequest> deleteCaptor = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(s3Client, times(2)).deleteObject(deleteCaptor.capture());
+        assertEquals(
+                List.of("expiry/2026-04-01/" + extended, "expiry/2026-05-01/" + deleted),
+                deleteCaptor.getAllValues().stream().map(DeleteObjectRequest::key).toList());
+        ArgumentCaptor<PutObjectRequest> putCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(putCaptor.capture(), any(RequestBody.class));
+        assertEquals("expiry/2026-09-01/" + extended, putCaptor.getValue().key());
+    }
+
+    @Test
+    @DisplayName("findExpiredPollIds with a page token returns one bounded index page and the next continuation token")
+    void findExpiredPollIdsWithPageTokenReturnsOneBoundedIndexPage() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID expired = UUID.fromString("00000000-0000-0000-0000-000000000371");
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key("expiry/2026-03-01/" + expired).build())
+                .isTruncated(true)
+                .nextContinuationToken("next-page")
+                .build());
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            String key = ((GetObjectRequest) invocation.getArgument(0)).key();
+            if (key.equals("meta/expiry-index.json")) {
+                return jsonStream("{\"backfilledAt\":\"2026-06-01T03:00:00Z\"}");
+            }
+            return jsonStream(pollJson(expired, "2026-03-01"));
+        });
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        ExpiredPollIdsPage page = repository.findExpiredPollIds(LocalDate.of(2026, 6, 21), "this-page");
+
+        assertEquals(new ExpiredPollIdsPage(List.of(expired), "next-page"), page);
+        ArgumentCaptor<ListObjectsV2Request> listCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(s3Client).listObjectsV2(listCaptor.capture());
+        assertEquals("expiry/", listCaptor.getValue().prefix());
+        assertEquals("this-page", listCaptor.getValue().continuationToken());
+        assertEquals(200, listCaptor.getValue().maxKeys());
+    }
+
+    @Test
+    @DisplayName("backfill scan writes the expiry index marker only after the last page")
+    void backfillScanWritesTheMarkerOnlyAfterTheLastPage() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(List.of())
+                .isTruncated(true)
+                .nextContinuationToken("next-page")
+                .build());
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("not found").build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        ExpiredPollIdsPage page = repository.findExpiredPollIds(LocalDate.of(2026, 6, 21), null);
+
+        assertEquals(new ExpiredPollIdsPage(List.of(), "next-page"), page);
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("fails instead of trusting the index when the expiry index marker cannot be read")
+    void failsWhenTheExpiryIndexMarkerCannotBeRead() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(500).message("internal error").build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        assertThrows(IllegalStateException.class,
+                () -> repository.findExpiredPollIds(LocalDate.of(2026, 6, 21), null));
+        verify(s3Client, never()).listObjectsV2(any(ListObjectsV2Request.class));
+    }
+
+    @Test
+    @DisplayName("fetches the poll documents of an index page concurrently")
+    void fetchesThePollDocumentsOfAnIndexPageConcurrently() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000381");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000382");
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(
+                        S3Object.builder().key("expiry/2026-03-01/" + first).build(),
+                        S3Object.builder().key("expiry/2026-03-02/" + second).build()
+                )
+                .build());
+        CountDownLatch bothFetching = new CountDownLatch(2);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            String key = ((GetObjectRequest) invocation.getArgument(0)).key();
+            if (key.equals("meta/expiry-index.json")) {
+                return jsonStream("{\"backfilledAt\":\"2026-06-01T03:00:00Z\"}");
+            }
+            bothFetching.countDown();
+            if (!bothFetching.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("poll documents were fetched one after another");
+            }
+            return key.contains(first.toString())
+                    ? jsonStream(pollJson(first, "2026-03-01"))
+                    : jsonStream(pollJson(second, "2026-03-02"));
+        });
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle", "2",
+                Clock.systemUTC(), 2);
+
+        List<UUID> result = repository.findExpiredPollIds(LocalDate.of(2026, 6, 21));
+
+        assertEquals(List.of(first, second), result);
+    }
+
+    @Test
+    @DisplayName("rejects a fetch concurrency below one")
+    void rejectsAFetchConcurrencyBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new S3PollRepository(mock(S3Client.class), new ObjectMapper(),
+                "woodle", "2", Clock.systemUTC(), 0));
+    }
+
+    @Test
+    @DisplayName("conditional read sends If-None-Match and reports 304 as not modified")
+    void conditionalReadSendsIfNoneMatchAndReportsNotModified() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(304).message("Not Modified").build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000391");
+
+        StoredPollRead read = repository.read(pollId, "\"etag-1\"");
+
+        assertEquals(StoredPollRead.Outcome.NOT_MODIFIED, read.outcome());
+        ArgumentCaptor<GetObjectRequest> requestCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client).getObject(requestCaptor.capture());
+        assertEquals("\"etag-1\"", requestCaptor.getValue().ifNoneMatch());
+    }
+
+    @Test
+    @DisplayName("read returns the poll with its ETag")
+    void readReturnsThePollWithItsEtag() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000392");
+        String json = pollJson(pollId, "2026-03-01");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().eTag("\"etag-2\"").build(),
+                AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+        ));
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        StoredPollRead read = repository.read(pollId, null);
+
+        assertEquals(StoredPollRead.Outcome.FOUND, read.outcome());
+        assertEquals(pollId, read.poll().pollId());
+        assertEquals("\"etag-2\"", read.eTag());
+    }
+
+    @Test
+    @DisplayName("concurrent findById calls for the same poll share a single S3 GET")
+    void concurrentFindByIdCallsForTheSamePollShareASingleGet() throws Exception {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000393");
+        int readers = 20;
+        CountDownLatch allStarted = new CountDownLatch(readers);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            allStarted.await(5, TimeUnit.SECONDS);
+            // give the remaining readers time to join the in-flight load
+            Thread.sleep(200);
+            return jsonStream(pollJson(pollId, "2026-03-01"));
+        });
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        List<Future<Optional<Poll>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < readers; i++) {
+                results.add(executor.submit(() -> {
+                    allStarted.countDown();
+                    return repository.findById(pollId);
+                }));
+            }
+        }
+
+        verify(s3Client, times(1)).getObject(any(GetObjectRequest.class));
+        for (Future<Optional<Poll>> result : results) {
+            assertEquals(pollId, result.get().orElseThrow().pollId());
+        }
+    }
+
+    @Test
+    @DisplayName("a findById issued after a write does not join a load that started before it")
+    void aFindByIdIssuedAfterAWriteDoesNotJoinAnEarlierLoad() throws Exception {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000394");
+        CountDownLatch firstLoadStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstLoad = new CountDownLatch(1);
+        AtomicInteger gets = new AtomicInteger();
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            if (gets.getAndIncrement() == 0) {
+                firstLoadStarted.countDown();
+                releaseFirstLoad.await(5, TimeUnit.SECONDS);
+            }
+            return jsonStream(pollJson(pollId, "2026-03-01"));
+        });
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().eTag("\"next\"").build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        OffsetDateTime now = OffsetDateTime.of(2026, 2, 10, 10, 0, 0, 0, ZoneOffset.UTC);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Optional<Poll>> earlier = executor.submit(() -> repository.findById(pollId));
+            assertTrue(firstLoadStarted.await(5, TimeUnit.SECONDS));
+            repository.saveResponse(pollId, new PollResponse(UUID.randomUUID(), "Bob", now, List.of(), null));
+
+            Future<Optional<Poll>> later = executor.submit(() -> repository.findById(pollId));
+
+            assertTrue(later.get(5, TimeUnit.SECONDS).isPresent());
+            releaseFirstLoad.countDown();
+            assertTrue(earlier.get(5, TimeUnit.SECONDS).isPresent());
+        }
+        verify(s3Client, times(3)).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("save skips the expiry index write when the expiry is unchanged since the last read")
+    void saveSkipsTheExpiryIndexWriteWhenTheExpiryIsUnchangedSinceTheLastRead() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000331");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> jsonStream(pollJson(pollId, "2026-03-01")));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        when(s3Client.deleteObject(any(DeleteObjectRequest.class)))
+                .thenReturn(DeleteObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        Poll poll = repository.findById(pollId).orElseThrow();
+
+        repository.save(poll);
+        repository.save(new Poll(poll.pollId(), poll.adminSecret(), poll.title(), poll.description(), poll.authorName(),
+                poll.authorEmail(), poll.eventType(), poll.durationMinutes(), poll.options(), poll.responses(),
+                poll.createdAt(), poll.updatedAt(), LocalDate.of(2026, 4, 1), poll.notifyOnComment()));
+
+        ArgumentCaptor<PutObjectRequest> putCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client, times(3)).putObject(putCaptor.capture(), any(RequestBody.class));
+        assertEquals(
+                List.of("polls/" + pollId + ".json", "polls/" + pollId + ".json", "expiry/2026-04-01/" + pollId),
+                putCaptor.getAllValues().stream().map(PutObjectRequest::key).toList());
+        ArgumentCaptor<DeleteObjectRequest> deleteCaptor = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(s3Client).deleteObject(deleteCaptor.capture());
+        assertEquals("expiry/2026-03-01/" + pollId, deleteCaptor.getValue().key());
+    }
+
+    @Test
+    @DisplayName("save writes the next revision with If-Match on the ETag the poll was read with")
+    void saveWritesTheNextRevisionWithIfMatchOnTheReadETag() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000400");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().eTag("\"etag-1\"").build(),
+                AbortableInputStream.create(new ByteArrayInputStream(
+                        pollJson(pollId, "2026-03-01").getBytes(StandardCharsets.UTF_8)))));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().eTag("\"etag-2\"").build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        Poll poll = repository.findById(pollId).orElseThrow();
+
+        repository.save(poll);
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(requestCaptor.capture(), bodyCaptor.capture());
+        assertEquals("\"etag-1\"", requestCaptor.getValue().ifMatch());
+        String json = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"revision\":1"));
+        verify(s3Client, times(1)).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("save reports a concurrent write when S3 rejects the If-Match precondition")
+    void saveReportsAConcurrentWriteWhenS3RejectsTheIfMatchPrecondition() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000401");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().eTag("\"etag-1\"").build(),
+                AbortableInputStream.create(new ByteArrayInputStream(
+                        pollJson(pollId, "2026-03-01").getBytes(StandardCharsets.UTF_8)))));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().statusCode(412).message("PreconditionFailed").build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        Poll poll = repository.findById(pollId).orElseThrow();
+
+        PollUpdateConflictException exception = assertThrows(PollUpdateConflictException.class,
+                () -> repository.save(poll));
+
+        assertEquals(pollId, exception.pollId());
+    }
+
+    @Test
+    @DisplayName("save reports a conflict without writing when the stored revision moved on")
+    void saveReportsAConflictWithoutWritingWhenTheStoredRevisionMovedOn() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000402");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation ->
+                jsonStream(pollJson(pollId, "2026-03-01").replace("\"responses\":[]", "\"responses\":[],\"revision\":3")));
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        Poll stale = repository.findById(pollId).orElseThrow().withVersion(2);
+
+        assertThrows(PollUpdateConflictException.class, () -> repository.save(stale));
+
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("save refuses to write when S3 returned no ETag for the stored poll")
+    void saveRefusesToWriteWithoutAnETag() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000404");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(
+                        pollJson(pollId, "2026-03-01").getBytes(StandardCharsets.UTF_8)))));
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        Poll poll = repository.findById(pollId).orElseThrow();
+
+        assertThrows(IllegalStateException.class, () -> repository.save(poll));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("create writes the poll with If-None-Match so an existing poll is never replaced")
+    void createWritesThePollWithIfNoneMatch() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000403");
+        OffsetDateTime now = OffsetDateTime.of(2026, 2, 10, 10, 0, 0, 0, ZoneOffset.UTC);
+
+        repository.create(new Poll(pollId, "AdminSecret12", "Title", "desc", "Alice", "alice@invalid",
+                EventType.ALL_DAY, null, List.of(), List.of(), now, now, LocalDate.of(2026, 3, 11), false));
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client, atLeastOnce()).putObject(requestCaptor.capture(), any(RequestBody.class));
+        PutObjectRequest pollPut = requestCaptor.getAllValues().getFirst();
+        assertEquals("polls/" + pollId + ".json", pollPut.key());
+        assertEquals("*", pollPut.ifNoneMatch());
+    }
+
+    @Test
+    @DisplayName("saveResponse writes the response into the snapshot with If-Match and moves its revision")
+    void saveResponseWritesTheResponseIntoTheSnapshot() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000410");
+        UUID responseId = UUID.fromString("00000000-0000-0000-0000-000000000411");
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenAnswer(invocation -> jsonStream(pollJson(pollId, "2026-03-01")));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().eTag("\"written\"").build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        OffsetDateTime now = OffsetDateTime.of(2026, 2, 10, 10, 0, 0, 0, ZoneOffset.UTC);
+
+        repository.saveResponse(pollId, new PollResponse(responseId, "Bob", now, List.of(), "hi"));
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(requestCaptor.capture(), bodyCaptor.capture());
+        assertEquals("polls/" + pollId + ".json", requestCaptor.getValue().key());
+        assertEquals("\"stored\"", requestCaptor.getValue().ifMatch());
+        String json = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"participantName\":\"Bob\""));
+        assertTrue(json.contains("\"revision\":1"));
+    }
+
+    @Test
+    @DisplayName("applyResponseChanges stores a batch with one If-Match snapshot PUT")
+    void applyResponseChangesStoresABatchWithOneSnapshotPut() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000445");
+        UUID edited = UUID.fromString("00000000-0000-0000-0000-000000000446");
+        UUID removed = UUID.fromString("00000000-0000-0000-0000-000000000447");
+        String snapshot = pollJson(pollId, "2026-03-01").replace("\"responses\":[]", "\"responses\":["
+                + responseJson(edited, "Before", "2026-02-10T11:00:00Z") + ","
+                + responseJson(removed, "Removed", "2026-02-10T10:00:00Z") + "]");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().eTag("\"snap\"").build(),
+                AbortableInputStream.create(new ByteArrayInputStream(snapshot.getBytes(StandardCharsets.UTF_8)))));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().eTag("\"snap-2\"").build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        OffsetDateTime now = OffsetDateTime.of(2026, 2, 11, 9, 0, 0, 0, ZoneOffset.UTC);
+
+        repository.applyResponseChanges(pollId, List.of(
+                PollResponseChange.saved(new PollResponse(UUID.randomUUID(), "Bob", now, List.of(), null)),
+                PollResponseChange.saved(new PollResponse(edited, "Carol", now, List.of(), null)),
+                PollResponseChange.deleted(removed),
+                PollResponseChange.saved(new PollResponse(UUID.randomUUID(), "Dave", now, List.of(), null))));
+
+        ArgumentCaptor<PutObjectRequest> putCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(putCaptor.capture(), bodyCaptor.capture());
+        assertEquals("polls/" + pollId + ".json", putCaptor.getValue().key());
+        assertEquals("\"snap\"", putCaptor.getValue().ifMatch());
+        String json = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"participantName\":\"Bob\""));
+        assertTrue(json.contains("\"participantName\":\"Carol\""));
+        assertTrue(json.contains("\"participantName\":\"Dave\""));
+        assertFalse(json.contains("\"participantName\":\"Before\""));
+        assertFalse(json.contains("\"participantName\":\"Removed\""));
+        verify(s3Client, times(1)).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("applyResponseChanges retries on the reloaded snapshot and reports a conflict after five attempts")
+    void applyResponseChangesRetriesAndReportsAConflictWhenTheSnapshotKeepsChanging() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000448");
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenAnswer(invocation -> jsonStream(pollJson(pollId, "2026-03-01")));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().statusCode(412).message("Precondition Failed").build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        OffsetDateTime now = OffsetDateTime.of(2026, 2, 11, 9, 0, 0, 0, ZoneOffset.UTC);
+
+        assertThrows(PollUpdateConflictException.class, () -> repository.applyResponseChanges(pollId, List.of(
+                PollResponseChange.saved(new PollResponse(UUID.randomUUID(), "Bob", now, List.of(), null)),
+                PollResponseChange.saved(new PollResponse(UUID.randomUUID(), "Carol", now, List.of(), null)))));
+
+        verify(s3Client, times(5)).getObject(any(GetObjectRequest.class));
+        verify(s3Client, times(5)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("saveResponse rejects a poll that does not exist without writing anything")
+    void saveResponseRejectsAMissingPoll() {
+        S3Client s3Client = mock(S3Client.class);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        OffsetDateTime now = OffsetDateTime.of(2026, 2, 11, 9, 0, 0, 0, ZoneOffset.UTC);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.saveResponse(
+                UUID.fromString("00000000-0000-0000-0000-000000000449"),
+                new PollResponse(UUID.randomUUID(), "Bob", now, List.of(), null)));
+
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("with gzip compression poll snapshots are stored gzip-encoded")
+    void withGzipCompressionObjectsAreStoredGzipEncoded() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        // bodies are backed by pooled buffers and only valid during the call, so they are read right away
+        List<byte[]> bodies = new ArrayList<>();
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            if (bodies.isEmpty()) {
+                throw NoSuchKeyException.builder().build();
+            }
+            return new ResponseInputStream<>(GetObjectResponse.builder().eTag("\"stored\"").build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(bodies.getLast())));
+        });
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            bodies.add(invocation.getArgument(1, RequestBody.class).contentStreamProvider().newStream().readAllBytes());
+            return PutObjectResponse.builder().build();
+        });
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle", "2",
+                Clock.systemUTC(), 16, PollObjectCompression.GZIP);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000450");
+        UUID responseId = UUID.fromString("00000000-0000-0000-0000-000000000451");
+        OffsetDateTime now = OffsetDateTime.of(2026, 2, 10, 10, 0, 0, 0, ZoneOffset.UTC);
+        Poll poll = new Poll(pollId, "AdminSecret12", "Compressed", "desc", "Alice", "alice@invalid",
+                EventType.ALL_DAY, null, List.of(), List.of(), now, now, null, false);
+
+        repository.save(poll);
+        repository.saveResponse(pollId, new PollResponse(responseId, "Bob", now, List.of(), null));
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client, times(2)).putObject(requestCaptor.capture(), any(RequestBody.class));
+        for (int i = 0; i < 2; i++) {
+            assertEquals("gzip", requestCaptor.getAllValues().get(i).contentEncoding());
+            assertEquals("application/json", requestCaptor.getAllValues().get(i).contentType());
+        }
+        try (GZIPInputStream snapshot = new GZIPInputStream(new ByteArrayInputStream(bodies.get(0)));
+             GZIPInputStream response = new GZIPInputStream(new ByteArrayInputStream(bodies.get(1)))) {
+            assertTrue(new String(snapshot.readAllBytes(), StandardCharsets.UTF_8).contains("\"title\":\"Compressed\""));
+            assertTrue(new String(response.readAllBytes(), StandardCharsets.UTF_8).contains("\"participantName\":\"Bob\""));
+            assertEquals("\"stored\"", requestCaptor.getAllValues().get(1).ifMatch());
+        }
+    }
+
+    @Test
+    @DisplayName("findById reads gzip-encoded and plain objects side by side regardless of the configured compression")
+    void findByIdReadsGzipEncodedAndPlainObjectsSideBySide() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        UUID gzipPollId = UUID.fromString("00000000-0000-0000-0000-000000000460");
+        UUID plainPollId = UUID.fromString("00000000-0000-0000-0000-000000000461");
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = PollObjectCompression.GZIP.encoding(compressed)) {
+            out.write(pollJson(gzipPollId, "2026-03-01").getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] gzipSnapshot = compressed.toByteArray();
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation ->
+                invocation.getArgument(0, GetObjectRequest.class).key().contains(plainPollId.toString())
+                        ? jsonStream(pollJson(plainPollId, "2026-03-01"))
+                        : new ResponseInputStream<>(GetObjectResponse.builder().contentEncoding("gzip").build(),
+                        AbortableInputStream.create(new ByteArrayInputStream(gzipSnapshot))));
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        Poll gzipPoll = repository.findById(gzipPollId).orElseThrow();
+        Poll plainPoll = repository.findById(plainPollId).orElseThrow();
+
+        assertEquals(gzipPollId, gzipPoll.pollId());
+        assertEquals("Title", gzipPoll.title());
+        assertEquals(plainPollId, plainPoll.pollId());
+        assertEquals("Title", plainPoll.title());
+    }
+
+    @Test
+    @DisplayName("with the binary codec snapshots are written binary and json snapshots stay readable")
+    void withBinaryCodecSnapshotsAreWrittenBinaryAndJsonStaysReadable() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        UUID jsonPollId = UUID.fromString("00000000-0000-0000-0000-000000000470");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation ->
+                jsonStream(pollJson(jsonPollId, "2026-03-01")));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle", "2",
+                Clock.systemUTC(), 16, PollObjectCompression.NONE, new BinaryPollCodec());
+
+        Poll poll = repository.findById(jsonPollId).orElseThrow();
+        repository.save(poll.withOptions(List.of(new PollOption(
+                UUID.fromString("00000000-0000-0000-0000-000000000471"), LocalDate.of(2026, 2, 20), null, null))));
+
+        ArgumentCaptor<PutObjectRequest> requestCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(requestCaptor.capture(), bodyCaptor.capture());
+        assertEquals("application/vnd.woodle.poll", requestCaptor.getValue().contentType());
+        byte[] stored = bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes();
+        PollDAO written = new BinaryPollCodec().decode(stored);
+        assertEquals("Title", written.title());
+        assertEquals(1, written.options().items().size());
+        assertEquals(1L, written.revision());
+
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> new ResponseInputStream<>(
+                GetObjectResponse.builder().build(), AbortableInputStream.create(new ByteArrayInputStream(stored))));
+        S3PollRepository jsonRepository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+        assertEquals(1, jsonRepository.findById(jsonPollId).orElseThrow().options().size());
+    }
+
+    @Test
+    @DisplayName("reads schema 2 votes and writes them back as vote codes, keeping votes for removed options as a list")
+    void readsSchemaTwoVotesAndWritesThemBackAsVoteCodes() throws IOException {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000480");
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000481");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000482");
+        UUID third = UUID.fromString("00000000-0000-0000-0000-000000000483");
+        UUID removed = UUID.fromString("00000000-0000-0000-0000-000000000489");
+        String json = pollJson(pollId, "2026-03-01")
+                .replace("\"schemaVersion\":\"3\"", "\"schemaVersion\":\"2\"")
+                .replace("\"items\":[]", "\"items\":["
+                        + "{\"optionId\":\"" + first + "\",\"date\":\"2026-02-11\",\"startTime\":null,\"endTime\":null},"
+                        + "{\"optionId\":\"" + second + "\",\"date\":\"2026-02-12\",\"startTime\":null,\"endTime\":null},"
+                        + "{\"optionId\":\"" + third + "\",\"date\":\"2026-02-13\",\"startTime\":null,\"endTime\":null}]")
+                .replace("\"responses\":[]", "\"responses\":["
+                        + "{\"responseId\":\"00000000-0000-0000-0000-000000000484\",\"participantName\":\"Bob\","
+                        + "\"createdAt\":\"2026-02-10T11:00:00Z\",\"votes\":["
+                        + "{\"optionId\":\"" + second + "\",\"value\":\"IF_NEEDED\"},"
+                        + "{\"optionId\":\"" + first + "\",\"value\":\"YES\"}],\"comment\":null},"
+                        + "{\"responseId\":\"00000000-0000-0000-0000-000000000485\",\"participantName\":\"Carol\","
+                        + "\"createdAt\":\"2026-02-10T12:00:00Z\",\"votes\":["
+                        + "{\"optionId\":\"" + removed + "\",\"value\":\"NO\"}],\"comment\":null}]");
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> jsonStream(json));
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        Poll poll = repository.findById(pollId).orElseThrow();
+        repository.save(poll);
+
+        PollResponse bob = poll.responses().getFirst();
+        assertEquals(List.of(new PollVote(second, PollVoteValue.IF_NEEDED), new PollVote(first, PollVoteValue.YES)),
+                bob.votes());
+        ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        String written = new String(bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertTrue(written.contains("\"schemaVersion\":\"3\""), written);
+        assertTrue(written.contains("\"participantName\":\"Bob\",\"createdAt\":\"2026-02-10T11:00:00Z\","
+                + "\"comment\":null,\"voteCodes\":\"YI\""), written);
+        assertTrue(written.contains("{\"optionId\":\"" + removed + "\",\"value\":\"NO\"}"), written);
+
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> jsonStream(written));
+        Poll reread = new S3PollRepository(s3Client, new ObjectMapper(), "woodle").findById(pollId).orElseThrow();
+        assertEquals(List.of(new PollVote(first, PollVoteValue.YES), new PollVote(second, PollVoteValue.IF_NEEDED)),
+                reread.responses().getFirst().votes());
+        assertEquals(List.of(new PollVote(removed, PollVoteValue.NO)), reread.responses().get(1).votes());
+        assertInstanceOf(VoteMatrix.Row.class, reread.responses().getFirst().votes());
+        assertFalse(reread.responses().get(1).votes() instanceof VoteMatrix.Row);
+        assertFalse(bob.votes() instanceof VoteMatrix.Row);
+    }
+
+    @Test
+    @DisplayName("findMetadata answers with one HEAD and the admin-secret hash from object metadata")
+    void findMetadataAnswersWithOneHead() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID pollId = UUID.fromString("00000000-0000-0000-0000-000000000490");
+        String adminSecretHash = PollMetadata.hashAdminSecret("AdminSecret12");
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .metadata(Map.of(S3PollRepository.ADMIN_SECRET_HASH_METADATA, adminSecretHash))
+                .build());
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        PollMetadata metadata = repository.findMetadata(pollId).orElseThrow();
+
+        assertEquals(new PollMetadata(pollId, adminSecretHash), metadata);
+        assertTrue(metadata.adminSecretMatches("AdminSecret12"));
+        ArgumentCaptor<HeadObjectRequest> requestCaptor = ArgumentCaptor.forClass(HeadObjectRequest.class);
+        verify(s3Client).headObject(requestCaptor.capture());
+        assertEquals("polls/" + pollId + ".json", requestCaptor.getValue().key());
+        verify(s3Client, never()).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("findMetadata is empty for a missing poll and reads snapshots without the hash in full")
+    void findMetadataHandlesMissingPollsAndSnapshotsWithoutHash() {
+        S3Client s3Client = mock(S3Client.class);
+        UUID missingPollId = UUID.fromString("00000000-0000-0000-0000-000000000491");
+        UUID legacyPollId = UUID.fromString("00000000-0000-0000-0000-000000000492");
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenAnswer(invocation -> {
+            if (invocation.getArgument(0, HeadObjectRequest.class).key().contains(missingPollId.toString())) {
+                throw S3Exception.builder().statusCode(404).message("Not Found").build();
+            }
+            return HeadObjectResponse.builder().build();
+        });
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenAnswer(invocation -> jsonStream(pollJson(legacyPollId, "2026-03-01")));
+        S3PollRepository repository = new S3PollRepository(s3Client, new ObjectMapper(), "woodle");
+
+        assertTrue(repository.findMetadata(missingPollId).isEmpty());
+        PollMetadata legacy = repository.findMetadata(legacyPollId).orElseThrow();
+        assertEquals(legacyPollId, legacy.pollId());
+        assertTrue(legacy.adminSecretMatches(repository.findById(legacyPollId).orElseThrow().adminSecret()));
+    }
+
+    private static String responseJson(UUID responseId, String name, String createdAt) {
+        return """
+                {"responseId":"%s","participantName":"%s","createdAt":"%s","votes":[],"comment":null}"""
+                .formatted(responseId, name, createdAt);
+    }
+
+    private static ResponseInputStream<GetObjectResponse> jsonStream(String json) {
+        return new ResponseInputStream<>(
+                GetObjectResponse.builder().eTag("\"stored\"").build(),
+                AbortableInputStream.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+
     private static String pollJson(UUID pollId, String expiresAt) {
         String expiresAtJson = expiresAt == null ? "null" : "\"" + expiresAt + "\"";
         return """
                 {
                   "pollId":"%s",
-                  "schemaVersion":"2",
+                  "schemaVersion":"3",
                   "type":"date",
                   "title":"Title",
                   "descriptionHtml":"Description",
@@ -0,0 +1,117 @@
+package io.github.bodote.woodle.adapter.out.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("SingleFlight")
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("a caller arriving during a load waits for that load instead of starting its own")
+    void callerArrivingDuringALoadWaitsForThatLoad() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<String> firstResult = new AtomicReference<>();
+        AtomicReference<String> secondResult = new AtomicReference<>();
+
+        Thread first = Thread.ofPlatform().start(() -> firstResult.set(singleFlight.load("poll", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "loaded";
+        })));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Thread second = Thread.ofPlatform().start(() -> secondResult.set(singleFlight.load("poll", () -> {
+            loads.incrementAndGet();
+            return "second load";
+        })));
+        awaitWaiting(second);
+        release.countDown();
+        first.join(5_000);
+        second.join(5_000);
+
+        assertEquals(1, loads.get());
+        assertEquals("loaded", firstResult.get());
+        assertEquals("loaded", secondResult.get());
+    }
+
+    @Test
+    @DisplayName("a waiting caller gets the exception of the shared load")
+    void waitingCallerGetsTheExceptionOfTheSharedLoad() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("S3 down");
+        AtomicReference<Throwable> secondFailure = new AtomicReference<>();
+
+        Thread first = Thread.ofPlatform().start(() -> {
+            try {
+                singleFlight.load("poll", () -> {
+                    loading.countDown();
+                    await(release);
+                    throw failure;
+                });
+            } catch (IllegalStateException ignored) {
+                // expected
+            }
+        });
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Thread second = Thread.ofPlatform().start(() -> {
+            try {
+                singleFlight.load("poll", () -> "second load");
+            } catch (RuntimeException e) {
+                secondFailure.set(e);
+            }
+        });
+        awaitWaiting(second);
+        release.countDown();
+        first.join(5_000);
+        second.join(5_000);
+
+        assertSame(failure, secondFailure.get());
+    }
+
+    @Test
+    @DisplayName("loads again once the previous load has finished")
+    void loadsAgainOnceThePreviousLoadHasFinished() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.load("poll", loads::incrementAndGet);
+        int second = singleFlight.load("poll", loads::incrementAndGet);
+
+        assertEquals(2, second);
+        assertThrows(IllegalArgumentException.class, () -> singleFlight.load("poll", () -> {
+            throw new IllegalArgumentException("boom");
+        }));
+        assertEquals(3, singleFlight.load("poll", loads::incrementAndGet));
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -10,8 +10,12 @@ import io.github.bodote.woodle.domain.model.PollOption;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,6 +49,27 @@ class AdminPollOptionsServiceTest {
         assertNull(repo.saved.options().getFirst().startTime());
     }
 
+    @Test
+    @DisplayName("moves updatedAt to the time of each change")
+    void movesUpdatedAtToTheTimeOfEachChange() {
+        UUID pollId = UUID.randomUUID();
+        Poll poll = TestFixtures.poll(
+                pollId,
+                TestFixtures.ADMIN_SECRET,
+                EventType.ALL_DAY,
+                null,
+                List.of(),
+                List.of()
+        );
+        Instant now = Instant.parse("2026-02-12T08:30:00.123456Z");
+        CapturingRepo repo = new CapturingRepo(poll);
+        AdminPollOptionsService service = new AdminPollOptionsService(repo, Clock.fixed(now, ZoneOffset.UTC));
+
+        service.addDate(pollId, TestFixtures.ADMIN_SECRET, LocalDate.of(2026, 2, 12), null);
+
+        assertEquals(OffsetDateTime.ofInstant(now, ZoneOffset.UTC), repo.saved.updatedAt());
+    }
+
     @Test
     @DisplayName("adds intraday option with start and computed end time")
     void addsIntradayOptionWithStartAndComputedEndTime() {
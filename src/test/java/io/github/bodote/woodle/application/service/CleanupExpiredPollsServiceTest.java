@@ -4,21 +4,31 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import io.github.bodote.woodle.application.model.CleanupCheckpoint;
+import io.github.bodote.woodle.application.port.in.CleanupRunResult;
+import io.github.bodote.woodle.application.port.out.CleanupCheckpointRepository;
+import io.github.bodote.woodle.application.port.out.ExpiredPollIdsPage;
 import io.github.bodote.woodle.application.port.out.PollRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.slf4j.LoggerFactory;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,6 +39,7 @@ class CleanupExpiredPollsServiceTest {
     private static final LocalDate TODAY = LocalDate.of(2026, 6, 21);
     private static final Clock FIXED_CLOCK =
             Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+    private static final Duration TIME_BUDGET = Duration.ofSeconds(20);
 
     @Test
     @DisplayName("deletes every expired poll and returns the count")
@@ -36,28 +47,27 @@ class CleanupExpiredPollsServiceTest {
         PollRepository pollRepository = mock(PollRepository.class);
         UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
         UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
-        when(pollRepository.findExpiredPollIds(TODAY)).thenReturn(List.of(first, second));
-        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, FIXED_CLOCK);
+        when(pollRepository.findExpiredPollIds(TODAY, null)).thenReturn(new ExpiredPollIdsPage(List.of(first, second), null));
+        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, mock(CleanupCheckpointRepository.class), FIXED_CLOCK, TIME_BUDGET);
 
-        int deleted = service.cleanupExpiredPolls();
+        CleanupRunResult result = service.cleanupExpiredPolls();
 
-        assertEquals(2, deleted);
-        verify(pollRepository).findExpiredPollIds(TODAY);
-        verify(pollRepository).deleteById(first);
-        verify(pollRepository).deleteById(second);
+        assertEquals(new CleanupRunResult(2, 2, true), result);
+        verify(pollRepository).findExpiredPollIds(TODAY, null);
+        verify(pollRepository).deleteAllById(List.of(first, second));
     }
 
     @Test
     @DisplayName("deletes nothing when no poll is expired")
     void deletesNothingWhenNoPollExpired() {
         PollRepository pollRepository = mock(PollRepository.class);
-        when(pollRepository.findExpiredPollIds(TODAY)).thenReturn(List.of());
-        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, FIXED_CLOCK);
+        when(pollRepository.findExpiredPollIds(TODAY, null)).thenReturn(new ExpiredPollIdsPage(List.of(), null));
+        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, mock(CleanupCheckpointRepository.class), FIXED_CLOCK, TIME_BUDGET);
 
-        int deleted = service.cleanupExpiredPolls();
+        CleanupRunResult result = service.cleanupExpiredPolls();
 
-        assertEquals(0, deleted);
-        verify(pollRepository, never()).deleteById(org.mockito.ArgumentMatchers.any());
+        assertEquals(0, result.deleted());
+        verify(pollRepository, never()).deleteAllById(org.mockito.ArgumentMatchers.any());
     }
 
     @Test
@@ -66,13 +76,132 @@ class CleanupExpiredPollsServiceTest {
         PollRepository pollRepository = mock(PollRepository.class);
         UUID ok = UUID.fromString("00000000-0000-0000-0000-000000000001");
         UUID broken = UUID.fromString("00000000-0000-0000-0000-000000000002");
-        when(pollRepository.findExpiredPollIds(TODAY)).thenReturn(List.of(ok, broken));
-        doThrow(new IllegalStateException("S3 down")).when(pollRepository).deleteById(broken);
-        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, FIXED_CLOCK);
+        when(pollRepository.findExpiredPollIds(TODAY, null)).thenReturn(new ExpiredPollIdsPage(List.of(ok, broken), null));
+        when(pollRepository.deleteAllById(List.of(ok, broken))).thenReturn(Map.of(broken, "S3 down"));
+        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, mock(CleanupCheckpointRepository.class), FIXED_CLOCK, TIME_BUDGET);
 
-        int deleted = service.cleanupExpiredPolls();
+        CleanupRunResult result = service.cleanupExpiredPolls();
 
-        assertEquals(1, deleted);
+        assertEquals(1, result.deleted());
+        assertEquals(2, result.found());
+    }
+
+    @Test
+    @DisplayName("logs a warning for every poll the batch delete reports as failed")
+    void logsWarningForEveryFailedPoll() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        UUID ok = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID broken = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        when(pollRepository.findExpiredPollIds(TODAY, null)).thenReturn(new ExpiredPollIdsPage(List.of(ok, broken), null));
+        when(pollRepository.deleteAllById(List.of(ok, broken))).thenReturn(Map.of(broken, "AccessDenied: denied"));
+        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, mock(CleanupCheckpointRepository.class), FIXED_CLOCK, TIME_BUDGET);
+
+        Logger logger = (Logger) LoggerFactory.getLogger(CleanupExpiredPollsService.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            service.cleanupExpiredPolls();
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        List<String> messages = appender.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .toList();
+        assertTrue(messages.contains("POLL_CLEANUP failed to delete poll " + broken + ": AccessDenied: denied"),
+                messages.toString());
+        assertTrue(messages.contains("POLL_CLEANUP deleted 1 of 2 expired poll(s) asOf=2026-06-21"), messages.toString());
+    }
+
+    @Test
+    @DisplayName("deletes each page and moves the checkpoint forward page by page")
+    void deletesEachPageAndMovesCheckpointForward() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        CleanupCheckpointRepository checkpointRepository = mock(CleanupCheckpointRepository.class);
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        when(pollRepository.findExpiredPollIds(TODAY, null)).thenReturn(new ExpiredPollIdsPage(List.of(first), "page-2"));
+        when(pollRepository.findExpiredPollIds(TODAY, "page-2")).thenReturn(new ExpiredPollIdsPage(List.of(second), null));
+        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, checkpointRepository, FIXED_CLOCK, TIME_BUDGET);
+
+        CleanupRunResult result = service.cleanupExpiredPolls();
+
+        assertEquals(new CleanupRunResult(2, 2, true), result);
+        verify(pollRepository).deleteAllById(List.of(first));
+        verify(pollRepository).deleteAllById(List.of(second));
+        InOrder inOrder = inOrder(checkpointRepository);
+        inOrder.verify(checkpointRepository).save(new CleanupCheckpoint(TODAY, "page-2", 1, 1, false));
+        inOrder.verify(checkpointRepository).save(new CleanupCheckpoint(TODAY, null, 2, 2, true));
+    }
+
+    @Test
+    @DisplayName("stops after the time budget and stores a checkpoint with the next page token")
+    void stopsAfterTimeBudgetAndStoresCheckpoint() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        CleanupCheckpointRepository checkpointRepository = mock(CleanupCheckpointRepository.class);
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        when(pollRepository.findExpiredPollIds(TODAY, null)).thenReturn(new ExpiredPollIdsPage(List.of(first), "page-2"));
+        Instant start = FIXED_CLOCK.instant();
+        Clock clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(start, start, start.plus(TIME_BUDGET));
+        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, checkpointRepository, clock, TIME_BUDGET);
+
+        CleanupRunResult result = service.cleanupExpiredPolls();
+
+        assertEquals(new CleanupRunResult(1, 1, false), result);
+        verify(checkpointRepository).save(new CleanupCheckpoint(TODAY, "page-2", 1, 1, false));
+        verify(pollRepository, never()).findExpiredPollIds(TODAY, "page-2");
+    }
+
+    @Test
+    @DisplayName("resumes an unfinished run from its checkpoint and keeps the original cutoff date")
+    void resumesUnfinishedRunFromCheckpoint() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        CleanupCheckpointRepository checkpointRepository = mock(CleanupCheckpointRepository.class);
+        LocalDate runDate = TODAY.minusDays(1);
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        when(checkpointRepository.load()).thenReturn(Optional.of(new CleanupCheckpoint(runDate, "page-2", 5, 4, false)));
+        when(pollRepository.findExpiredPollIds(runDate, "page-2")).thenReturn(new ExpiredPollIdsPage(List.of(second), null));
+        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, checkpointRepository, FIXED_CLOCK, TIME_BUDGET);
+
+        CleanupRunResult result = service.cleanupExpiredPolls();
+
+        assertEquals(new CleanupRunResult(6, 5, true), result);
+        verify(pollRepository).deleteAllById(List.of(second));
+        verify(checkpointRepository).save(new CleanupCheckpoint(runDate, null, 6, 5, true));
+        verify(pollRepository, never()).findExpiredPollIds(TODAY, null);
+    }
+
+    @Test
+    @DisplayName("returns the stored result without scanning when today's run already finished")
+    void returnsStoredResultWhenTodaysRunAlreadyFinished() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        CleanupCheckpointRepository checkpointRepository = mock(CleanupCheckpointRepository.class);
+        when(checkpointRepository.load()).thenReturn(Optional.of(new CleanupCheckpoint(TODAY, null, 7, 7, true)));
+        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, checkpointRepository, FIXED_CLOCK, TIME_BUDGET);
+
+        CleanupRunResult result = service.cleanupExpiredPolls();
+
+        assertEquals(new CleanupRunResult(7, 7, true), result);
+        verify(pollRepository, never()).findExpiredPollIds(any(LocalDate.class), any());
+        verify(checkpointRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("starts a new run when the last finished run is from an earlier day")
+    void startsNewRunWhenLastFinishedRunIsOlder() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        CleanupCheckpointRepository checkpointRepository = mock(CleanupCheckpointRepository.class);
+        when(checkpointRepository.load()).thenReturn(Optional.of(new CleanupCheckpoint(TODAY.minusDays(7), null, 7, 7, true)));
+        when(pollRepository.findExpiredPollIds(TODAY, null)).thenReturn(new ExpiredPollIdsPage(List.of(), null));
+        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, checkpointRepository, FIXED_CLOCK, TIME_BUDGET);
+
+        CleanupRunResult result = service.cleanupExpiredPolls();
+
+        assertEquals(new CleanupRunResult(0, 0, true), result);
+        verify(checkpointRepository).save(new CleanupCheckpoint(TODAY, null, 0, 0, true));
     }
 
     @Test
@@ -80,8 +209,8 @@ class CleanupExpiredPollsServiceTest {
     void logsObservableCleanupEvents() {
         PollRepository pollRepository = mock(PollRepository.class);
         UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
-        when(pollRepository.findExpiredPollIds(TODAY)).thenReturn(List.of(first));
-        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, FIXED_CLOCK);
+        when(pollRepository.findExpiredPollIds(TODAY, null)).thenReturn(new ExpiredPollIdsPage(List.of(first), null));
+        CleanupExpiredPollsService service = new CleanupExpiredPollsService(pollRepository, mock(CleanupCheckpointRepository.class), FIXED_CLOCK, TIME_BUDGET);
 
         Logger logger = (Logger) LoggerFactory.getLogger(CleanupExpiredPollsService.class);
         ListAppender<ILoggingEvent> appender = new ListAppender<>();
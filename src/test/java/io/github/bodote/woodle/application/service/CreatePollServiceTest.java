@@ -1,6 +1,10 @@
 package io.github.bodote.woodle.application.service;
 
+import io.github.bodote.woodle.application.model.IdempotentOutcome;
+import io.github.bodote.woodle.application.port.in.CreatePollResult;
+import io.github.bodote.woodle.application.port.in.IdempotencyKeyReusedException;
 import io.github.bodote.woodle.application.port.in.command.CreatePollCommand;
+import io.github.bodote.woodle.application.port.out.IdempotencyKeyRepository;
 import io.github.bodote.woodle.application.port.out.NewCommentEmail;
 import io.github.bodote.woodle.application.port.out.PollCreatedEmail;
 import io.github.bodote.woodle.application.port.out.PollEmailSender;
@@ -251,6 +255,74 @@ class CreatePollServiceTest {
         assertNull(pollEmailSender.lastEmail);
     }
 
+    @Test
+    @DisplayName("returns the poll created first for a repeated idempotency key")
+    void returnsThePollCreatedFirstForRepeatedIdempotencyKey() {
+        CapturingPollRepository repository = new CapturingPollRepository();
+        java.util.Map<String, IdempotentOutcome> outcomes = new java.util.HashMap<>();
+        CreatePollService service = new CreatePollService(repository, new CapturingPollEmailSender(), true,
+                new IdempotencyKeyRepository() {
+                    @Override
+                    public java.util.Optional<IdempotentOutcome> find(String key) {
+                        return java.util.Optional.ofNullable(outcomes.get(key));
+                    }
+
+                    @Override
+                    public void save(String key, IdempotentOutcome outcome) {
+                        outcomes.putIfAbsent(key, outcome);
+                    }
+                });
+        CreatePollCommand command = new CreatePollCommand(
+                AUTHOR_NAME,
+                AUTHOR_EMAIL,
+                TITLE,
+                DESCRIPTION,
+                EventType.ALL_DAY,
+                null,
+                List.of(DATE_ONE),
+                List.of(),
+                null,
+                false,
+                "create-0001"
+        );
+
+        CreatePollResult first = service.create(command);
+        repository.saved = null;
+        CreatePollResult second = service.create(command);
+
+        assertEquals(first, second);
+        assertNull(repository.saved);
+        assertEquals(java.util.Set.of("poll/create-0001"), outcomes.keySet());
+    }
+
+    @Test
+    @DisplayName("rejects a different poll under a used idempotency key without returning the first admin secret")
+    void rejectsDifferentPollUnderUsedIdempotencyKey() {
+        CapturingPollRepository repository = new CapturingPollRepository();
+        java.util.Map<String, IdempotentOutcome> outcomes = new java.util.HashMap<>();
+        CreatePollService service = new CreatePollService(repository, new CapturingPollEmailSender(), true,
+                new IdempotencyKeyRepository() {
+                    @Override
+                    public java.util.Optional<IdempotentOutcome> find(String key) {
+                        return java.util.Optional.ofNullable(outcomes.get(key));
+                    }
+
+                    @Override
+                    public void save(String key, IdempotentOutcome outcome) {
+                        outcomes.putIfAbsent(key, outcome);
+                    }
+                });
+        service.create(new CreatePollCommand(AUTHOR_NAME, AUTHOR_EMAIL, TITLE, DESCRIPTION, EventType.ALL_DAY, null,
+                List.of(DATE_ONE), List.of(), null, false, "create-0001"));
+        repository.saved = null;
+
+        CreatePollCommand other = new CreatePollCommand("Mallory", "mallory@example.com", TITLE, DESCRIPTION,
+                EventType.ALL_DAY, null, List.of(DATE_ONE), List.of(), null, false, "create-0001");
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> service.create(other));
+        assertNull(repository.saved);
+    }
+
     private static final class CapturingPollRepository implements PollRepository {
         private Poll saved;
 
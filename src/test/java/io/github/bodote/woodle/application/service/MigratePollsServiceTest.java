@@ -0,0 +1,117 @@
+package io.github.bodote.woodle.application.service;
+
+import io.github.bodote.woodle.application.model.MigrationCheckpoint;
+import io.github.bodote.woodle.application.port.in.MigrationRunResult;
+import io.github.bodote.woodle.application.port.out.MigrationCheckpointRepository;
+import io.github.bodote.woodle.application.port.out.PollMigrationPage;
+import io.github.bodote.woodle.application.port.out.PollRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("MigratePollsService")
+class MigratePollsServiceTest {
+
+    private static final Clock FIXED_CLOCK = Clock.fixed(Instant.parse("2026-06-21T04:00:00Z"), ZoneOffset.UTC);
+    private static final Duration TIME_BUDGET = Duration.ofSeconds(20);
+    private static final String SCHEMA_VERSION = "2";
+
+    @Test
+    @DisplayName("migrates all pages and sums up the counters")
+    void migratesAllPagesAndSumsUpCounters() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        MigrationCheckpointRepository checkpointRepository = mock(MigrationCheckpointRepository.class);
+        when(pollRepository.migrateStoredPolls(null)).thenReturn(new PollMigrationPage(3, 1, 0, "page-2"));
+        when(pollRepository.migrateStoredPolls("page-2")).thenReturn(new PollMigrationPage(2, 4, 1, null));
+        MigratePollsService service = new MigratePollsService(pollRepository, checkpointRepository, FIXED_CLOCK,
+                TIME_BUDGET, SCHEMA_VERSION);
+
+        MigrationRunResult result = service.migratePolls();
+
+        assertEquals(new MigrationRunResult(5, 5, 1, true), result);
+        verify(checkpointRepository).save(new MigrationCheckpoint(SCHEMA_VERSION, "page-2", 3, 1, 0, false));
+        verify(checkpointRepository).save(new MigrationCheckpoint(SCHEMA_VERSION, null, 5, 5, 1, true));
+    }
+
+    @Test
+    @DisplayName("stops after the time budget and stores a checkpoint with the next page token")
+    void stopsAfterTimeBudgetAndStoresCheckpoint() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        MigrationCheckpointRepository checkpointRepository = mock(MigrationCheckpointRepository.class);
+        when(pollRepository.migrateStoredPolls(null)).thenReturn(new PollMigrationPage(3, 0, 0, "page-2"));
+        Instant start = FIXED_CLOCK.instant();
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(start, start.plus(TIME_BUDGET));
+        MigratePollsService service = new MigratePollsService(pollRepository, checkpointRepository, clock,
+                TIME_BUDGET, SCHEMA_VERSION);
+
+        MigrationRunResult result = service.migratePolls();
+
+        assertEquals(new MigrationRunResult(3, 0, 0, false), result);
+        verify(checkpointRepository).save(new MigrationCheckpoint(SCHEMA_VERSION, "page-2", 3, 0, 0, false));
+        verify(pollRepository, never()).migrateStoredPolls("page-2");
+    }
+
+    @Test
+    @DisplayName("resumes an unfinished run from its checkpoint")
+    void resumesUnfinishedRunFromCheckpoint() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        MigrationCheckpointRepository checkpointRepository = mock(MigrationCheckpointRepository.class);
+        when(checkpointRepository.load())
+                .thenReturn(Optional.of(new MigrationCheckpoint(SCHEMA_VERSION, "page-2", 3, 0, 0, false)));
+        when(pollRepository.migrateStoredPolls("page-2")).thenReturn(new PollMigrationPage(1, 2, 0, null));
+        MigratePollsService service = new MigratePollsService(pollRepository, checkpointRepository, FIXED_CLOCK,
+                TIME_BUDGET, SCHEMA_VERSION);
+
+        MigrationRunResult result = service.migratePolls();
+
+        assertEquals(new MigrationRunResult(4, 2, 0, true), result);
+        verify(pollRepository, never()).migrateStoredPolls(null);
+    }
+
+    @Test
+    @DisplayName("returns the stored result without listing when the run for this schema version already finished")
+    void returnsStoredResultWhenRunAlreadyFinished() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        MigrationCheckpointRepository checkpointRepository = mock(MigrationCheckpointRepository.class);
+        when(checkpointRepository.load())
+                .thenReturn(Optional.of(new MigrationCheckpoint(SCHEMA_VERSION, null, 9, 1, 0, true)));
+        MigratePollsService service = new MigratePollsService(pollRepository, checkpointRepository, FIXED_CLOCK,
+                TIME_BUDGET, SCHEMA_VERSION);
+
+        MigrationRunResult result = service.migratePolls();
+
+        assertEquals(new MigrationRunResult(9, 1, 0, true), result);
+        verify(pollRepository, never()).migrateStoredPolls(any());
+        verify(checkpointRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("starts over when the checkpoint belongs to an older schema version")
+    void startsOverForNewSchemaVersion() {
+        PollRepository pollRepository = mock(PollRepository.class);
+        MigrationCheckpointRepository checkpointRepository = mock(MigrationCheckpointRepository.class);
+        when(checkpointRepository.load())
+                .thenReturn(Optional.of(new MigrationCheckpoint("1", "page-7", 9, 1, 0, false)));
+        when(pollRepository.migrateStoredPolls(null)).thenReturn(new PollMigrationPage(2, 0, 0, null));
+        MigratePollsService service = new MigratePollsService(pollRepository, checkpointRepository, FIXED_CLOCK,
+                TIME_BUDGET, SCHEMA_VERSION);
+
+        MigrationRunResult result = service.migratePolls();
+
+        assertEquals(new MigrationRunResult(2, 0, 0, true), result);
+        verify(pollRepository, never()).migrateStoredPolls("page-7");
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.bodote.woodle.application.service;
+
+import io.github.bodote.woodle.adapter.out.persistence.InMemoryPollRepository;
+import io.github.bodote.woodle.application.port.out.PollRepository;
+import io.github.bodote.woodle.application.port.out.PollUpdateConflictException;
+import io.github.bodote.woodle.domain.model.Poll;
+import io.github.bodote.woodle.domain.model.PollOption;
+import io.github.bodote.woodle.testfixtures.TestFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("OptimisticPollUpdater")
+class OptimisticPollUpdaterTest {
+
+    private static final UUID POLL_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Test
+    @DisplayName("reloads the poll and re-applies the change after a conflicting write")
+    void reloadsAndReappliesAfterConflict() {
+        InMemoryPollRepository repository = new InMemoryPollRepository();
+        repository.save(TestFixtures.poll(POLL_ID, List.of(), List.of()));
+        AtomicInteger applied = new AtomicInteger();
+        OptimisticPollUpdater updater = new OptimisticPollUpdater(repository, 3, Duration.ZERO);
+
+        Poll saved = updater.update(POLL_ID, poll -> {
+            if (applied.getAndIncrement() == 0) {
+                // another writer wins the race between our read and our write
+                repository.save(poll.withOptions(List.of(option(1))));
+            }
+            return poll.withOptions(append(poll.options(), option(2)));
+        });
+
+        assertEquals(2, applied.get());
+        assertEquals(List.of(option(1), option(2)), saved.options());
+        assertEquals(List.of(option(1), option(2)), repository.findById(POLL_ID).orElseThrow().options());
+    }
+
+    @Test
+    @DisplayName("returns the poll with the version the default whole-poll update stored it with")
+    void returnsThePollWithTheStoredVersion() {
+        AtomicReference<Poll> stored = new AtomicReference<>(TestFixtures.poll(POLL_ID, List.of(), List.of()));
+        PollRepository saveOnly = new PollRepository() {
+            @Override
+            public void save(Poll poll) {
+                stored.set(poll.withVersion(poll.version() + 1));
+            }
+
+            @Override
+            public Optional<Poll> findById(UUID pollId) {
+                return Optional.of(stored.get());
+            }
+
+            @Override
+            public long countActivePolls() {
+                return 1;
+            }
+
+            @Override
+            public List<UUID> findExpiredPollIds(LocalDate asOf) {
+                return List.of();
+            }
+
+            @Override
+            public void deleteById(UUID pollId) {
+            }
+        };
+        OptimisticPollUpdater updater = new OptimisticPollUpdater(saveOnly, 1, Duration.ZERO);
+
+        Poll saved = updater.update(POLL_ID, poll -> poll.withOptions(List.of(option(1))));
+
+        assertEquals(stored.get(), saved);
+        assertEquals(1L, saved.version());
+    }
+
+    @Test
+    @DisplayName("gives up with the conflict after the last attempt")
+    void givesUpAfterTheLastAttempt() {
+        PollRepository alwaysConflicting = new PollRepository() {
+            @Override
+            public void save(Poll poll) {
+                throw new PollUpdateConflictException(poll.pollId());
+            }
+
+            @Override
+            public Optional<Poll> findById(UUID pollId) {
+                return Optional.of(TestFixtures.poll(pollId, List.of(), List.of()));
+            }
+
+            @Override
+            public long countActivePolls() {
+                return 1;
+            }
+
+            @Override
+            public List<UUID> findExpiredPollIds(LocalDate asOf) {
+                return List.of();
+            }
+
+            @Override
+            public void deleteById(UUID pollId) {
+            }
+        };
+        AtomicInteger applied = new AtomicInteger();
+        OptimisticPollUpdater updater = new OptimisticPollUpdater(alwaysConflicting, 4, Duration.ZERO);
+
+        assertThrows(PollUpdateConflictException.class, () -> updater.update(POLL_ID, poll -> {
+            applied.incrementAndGet();
+            return poll;
+        }));
+        assertEquals(4, applied.get());
+    }
+
+    @Test
+    @DisplayName("keeps every change when many updates of the same poll run at the same time")
+    void keepsEveryChangeWhenManyUpdatesRunAtTheSameTime() {
+        InMemoryPollRepository repository = new InMemoryPollRepository();
+        repository.save(TestFixtures.poll(POLL_ID, List.of(), List.of()));
+        OptimisticPollUpdater updater = new OptimisticPollUpdater(repository, 100, Duration.ofMillis(1));
+        int writers = 16;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 1; i <= writers; i++) {
+                PollOption option = option(i);
+                executor.submit(() -> updater.update(POLL_ID, poll -> poll.withOptions(append(poll.options(), option))));
+            }
+        }
+
+        assertEquals(writers, repository.findById(POLL_ID).orElseThrow().options().size());
+    }
+
+    private static PollOption option(int day) {
+        return new PollOption(new UUID(0, day), LocalDate.of(2026, 3, day), null, null);
+    }
+
+    private static List<PollOption> append(List<PollOption> options, PollOption option) {
+        return java.util.stream.Stream.concat(options.stream(), java.util.stream.Stream.of(option)).toList();
+    }
+}
@@ -16,7 +16,9 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("ReadPollService")
 class ReadPollServiceTest {
@@ -71,6 +73,20 @@ class ReadPollServiceTest {
         assertEquals("Invalid admin secret", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("answers existence and admin checks from poll metadata")
+    void answersExistenceAndAdminChecksFromPollMetadata() {
+        UUID pollId = UUID.randomUUID();
+        ReadPollService service = new ReadPollService(new FixedPollRepository(poll(pollId)));
+        ReadPollService missing = new ReadPollService(new FixedPollRepository(null));
+
+        assertTrue(service.exists(pollId));
+        assertTrue(service.existsForAdmin(pollId, ADMIN_SECRET));
+        assertFalse(service.existsForAdmin(pollId, "wrong"));
+        assertFalse(missing.exists(pollId));
+        assertFalse(missing.existsForAdmin(pollId, ADMIN_SECRET));
+    }
+
     private static Poll poll(UUID pollId) {
         return TestFixtures.poll(
                 pollId,
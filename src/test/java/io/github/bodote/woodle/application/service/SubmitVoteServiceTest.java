@@ -2,7 +2,10 @@ package io.github.bodote.woodle.application.service;
 
 import io.github.bodote.woodle.testfixtures.TestFixtures;
 
+import io.github.bodote.woodle.application.model.IdempotentOutcome;
+import io.github.bodote.woodle.application.port.in.IdempotencyKeyReusedException;
 import io.github.bodote.woodle.application.port.in.command.SubmitVoteCommand;
+import io.github.bodote.woodle.application.port.out.IdempotencyKeyRepository;
 import io.github.bodote.woodle.application.port.out.NewCommentEmail;
 import io.github.bodote.woodle.application.port.out.PollCreatedEmail;
 import io.github.bodote.woodle.application.port.out.PollEmailSender;
@@ -19,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -218,6 +222,104 @@ class SubmitVoteServiceTest {
         assertEquals("Response not found", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("publishes a change notice for the saved response after the write")
+    void publishesAChangeNoticeForTheSavedResponse() {
+        UUID pollId = UUID.randomUUID();
+        PollOption option = TestFixtures.option(UUID.randomUUID(), LocalDate.of(2026, 2, 10));
+        Poll poll = TestFixtures.poll(pollId, "secret", EventType.ALL_DAY, null, List.of(option), List.of());
+        CapturingRepo repo = new CapturingRepo(poll);
+        List<UUID> publishedPollIds = new ArrayList<>();
+        List<UUID> publishedResponseIds = new ArrayList<>();
+        SubmitVoteService service = new SubmitVoteService(repo, noop(), true, (changedPollId, responseId) -> {
+            assertNotNull(repo.saved);
+            publishedPollIds.add(changedPollId);
+            publishedResponseIds.add(responseId);
+        });
+
+        service.submit(new SubmitVoteCommand(pollId, "Alice",
+                List.of(new PollVote(option.optionId(), PollVoteValue.YES)), null, null));
+
+        assertEquals(List.of(pollId), publishedPollIds);
+        assertEquals(List.of(repo.saved.responses().getFirst().responseId()), publishedResponseIds);
+    }
+
+    @Test
+    @DisplayName("publishes a change notice for the deleted response after the write")
+    void publishesAChangeNoticeForTheDeletedResponse() {
+        UUID pollId = UUID.randomUUID();
+        UUID responseId = UUID.randomUUID();
+        PollOption option = TestFixtures.option(UUID.randomUUID(), LocalDate.of(2026, 2, 10));
+        Poll poll = TestFixtures.poll(pollId, "secret", EventType.ALL_DAY, null, List.of(option),
+                List.of(TestFixtures.response(responseId, "Alice", List.of())));
+        CapturingRepo repo = new CapturingRepo(poll);
+        List<UUID> publishedResponseIds = new ArrayList<>();
+        SubmitVoteService service = new SubmitVoteService(repo, noop(), true, (changedPollId, changedResponseId) -> {
+            assertNotNull(repo.saved);
+            publishedResponseIds.add(changedResponseId);
+        });
+
+        service.delete(pollId, responseId);
+
+        assertEquals(List.of(responseId), publishedResponseIds);
+        assertEquals(List.of(), repo.saved.responses());
+    }
+
+    @Test
+    @DisplayName("applies a vote with an already used idempotency key only once")
+    void appliesVoteWithRepeatedIdempotencyKeyOnce() {
+        UUID pollId = UUID.randomUUID();
+        PollOption option = TestFixtures.option(UUID.randomUUID(), LocalDate.of(2026, 2, 10));
+        Poll poll = TestFixtures.poll(pollId, "secret", EventType.ALL_DAY, null, List.of(option), List.of());
+        CapturingRepo repo = new CapturingRepo(poll);
+        List<UUID> publishedResponseIds = new ArrayList<>();
+        SubmitVoteService service = new SubmitVoteService(repo, noop(), true,
+                (changed, responseId) -> publishedResponseIds.add(responseId), new MapIdempotencyKeyRepository());
+        SubmitVoteCommand command = new SubmitVoteCommand(pollId, "Alice",
+                List.of(new PollVote(option.optionId(), PollVoteValue.YES)), null, null, "key-0001");
+
+        service.submit(command);
+        service.submit(command);
+        service.submit(new SubmitVoteCommand(pollId, "Alice",
+                List.of(new PollVote(option.optionId(), PollVoteValue.YES)), null, null, "key-0002"));
+
+        assertEquals(2, publishedResponseIds.size());
+    }
+
+    @Test
+    @DisplayName("rejects a vote replayed with different answers under a used idempotency key")
+    void rejectsVoteReplayedWithDifferentAnswers() {
+        UUID pollId = UUID.randomUUID();
+        PollOption option = TestFixtures.option(UUID.randomUUID(), LocalDate.of(2026, 2, 10));
+        Poll poll = TestFixtures.poll(pollId, "secret", EventType.ALL_DAY, null, List.of(option), List.of());
+        List<UUID> publishedResponseIds = new ArrayList<>();
+        SubmitVoteService service = new SubmitVoteService(new CapturingRepo(poll), noop(), true,
+                (changed, responseId) -> publishedResponseIds.add(responseId), new MapIdempotencyKeyRepository());
+        service.submit(new SubmitVoteCommand(pollId, "Alice",
+                List.of(new PollVote(option.optionId(), PollVoteValue.YES)), null, null, "key-0001"));
+
+        SubmitVoteCommand changed = new SubmitVoteCommand(pollId, "Alice",
+                List.of(new PollVote(option.optionId(), PollVoteValue.NO)), null, null, "key-0001");
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> service.submit(changed));
+        assertEquals(1, publishedResponseIds.size());
+    }
+
+    @Test
+    @DisplayName("scopes idempotency keys to the poll")
+    void scopesIdempotencyKeysToThePoll() {
+        UUID pollId = UUID.randomUUID();
+        Poll poll = TestFixtures.poll(pollId, "secret", EventType.ALL_DAY, null, List.of(), List.of());
+        MapIdempotencyKeyRepository keys = new MapIdempotencyKeyRepository();
+        SubmitVoteService service = new SubmitVoteService(new CapturingRepo(poll), noop(), true,
+                (changed, responseId) -> {
+                }, keys);
+
+        service.submit(new SubmitVoteCommand(pollId, "Alice", List.of(), null, null, "key-0001"));
+
+        assertEquals(java.util.Set.of("vote/" + pollId + "/key-0001"), keys.outcomes.keySet());
+    }
+
     // ── NEW comment notification tests ────────────────────────────────────────
 
     @Test
@@ -360,6 +462,20 @@ class SubmitVoteServiceTest {
         }
     }
 
+    private static final class MapIdempotencyKeyRepository implements IdempotencyKeyRepository {
+        private final java.util.Map<String, IdempotentOutcome> outcomes = new java.util.HashMap<>();
+
+        @Override
+        public Optional<IdempotentOutcome> find(String key) {
+            return Optional.ofNullable(outcomes.get(key));
+        }
+
+        @Override
+        public void save(String key, IdempotentOutcome outcome) {
+            outcomes.putIfAbsent(key, outcome);
+        }
+    }
+
     private static final class CapturingRepo implements PollRepository {
         private Poll saved;
         private final Poll existing;
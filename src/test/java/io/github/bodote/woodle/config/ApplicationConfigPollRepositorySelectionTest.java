@@ -38,7 +38,7 @@ class ApplicationConfigPollRepositorySelectionTest {
     }
 
     @Test
-    @DisplayName("creates S3 repository when S3 is enabled and S3 client is present")
+    @DisplayName("creates cached S3 repository when S3 is enabled and S3 client is present")
     void createsS3RepositoryWhenS3IsEnabledAndS3ClientIsPresent() {
         AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
         context.getEnvironment().getPropertySources().addFirst(
@@ -55,8 +55,33 @@ class ApplicationConfigPollRepositorySelectionTest {
 
         Object pollRepository = context.getBean(io.github.bodote.woodle.application.port.out.PollRepository.class);
         assertTrue(
-                pollRepository.getClass().getName().contains("S3PollRepository"),
-                "Expected S3-backed repository when S3 is enabled"
+                pollRepository.getClass().getName().contains("CachingPollRepository"),
+                "Expected S3-backed repository behind the read cache when S3 is enabled"
+        );
+        context.close();
+    }
+
+    @Test
+    @DisplayName("puts the write coalescer in front of the cached S3 repository when a window is configured")
+    void putsTheWriteCoalescerInFrontOfTheCachedS3RepositoryWhenAWindowIsConfigured() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(
+                new MapPropertySource("test", Map.of(
+                        "woodle.s3.enabled", "true",
+                        "woodle.s3.bucket", "woodle-test",
+                        "woodle.poll.write-coalescing.window-millis", "100"
+                ))
+        );
+        context.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        context.registerBean(S3Client.class, () -> mock(S3Client.class));
+        context.register(ApplicationConfig.class);
+
+        context.refresh();
+
+        Object pollRepository = context.getBean(io.github.bodote.woodle.application.port.out.PollRepository.class);
+        assertTrue(
+                pollRepository.getClass().getName().contains("CoalescingPollRepository"),
+                "Expected response writes to be coalesced when a window is configured"
         );
         context.close();
     }
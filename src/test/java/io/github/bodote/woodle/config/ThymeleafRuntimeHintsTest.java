@@ -44,12 +44,12 @@ class ThymeleafRuntimeHintsTest {
         assertTrue(iterationStatusHint.getMemberCategories().contains(MemberCategory.INVOKE_PUBLIC_METHODS));
 
         var dateGroupHint = hints.reflection().getTypeHint(
-                TypeReference.of("io.github.bodote.woodle.adapter.in.web.PollViewController$DateGroup"));
+                TypeReference.of("io.github.bodote.woodle.adapter.in.web.PollViewModel$DateGroup"));
         assertNotNull(dateGroupHint);
         assertTrue(dateGroupHint.getMemberCategories().contains(MemberCategory.INVOKE_DECLARED_METHODS));
 
         var voteSummaryHint = hints.reflection().getTypeHint(
-                TypeReference.of("io.github.bodote.woodle.adapter.in.web.PollVoteController$SummaryCell"));
+                TypeReference.of("io.github.bodote.woodle.adapter.in.web.PollViewModel$SummaryCell"));
         assertNotNull(voteSummaryHint);
         assertTrue(voteSummaryHint.getMemberCategories().contains(MemberCategory.INVOKE_DECLARED_METHODS));
     }
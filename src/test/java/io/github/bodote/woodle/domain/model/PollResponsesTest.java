@@ -0,0 +1,80 @@
+package io.github.bodote.woodle.domain.model;
+
+import io.github.bodote.woodle.testfixtures.TestFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("PollResponses")
+class PollResponsesTest {
+
+    @Test
+    @DisplayName("keeps insertion order and replaces responses in place")
+    void keepsInsertionOrderAndReplacesResponsesInPlace() {
+        PollResponse alice = response("Alice");
+        PollResponse bob = response("Bob");
+        PollResponse carol = response("Carol");
+        PollResponse bobChanged = TestFixtures.response(bob.responseId(), "Robert", List.of());
+
+        PollResponses responses = PollResponses.copyOf(List.of(alice, bob, carol)).put(bobChanged);
+
+        assertEquals(List.of(alice, bobChanged, carol), responses);
+        assertEquals(List.of(alice, bobChanged, carol), new ArrayList<>(responses));
+        assertSame(carol, responses.get(2));
+        assertSame(bobChanged, responses.find(bob.responseId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("leaves the previous version unchanged")
+    void leavesThePreviousVersionUnchanged() {
+        PollResponse alice = response("Alice");
+        PollResponse bob = response("Bob");
+        PollResponses before = PollResponses.copyOf(List.of(alice, bob));
+
+        PollResponses after = before.remove(alice.responseId()).put(response("Carol"));
+
+        assertEquals(List.of(alice, bob), before);
+        assertEquals(2, after.size());
+        assertSame(bob, after.get(0));
+        assertTrue(after.find(alice.responseId()).isEmpty());
+        assertSame(after, after.remove(alice.responseId()));
+    }
+
+    @Test
+    @DisplayName("stays balanced and ordered over many changes")
+    void staysBalancedAndOrderedOverManyChanges() {
+        List<PollResponse> expected = new ArrayList<>();
+        PollResponses responses = PollResponses.empty();
+        for (int i = 0; i < 1_000; i++) {
+            PollResponse response = response("Participant " + i);
+            responses = responses.put(response);
+            expected.add(response);
+        }
+        for (int i = 0; i < 1_000; i += 3) {
+            responses = responses.remove(expected.get(i).responseId());
+        }
+        List<PollResponse> remaining = new ArrayList<>();
+        for (int i = 0; i < expected.size(); i++) {
+            if (i % 3 != 0) {
+                remaining.add(expected.get(i));
+            }
+        }
+
+        assertEquals(remaining, responses);
+        assertEquals(remaining.hashCode(), responses.hashCode());
+        assertSame(remaining.get(400), responses.get(400));
+        assertThrows(IndexOutOfBoundsException.class, () -> PollResponses.empty().get(0));
+    }
+
+    private static PollResponse response(String name) {
+        return TestFixtures.response(UUID.randomUUID(), name, List.of());
+    }
+}
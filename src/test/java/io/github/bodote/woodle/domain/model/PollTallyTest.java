@@ -0,0 +1,80 @@
+package io.github.bodote.woodle.domain.model;
+
+import io.github.bodote.woodle.testfixtures.TestFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("PollTally")
+class PollTallyTest {
+
+    private static final PollOption FIRST = TestFixtures.option(UUID.randomUUID(), LocalDate.of(2026, 2, 10));
+    private static final PollOption SECOND = TestFixtures.option(UUID.randomUUID(), LocalDate.of(2026, 2, 11));
+    private static final List<PollOption> OPTIONS = List.of(FIRST, SECOND);
+
+    @Test
+    @DisplayName("counts the votes of all responses per option position")
+    void countsTheVotesOfAllResponsesPerOptionPosition() {
+        PollTally tally = PollTally.of(OPTIONS, List.of(
+                response("Alice", PollVoteValue.YES, PollVoteValue.NO),
+                response("Bob", PollVoteValue.YES, PollVoteValue.IF_NEEDED),
+                TestFixtures.response(UUID.randomUUID(), "Carol", List.of(
+                        new PollVote(UUID.randomUUID(), PollVoteValue.YES),
+                        new PollVote(SECOND.optionId(), PollVoteValue.NO),
+                        new PollVote(SECOND.optionId(), PollVoteValue.YES)))));
+
+        assertEquals(2, tally.yes(0));
+        assertEquals(1, tally.yes(1));
+        assertEquals(1, tally.ifNeeded(1));
+        assertEquals(1, tally.no(1));
+        assertEquals(2, tally.maxYes());
+        assertTrue(tally.isBest(0));
+        assertFalse(tally.isBest(1));
+    }
+
+    @Test
+    @DisplayName("adds, replaces and removes responses without changing the original tally")
+    void addsReplacesAndRemovesResponsesWithoutChangingTheOriginalTally() {
+        PollResponse alice = response("Alice", PollVoteValue.YES, PollVoteValue.NO);
+        PollResponse aliceChanged = new PollResponse(alice.responseId(), "Alice", alice.createdAt(), List.of(
+                new PollVote(FIRST.optionId(), PollVoteValue.NO),
+                new PollVote(SECOND.optionId(), PollVoteValue.YES)), null);
+        PollResponse bob = response("Bob", PollVoteValue.IF_NEEDED, PollVoteValue.YES);
+        PollTally tally = PollTally.of(OPTIONS, List.of(alice));
+
+        PollTally added = tally.addResponse(bob);
+        PollTally replaced = added.replaceResponse(alice, aliceChanged);
+        PollTally removed = replaced.removeResponse(bob);
+
+        assertEquals(1, tally.yes(0));
+        assertEquals(0, tally.yes(1));
+        assertEquals(List.of(1, 1), List.of(added.yes(0), added.yes(1)));
+        assertEquals(List.of(0, 2), List.of(replaced.yes(0), replaced.yes(1)));
+        assertTrue(replaced.isBest(1));
+        assertEquals(List.of(0, 1), List.of(removed.yes(0), removed.yes(1)));
+        assertEquals(List.of(1, 0), List.of(removed.no(0), removed.ifNeeded(0)));
+    }
+
+    @Test
+    @DisplayName("marks no option as best while nobody voted yes")
+    void marksNoOptionAsBestWhileNobodyVotedYes() {
+        PollTally tally = PollTally.of(OPTIONS, List.of(response("Alice", PollVoteValue.NO, PollVoteValue.IF_NEEDED)));
+
+        assertEquals(0, tally.maxYes());
+        assertFalse(tally.isBest(0));
+        assertFalse(tally.isBest(1));
+    }
+
+    private static PollResponse response(String name, PollVoteValue first, PollVoteValue second) {
+        return TestFixtures.response(UUID.randomUUID(), name, List.of(
+                new PollVote(FIRST.optionId(), first),
+                new PollVote(SECOND.optionId(), second)));
+    }
+}
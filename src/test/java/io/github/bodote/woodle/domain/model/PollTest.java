@@ -16,6 +16,9 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Poll")
 class PollTest {
@@ -62,4 +65,24 @@ class PollTest {
         assertEquals(1, updated.options().size());
         assertEquals(LocalDate.of(2026, 2, 11), updated.options().get(0).date());
     }
+
+    @Test
+    @DisplayName("replaces, finds and removes responses by id")
+    void replacesFindsAndRemovesResponsesById() {
+        UUID aliceId = UUID.randomUUID();
+        PollResponse alice = TestFixtures.response(aliceId, "Alice", List.of());
+        PollResponse bob = TestFixtures.response(UUID.randomUUID(), "Bob", List.of());
+        Poll poll = TestFixtures.poll(UUID.randomUUID(), List.of(), List.of(alice, bob));
+
+        PollResponse renamed = TestFixtures.response(aliceId, "Alicia", List.of());
+        Poll replaced = poll.replaceResponse(renamed);
+        Poll removed = replaced.removeResponse(aliceId);
+
+        assertEquals(List.of(renamed, bob), replaced.responses());
+        assertSame(renamed, replaced.findResponse(aliceId).orElseThrow());
+        assertSame(alice, poll.findResponse(aliceId).orElseThrow());
+        assertEquals(List.of(bob), removed.responses());
+        assertTrue(removed.findResponse(aliceId).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> removed.removeResponse(aliceId));
+    }
 }
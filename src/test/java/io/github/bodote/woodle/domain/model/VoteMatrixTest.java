@@ -0,0 +1,122 @@
+package io.github.bodote.woodle.domain.model;
+
+import io.github.bodote.woodle.testfixtures.TestFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("VoteMatrix")
+class VoteMatrixTest {
+
+    private static final UUID FIRST = UUID.fromString("00000000-0000-0000-0000-000000000901");
+    private static final UUID SECOND = UUID.fromString("00000000-0000-0000-0000-000000000902");
+
+    @Test
+    @DisplayName("keeps a vote per cell and counts columns")
+    void keepsAVotePerCellAndCountsColumns() {
+        VoteMatrix matrix = VoteMatrix.builder(List.of(FIRST, SECOND), 3)
+                .set(0, 0, PollVoteValue.YES)
+                .set(0, 1, PollVoteValue.NO)
+                .set(1, 1, PollVoteValue.IF_NEEDED)
+                .set(2, 0, PollVoteValue.YES)
+                .build();
+
+        assertEquals(PollVoteValue.NO, matrix.value(0, 1));
+        assertNull(matrix.value(1, 0));
+        assertEquals(2, matrix.count(0, PollVoteValue.YES));
+        assertEquals(1, matrix.count(1, PollVoteValue.IF_NEEDED));
+        assertEquals(0, matrix.count(0, PollVoteValue.NO));
+        assertEquals(1, matrix.column(SECOND));
+        assertEquals(-1, matrix.column(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("exposes a row as the vote list of a response in column order")
+    void exposesARowAsTheVoteListOfAResponse() {
+        VoteMatrix matrix = VoteMatrix.builder(List.of(FIRST, SECOND), 2)
+                .set(0, 1, PollVoteValue.IF_NEEDED)
+                .set(0, 0, PollVoteValue.NO)
+                .build();
+
+        List<PollVote> votes = matrix.row(0);
+
+        List<PollVote> expected = List.of(new PollVote(FIRST, PollVoteValue.NO),
+                new PollVote(SECOND, PollVoteValue.IF_NEEDED));
+        assertEquals(expected, votes);
+        assertEquals(votes, expected);
+        assertEquals(expected.hashCode(), votes.hashCode());
+        assertEquals(new PollVote(SECOND, PollVoteValue.IF_NEEDED), votes.get(1));
+        assertEquals(expected, new ArrayList<>(votes));
+        assertEquals(List.of(), matrix.row(1));
+        assertThrows(UnsupportedOperationException.class, () -> votes.add(new PollVote(FIRST, PollVoteValue.YES)));
+    }
+
+    @Test
+    @DisplayName("spans columns over several words")
+    void spansColumnsOverSeveralWords() {
+        List<UUID> optionIds = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            optionIds.add(UUID.randomUUID());
+        }
+        VoteMatrix matrix = VoteMatrix.builder(optionIds, 2)
+                .set(0, 31, PollVoteValue.IF_NEEDED)
+                .set(0, 32, PollVoteValue.YES)
+                .set(1, 69, PollVoteValue.NO)
+                .build();
+
+        assertEquals(List.of(new PollVote(optionIds.get(31), PollVoteValue.IF_NEEDED),
+                new PollVote(optionIds.get(32), PollVoteValue.YES)), matrix.row(0));
+        assertEquals(List.of(new PollVote(optionIds.get(69), PollVoteValue.NO)), matrix.row(1));
+    }
+
+    @Test
+    @DisplayName("reads a vote by position in full and sparse rows")
+    void readsAVoteByPositionInFullAndSparseRows() {
+        List<UUID> optionIds = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            optionIds.add(UUID.randomUUID());
+        }
+        VoteMatrix.Builder builder = VoteMatrix.builder(optionIds, 2)
+                .set(1, 3, PollVoteValue.NO)
+                .set(1, 40, PollVoteValue.YES)
+                .set(1, 66, PollVoteValue.IF_NEEDED);
+        for (int column = 0; column < 70; column++) {
+            builder.set(0, column, column % 2 == 0 ? PollVoteValue.YES : PollVoteValue.NO);
+        }
+        VoteMatrix matrix = builder.build();
+
+        assertEquals(new PollVote(optionIds.get(69), PollVoteValue.NO), matrix.row(0).get(69));
+        assertEquals(new PollVote(optionIds.get(32), PollVoteValue.YES), matrix.row(0).get(32));
+        assertEquals(new PollVote(optionIds.get(40), PollVoteValue.YES), matrix.row(1).get(1));
+        assertEquals(new PollVote(optionIds.get(66), PollVoteValue.IF_NEEDED), matrix.row(1).get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.row(1).get(3));
+    }
+
+    @Test
+    @DisplayName("recognises responses backed by the rows of one matrix")
+    void recognisesResponsesBackedByTheRowsOfOneMatrix() {
+        VoteMatrix matrix = VoteMatrix.builder(List.of(FIRST), 2).set(0, 0, PollVoteValue.YES).build();
+        PollResponse alice = TestFixtures.response(UUID.randomUUID(), "Alice", matrix.row(0));
+        PollResponse bob = TestFixtures.response(UUID.randomUUID(), "Bob", matrix.row(1));
+        PollResponse carol = TestFixtures.response(UUID.randomUUID(), "Carol", List.of());
+
+        assertSame(matrix, VoteMatrix.backing(List.of(alice, bob)));
+        assertNull(VoteMatrix.backing(List.of(bob, alice)));
+        assertNull(VoteMatrix.backing(List.of(alice, bob, carol)));
+        assertNull(VoteMatrix.backing(List.of()));
+    }
+
+    @Test
+    @DisplayName("rejects duplicate options")
+    void rejectsDuplicateOptions() {
+        assertThrows(IllegalArgumentException.class, () -> VoteMatrix.builder(List.of(FIRST, FIRST), 1));
+    }
+}
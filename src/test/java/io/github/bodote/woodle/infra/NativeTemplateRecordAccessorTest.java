@@ -61,7 +61,7 @@ class NativeTemplateRecordAccessorTest {
                 hintsClass.contains("io.github.bodote.woodle.domain.model.Poll"),
                 "Expected Poll type to be registered for reflection hints");
         assertTrue(
-                hintsClass.contains("PollViewController$ParticipantRow"),
+                hintsClass.contains("PollViewModel$ParticipantRow"),
                 "Expected participant row model to be registered for reflection hints");
         assertTrue(
                 hintsClass.contains("io.github.bodote.woodle.adapter.out.persistence.PollDAO"),
@@ -25,5 +25,17 @@ class PollBucketListPermissionTest {
         assertTrue(
                 template.contains("${PollsBucket.Arn}/drafts/*"),
                 "Expected object-level access for persisted wizard drafts");
+        assertTrue(
+                template.contains("${PollsBucket.Arn}/meta/*"),
+                "Expected object-level access for the maintained active-poll counter");
+        assertTrue(
+                template.contains("${PollsBucket.Arn}/expiry/*"),
+                "Expected object-level access for the poll expiry index");
+        assertTrue(
+                template.contains("${PollsBucket.Arn}/idempotency/*"),
+                "Expected object-level access for shared idempotency keys");
+        assertTrue(
+                template.contains("Prefix: idempotency/"),
+                "Expected a lifecycle rule that expires stored idempotency keys");
     }
 }